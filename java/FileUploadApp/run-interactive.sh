@@ -1,7 +1,7 @@
 #!/bin/bash
 
 # 메인 메소드 컴파일
-javac -cp "src/main/lib/nirs-file-upload-1.0.0.jar" src/main/java/FileUploadApplication.java
+javac -cp "src/main/lib/nirs-file-upload-1.0.0.jar" -sourcepath src/main/java src/main/java/FileUploadApplication.java
 
 # 메인 클래스 실행
 java -cp "./src/main/java:src/main/lib/nirs-file-upload-1.0.0.jar" FileUploadApplication
@@ -0,0 +1,15 @@
+@echo off
+setlocal
+
+REM setup.conf 파일에서 설정 읽기 (filePath에는 디렉토리 또는 glob 지정 가능)
+for /f "tokens=1,2 delims==" %%G in (setup.conf) do (
+   set %%G=%%H
+)
+
+REM 메인 메소드 컴파일
+javac -cp "src/main/lib/nirs-file-upload-1.0.0.jar" -sourcepath src/main/java src/main/java/FileUploadApplication.java
+
+REM 부하 생성 모드 실행 (추가 옵션 예: run-load.bat --concurrency=32 --duration=60 --rate=100)
+java -cp "./src/main/java;src/main/lib/nirs-file-upload-1.0.0.jar" FileUploadApplication --load "--domain=%domain%" "--clientId=%clientId%" "--clientPwd=%clientPwd%" "--brandId=%brandId%" "--files=%filePath%" %*
+
+endlocal
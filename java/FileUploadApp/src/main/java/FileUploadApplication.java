@@ -1,3 +1,4 @@
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.io.File;
@@ -15,6 +16,12 @@ public class FileUploadApplication {
 
   public static void main(String[] args) {
 
+    // 부하 생성 모드 (run-load.sh)
+    if (args.length > 0 && "--load".equals(args[0])) {
+      UploadLoadGenerator.run(Arrays.copyOfRange(args, 1, args.length));
+      return;
+    }
+
     FileUploadClient nirsFileUploadClient = new FileUploadClient();
 
     // setup.sh 설정으로 실행
@@ -0,0 +1,438 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import kr.i_heart.AdaptiveConcurrencyLimit;
+import kr.i_heart.EndpointGroup;
+import kr.i_heart.FileUploadClient;
+import kr.i_heart.HedgePolicy;
+import kr.i_heart.ImagePreprocessor;
+import kr.i_heart.LatencyHistogram;
+import kr.i_heart.RetryPolicy;
+import kr.i_heart.UploadMetrics;
+
+/**
+ * 부하 생성 모드
+ * 디렉토리 또는 glob으로 지정한 파일들을 지정한 동시 실행 수와 목표 처리율로 반복 업로드하고,
+ * 처리량(files/s, MB/s)과 인증/업로드별 지연 시간 분포, 단계별(토큰 조회, 연결, 전송, 첫 바이트, 응답 읽기,
+ * JSON 역직렬화) 지연 시간 분포, API 응답 코드별 오류 수를 출력합니다.
+ *
+ * 목표 처리율을 지정하면 요청마다 예정 시작 시각을 정하고 그 시각부터 지연 시간을 재므로,
+ * 동시 실행 수가 부족해 밀린 대기 시간도 "요청" 지연 시간에 포함됩니다.
+ */
+public class UploadLoadGenerator {
+
+  private static final long PROGRESS_INTERVAL_SECONDS = 5;
+
+  private String domain;
+  private String clientId;
+  private String clientPwd;
+  private String brandId = "";
+  private String filesSpec;
+  private int concurrency = 8;
+  private long durationSeconds = 0;  // 0이면 count 기준
+  private long count = 0;            // 0이면 파일 수만큼
+  private double rate = 0;           // 초당 목표 요청 수 (0이면 제한 없음)
+  private int maxAttempts = 1;       // 일시적 오류 시 최대 시도 횟수 (1이면 재시도하지 않음)
+  private int breakerThreshold = 0;  // 서킷 브레이커 연속 실패 횟수 (0이면 사용 안 함)
+  private int adaptiveMaxLimit = 0;  // 적응형 동시 실행 제한의 최대값 (0이면 사용 안 함)
+  private double hedgePercentile = 0; // 헤지 요청 대기 시간으로 사용할 응답 시간 백분위 (0이면 사용 안 함)
+  private int imageMaxSize = 0;       // 업로드 전 이미지 최대 가로/세로 크기 (0이면 전처리 안 함)
+
+  private static final String SUCCESS_CODE = "10000";
+
+  private final LatencyHistogram requestLatency = new LatencyHistogram();
+  private final UploadMetrics metrics = new UploadMetrics();
+  private final LongAdder succeeded = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+  private final LongAdder uploadedBytes = new LongAdder();
+  private AdaptiveConcurrencyLimit concurrencyLimit;
+  private EndpointGroup endpointGroup;  // 도메인을 여러 개 지정한 경우에만 사용
+  private ImagePreprocessor imagePreprocessor; // imageMax를 지정한 경우에만 사용
+
+  /**
+   * 부하 생성 모드 실행
+   * @param args --이름=값 형식의 옵션
+   */
+  public static void run(String[] args) {
+    UploadLoadGenerator generator = new UploadLoadGenerator();
+    try {
+      generator.parseOptions(args);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      printUsage();
+      return;
+    }
+
+    List<File> files;
+    try {
+      files = resolveFiles(generator.filesSpec);
+    } catch (IOException e) {
+      System.err.println("파일 목록을 읽을 수 없습니다: " + e.getMessage());
+      return;
+    }
+    if (files.isEmpty()) {
+      System.err.println("업로드할 파일이 없습니다: " + generator.filesSpec);
+      return;
+    }
+
+    try {
+      generator.execute(files);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      System.err.println("부하 테스트가 중단되었습니다.");
+    }
+  }
+
+  private void parseOptions(String[] args) {
+    for (String arg : args) {
+      int separator = arg.indexOf('=');
+      if (!arg.startsWith("--") || separator < 0) {
+        throw new IllegalArgumentException("잘못된 옵션입니다: " + arg);
+      }
+      String name = arg.substring(2, separator);
+      String value = arg.substring(separator + 1).trim();
+      try {
+        switch (name) {
+          case "domain":
+            domain = value;
+            break;
+          case "clientId":
+            clientId = value;
+            break;
+          case "clientPwd":
+            clientPwd = value;
+            break;
+          case "brandId":
+            brandId = value;
+            break;
+          case "files":
+            filesSpec = value;
+            break;
+          case "concurrency":
+            concurrency = Integer.parseInt(value);
+            break;
+          case "duration":
+            durationSeconds = Long.parseLong(value);
+            break;
+          case "count":
+            count = Long.parseLong(value);
+            break;
+          case "rate":
+            rate = Double.parseDouble(value);
+            break;
+          case "maxAttempts":
+            maxAttempts = Integer.parseInt(value);
+            break;
+          case "breaker":
+            breakerThreshold = Integer.parseInt(value);
+            break;
+          case "adaptive":
+            adaptiveMaxLimit = Integer.parseInt(value);
+            break;
+          case "hedge":
+            hedgePercentile = Double.parseDouble(value);
+            break;
+          case "imageMax":
+            imageMaxSize = Integer.parseInt(value);
+            break;
+          default:
+            throw new IllegalArgumentException("알 수 없는 옵션입니다: " + name);
+        }
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("숫자 형식이 아닙니다: " + arg);
+      }
+    }
+
+    if (isEmpty(domain) || isEmpty(clientId) || isEmpty(clientPwd) || isEmpty(filesSpec)) {
+      throw new IllegalArgumentException("domain, clientId, clientPwd, files는 필수 값입니다.");
+    }
+    if (concurrency <= 0 || durationSeconds < 0 || count < 0 || rate < 0) {
+      throw new IllegalArgumentException("concurrency는 양수, duration/count/rate는 0 이상이어야 합니다.");
+    }
+    if (maxAttempts <= 0 || breakerThreshold < 0 || adaptiveMaxLimit < 0 || imageMaxSize < 0) {
+      throw new IllegalArgumentException("maxAttempts는 양수, breaker/adaptive/imageMax는 0 이상이어야 합니다.");
+    }
+    if (hedgePercentile != 0 && (hedgePercentile < 0.5 || hedgePercentile >= 1)) {
+      throw new IllegalArgumentException("hedge는 0(사용 안 함) 또는 0.5 이상 1 미만이어야 합니다.");
+    }
+  }
+
+  private static void printUsage() {
+    System.out.println("부하 생성 모드 사용법:");
+    System.out.println("java (options) FileUploadApplication --load --domain=URL --clientId=ID --clientPwd=PWD --files=PATH [options]");
+    System.out.println("  --domain=URL[,URL]  여러 도메인을 쉼표로 지정하면 응답 시간/오류율에 따라 분산하고 장애 시 전환");
+    System.out.println("  --files=PATH        업로드할 디렉토리(하위 포함) 또는 glob (예: /data/img/*.png, /data/**/*.jpg)");
+    System.out.println("  --brandId=ID        브랜드 ID (선택)");
+    System.out.println("  --concurrency=N     동시 업로드 수 (기본 8)");
+    System.out.println("  --duration=SECONDS  실행 시간 (지정하면 count 대신 시간 기준으로 반복)");
+    System.out.println("  --count=N           전체 업로드 횟수 (기본 파일 수, 파일을 순환하며 업로드)");
+    System.out.println("  --rate=N            초당 목표 업로드 수 (기본 0, 제한 없음)");
+    System.out.println("  --maxAttempts=N     연결 실패/타임아웃/5xx/429 시 최대 시도 횟수 (기본 1, 재시도 안 함)");
+    System.out.println("  --breaker=N         N번 연속 실패 시 서킷 브레이커 열림 (기본 0, 사용 안 함)");
+    System.out.println("  --adaptive=N        응답 시간에 따라 동시 업로드 수를 최대 N까지 조절 (기본 0, 사용 안 함)");
+    System.out.println("  --hedge=P           응답 시간 백분위 P(예: 0.95)만큼 응답이 없으면 헤지 요청 (기본 0, 사용 안 함)");
+    System.out.println("  --imageMax=PX       업로드 전 JPEG/PNG를 가로/세로 PX 이내로 줄이고 다시 압축 (기본 0, 사용 안 함)");
+  }
+
+  /**
+   * 지정한 동시 실행 수의 작업 스레드로 부하를 생성하고 결과를 출력
+   */
+  private void execute(List<File> files) throws InterruptedException {
+    long total = durationSeconds > 0 ? (count > 0 ? count : Long.MAX_VALUE) : (count > 0 ? count : files.size());
+
+    System.out.println("\n부하 테스트를 시작합니다");
+    System.out.println("domain: " + domain);
+    System.out.println("files: " + files.size() + "개 (" + filesSpec + ")");
+    System.out.println("concurrency: " + concurrency
+        + ", " + (durationSeconds > 0 ? "duration: " + durationSeconds + "s" : "count: " + total)
+        + ", rate: " + (rate > 0 ? rate + "/s" : "제한 없음"));
+
+    String[] domains = domain.split(",");
+    if (domains.length > 1) {
+      EndpointGroup.Builder endpoints = EndpointGroup.custom();
+      for (String each : domains) {
+        endpoints.addDomain(each.trim());
+      }
+      endpointGroup = endpoints.build();
+    }
+
+    if (adaptiveMaxLimit > 0) {
+      concurrencyLimit = AdaptiveConcurrencyLimit.custom()
+          .setInitialLimit(Math.min(adaptiveMaxLimit, Math.min(20, concurrency)))
+          .setMaxLimit(adaptiveMaxLimit)
+          .build();
+    }
+
+    if (imageMaxSize > 0) {
+      imagePreprocessor = ImagePreprocessor.custom()
+          .setMaxWidth(imageMaxSize)
+          .setMaxHeight(imageMaxSize)
+          .build();
+    }
+
+    FileUploadClient client = FileUploadClient.custom()
+        .setMaxConnectionsPerHost(Math.max(20, concurrency))
+        .setAdaptiveConcurrencyLimit(concurrencyLimit)
+        .setHedgePolicy(hedgePercentile > 0 ? HedgePolicy.custom().setPercentile(hedgePercentile).build() : null)
+        .setEndpointGroup(endpointGroup)
+        .setImagePreprocessor(imagePreprocessor)
+        .setUploadListener(metrics)
+        .setRetryPolicy(RetryPolicy.custom().setMaxAttempts(maxAttempts).build())
+        .setCircuitBreakerFailureThreshold(breakerThreshold)
+        .build();
+
+    long startedAt = System.nanoTime();
+    long deadline = durationSeconds > 0 ? startedAt + TimeUnit.SECONDS.toNanos(durationSeconds) : Long.MAX_VALUE;
+    AtomicLong tickets = new AtomicLong();
+
+    ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "load-progress");
+      thread.setDaemon(true);
+      return thread;
+    });
+    progress.scheduleAtFixedRate(() -> printProgress(startedAt),
+        PROGRESS_INTERVAL_SECONDS, PROGRESS_INTERVAL_SECONDS, TimeUnit.SECONDS);
+
+    List<Thread> workers = new ArrayList<>();
+    for (int i = 0; i < concurrency; i++) {
+      Thread worker = new Thread(() -> {
+        while (!Thread.currentThread().isInterrupted()) {
+          long ticket = tickets.getAndIncrement();
+          if (ticket >= total) {
+            return;
+          }
+
+          // 목표 처리율이 있으면 예정 시각까지 대기, 없으면 바로 시작
+          long scheduledAt = rate > 0 ? startedAt + (long) (ticket * 1_000_000_000L / rate) : System.nanoTime();
+          if (scheduledAt >= deadline || System.nanoTime() >= deadline) {
+            return;
+          }
+          long wait;
+          while ((wait = scheduledAt - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(wait);
+          }
+
+          File file = files.get((int) (ticket % files.size()));
+          try {
+            if (endpointGroup != null) {
+              client.handleFileUpload(clientId, clientPwd, brandId, file);
+            } else {
+              client.handleFileUpload(domain, clientId, clientPwd, brandId, file);
+            }
+            succeeded.increment();
+            uploadedBytes.add(file.length());
+          } catch (Exception e) {
+            failed.increment();
+          }
+          requestLatency.record(System.nanoTime() - scheduledAt);
+        }
+      }, "load-worker-" + i);
+      worker.start();
+      workers.add(worker);
+    }
+
+    try {
+      for (Thread worker : workers) {
+        worker.join();
+      }
+    } finally {
+      progress.shutdownNow();
+      client.close();
+      if (imagePreprocessor != null) {
+        imagePreprocessor.close();
+      }
+    }
+    printReport(System.nanoTime() - startedAt);
+  }
+
+  private void printProgress(long startedAt) {
+    long elapsedSeconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startedAt);
+    long done = succeeded.sum() + failed.sum();
+    System.out.printf("[%4ds] 완료 %d (실패 %d), %.1f files/s%s%n", elapsedSeconds, done, failed.sum(),
+        elapsedSeconds > 0 ? done / (double) elapsedSeconds : 0,
+        concurrencyLimit != null ? ", 동시 실행 제한 " + concurrencyLimit.getLimit() : "");
+  }
+
+  private void printReport(long elapsedNanos) {
+    double elapsedSeconds = elapsedNanos / 1e9;
+    long success = succeeded.sum();
+
+    System.out.println("\n=== 부하 테스트 결과 ===");
+    System.out.printf("요청: %d (성공 %d, 실패 %d), 소요 시간 %.1fs%n", success + failed.sum(), success,
+        failed.sum(), elapsedSeconds);
+    System.out.printf("처리량: %.2f files/s, %.2f MB/s%n", success / elapsedSeconds,
+        uploadedBytes.sum() / elapsedSeconds / (1024 * 1024));
+
+    System.out.printf("전송: %.2f MB, 수신: %.2f MB, 새 연결 %d, 연결 재사용 %d%n",
+        metrics.getBytesSent() / (1024.0 * 1024), metrics.getBytesReceived() / (1024.0 * 1024),
+        metrics.getNewConnectionCount(), metrics.getReusedConnectionCount());
+    System.out.printf("재시도: 토큰 재발급 %d, 일시적 오류 %d, 끊어진 연결 재전송 %d, 서킷 브레이커 열림 %d, 헤지 %d, 도메인 전환 %d%n",
+        metrics.getTokenRetryCount(), metrics.getBackoffRetryCount(), metrics.getConnectionRetryCount(),
+        metrics.getCircuitOpenCount(), metrics.getHedgeCount(), metrics.getFailoverCount());
+    if (endpointGroup != null) {
+      for (EndpointGroup.Endpoint endpoint : endpointGroup.getEndpoints()) {
+        System.out.printf("엔드포인트: %s (%s, 응답 시간 %.1fms, 오류율 %.1f%%)%n", endpoint.getDomain(),
+            endpoint.isHealthy() ? "정상" : "비정상", endpoint.getLatencyNanos() / 1e6, endpoint.getErrorRate() * 100);
+      }
+    }
+    if (concurrencyLimit != null) {
+      System.out.printf("동시 실행 제한: %d (최소 응답 시간 %.1fms, 최근 응답 시간 %.1fms)%n", concurrencyLimit.getLimit(),
+          concurrencyLimit.getMinRttNanos() / 1e6, concurrencyLimit.getLastRttNanos() / 1e6);
+    }
+    if (imagePreprocessor != null) {
+      System.out.printf("이미지 전처리: 축소/재압축 %d, 원본 사용 %d, 캐시 적중 %d, 줄인 전송량 %.2f MB%n",
+          imagePreprocessor.getProcessedCount(), imagePreprocessor.getUnchangedCount(),
+          imagePreprocessor.getCacheHitCount(), metrics.getImageBytesSaved() / (1024.0 * 1024));
+    }
+
+    System.out.println("\n지연 시간 (ms)           count       p50       p90       p99      p999       max");
+    printLatency("요청 (대기 포함)", requestLatency);
+    printLatency("인증", metrics.getAuth());
+    printLatency("업로드", metrics.getUpload());
+
+    System.out.println("\n단계별 지연 시간 (ms)    count       p50       p90       p99      p999       max");
+    printLatency("토큰 조회 (적중)", metrics.getTokenCacheHit());
+    printLatency("토큰 조회 (미적중)", metrics.getTokenCacheMiss());
+    printLatency("연결 임대", metrics.getConnectionLease());
+    printLatency("TCP 연결", metrics.getConnect());
+    printLatency("TLS 핸드셰이크", metrics.getTlsHandshake());
+    printLatency("요청 전송", metrics.getRequestWrite());
+    printLatency("첫 바이트 대기", metrics.getTimeToFirstByte());
+    printLatency("응답 읽기", metrics.getResponseRead());
+    printLatency("JSON 역직렬화", metrics.getJsonParse());
+    if (imagePreprocessor != null) {
+      printLatency("이미지 전처리", metrics.getImagePreprocess());
+      printLatency("이미지 디코딩", metrics.getImageDecode());
+      printLatency("이미지 크기 조절", metrics.getImageResize());
+      printLatency("이미지 인코딩", metrics.getImageEncode());
+    }
+
+    System.out.println("\n오류 (API 응답 코드별)");
+    boolean printed = printErrors("인증", metrics.getAuthResultCodes());
+    printed |= printErrors("업로드", metrics.getUploadResultCodes());
+    if (!printed) {
+      System.out.println("  없음");
+    }
+  }
+
+  private static void printLatency(String label, LatencyHistogram histogram) {
+    System.out.printf("  %-18s %9d %9.1f %9.1f %9.1f %9.1f %9.1f%n", label, histogram.getCount(),
+        histogram.getValueAtPercentile(0.50, TimeUnit.MILLISECONDS),
+        histogram.getValueAtPercentile(0.90, TimeUnit.MILLISECONDS),
+        histogram.getValueAtPercentile(0.99, TimeUnit.MILLISECONDS),
+        histogram.getValueAtPercentile(0.999, TimeUnit.MILLISECONDS), histogram.getMax() / 1e6);
+  }
+
+  private static boolean printErrors(String label, Map<String, Long> resultCodes) {
+    boolean printed = false;
+    for (Map.Entry<String, Long> resultCode : resultCodes.entrySet()) {
+      if (!SUCCESS_CODE.equals(resultCode.getKey())) {
+        System.out.printf("  %s %s: %d%n", label, resultCode.getKey(), resultCode.getValue());
+        printed = true;
+      }
+    }
+    return printed;
+  }
+
+  /**
+   * 디렉토리(하위 포함), 단일 파일 또는 glob 패턴으로 파일 목록 생성
+   */
+  private static List<File> resolveFiles(String spec) throws IOException {
+    int firstGlob = indexOfGlob(spec);
+    if (firstGlob < 0) {
+      Path path = Paths.get(spec);
+      if (Files.isRegularFile(path)) {
+        return Collections.singletonList(path.toFile());
+      }
+      if (!Files.isDirectory(path)) {
+        throw new IOException("파일 또는 디렉토리가 존재하지 않습니다: " + spec);
+      }
+      return walk(path, null);
+    }
+
+    // glob 문자가 처음 나오는 경로 구간 앞까지를 탐색 시작 디렉토리로 사용
+    int separator = Math.max(spec.lastIndexOf('/', firstGlob), spec.lastIndexOf(File.separatorChar, firstGlob));
+    Path base = separator >= 0 ? Paths.get(spec.substring(0, separator + 1)) : Paths.get(".");
+    return walk(base, FileSystems.getDefault().getPathMatcher("glob:" + spec.substring(separator + 1)));
+  }
+
+  private static List<File> walk(Path base, PathMatcher matcher) throws IOException {
+    try (Stream<Path> paths = Files.walk(base)) {
+      return paths
+          .filter(Files::isRegularFile)
+          .filter(path -> matcher == null || matcher.matches(base.relativize(path)))
+          .sorted()
+          .map(Path::toFile)
+          .collect(Collectors.toList());
+    }
+  }
+
+  private static int indexOfGlob(String spec) {
+    for (int i = 0; i < spec.length(); i++) {
+      if ("*?[{".indexOf(spec.charAt(i)) >= 0) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean isEmpty(String value) {
+    return value == null || value.isEmpty();
+  }
+}
@@ -0,0 +1,5 @@
+#!/bin/sh
+
+# mvn 과 pom.xml을 사용해 벤치마크 jar 빌드 (FileUploadLib 소스를 함께 컴파일)
+# JMH 의존성을 내려받아야 하므로 최초 빌드는 인터넷 환경이 필요합니다.
+mvn clean package
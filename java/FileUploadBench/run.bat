@@ -0,0 +1,6 @@
+@echo off
+REM Windows batch file equivalent of run.sh
+
+REM 전체 벤치마크 실행 (gc 프로파일러로 할당량 함께 측정, 결과는 jmh-result.json에 저장)
+REM 특정 벤치마크만 실행: run.bat MultipartBenchmark -p fileSize=10240
+java -jar target\nirs-file-upload-bench.jar -prof gc -rf json -rff jmh-result.json %*
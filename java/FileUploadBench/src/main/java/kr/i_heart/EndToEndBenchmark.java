@@ -0,0 +1,73 @@
+package kr.i_heart;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import kr.i_heart.mock.MockMgovServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 루프백 모의 MGOV 서버를 대상으로 한 handleFileUpload 전체 경로 벤치마크
+ * 토큰 조회, 멀티파트 전송(평문 연결이므로 zero-copy), 응답 파싱, 커넥션 재사용을 모두 포함합니다.
+ * 모의 서버는 지연/오류 주입 없이 실행하며, 서버 측 TCP_NODELAY는 MockMgovServer가 켭니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EndToEndBenchmark {
+
+    // 10KB, 1MB, 10MB
+    @Param({"10240", "1048576", "10485760"})
+    private int fileSize;
+
+    private MockMgovServer server;
+    private FileUploadClient client;
+    private File file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = MockMgovServer.custom().start();
+        client = FileUploadClient.custom().build();
+
+        file = File.createTempFile("bench-upload", ".png");
+        byte[] data = new byte[fileSize];
+        new Random(42).nextBytes(data);
+        Files.write(file.toPath(), data);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        server.close();
+        file.delete();
+    }
+
+    @Benchmark
+    public FileUploadResponse handleFileUpload() throws Exception {
+        return client.handleFileUpload(server.getDomain(), "bench-client", "bench-password", "BR.bench", file);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public FileUploadResponse handleFileUploadConcurrent() throws Exception {
+        return client.handleFileUpload(server.getDomain(), "bench-client", "bench-password", "BR.bench", file);
+    }
+}
@@ -0,0 +1,118 @@
+package kr.i_heart;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import kr.i_heart.http.ContentType;
+import kr.i_heart.http.FileBody;
+import kr.i_heart.http.HttpEntity;
+import kr.i_heart.http.MultipartEntityBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 멀티파트 요청 본문 구성/인코딩 벤치마크
+ * build()는 파트 헤더 인코딩과 길이 계산만 수행하고, writeTo()는 실제 전송과 같은 경로로 본문 전체를 기록합니다.
+ * getContent()/fileBodyGetContent()는 본문을 힙에 적재하는 경로로, -prof gc 결과의 할당량 비교 기준입니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MultipartBenchmark {
+
+    // 10KB, 1MB, 10MB, 50MB
+    @Param({"10240", "1048576", "10485760", "52428800"})
+    private int fileSize;
+
+    private File file;
+    private ContentType contentType;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = File.createTempFile("bench-multipart", ".png");
+        byte[] data = new byte[fileSize];
+        new Random(42).nextBytes(data);
+        Files.write(file.toPath(), data);
+        contentType = ContentType.create("image/png");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+    }
+
+    /**
+     * 멀티파트 엔티티 구성 (FileUploadClient.uploadFile과 같은 파트 구성)
+     */
+    @Benchmark
+    public HttpEntity build() throws IOException {
+        return newBuilder().build();
+    }
+
+    /**
+     * 구성한 엔티티를 출력 스트림으로 기록 (전송 경로)
+     */
+    @Benchmark
+    public long writeTo() throws IOException {
+        DiscardOutputStream out = new DiscardOutputStream();
+        newBuilder().build().writeTo(out);
+        return out.count;
+    }
+
+    /**
+     * 구성한 엔티티 전체를 바이트 배열로 적재
+     */
+    @Benchmark
+    public byte[] getContent() throws IOException {
+        return newBuilder().build().getContent();
+    }
+
+    /**
+     * 파일 본문 전체를 바이트 배열로 적재
+     */
+    @Benchmark
+    public byte[] fileBodyGetContent() throws IOException {
+        return new FileBody(file, contentType, file.getName()).getContent();
+    }
+
+    private MultipartEntityBuilder newBuilder() {
+        MultipartEntityBuilder builder = MultipartEntityBuilder.create();
+        builder.addTextBody("reqFile", "{\"brandId\":\"BR.bench\"}");
+        builder.addPart("filePart", new FileBody(file, contentType, file.getName()));
+        return builder;
+    }
+
+    /**
+     * 기록된 바이트 수만 세는 출력 스트림
+     */
+    private static final class DiscardOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            count += length;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package kr.i_heart;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 토큰 저장소 키 생성/조회 벤치마크
+ * 모든 업로드 요청마다 실행되는 경로이므로 단일 스레드와 경합 상황을 함께 측정합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenManagerBenchmark {
+    private static final String DOMAIN = "https://bench.example.com";
+    private static final String CLIENT_ID = "bench-client";
+    private static final String CLIENT_PWD = "bench-password";
+
+    private final TokenManager.Authenticator authenticator = () -> "bench-token";
+    private TokenManager tokenManager;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        tokenManager = new TokenManager(new ObjectMapper(), 0, 60000, false, null, UploadListener.NOOP);
+        tokenManager.acquireToken(DOMAIN, CLIENT_ID, CLIENT_PWD, authenticator);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        tokenManager.close();
+    }
+
+    @Benchmark
+    public String generateKey() {
+        return tokenManager.generateKey(DOMAIN, CLIENT_ID, CLIENT_PWD);
+    }
+
+    /**
+     * 저장된 토큰 조회 (인증 없이 반환되는 경로)
+     */
+    @Benchmark
+    public String acquireCachedToken() throws Exception {
+        return tokenManager.acquireToken(DOMAIN, CLIENT_ID, CLIENT_PWD, authenticator);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String acquireCachedTokenContended() throws Exception {
+        return tokenManager.acquireToken(DOMAIN, CLIENT_ID, CLIENT_PWD, authenticator);
+    }
+}
@@ -0,0 +1,114 @@
+package kr.i_heart;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import kr.i_heart.mock.LatencyDistribution;
+import kr.i_heart.mock.MockMgovServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 동시 업로드 수에 따른 플랫폼 스레드 풀과 가상 스레드 비교 벤치마크 (가상 스레드는 Java 21 이상에서 실행)
+ * 한 번의 호출에서 concurrency 건의 블로킹 handleFileUpload를 동시에 실행하고 모두 끝날 때까지 기다립니다.
+ * 모의 서버가 업로드 응답을 50ms 지연시키므로, 스레드 수가 동시 업로드 수보다 적으면 대기열이 생겨 시간이 늘어납니다.
+ *
+ * platform: 고정 크기 스레드 풀 (platformThreads개, 기존 게이트웨이 구성)
+ * virtual: 업로드마다 가상 스레드 (캐리어 스레드는 CPU 코어 수만큼)
+ * 종료 시 JVM의 최대 스레드 수를 출력하여, 가상 스레드 모드가 적은 수의 OS 스레드로 동시 업로드를 처리하는지 확인합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Djdk.tracePinnedThreads=short"})
+public class VirtualThreadBenchmark {
+
+    @Param({"platform", "virtual"})
+    private String mode;
+
+    @Param({"1000", "4000"})
+    private int concurrency;
+
+    @Param({"200"})
+    private int platformThreads;
+
+    private MockMgovServer server;
+    private FileUploadClient client;
+    private ExecutorService executor;
+    private File file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if ("virtual".equals(mode) && !VirtualThreads.isAvailable()) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later.");
+        }
+
+        server = MockMgovServer.custom()
+            .setUploadLatency(LatencyDistribution.fixed(50))
+            .start();
+        // 커넥션 풀이 동시 업로드 수를 제한하지 않도록 호스트별 연결 수를 동시 업로드 수만큼 허용
+        client = FileUploadClient.custom()
+            .setMaxConnectionsPerHost(concurrency)
+            .build();
+        executor = "virtual".equals(mode)
+            ? VirtualThreads.newThreadPerTaskExecutor("bench-upload-")
+            : Executors.newFixedThreadPool(platformThreads);
+
+        file = File.createTempFile("bench-upload", ".png");
+        byte[] data = new byte[10240];
+        new Random(42).nextBytes(data);
+        Files.write(file.toPath(), data);
+
+        ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        System.out.println("peak JVM threads (" + mode + ", concurrency=" + concurrency + "): "
+            + threads.getPeakThreadCount());
+
+        executor.shutdownNow();
+        client.close();
+        server.close();
+        file.delete();
+    }
+
+    @Benchmark
+    public int concurrentUploads() throws Exception {
+        List<Future<FileUploadResponse>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(executor.submit(() ->
+                client.handleFileUpload(server.getDomain(), "bench-client", "bench-password", "BR.bench", file)));
+        }
+        int completed = 0;
+        for (Future<FileUploadResponse> future : futures) {
+            if (future.get() != null) {
+                completed++;
+            }
+        }
+        return completed;
+    }
+}
@@ -0,0 +1,114 @@
+package kr.i_heart.http;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 루프백 소켓으로 멀티파트 본문을 전송하는 벤치마크
+ * PooledConnection과 같이 SocketChannel 소켓 위의 ChannelOutputStream으로 기록하며,
+ * transferTo는 FileBody의 zero-copy 경로(FileChannel.transferTo), copy는 채널을 노출하지 않아 고정 크기 청크로 복사하는 경로(TLS 연결과 동일)입니다.
+ * 수신 측은 별도 스레드에서 읽고 버리기만 하므로, -prof gc 결과의 gc.alloc.rate.norm과 시간으로 두 경로의 할당량과 CPU 비용을 비교할 수 있습니다.
+ * 이 벤치마크는 패키지 내부 클래스(ChannelOutputStream)를 사용하므로 kr.i_heart.http 패키지에 둡니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SocketWriteBenchmark {
+    private static final int BUFFER_SIZE = 8192;
+
+    // 1MB, 10MB, 50MB
+    @Param({"1048576", "10485760", "52428800"})
+    private int fileSize;
+
+    @Param({"transferTo", "copy"})
+    private String path;
+
+    private File file;
+    private ServerSocketChannel server;
+    private SocketChannel channel;
+    private Thread drainer;
+    private ChannelOutputStream out;
+    private HttpEntity entity;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = File.createTempFile("bench-socket", ".png");
+        byte[] data = new byte[fileSize];
+        new Random(42).nextBytes(data);
+        Files.write(file.toPath(), data);
+
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        channel = SocketChannel.open(server.getLocalAddress());
+        channel.socket().setTcpNoDelay(true);
+        SocketChannel accepted = server.accept();
+        drainer = new Thread(() -> drain(accepted), "socket-write-bench-drain");
+        drainer.setDaemon(true);
+        drainer.start();
+
+        out = new ChannelOutputStream(channel.socket().getOutputStream(),
+            "transferTo".equals(path) ? channel : null, BUFFER_SIZE);
+
+        // FileUploadClient.uploadFile과 같은 파트 구성 (엔티티는 재사용 가능)
+        MultipartEntityBuilder builder = MultipartEntityBuilder.create();
+        builder.addTextBody("reqFile", "{\"brandId\":\"BR.bench\"}");
+        builder.addPart("filePart", new FileBody(file, ContentType.create("image/png"), file.getName()));
+        entity = builder.build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, InterruptedException {
+        channel.close();
+        drainer.join(TimeUnit.SECONDS.toMillis(10));
+        server.close();
+        file.delete();
+    }
+
+    /**
+     * 엔티티 전체를 소켓으로 기록 (요청 본문 전송 경로)
+     */
+    @Benchmark
+    public long writeTo() throws IOException {
+        entity.writeTo(out);
+        out.flush();
+        return entity.getContentLength();
+    }
+
+    /**
+     * 수신한 데이터를 연결이 닫힐 때까지 읽고 버림
+     */
+    private static void drain(SocketChannel accepted) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(256 * 1024);
+        try (SocketChannel source = accepted) {
+            while (source.read(buffer) != -1) {
+                buffer.clear();
+            }
+        } catch (IOException e) {
+            // 벤치마크 종료 시 연결이 닫힘
+        }
+    }
+}
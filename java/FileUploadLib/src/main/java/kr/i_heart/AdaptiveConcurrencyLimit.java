@@ -0,0 +1,384 @@
+package kr.i_heart;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import kr.i_heart.http.HttpExchangeListener;
+import kr.i_heart.http.HttpExchangeMetrics;
+import kr.i_heart.http.RequestAbortedException;
+
+/**
+ * 관측한 업로드 응답 시간에 따라 동시 업로드 수를 조절하는 적응형 동시 실행 제한 (TCP Vegas 방식)
+ * 업로드 요청의 첫 바이트 대기 시간(요청 전송 완료부터 응답 헤더 수신까지, 파일 크기의 영향을 받지 않음)을 최소값과 비교하여
+ * 서버 쪽 대기열 길이를 추정하고, 대기열이 짧으면 제한을 늘리고 길면 줄입니다.
+ * 타임아웃, 연결 오류, HTTP 5xx/429 응답은 과부하 신호로 보고 제한을 backoffRatio만큼 곱하여 줄입니다.
+ * 야간처럼 서버 여유가 있으면 제한이 올라가고, 피크 시간에는 서버 처리 능력에 맞추어 내려갑니다.
+ *
+ * 제한은 측정 구간(최소 응답 시간의 2배, 10ms ~ 1초, 측정값 10개 이상)마다 한 번, 구간의 평균 응답 시간으로 조절하므로
+ * 이전 제한에서 보낸 요청의 측정값이 한꺼번에 반영되어 제한이 크게 흔들리지 않습니다.
+ * 추정 대기열 = limit * (1 - minRtt / 구간 평균 rtt)
+ * - 대기열 <= log10(limit): limit += 6 * log10(limit)
+ * - 대기열 < 3 * log10(limit): limit += log10(limit)
+ * - 대기열 > 6 * log10(limit): limit -= log10(limit)
+ * 동시 실행 수가 제한의 절반보다 적으면(부하가 제한에 못 미치면) 제한을 늘리지 않으며,
+ * 서버 상태 변화에 따라가도록 probeInterval개 측정마다 최소 응답 시간을 다시 측정합니다.
+ *
+ * FileUploadClient.Builder.setAdaptiveConcurrencyLimit로 설정하며 현재 제한은 getLimit으로 조회합니다.
+ * 한도에 도달하면 동기 업로드는 블로킹 대기하고, 비동기 업로드는 스레드를 점유하지 않고 대기합니다.
+ */
+public final class AdaptiveConcurrencyLimit {
+    private static final long MIN_WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long MAX_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int MIN_WINDOW_SAMPLES = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final int probeInterval;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private int inFlight;
+
+    // 제한 추정 상태 (lock으로 보호, limit은 잠금 없이 조회)
+    private double estimatedLimit;
+    private volatile int limit;
+    private long minRttNanos = Long.MAX_VALUE;
+    private int samplesSinceProbe;
+    private volatile long lastRttNanos;
+
+    // 현재 측정 구간
+    private long windowStart = System.nanoTime();
+    private long windowRttSum;
+    private int windowSamples;
+    private boolean windowOverloaded;
+
+    private AdaptiveConcurrencyLimit(Builder builder) {
+        this.minLimit = builder.minLimit;
+        this.maxLimit = builder.maxLimit;
+        this.backoffRatio = builder.backoffRatio;
+        this.probeInterval = builder.probeInterval;
+        this.estimatedLimit = builder.initialLimit;
+        this.limit = builder.initialLimit;
+    }
+
+    /**
+     * 적응형 동시 실행 제한 설정을 위한 빌더 클래스
+     */
+    public static class Builder {
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 200;
+        private double backoffRatio = 0.9;
+        private int probeInterval = 1000;
+
+        /**
+         * 시작 제한 (기본 20)
+         */
+        public Builder setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+            return this;
+        }
+
+        /**
+         * 최소 제한 (기본 1)
+         */
+        public Builder setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+            return this;
+        }
+
+        /**
+         * 최대 제한 (기본 200)
+         * 연결 수 제한과 함께 사용할 경우 호스트별 최대 연결 수보다 크게 설정해도 실제 동시 요청 수는 연결 수를 넘지 않습니다.
+         */
+        public Builder setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        /**
+         * 과부하 신호(타임아웃, 연결 오류, 5xx, 429)를 받았을 때 제한에 곱하는 값 (0.5 ~ 1.0, 기본 0.9)
+         */
+        public Builder setBackoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+            return this;
+        }
+
+        /**
+         * 최소 응답 시간을 다시 측정하는 측정 간격 (기본 1000개)
+         */
+        public Builder setProbeInterval(int probeInterval) {
+            this.probeInterval = probeInterval;
+            return this;
+        }
+
+        public AdaptiveConcurrencyLimit build() {
+            if (minLimit <= 0 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+                throw new IllegalArgumentException("limits must satisfy 0 < minLimit <= initialLimit <= maxLimit.");
+            }
+            if (backoffRatio < 0.5 || backoffRatio >= 1.0) {
+                throw new IllegalArgumentException("backoffRatio must be in [0.5, 1.0).");
+            }
+            if (probeInterval <= 0) {
+                throw new IllegalArgumentException("probeInterval must be positive.");
+            }
+            return new AdaptiveConcurrencyLimit(this);
+        }
+    }
+
+    /**
+     * 빌더 생성 메서드
+     */
+    public static Builder custom() {
+        return new Builder();
+    }
+
+    /**
+     * 동시 실행 허용을 받을 때까지 대기 (완료 후 반드시 release 호출)
+     * @throws InterruptedException 대기 중 인터럽트된 경우 (허용을 받지 않은 상태)
+     */
+    public void acquire() throws InterruptedException {
+        CompletableFuture<Void> permit = acquireAsync();
+        try {
+            permit.get();
+        } catch (InterruptedException e) {
+            if (!permit.cancel(false)) {
+                release(); // 취소 전에 허용된 경우 반환
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * 대기 없이 바로 동시 실행 허용을 받을 수 있으면 받음 (허용을 받았으면 완료 후 반드시 release 호출)
+     * @return 허용을 받았으면 true (대기 중인 요청이 있거나 한도에 도달했으면 false)
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (waiters.isEmpty() && inFlight < limit) {
+                inFlight++;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 동시 실행 허용을 받으면 완료되는 CompletableFuture 반환 (완료 후 반드시 release 호출)
+     * 대기 중인 CompletableFuture를 취소하면 대기열에서 제외됩니다.
+     */
+    public CompletableFuture<Void> acquireAsync() {
+        lock.lock();
+        try {
+            if (waiters.isEmpty() && inFlight < limit) {
+                inFlight++;
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+            return waiter;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 동시 실행 허용 반환 (대기 중인 요청이 있으면 순서대로 허용)
+     */
+    public void release() {
+        List<CompletableFuture<Void>> granted;
+        lock.lock();
+        try {
+            inFlight--;
+            granted = grantLocked();
+        } finally {
+            lock.unlock();
+        }
+        complete(granted);
+    }
+
+    /**
+     * 업로드 응답 시간 측정값 반영
+     * @param rttNanos 첫 바이트 대기 시간 (ns)
+     * @param overloaded 과부하 신호(타임아웃, 연결 오류, 5xx, 429)였으면 true
+     */
+    public void onSample(long rttNanos, boolean overloaded) {
+        List<CompletableFuture<Void>> granted;
+        lock.lock();
+        try {
+            if (overloaded) {
+                windowOverloaded = true;
+            } else if (rttNanos > 0) {
+                lastRttNanos = rttNanos;
+                if (++samplesSinceProbe >= probeInterval) {
+                    samplesSinceProbe = 0;
+                    minRttNanos = rttNanos; // 서버 상태 변화를 따라가도록 최소 응답 시간 재측정
+                } else if (rttNanos < minRttNanos) {
+                    minRttNanos = rttNanos;
+                }
+                windowRttSum += rttNanos;
+                windowSamples++;
+            }
+
+            // 측정 구간이 끝났을 때 한 번만 조절 (과부하 신호는 구간 길이만 채우면 바로 반영)
+            long now = System.nanoTime();
+            long windowNanos = minRttNanos == Long.MAX_VALUE ? MIN_WINDOW_NANOS
+                : Math.max(MIN_WINDOW_NANOS, Math.min(MAX_WINDOW_NANOS, minRttNanos * 2));
+            if (now - windowStart < windowNanos || (!windowOverloaded && windowSamples < MIN_WINDOW_SAMPLES)) {
+                return;
+            }
+            double previous = estimatedLimit;
+            if (windowOverloaded) {
+                estimatedLimit = Math.max(minLimit, estimatedLimit * backoffRatio);
+            } else {
+                estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+                    vegas(estimatedLimit, windowRttSum / windowSamples)));
+            }
+            windowStart = now;
+            windowRttSum = 0;
+            windowSamples = 0;
+            windowOverloaded = false;
+            if (estimatedLimit == previous) {
+                return;
+            }
+            limit = (int) estimatedLimit;
+            granted = grantLocked(); // 제한이 늘어난 만큼 대기 중인 요청 허용
+        } finally {
+            lock.unlock();
+        }
+        complete(granted);
+    }
+
+    private double vegas(double current, long rttNanos) {
+        double log = Math.max(1, Math.log10(current));
+        double queue = current * (1 - (double) minRttNanos / rttNanos);
+        if (queue <= log) {
+            // 부하가 제한에 못 미치면 늘리지 않음
+            return inFlight * 2 >= current ? current + 6 * log : current;
+        }
+        if (queue < 3 * log) {
+            return inFlight * 2 >= current ? current + log : current;
+        }
+        if (queue > 6 * log) {
+            return current - log;
+        }
+        return current;
+    }
+
+    private List<CompletableFuture<Void>> grantLocked() {
+        List<CompletableFuture<Void>> granted = null;
+        while (inFlight < limit && !waiters.isEmpty()) {
+            CompletableFuture<Void> waiter = waiters.poll();
+            if (waiter.isDone()) {
+                continue; // 취소된 대기
+            }
+            inFlight++;
+            if (granted == null) {
+                granted = new ArrayList<>();
+            }
+            granted.add(waiter);
+        }
+        return granted;
+    }
+
+    // 잠금 밖에서 완료 (대기하던 작업의 후속 처리가 잠금 안에서 실행되지 않도록)
+    private void complete(List<CompletableFuture<Void>> granted) {
+        if (granted == null) {
+            return;
+        }
+        for (CompletableFuture<Void> waiter : granted) {
+            if (!waiter.complete(null)) {
+                release(); // 허용 직전에 취소된 경우 다음 대기 요청에 넘김
+            }
+        }
+    }
+
+    /**
+     * 업로드 HTTP 교환 결과를 측정값으로 반영한 후 delegate에 전달하는 리스너 (FileUploadClient가 업로드 요청에만 연결)
+     */
+    HttpExchangeListener samplingListener(HttpExchangeListener delegate) {
+        return new HttpExchangeListener() {
+            @Override
+            public void onExchange(HttpExchangeMetrics metrics) {
+                int status = metrics.getStatusCode();
+                Exception error = metrics.getError();
+                if (error instanceof RequestAbortedException) {
+                    // 헤지 등으로 취소한 요청은 반영하지 않음
+                } else if (error != null || status == 429 || status >= 500) {
+                    onSample(-1, true);
+                } else if (metrics.getTimeToFirstByteNanos() > 0) {
+                    onSample(metrics.getTimeToFirstByteNanos(), false);
+                }
+                if (delegate != null) {
+                    delegate.onExchange(metrics);
+                }
+            }
+        };
+    }
+
+    /**
+     * 현재 동시 실행 제한
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * 현재 실행 중인 요청 수
+     */
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 허용을 기다리는 요청 수
+     */
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 측정한 최소 응답 시간 (ns, 측정 전이면 0)
+     */
+    public long getMinRttNanos() {
+        lock.lock();
+        try {
+            return minRttNanos != Long.MAX_VALUE ? minRttNanos : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 마지막으로 측정한 응답 시간 (ns)
+     */
+    public long getLastRttNanos() {
+        return lastRttNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveConcurrencyLimit{limit=" + limit + ", inFlight=" + getInFlight()
+            + ", waiting=" + getWaiting() + "}";
+    }
+}
@@ -0,0 +1,82 @@
+package kr.i_heart;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 일괄 파일 업로드 결과를 담는 클래스
+ * 파일별 성공 응답과 실패 예외, 전체 처리량 정보를 제공합니다.
+ */
+public class BulkUploadResult {
+
+    // 업로드 성공 파일별 응답 (입력 순서 유지)
+    private final Map<File, FileUploadResponse> responses;
+
+    // 업로드 실패 파일별 예외 (입력 순서 유지)
+    private final Map<File, Exception> failures;
+
+    // 업로드에 성공한 파일의 전체 바이트 수
+    private final long uploadedBytes;
+
+    // 일괄 업로드 소요 시간 (ms)
+    private final long elapsedMillis;
+
+    public BulkUploadResult(Map<File, FileUploadResponse> responses, Map<File, Exception> failures,
+                            long uploadedBytes, long elapsedMillis) {
+        this.responses = Collections.unmodifiableMap(responses);
+        this.failures = Collections.unmodifiableMap(failures);
+        this.uploadedBytes = uploadedBytes;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public Map<File, FileUploadResponse> getResponses() {
+        return responses;
+    }
+
+    public Map<File, Exception> getFailures() {
+        return failures;
+    }
+
+    public int getSuccessCount() {
+        return responses.size();
+    }
+
+    public int getFailureCount() {
+        return failures.size();
+    }
+
+    public long getUploadedBytes() {
+        return uploadedBytes;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * 초당 업로드 성공 파일 수
+     */
+    public double getFilesPerSecond() {
+        return elapsedMillis > 0 ? responses.size() * 1000.0 / elapsedMillis : 0;
+    }
+
+    /**
+     * 초당 업로드 성공 바이트 수
+     */
+    public double getBytesPerSecond() {
+        return elapsedMillis > 0 ? uploadedBytes * 1000.0 / elapsedMillis : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkUploadResult{" +
+            "success=" + responses.size() +
+            ", failure=" + failures.size() +
+            ", uploadedBytes=" + uploadedBytes +
+            ", elapsedMillis=" + elapsedMillis +
+            ", filesPerSecond=" + String.format("%.2f", getFilesPerSecond()) +
+            ", bytesPerSecond=" + String.format("%.0f", getBytesPerSecond()) +
+            '}';
+    }
+}
@@ -0,0 +1,154 @@
+package kr.i_heart;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 도메인별 서킷 브레이커
+ * 연결 실패, 타임아웃, HTTP 5xx가 연속으로 failureThreshold번 발생하면 열림(OPEN) 상태가 되어
+ * openTimeout 동안 해당 도메인의 인증/업로드 요청을 보내지 않고 바로 CircuitBreakerOpenException으로 실패시킵니다.
+ * 장애 중에 요청마다 연결/읽기 타임아웃을 기다리지 않기 위한 것입니다.
+ *
+ * openTimeout이 지나면 반열림(HALF_OPEN) 상태에서 요청 하나만 시험으로 보내며,
+ * 성공(또는 서버가 정상 응답한 API 오류)하면 닫힘(CLOSED), 실패하면 다시 열림 상태가 됩니다.
+ * FileUploadClient.Builder.setCircuitBreakerFailureThreshold로 활성화하며, 상태는 FileUploadClient.getCircuitBreaker로 조회합니다.
+ */
+public final class CircuitBreaker {
+
+    /**
+     * 서킷 브레이커 상태
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String domain;
+    private final int failureThreshold;
+    private final long openTimeoutNanos;
+    private final UploadListener listener;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean probing = new AtomicBoolean();
+    private volatile State state = State.CLOSED;
+    private volatile long openedAt;
+
+    /**
+     * 생성자
+     * @param domain API 도메인 URL
+     * @param failureThreshold 열림 상태가 되는 연속 실패 횟수
+     * @param openTimeout 열림 상태 유지 시간 (ms)
+     * @param listener 상태 변경을 통보받을 리스너
+     */
+    CircuitBreaker(String domain, int failureThreshold, long openTimeout, UploadListener listener) {
+        this.domain = domain;
+        this.failureThreshold = failureThreshold;
+        this.openTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(openTimeout);
+        this.listener = listener;
+    }
+
+    /**
+     * 요청 허용 여부 확인 (허용된 요청은 결과를 onSuccess 또는 onFailure로 반드시 기록해야 함)
+     * @return 요청을 보내도 되면 true
+     */
+    boolean tryAcquire() {
+        State current = state;
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN) {
+            if (System.nanoTime() - openedAt < openTimeoutNanos) {
+                return false;
+            }
+            transition(State.OPEN, State.HALF_OPEN);
+        }
+        // 반열림 상태에서는 시험 요청 하나만 허용
+        return probing.compareAndSet(false, true);
+    }
+
+    /**
+     * 요청 성공 기록 (서버가 응답한 API 오류 포함)
+     */
+    void onSuccess() {
+        if (consecutiveFailures.get() != 0) {
+            consecutiveFailures.set(0);
+        }
+        if (state != State.CLOSED) {
+            transition(State.HALF_OPEN, State.CLOSED);
+            probing.set(false);
+        }
+    }
+
+    /**
+     * 서버 상태 이상(연결 실패, 타임아웃, 5xx)으로 인한 실패 기록
+     */
+    void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open(State.HALF_OPEN);
+            probing.set(false);
+        } else if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            open(State.CLOSED);
+        }
+    }
+
+    /**
+     * 열림 상태에서 남은 시간 (ms, 열림 상태가 아니면 0)
+     */
+    public long getRemainingOpenMillis() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(openTimeoutNanos - (System.nanoTime() - openedAt)));
+    }
+
+    private void open(State from) {
+        synchronized (this) {
+            if (state != from) {
+                return;
+            }
+            openedAt = System.nanoTime();
+            state = State.OPEN;
+        }
+        listener.onCircuitBreakerStateChange(domain, State.OPEN);
+    }
+
+    private void transition(State from, State to) {
+        synchronized (this) {
+            if (state != from) {
+                return;
+            }
+            if (to == State.CLOSED) {
+                consecutiveFailures.set(0);
+            }
+            state = to;
+        }
+        listener.onCircuitBreakerStateChange(domain, to);
+    }
+
+    /**
+     * API 도메인 URL
+     */
+    public String getDomain() {
+        return domain;
+    }
+
+    /**
+     * 현재 상태
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * 현재 연속 실패 횟수
+     */
+    public int getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreaker{domain='" + domain + "', state=" + state
+            + ", consecutiveFailures=" + consecutiveFailures.get() + "}";
+    }
+}
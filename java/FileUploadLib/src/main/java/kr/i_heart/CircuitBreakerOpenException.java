@@ -0,0 +1,35 @@
+package kr.i_heart;
+
+/**
+ * 서킷 브레이커가 열려 있어 요청을 보내지 않고 실패한 경우의 예외
+ */
+public class CircuitBreakerOpenException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    private final String domain;
+    private final long remainingOpenMillis;
+
+    /**
+     * 생성자
+     * @param domain API 도메인 URL
+     * @param remainingOpenMillis 열림 상태에서 남은 시간 (ms)
+     */
+    public CircuitBreakerOpenException(String domain, long remainingOpenMillis) {
+        super("Circuit breaker is open: " + domain + " (retry after " + remainingOpenMillis + "ms)");
+        this.domain = domain;
+        this.remainingOpenMillis = remainingOpenMillis;
+    }
+
+    /**
+     * API 도메인 URL
+     */
+    public String getDomain() {
+        return domain;
+    }
+
+    /**
+     * 다음 시험 요청까지 남은 시간 (ms)
+     */
+    public long getRemainingOpenMillis() {
+        return remainingOpenMillis;
+    }
+}
@@ -0,0 +1,371 @@
+package kr.i_heart;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 여러 API 도메인(주 센터, 재해 복구 센터 등)으로 업로드를 분산하고 장애 시 다른 도메인으로 전환하는 엔드포인트 그룹
+ * 업로드마다 정상 상태인 엔드포인트 중 두 개를 임의로 골라 비용이 낮은 쪽으로 보냅니다 (power-of-two-choices).
+ *
+ * 비용 = 응답 시간 EWMA × (진행 중인 요청 수 + 1) / (1 - 오류율 EWMA)
+ * - 응답 시간은 peak EWMA로, 평균보다 느린 응답은 바로 반영하고 이후 decayTime에 걸쳐 낮아집니다.
+ *   조회할 때도 시간에 따라 낮아지므로 한동안 요청을 받지 않은 엔드포인트는 다시 선택되어 응답 시간이 갱신됩니다.
+ * - 아직 응답 시간을 모르는 엔드포인트는 진행 중인 요청이 없으면 가장 먼저 선택되고, 있으면 요청마다 1초로 간주합니다.
+ * - 오류율은 서버 상태 이상(연결 실패, 타임아웃, HTTP 5xx)의 비율이며, 서버가 응답한 API 오류와 4xx는 정상 응답으로 봅니다.
+ *
+ * 서버 상태 이상이 연속으로 failureThreshold번 발생한 엔드포인트는 비정상 상태가 되어 선택하지 않습니다.
+ * 비정상 엔드포인트는 probeInterval마다 인증 요청으로 상태를 확인(health probe)하며, 응답하면 다시 정상 상태가 됩니다.
+ * 모든 엔드포인트가 비정상이면 전체 엔드포인트 중에서 선택합니다.
+ *
+ * 사용 예:
+ * FileUploadClient client = FileUploadClient.custom()
+ *     .setEndpointGroup(EndpointGroup.custom()
+ *         .addDomain("https://primary.example.com")
+ *         .addDomain("https://dr.example.com")
+ *         .build())
+ *     .build();
+ * client.handleFileUpload(clientId, clientPwd, brandId, file);
+ */
+public final class EndpointGroup {
+    private static final long NO_SAMPLE_PENALTY_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final double ERROR_RATE_ALPHA = 0.1;   // 오류율 EWMA 가중치 (최근 약 10개 요청)
+    private static final double MAX_ERROR_RATE = 0.95;    // 비용 계산 시 오류율 상한 (비용이 무한대가 되지 않도록)
+
+    private final List<Endpoint> endpoints;
+    private final Map<String, Endpoint> endpointsByDomain;
+
+    private EndpointGroup(Builder builder) {
+        long decayNanos = TimeUnit.MILLISECONDS.toNanos(builder.decayTime);
+        long probeIntervalNanos = TimeUnit.MILLISECONDS.toNanos(builder.probeInterval);
+        List<Endpoint> list = new ArrayList<>();
+        Map<String, Endpoint> byDomain = new LinkedHashMap<>();
+        for (String domain : builder.domains) {
+            Endpoint endpoint = new Endpoint(domain, decayNanos, builder.failureThreshold, probeIntervalNanos);
+            list.add(endpoint);
+            byDomain.put(domain, endpoint);
+        }
+        this.endpoints = Collections.unmodifiableList(list);
+        this.endpointsByDomain = byDomain;
+    }
+
+    /**
+     * 엔드포인트 그룹 설정을 위한 빌더 클래스
+     */
+    public static class Builder {
+        private final List<String> domains = new ArrayList<>();
+        private long decayTime = 10000;
+        private int failureThreshold = 3;
+        private long probeInterval = 5000;
+
+        /**
+         * API 도메인 URL 추가 (예: https://primary.example.com)
+         */
+        public Builder addDomain(String domain) {
+            this.domains.add(domain);
+            return this;
+        }
+
+        /**
+         * 응답 시간 EWMA가 낮아지는 시간 상수 (ms, 기본 10000)
+         */
+        public Builder setDecayTime(long decayTime) {
+            this.decayTime = decayTime;
+            return this;
+        }
+
+        /**
+         * 비정상 상태가 되는 연속 실패 횟수 (기본 3)
+         */
+        public Builder setFailureThreshold(int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+            return this;
+        }
+
+        /**
+         * 비정상 엔드포인트의 상태 확인 간격 (ms, 기본 5000)
+         */
+        public Builder setProbeInterval(long probeInterval) {
+            this.probeInterval = probeInterval;
+            return this;
+        }
+
+        public EndpointGroup build() {
+            if (domains.isEmpty()) {
+                throw new IllegalArgumentException("at least one domain is required.");
+            }
+            for (int i = 0; i < domains.size(); i++) {
+                String domain = domains.get(i);
+                if (domain == null || domain.trim().isEmpty()) {
+                    throw new IllegalArgumentException("domain cannot be null or empty.");
+                }
+                if (domains.indexOf(domain) != i) {
+                    throw new IllegalArgumentException("duplicate domain: " + domain);
+                }
+            }
+            if (decayTime <= 0 || probeInterval <= 0) {
+                throw new IllegalArgumentException("decayTime and probeInterval must be positive.");
+            }
+            if (failureThreshold <= 0) {
+                throw new IllegalArgumentException("failureThreshold must be positive.");
+            }
+            return new EndpointGroup(this);
+        }
+    }
+
+    /**
+     * 빌더 생성 메서드
+     */
+    public static Builder custom() {
+        return new Builder();
+    }
+
+    /**
+     * 엔드포인트 목록 (추가한 순서)
+     */
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * 도메인의 엔드포인트 조회
+     * @return 엔드포인트 (그룹에 없는 도메인이면 null)
+     */
+    public Endpoint getEndpoint(String domain) {
+        return endpointsByDomain.get(domain);
+    }
+
+    /**
+     * 업로드를 보낼 엔드포인트 선택
+     * 정상 엔드포인트 중 두 개를 임의로 골라 비용이 낮은 쪽을 반환하며, 정상 엔드포인트가 없으면 전체 중에서 고릅니다.
+     * @param excluded 이미 실패하여 제외할 엔드포인트
+     * @return 엔드포인트 (모두 제외되었으면 null)
+     */
+    Endpoint select(Collection<Endpoint> excluded) {
+        List<Endpoint> candidates = new ArrayList<>(endpoints.size());
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.healthy && !excluded.contains(endpoint)) {
+                candidates.add(endpoint);
+            }
+        }
+        if (candidates.isEmpty()) {
+            for (Endpoint endpoint : endpoints) {
+                if (!excluded.contains(endpoint)) {
+                    candidates.add(endpoint);
+                }
+            }
+        }
+
+        int size = candidates.size();
+        if (size <= 1) {
+            return size == 0 ? null : candidates.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        long now = System.nanoTime();
+        Endpoint a = candidates.get(first);
+        Endpoint b = candidates.get(second);
+        return a.cost(now) <= b.cost(now) ? a : b;
+    }
+
+    @Override
+    public String toString() {
+        return "EndpointGroup" + endpoints;
+    }
+
+    /**
+     * API 도메인 하나의 응답 시간, 오류율, 정상 여부
+     */
+    public static final class Endpoint {
+        private final String domain;
+        private final long decayNanos;
+        private final int failureThreshold;
+        private final long probeIntervalNanos;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile boolean healthy = true;
+
+        // this로 보호
+        private double latencyNanos;       // peak EWMA (응답 시간을 모르면 0)
+        private long latencyUpdatedAt;
+        private double errorRate;
+        private int consecutiveFailures;
+        private long nextProbeAt;
+        private boolean probing;
+
+        Endpoint(String domain, long decayNanos, int failureThreshold, long probeIntervalNanos) {
+            this.domain = domain;
+            this.decayNanos = decayNanos;
+            this.failureThreshold = failureThreshold;
+            this.probeIntervalNanos = probeIntervalNanos;
+        }
+
+        public String getDomain() {
+            return domain;
+        }
+
+        /**
+         * 현재 응답 시간 EWMA (ns, 응답 시간을 모르면 0)
+         */
+        public synchronized long getLatencyNanos() {
+            return (long) decayedLatency(System.nanoTime());
+        }
+
+        /**
+         * 서버 상태 이상(연결 실패, 타임아웃, HTTP 5xx) 비율의 EWMA (0.0 ~ 1.0)
+         */
+        public synchronized double getErrorRate() {
+            return errorRate;
+        }
+
+        /**
+         * 진행 중인 인증/업로드 요청 수
+         */
+        public int getInFlight() {
+            return inFlight.get();
+        }
+
+        /**
+         * 정상 상태 여부 (연속 실패로 비정상이 되면 상태 확인에 성공할 때까지 false)
+         */
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        /**
+         * 요청 시작 기록 (끝나면 end를 반드시 호출해야 함)
+         */
+        void begin() {
+            inFlight.incrementAndGet();
+        }
+
+        /**
+         * 요청 종료 기록
+         */
+        void end() {
+            inFlight.decrementAndGet();
+        }
+
+        /**
+         * 서버가 응답한 요청 기록 (API 오류와 4xx 포함)
+         * @param latencyNanos 응답 시간 (ns, 응답 시간으로 쓰지 않는 요청이면 음수)
+         * @return 비정상에서 정상 상태로 바뀌었으면 true
+         */
+        synchronized boolean onSuccess(long latencyNanos) {
+            if (latencyNanos >= 0) {
+                observeLatency(latencyNanos, System.nanoTime());
+            }
+            errorRate -= errorRate * ERROR_RATE_ALPHA;
+            consecutiveFailures = 0;
+            return markHealthy();
+        }
+
+        /**
+         * 서버 상태 이상(연결 실패, 타임아웃, HTTP 5xx) 기록
+         * 실패까지 걸린 시간이 현재 응답 시간보다 길면 응답 시간에 반영합니다 (타임아웃).
+         * @param elapsedNanos 실패까지 걸린 시간 (ns)
+         * @return 정상에서 비정상 상태로 바뀌었으면 true
+         */
+        synchronized boolean onFailure(long elapsedNanos) {
+            long now = System.nanoTime();
+            if (elapsedNanos > decayedLatency(now)) {
+                observeLatency(elapsedNanos, now);
+            }
+            errorRate += (1 - errorRate) * ERROR_RATE_ALPHA;
+            consecutiveFailures++;
+            if (healthy && consecutiveFailures >= failureThreshold) {
+                healthy = false;
+                nextProbeAt = now + probeIntervalNanos;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * 비정상 상태이고 상태 확인 시각이 되었으면 상태 확인을 시작
+         * @return 상태 확인을 시작했으면 true (결과를 onProbe로 반드시 기록해야 함)
+         */
+        boolean tryStartProbe() {
+            if (healthy) {
+                return false;
+            }
+            synchronized (this) {
+                if (healthy || probing || System.nanoTime() - nextProbeAt < 0) {
+                    return false;
+                }
+                probing = true;
+                return true;
+            }
+        }
+
+        /**
+         * 상태 확인 결과 기록
+         * @param reachable 서버가 응답했으면 true
+         * @return 비정상에서 정상 상태로 바뀌었으면 true
+         */
+        synchronized boolean onProbe(boolean reachable) {
+            probing = false;
+            if (reachable) {
+                consecutiveFailures = 0;
+                return markHealthy();
+            }
+            nextProbeAt = System.nanoTime() + probeIntervalNanos;
+            return false;
+        }
+
+        /**
+         * 선택 비용 (낮을수록 우선)
+         */
+        synchronized double cost(long now) {
+            int active = inFlight.get();
+            double latency = decayedLatency(now);
+            double base = latency > 0 ? latency * (active + 1) : (double) NO_SAMPLE_PENALTY_NANOS * active;
+            return base / (1 - Math.min(errorRate, MAX_ERROR_RATE));
+        }
+
+        private boolean markHealthy() {
+            if (healthy) {
+                return false;
+            }
+            healthy = true;
+            return true;
+        }
+
+        /**
+         * 응답 시간 반영 (현재 값보다 느리면 그 값으로 바로 올리고, 빠르면 경과 시간에 따른 가중치로 평균)
+         */
+        private void observeLatency(long sampleNanos, long now) {
+            double weight = Math.exp(-Math.max(0, now - latencyUpdatedAt) / (double) decayNanos);
+            double decayed = latencyNanos * weight;
+            latencyNanos = sampleNanos > decayed ? sampleNanos : decayed + sampleNanos * (1 - weight);
+            latencyUpdatedAt = now;
+        }
+
+        /**
+         * 마지막 응답 이후 경과 시간만큼 낮아진 응답 시간 (요청을 받지 않는 엔드포인트가 다시 선택되도록)
+         */
+        private double decayedLatency(long now) {
+            if (latencyNanos == 0) {
+                return 0;
+            }
+            return latencyNanos * Math.exp(-Math.max(0, now - latencyUpdatedAt) / (double) decayNanos);
+        }
+
+        @Override
+        public synchronized String toString() {
+            long now = System.nanoTime();
+            return "Endpoint{domain=" + domain + ", healthy=" + healthy
+                + ", latencyMillis=" + String.format("%.1f", decayedLatency(now) / 1e6)
+                + ", errorRate=" + String.format("%.3f", errorRate) + ", inFlight=" + inFlight.get() + "}";
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package kr.i_heart;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 파일 내용 해시 유틸리티 (UploadCache, ImagePreprocessor의 캐시 키 계산용)
+ */
+final class FileDigests {
+    private static final int BUFFER_SIZE = 65536;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private FileDigests() {
+    }
+
+    /**
+     * 파일 내용 SHA-256 해시
+     * @return 16진수 소문자 문자열 (64자)
+     * @throws IOException 파일을 읽을 수 없는 경우
+     */
+    static String sha256(File file) throws IOException {
+        MessageDigest messageDigest = newSha256();
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                messageDigest.update(buffer, 0, read);
+            }
+        }
+        return toHex(messageDigest.digest());
+    }
+
+    /**
+     * 바이트 배열 SHA-256 해시
+     * @return 16진수 소문자 문자열 (64자)
+     */
+    static String sha256(byte[] data) {
+        return toHex(newSha256().digest(data));
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] digest) {
+        char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX[digest[i] & 0xF];
+        }
+        return new String(hex);
+    }
+}
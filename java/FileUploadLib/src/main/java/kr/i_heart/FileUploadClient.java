@@ -16,34 +16,394 @@ package kr.i_heart;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.File;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.util.Base64;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import kr.i_heart.http.CustomHttpClient;
-import kr.i_heart.http.EntityUtils;
+import kr.i_heart.http.HttpConnectionPool;
 import kr.i_heart.http.HttpEntity;
 import kr.i_heart.http.HttpRequest;
 import kr.i_heart.http.HttpResponse;
+import kr.i_heart.http.HttpTransport;
 import kr.i_heart.http.MultipartEntityBuilder;
+import kr.i_heart.http.RequestAbortedException;
 import kr.i_heart.http.StringEntity;
+import kr.i_heart.http.TraceEvent;
 import kr.i_heart.http.ContentType;
 import kr.i_heart.http.FileBody;
 
 /**
  * 파일 업로드 클라이언트
  * 인증 토큰을 관리하고 파일 업로드를 처리합니다.
+ * 인증/업로드 요청은 클라이언트가 소유한 커넥션 풀을 공유하므로
+ * 하나의 인스턴스를 재사용하고, 사용이 끝나면 close()를 호출해야 합니다.
  */
-public class FileUploadClient {
-    private static final String TOKEN_KEY_PREFIX = "token_";
+public class FileUploadClient implements AutoCloseable {
     private final String REQUEST_SUCCESS_CODE = "10000"; // API 비즈니스 로직 처리 성공에 대한 응답 코드
     private final String TOKEN_INVALID_CODE = "29011"; // 토큰 유효성 검사 실패에 대한 응답 코드
+    private static final int DEFAULT_UPLOAD_CACHE_SIZE = 1000; // 영속 저장소 사용 시 기본 캐시 항목 수
+    private static final String HTTP_ERROR_PREFIX = "HTTP error code: ";
+    private static final String AUTH_PATH = "/api/v1/auth";
+    private static final String UPLOAD_PATH = "/api/v1/upload";
+    private static final String AUTH_FAILED_PREFIX = "Authentication failed: ";
 
-    private final Map<String, String> tokenStorage = new ConcurrentHashMap<>();
+    private final TokenManager tokenManager;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    private final HttpConnectionPool connectionPool; // HTTP/1.1 커넥션 풀 (HTTP/2 사용 시 null)
+    private final HttpTransport transport;
+    private final CustomHttpClient authHttpClient;
+    private final CustomHttpClient uploadHttpClient;
+
+    private final UploadCache uploadCache;   // 업로드 결과 캐시 (사용하지 않으면 null)
+    private final UploadIndexStore indexStore; // 영속 저장소 (사용하지 않으면 null)
+    private final UploadListener uploadListener;
+    private final boolean virtualThreads; // 일괄 업로드를 가상 스레드에서 실행 (Java 21 이상)
+    private final long expectContinueThreshold; // 이 크기 이상의 파일은 100 Continue를 받은 후 본문 전송 (0 이하이면 사용 안 함)
+
+    private final RateLimiter rateLimiter;                      // 클라이언트 ID별 업로드 처리율 제한 (사용하지 않으면 null)
+    private final AdaptiveConcurrencyLimit concurrencyLimit;    // 업로드 동시 실행 제한 (사용하지 않으면 null)
+    private final UploadHedger hedger;                          // 업로드 헤지 요청 (사용하지 않으면 null)
+    private final EndpointGroup endpointGroup;                  // 여러 도메인 분산/전환 (사용하지 않으면 null)
+    private final ImagePreprocessor imagePreprocessor;          // 업로드 전 이미지 축소/재압축 (사용하지 않으면 null)
+    private final RetryPolicy retryPolicy;
+    private final Map<String, RetryBudget> retryBudgets;        // 도메인별 재시도 예산 (재시도하지 않거나 예산 제한이 없으면 null)
+    private final int circuitBreakerFailureThreshold;           // 0 이하이면 서킷 브레이커 사용 안 함
+    private final long circuitBreakerOpenTimeout;
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private volatile ScheduledExecutorService retryScheduler;  // 비동기 재시도 대기용 (최초 재시도 시 생성)
+    private volatile ExecutorService probeExecutor;            // 비정상 엔드포인트 상태 확인용 (최초 확인 시 생성)
+    private volatile boolean closed;
+
+    /**
+     * 기본 설정으로 클라이언트 생성
+     */
+    public FileUploadClient() {
+        this(new Builder());
+    }
+
+    private FileUploadClient(Builder builder) {
+        // 영속 저장소 (업로드 결과 색인과 암호화된 토큰을 프로세스 재시작 후에도 재사용)
+        if (builder.uploadIndexDirectory != null) {
+            try {
+                this.indexStore = UploadIndexStore.open(builder.uploadIndexDirectory, objectMapper,
+                    builder.tokenEncryptionKey);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to open upload index: " + e.getMessage(), e);
+            }
+        } else {
+            this.indexStore = null;
+        }
+
+        this.uploadListener = builder.uploadListener != null ? builder.uploadListener : UploadListener.NOOP;
+        this.virtualThreads = builder.virtualThreadsEnabled && VirtualThreads.isAvailable();
+        this.expectContinueThreshold = builder.expectContinueThreshold;
+
+        this.rateLimiter = builder.rateLimiter;
+        this.concurrencyLimit = builder.concurrencyLimit;
+        this.hedger = builder.hedgePolicy != null ? new UploadHedger(builder.hedgePolicy, uploadListener) : null;
+        this.endpointGroup = builder.endpointGroup;
+        this.imagePreprocessor = builder.imagePreprocessor;
+        this.retryPolicy = builder.retryPolicy != null ? builder.retryPolicy : RetryPolicy.NONE;
+        this.retryBudgets = retryPolicy.getMaxAttempts() > 1 && retryPolicy.newBudget() != null
+            ? new ConcurrentHashMap<>() : null;
+        this.circuitBreakerFailureThreshold = builder.circuitBreakerFailureThreshold;
+        this.circuitBreakerOpenTimeout = builder.circuitBreakerOpenTimeout;
+
+        this.tokenManager = new TokenManager(objectMapper, builder.tokenTtl, builder.tokenRefreshMargin,
+            builder.proactiveTokenRefresh, indexStore, uploadListener);
+
+        // 전송 계층 (HTTP/2는 Java 11 이상에서만 사용 가능하며, 그 미만에서는 HTTP/1.1 커넥션 풀 사용)
+        if (builder.http2Enabled && HttpTransport.isHttp2Available()) {
+            this.connectionPool = null;
+            this.transport = HttpTransport.http2();
+        } else {
+            this.connectionPool = HttpConnectionPool.custom()
+                .setMaxConnectionsPerHost(builder.maxConnectionsPerHost)
+                .setIdleTimeout(builder.connectionIdleTimeout)
+                .build();
+            this.transport = HttpTransport.http11(connectionPool);
+        }
+
+        // 인증 요청 타임아웃 설정
+        this.authHttpClient = CustomHttpClient.custom()
+            .setConnectTimeout(5000)  // 연결 타임아웃 (5초)
+            .setReadTimeout(8000)     // 읽기 타임아웃 (8초)
+            .setTransport(transport)
+            .setExchangeListener(builder.uploadListener)
+            .build();
+
+        // 업로드 요청 타임아웃 설정 (동시 실행 제한은 업로드 응답 시간으로만 조절)
+        this.uploadHttpClient = CustomHttpClient.custom()
+            .setConnectTimeout(7000)  // 연결 타임아웃 (7초)
+            .setReadTimeout(15000)    // 읽기 타임아웃 (15초)
+            .setTransport(transport)
+            .setExchangeListener(concurrencyLimit != null
+                ? concurrencyLimit.samplingListener(builder.uploadListener) : builder.uploadListener)
+            .build();
+
+        int uploadCacheSize = builder.uploadCacheSize > 0 || indexStore == null
+            ? builder.uploadCacheSize : DEFAULT_UPLOAD_CACHE_SIZE;
+        this.uploadCache = uploadCacheSize > 0 ? new UploadCache(uploadCacheSize, indexStore) : null;
+    }
+
+    /**
+     * 클라이언트 설정을 위한 빌더 클래스
+     */
+    public static class Builder {
+        private int maxConnectionsPerHost = 20;
+        private long connectionIdleTimeout = 30000;
+        private long tokenTtl = 0;
+        private long tokenRefreshMargin = 60000;
+        private boolean proactiveTokenRefresh = true;
+        private int uploadCacheSize = 0;
+        private File uploadIndexDirectory;
+        private byte[] tokenEncryptionKey;
+        private UploadListener uploadListener;
+        private boolean http2Enabled = false;
+        private boolean virtualThreadsEnabled = false;
+        private long expectContinueThreshold = 0;
+        private RateLimiter rateLimiter;
+        private AdaptiveConcurrencyLimit concurrencyLimit;
+        private HedgePolicy hedgePolicy;
+        private EndpointGroup endpointGroup;
+        private ImagePreprocessor imagePreprocessor;
+        private RetryPolicy retryPolicy;
+        private int circuitBreakerFailureThreshold = 0;
+        private long circuitBreakerOpenTimeout = 30000;
+
+        /**
+         * 호스트별 최대 동시 연결 수 (기본 20)
+         */
+        public Builder setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+            this.maxConnectionsPerHost = maxConnectionsPerHost;
+            return this;
+        }
+
+        /**
+         * 유휴 연결 유지 시간 (ms, 기본 30초)
+         */
+        public Builder setConnectionIdleTimeout(long connectionIdleTimeout) {
+            this.connectionIdleTimeout = connectionIdleTimeout;
+            return this;
+        }
+
+        /**
+         * 토큰 유효 시간 (ms, 기본 0)
+         * 토큰이 exp 클레임을 가진 JWT이면 exp를 우선 사용하며, 0 이하이면 만료 시각을 알 수 없는 것으로 간주합니다.
+         */
+        public Builder setTokenTtl(long tokenTtl) {
+            this.tokenTtl = tokenTtl;
+            return this;
+        }
+
+        /**
+         * 만료 시각 기준으로 미리 토큰을 재발급할 시간 (ms, 기본 60초)
+         */
+        public Builder setTokenRefreshMargin(long tokenRefreshMargin) {
+            this.tokenRefreshMargin = tokenRefreshMargin;
+            return this;
+        }
+
+        /**
+         * 만료 전 백그라운드 토큰 재발급 사용 여부 (기본 true)
+         */
+        public Builder setProactiveTokenRefresh(boolean proactiveTokenRefresh) {
+            this.proactiveTokenRefresh = proactiveTokenRefresh;
+            return this;
+        }
+
+        /**
+         * 업로드 결과 캐시 최대 항목 수 (기본 0, 사용 안 함)
+         * 같은 clientId로 업로드한 내용/brandId/도메인이 같은 파일은 fileExpDt 이전까지 다시 업로드하지 않고 이전 결과를 반환합니다.
+         */
+        public Builder setUploadCacheSize(int uploadCacheSize) {
+            this.uploadCacheSize = uploadCacheSize;
+            return this;
+        }
+
+        /**
+         * 업로드 결과 영속 저장 디렉토리 (기본 null, 사용 안 함)
+         * 업로드 결과 색인을 파일에 기록하여 프로세스를 재시작해도 중복 업로드를 건너뜁니다.
+         * 여러 프로세스가 같은 디렉토리를 공유할 수 있으며, 업로드 결과 캐시 크기를 지정하지 않으면 1000으로 사용합니다.
+         */
+        public Builder setUploadIndexDirectory(File uploadIndexDirectory) {
+            this.uploadIndexDirectory = uploadIndexDirectory;
+            return this;
+        }
+
+        /**
+         * 토큰 암호화 키 (AES 16/24/32바이트, 기본 null)
+         * 영속 저장 디렉토리와 함께 설정하면 발급받은 토큰을 AES-GCM으로 암호화하여 저장하고 재시작 후 재사용합니다.
+         */
+        public Builder setTokenEncryptionKey(byte[] tokenEncryptionKey) {
+            this.tokenEncryptionKey = tokenEncryptionKey != null ? tokenEncryptionKey.clone() : null;
+            return this;
+        }
+
+        /**
+         * HTTP/2 전송 사용 여부 (기본 false)
+         * 호스트별 연결 하나에서 업로드 요청을 다중화하여 지연 시간이 큰 구간에서 연결 수립과 head-of-line blocking을 줄입니다.
+         * 인증 요청은 연결 타임아웃(5초)이 업로드(7초)와 다르므로 별도 연결을 사용합니다.
+         * Java 11 이상에서 multi-release jar로 실행한 경우에만 적용되며, 그 외에는 HTTP/1.1 커넥션 풀을 사용합니다.
+         * HTTP/2에서는 호스트별 최대 연결 수와 유휴 연결 유지 시간 설정이 적용되지 않습니다.
+         */
+        public Builder setHttp2Enabled(boolean http2Enabled) {
+            this.http2Enabled = http2Enabled;
+            return this;
+        }
+
+        /**
+         * 가상 스레드 실행 모드 사용 여부 (기본 false)
+         * handleFileUploads가 고정 크기 플랫폼 스레드 풀 대신 파일마다 가상 스레드를 생성하고 최대 동시 실행 수는 세마포어로 제한합니다.
+         * Java 21 이상에서만 적용되며, 그 외에는 플랫폼 스레드 풀을 사용합니다.
+         * 블로킹 handleFileUpload를 직접 가상 스레드에서 호출하려면 VirtualThreads.newThreadPerTaskExecutor를 사용하면 됩니다.
+         */
+        public Builder setVirtualThreadsEnabled(boolean virtualThreadsEnabled) {
+            this.virtualThreadsEnabled = virtualThreadsEnabled;
+            return this;
+        }
+
+        /**
+         * "Expect: 100-continue"를 사용할 최소 파일 크기 (bytes, 기본 0, 사용 안 함)
+         * 이 크기 이상의 파일은 업로드 요청 헤더만 먼저 보내고 서버의 100 Continue를 받은 후 파일을 전송하므로,
+         * 캐시된 토큰이 무효화된 경우 파일 전체를 보내기 전에 29011 응답을 받고 재인증합니다.
+         * 서버가 100 Continue를 보내지 않으면 1초 후 파일을 보내고, 3번 연속 보내지 않은 서버에는 1분 동안 기다리지 않습니다.
+         * 요청마다 왕복 시간이 한 번 늘어나므로 왕복 시간에 비해 전송 시간이 긴 큰 파일에만 사용하는 것이 좋습니다.
+         * HTTP/2 전송에서는 Java 21 이상에서만 적용됩니다.
+         */
+        public Builder setExpectContinueThreshold(long expectContinueThreshold) {
+            this.expectContinueThreshold = expectContinueThreshold;
+            return this;
+        }
+
+        /**
+         * 인증/업로드 요청 결과 리스너 (기본 null, 사용 안 함)
+         * 요청별 소요 시간과 API 응답 코드, 토큰 저장소 적중 여부, 재시도, JSON 역직렬화 시간,
+         * HTTP 교환 단계별 시간(연결, TLS, 전송, 첫 바이트, 응답 읽기)과 송수신 바이트를 전달받습니다.
+         * 설정하지 않으면 단계별 시간을 측정하지 않습니다. 집계에는 UploadMetrics를 사용할 수 있습니다.
+         */
+        public Builder setUploadListener(UploadListener uploadListener) {
+            this.uploadListener = uploadListener;
+            return this;
+        }
+
+        /**
+         * 클라이언트 ID별 업로드 처리율 제한기 (기본 null, 사용 안 함)
+         * 업로드 요청(재시도 포함)마다 요청 하나와 파일 크기만큼의 할당량이 허용될 때까지 대기합니다.
+         * handleFileUploadAsync에서는 스레드를 점유하지 않고 허용 시각 이후 executor에서 요청합니다.
+         */
+        public Builder setRateLimiter(RateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            return this;
+        }
+
+        /**
+         * 업로드 응답 시간에 따라 조절되는 동시 업로드 수 제한 (기본 null, 사용 안 함)
+         * 업로드 요청(재시도 포함)마다 동시 실행 허용을 받은 후 보내며, 처리율 제한기가 있으면 그 대기가 끝난 다음에 허용을 기다립니다.
+         * 현재 제한은 AdaptiveConcurrencyLimit.getLimit으로 조회합니다. 인증 요청에는 적용되지 않습니다.
+         */
+        public Builder setAdaptiveConcurrencyLimit(AdaptiveConcurrencyLimit concurrencyLimit) {
+            this.concurrencyLimit = concurrencyLimit;
+            return this;
+        }
+
+        /**
+         * 응답이 늦은 업로드를 다른 연결로 한 번 더 보내는 헤지 정책 (기본 null, 사용 안 함)
+         * 업로드 요청(재시도 포함)마다 적용되며, 먼저 성공한 응답을 사용하고 나머지 요청은 취소합니다.
+         * 취소한 요청이 서버에서 이미 처리된 경우 파일이 한 번 더 저장될 수 있습니다.
+         */
+        public Builder setHedgePolicy(HedgePolicy hedgePolicy) {
+            this.hedgePolicy = hedgePolicy;
+            return this;
+        }
+
+        /**
+         * 업로드를 분산하고 장애 시 전환할 도메인 목록 (기본 null, 사용 안 함)
+         * 도메인을 받지 않는 handleFileUpload/handleFileUploads/handleFileUploadAsync가 업로드마다 엔드포인트를 선택하며,
+         * 선택한 도메인에서 요청이 전달되지 않은 오류(연결 실패, 429, 503, 서킷 브레이커 열림)나 인증 서버 오류로 실패하면
+         * 다른 도메인으로 다시 보냅니다. 토큰은 도메인별로 따로 발급받아 보관합니다.
+         */
+        public Builder setEndpointGroup(EndpointGroup endpointGroup) {
+            this.endpointGroup = endpointGroup;
+            return this;
+        }
+
+        /**
+         * 업로드 전 이미지 축소/재압축 단계 (기본 null, 사용 안 함)
+         * 설정하면 모든 업로드 함수가 파일을 ImagePreprocessor의 작업 스레드 풀에서 최대 크기/품질에 맞게 줄인 후 업로드합니다.
+         * 업로드 결과 캐시와 리스너의 파일은 줄인 파일 기준이며, 일괄/묶음 업로드 결과는 원본 파일 기준입니다.
+         * 클라이언트의 close()는 ImagePreprocessor를 종료하지 않습니다.
+         */
+        public Builder setImagePreprocessor(ImagePreprocessor imagePreprocessor) {
+            this.imagePreprocessor = imagePreprocessor;
+            return this;
+        }
+
+        /**
+         * 일시적 오류(연결 실패, 타임아웃, HTTP 5xx/429)에 대한 인증/업로드 재시도 정책 (기본 RetryPolicy.NONE, 재시도 안 함)
+         * 토큰 유효성 검사 실패(29011) 시 재인증 후 한 번 재시도하는 동작은 정책과 관계없이 유지됩니다.
+         */
+        public Builder setRetryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        /**
+         * 서킷 브레이커가 열리는 도메인별 연속 실패 횟수 (기본 0, 사용 안 함)
+         * 연결 실패, 타임아웃, HTTP 5xx가 연속으로 이 횟수만큼 발생하면 열림 유지 시간 동안 해당 도메인으로 요청을 보내지 않고
+         * CircuitBreakerOpenException으로 바로 실패합니다.
+         */
+        public Builder setCircuitBreakerFailureThreshold(int circuitBreakerFailureThreshold) {
+            this.circuitBreakerFailureThreshold = circuitBreakerFailureThreshold;
+            return this;
+        }
+
+        /**
+         * 서킷 브레이커 열림 유지 시간 (ms, 기본 30초)
+         * 이 시간이 지나면 시험 요청 하나를 보내고, 성공하면 다시 요청을 허용합니다.
+         */
+        public Builder setCircuitBreakerOpenTimeout(long circuitBreakerOpenTimeout) {
+            this.circuitBreakerOpenTimeout = circuitBreakerOpenTimeout;
+            return this;
+        }
+
+        public FileUploadClient build() {
+            return new FileUploadClient(this);
+        }
+    }
+
+    /**
+     * 빌더 생성 메서드
+     */
+    public static Builder custom() {
+        return new Builder();
+    }
+
     /**
      * 인증 요청을 포함한 파일 업로드 요청 함수
      * @param domain API 도메인 URL
@@ -57,210 +417,1015 @@ public class FileUploadClient {
     public FileUploadResponse handleFileUpload(String domain, String clientId, String clientPwd, String brandId, File file) throws Exception {
 
         // 1. 매개변수 유효성 검사
+        validateArguments(domain, clientId, clientPwd, file);
+
+        // 이미지 전처리 (설정된 경우 줄이거나 다시 압축한 파일을 업로드)
+        File upload = preprocess(file);
+
+        // 동일한 파일의 만료되지 않은 업로드 결과가 있으면 네트워크 요청 없이 반환
+        String cacheKey = createCacheKey(domain, clientId, brandId, upload);
+        FileUploadResponse cached = findCachedUpload(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        // 2. 토큰이 없는 경우: 인증 필요 (동시 요청 중 한 요청만 인증)
+        String token = tokenManager.acquireToken(domain, clientId, clientPwd,
+            () -> authenticate(domain, clientId, clientPwd));
+
+        // 3. 토큰으로 업로드 시도
+        return cacheUpload(cacheKey, uploadWithRetry(domain, clientId, clientPwd, brandId, upload, token));
+    }
+
+    /**
+     * 엔드포인트 그룹의 도메인 중 하나를 골라 업로드하는 함수
+     * 응답 시간과 오류율이 낮은 도메인을 선택하며, 요청이 전달되지 않은 오류(연결 실패, 429, 503, 서킷 브레이커 열림)나
+     * 인증 서버 오류로 실패하면 아직 시도하지 않은 다른 도메인으로 다시 보냅니다.
+     * 도메인마다 handleFileUpload(domain, ...)와 같이 토큰, 업로드 결과 캐시, 재시도 정책이 따로 적용됩니다.
+     * @param clientId 클라이언트 ID
+     * @param clientPwd 클라이언트 비밀번호
+     * @param brandId 브랜드 ID (선택적 파라미터)
+     * @param file 업로드할 파일 객체
+     * @return 업로드 결과를 담은 Map 객체
+     * @throws Exception 전환하지 않는 오류이거나 모든 도메인에서 실패한 경우 마지막 도메인의 예외
+     */
+    public FileUploadResponse handleFileUpload(String clientId, String clientPwd, String brandId, File file) throws Exception {
+        requireEndpointGroup();
+        Set<EndpointGroup.Endpoint> failed = new HashSet<>();
+        while (true) {
+            EndpointGroup.Endpoint endpoint = selectEndpoint(failed, clientId, clientPwd);
+            try {
+                return handleFileUpload(endpoint.getDomain(), clientId, clientPwd, brandId, file);
+            } catch (Exception e) {
+                if (!failover(endpoint, file, e, failed)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * 여러 파일을 하나의 업로드 요청(filePart 파트 여러 개)으로 업로드하는 함수
+     * 캐러셀처럼 한 메시지에 여러 이미지를 쓰는 경우, 파일마다 요청하는 대신 토큰 확인, 연결, 왕복을 한 번만 사용합니다.
+     * 응답의 imgUrlLst를 요청에 담은 파일 순서대로 입력 파일에 대응시켜 반환합니다.
+     * 토큰 유효성 검사 실패 시 재인증 후 한 번 재시도하고, 재시도 정책, 서킷 브레이커, 처리율/동시 실행 제한은
+     * 요청 하나(전체 파일 크기)로 적용합니다. 업로드 결과 캐시와 헤지 요청은 적용하지 않습니다.
+     * @param domain API 도메인 URL
+     * @param clientId 클라이언트 ID
+     * @param clientPwd 클라이언트 비밀번호
+     * @param brandId 브랜드 ID (선택적 파라미터)
+     * @param files 업로드할 파일 목록 (중복 파일은 한 번만 담음)
+     * @return 업로드 응답과 파일별 이미지 URL
+     * @throws Exception 인증 또는 업로드 과정에서 발생한 예외, 응답의 imgUrlLst 수가 파일 수와 다른 경우
+     */
+    public GroupUploadResult handleFileGroupUpload(String domain, String clientId, String clientPwd, String brandId,
+                                                   List<File> files) throws Exception {
+
+        // 1. 매개변수 유효성 검사
+        validateCredentials(domain, clientId, clientPwd);
+        List<File> sources = validateGroup(files);
+
+        // 이미지 전처리 (설정된 경우 파일들을 작업 스레드 풀에서 병렬로 처리)
+        List<File> group = preprocessAll(sources);
+        long groupBytes = 0;
+        for (File file : group) {
+            groupBytes += file.length();
+        }
+        long totalBytes = groupBytes;
+
+        // 2. 토큰이 없는 경우: 인증 필요 (동시 요청 중 한 요청만 인증)
+        String token = tokenManager.acquireToken(domain, clientId, clientPwd,
+            () -> authenticate(domain, clientId, clientPwd));
+
+        // 3. 토큰으로 업로드 시도 (토큰 유효성 검사 실패 시 재인증 후 한 번 재시도)
+        FileUploadResponse response;
+        try {
+            response = callWithRetry(domain, false, uploadAdmission(clientId, totalBytes),
+                () -> uploadGroup(domain, token, group, totalBytes, brandId));
+        } catch (Exception e) {
+            if (!isTokenInvalid(e)) {
+                throw e;
+            }
+            uploadListener.onRetry(domain, group.get(0), TOKEN_INVALID_CODE);
+            TraceEvent event = TraceEvent.beginRetry(domain + UPLOAD_PATH, groupName(group), TOKEN_INVALID_CODE);
+            try {
+                String freshToken = tokenManager.refreshToken(domain, clientId, clientPwd, token,
+                    () -> issueToken(domain, clientId, clientPwd));
+                response = callWithRetry(domain, false, uploadAdmission(clientId, totalBytes),
+                    () -> uploadGroup(domain, freshToken, group, totalBytes, brandId));
+                commitEvent(event, response.getCode(), null);
+            } catch (Exception retryError) {
+                commitEvent(event, resultCodeOf(retryError), retryError);
+                throw new RuntimeException("Retry failed: " + parseError(retryError).get("message"));
+            }
+        }
+
+        // 4. imgUrlLst를 파일 순서대로 원본 파일에 대응
+        return new GroupUploadResult(response, mapImgUrls(sources, response));
+    }
+
+    /**
+     * 여러 파일을 최대 동시 실행 수 이내에서 병렬로 업로드하는 함수
+     * 매개변수 검사와 토큰 조회/인증은 일괄 작업 전체에서 한 번만 수행하며,
+     * 한 파일의 실패가 나머지 파일의 업로드를 중단시키지 않습니다.
+     * @param domain API 도메인 URL
+     * @param clientId 클라이언트 ID
+     * @param clientPwd 클라이언트 비밀번호
+     * @param brandId 브랜드 ID (선택적 파라미터)
+     * @param files 업로드할 파일 목록 (중복 파일은 한 번만 업로드)
+     * @param maxConcurrency 최대 동시 업로드 수
+     * @return 파일별 성공/실패 결과와 처리량 정보
+     * @throws Exception 인증 실패 또는 대기 중 인터럽트 발생 시
+     */
+    public BulkUploadResult handleFileUploads(String domain, String clientId, String clientPwd, String brandId,
+                                              List<File> files, int maxConcurrency) throws Exception {
+
+        // 1. 매개변수 유효성 검사 (일괄 작업 전체에서 한 번)
+        Set<File> uniqueFiles = validateFiles(files, maxConcurrency);
+        validateCredentials(domain, clientId, clientPwd);
+
+        long startedAt = System.nanoTime();
+        if (uniqueFiles.isEmpty()) {
+            return new BulkUploadResult(new LinkedHashMap<>(), new LinkedHashMap<>(), 0, 0);
+        }
+
+        // 2. 일괄 작업에서 공유할 토큰 조회 또는 인증
+        tokenManager.acquireToken(domain, clientId, clientPwd, () -> authenticate(domain, clientId, clientPwd));
+
+        // 3. 파일별 업로드
+        return uploadAll(uniqueFiles, maxConcurrency, startedAt, file -> () -> {
+            File upload = preprocess(file);
+            String cacheKey = createCacheKey(domain, clientId, brandId, upload);
+            FileUploadResponse cached = findCachedUpload(cacheKey);
+            if (cached != null) {
+                return cached;
+            }
+
+            // 다른 파일의 재인증 또는 백그라운드 재발급으로 갱신된 토큰을 사용
+            String token = tokenManager.acquireToken(domain, clientId, clientPwd,
+                () -> authenticate(domain, clientId, clientPwd));
+            return cacheUpload(cacheKey, uploadWithRetry(domain, clientId, clientPwd, brandId, upload, token));
+        });
+    }
+
+    /**
+     * 엔드포인트 그룹의 도메인으로 여러 파일을 최대 동시 실행 수 이내에서 병렬로 업로드하는 함수
+     * 파일마다 handleFileUpload(clientId, clientPwd, brandId, file)와 같이 도메인을 선택하고 실패 시 다른 도메인으로 전환합니다.
+     * @param clientId 클라이언트 ID
+     * @param clientPwd 클라이언트 비밀번호
+     * @param brandId 브랜드 ID (선택적 파라미터)
+     * @param files 업로드할 파일 목록 (중복 파일은 한 번만 업로드)
+     * @param maxConcurrency 최대 동시 업로드 수
+     * @return 파일별 성공/실패 결과와 처리량 정보
+     * @throws Exception 대기 중 인터럽트 발생 시
+     */
+    public BulkUploadResult handleFileUploads(String clientId, String clientPwd, String brandId,
+                                              List<File> files, int maxConcurrency) throws Exception {
+        requireEndpointGroup();
+        Set<File> uniqueFiles = validateFiles(files, maxConcurrency);
+        validateClient(clientId, clientPwd);
+
+        long startedAt = System.nanoTime();
+        if (uniqueFiles.isEmpty()) {
+            return new BulkUploadResult(new LinkedHashMap<>(), new LinkedHashMap<>(), 0, 0);
+        }
+        return uploadAll(uniqueFiles, maxConcurrency, startedAt,
+            file -> () -> handleFileUpload(clientId, clientPwd, brandId, file));
+    }
+
+    /**
+     * 최대 동시 실행 수만큼의 작업 스레드로 파일별 업로드를 실행하고 결과를 모으는 메서드
+     * @param startedAt 일괄 작업 시작 시각 (System.nanoTime)
+     * @param uploader 파일별 업로드 작업
+     */
+    private BulkUploadResult uploadAll(Set<File> uniqueFiles, int maxConcurrency, long startedAt,
+                                       Function<File, Callable<FileUploadResponse>> uploader)
+            throws InterruptedException {
+        Map<File, FileUploadResponse> responses = new LinkedHashMap<>();
+        Map<File, Exception> failures = new LinkedHashMap<>();
+
+        // 가상 스레드 모드에서는 파일마다 가상 스레드를 생성하고 세마포어로 동시 실행 수 제한
+        ExecutorService executor;
+        Semaphore permits;
+        if (virtualThreads) {
+            executor = VirtualThreads.newThreadPerTaskExecutor("nirs-bulk-upload-");
+            permits = new Semaphore(maxConcurrency);
+        } else {
+            executor = Executors.newFixedThreadPool(Math.min(maxConcurrency, uniqueFiles.size()), runnable -> {
+                Thread thread = new Thread(runnable, "nirs-bulk-upload");
+                thread.setDaemon(true);
+                return thread;
+            });
+            permits = null;
+        }
+        Map<File, Future<FileUploadResponse>> futures = new LinkedHashMap<>();
+        try {
+            for (File file : uniqueFiles) {
+                Callable<FileUploadResponse> task = uploader.apply(file);
+                futures.put(file, executor.submit(permits == null ? task : () -> {
+                    permits.acquire();
+                    try {
+                        return task.call();
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            // 파일별 결과 수집
+            long uploadedBytes = 0;
+            for (Map.Entry<File, Future<FileUploadResponse>> entry : futures.entrySet()) {
+                try {
+                    responses.put(entry.getKey(), entry.getValue().get());
+                    uploadedBytes += entry.getKey().length();
+                } catch (ExecutionException e) {
+                    Throwable cause = unwrap(e);
+                    failures.put(entry.getKey(), cause instanceof Exception ? (Exception) cause : e);
+                }
+            }
+
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            return new BulkUploadResult(responses, failures, uploadedBytes, elapsedMillis);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 인증 요청을 포함한 비동기 파일 업로드 요청 함수
+     * handleFileUpload와 동일하게 저장된 토큰을 재사용하고, 토큰 유효성 검사 실패(29011) 시 한 번 재인증 후 재시도합니다.
+     * 인증/업로드/재시도 각 단계는 전달받은 executor에서 실행되며, 단계 사이에 완료를 기다리며 블로킹되는 스레드는 없습니다.
+     * 재시도 정책에 따른 업로드 재시도 대기도 스레드를 점유하지 않으며, 인증 재시도 대기는 (클라이언트별 하나인) 인증 작업 안에서 이루어집니다.
+     * @param domain API 도메인 URL
+     * @param clientId 클라이언트 ID
+     * @param clientPwd 클라이언트 비밀번호
+     * @param brandId 브랜드 ID (선택적 파라미터)
+     * @param file 업로드할 파일 객체
+     * @param executor 인증/업로드 요청을 실행할 Executor
+     * @return 업로드 결과를 담은 CompletableFuture (실패 시 handleFileUpload와 동일한 예외로 완료)
+     */
+    public CompletableFuture<FileUploadResponse> handleFileUploadAsync(String domain, String clientId, String clientPwd,
+                                                                      String brandId, File file, Executor executor) {
+        // 1. 매개변수 유효성 검사
+        try {
+            validateArguments(domain, clientId, clientPwd, file);
+            if (executor == null) {
+                throw new IllegalArgumentException("executor cannot be null.");
+            }
+        } catch (IllegalArgumentException e) {
+            return failedFuture(e);
+        }
+
+        // 이미지 전처리 (설정된 경우 ImagePreprocessor의 작업 스레드 풀에서 처리한 후 업로드)
+        if (imagePreprocessor != null) {
+            CompletableFuture<ImagePreprocessor.Result> preprocessed;
+            try {
+                preprocessed = imagePreprocessor.processAsync(file);
+            } catch (RejectedExecutionException e) {
+                return failedFuture(e);
+            }
+            return preprocessed.thenCompose(result -> {
+                uploadListener.onImagePreprocess(result);
+                return cachedUploadAsync(domain, clientId, clientPwd, brandId, result.getFile(), executor);
+            });
+        }
+        return cachedUploadAsync(domain, clientId, clientPwd, brandId, file, executor);
+    }
+
+    /**
+     * 업로드 결과 캐시를 확인한 후 비동기 업로드하는 메서드
+     */
+    private CompletableFuture<FileUploadResponse> cachedUploadAsync(String domain, String clientId, String clientPwd,
+                                                                    String brandId, File file, Executor executor) {
+        // 동일한 파일의 만료되지 않은 업로드 결과 확인 (파일 해시 계산은 executor에서 수행)
+        if (uploadCache != null) {
+            return callAsync(() -> createCacheKey(domain, clientId, brandId, file), executor)
+                .thenCompose(cacheKey -> {
+                    FileUploadResponse cached = findCachedUpload(cacheKey);
+                    if (cached != null) {
+                        return CompletableFuture.completedFuture(cached);
+                    }
+                    return uploadAsync(domain, clientId, clientPwd, brandId, file, executor)
+                        .thenApply(response -> cacheUpload(cacheKey, response));
+                });
+        }
+        return uploadAsync(domain, clientId, clientPwd, brandId, file, executor);
+    }
+
+    /**
+     * 엔드포인트 그룹의 도메인 중 하나를 골라 업로드하는 비동기 함수
+     * handleFileUpload(clientId, clientPwd, brandId, file)와 같은 기준으로 도메인을 선택하고 다른 도메인으로 전환합니다.
+     * @param clientId 클라이언트 ID
+     * @param clientPwd 클라이언트 비밀번호
+     * @param brandId 브랜드 ID (선택적 파라미터)
+     * @param file 업로드할 파일 객체
+     * @param executor 인증/업로드 요청을 실행할 Executor
+     * @return 업로드 결과를 담은 CompletableFuture (실패 시 마지막으로 시도한 도메인의 예외로 완료)
+     */
+    public CompletableFuture<FileUploadResponse> handleFileUploadAsync(String clientId, String clientPwd, String brandId,
+                                                                      File file, Executor executor) {
+        try {
+            requireEndpointGroup();
+        } catch (IllegalStateException e) {
+            return failedFuture(e);
+        }
+        return failoverAsync(clientId, clientPwd, brandId, file, executor, new HashSet<>());
+    }
+
+    /**
+     * 선택한 도메인으로 비동기 업로드하고, 실패하면 다른 도메인으로 전환하는 메서드
+     * @param failed 이미 실패한 엔드포인트 (단계가 순서대로 실행되므로 동기화하지 않음)
+     */
+    private CompletableFuture<FileUploadResponse> failoverAsync(String clientId, String clientPwd, String brandId,
+                                                                File file, Executor executor,
+                                                                Set<EndpointGroup.Endpoint> failed) {
+        EndpointGroup.Endpoint endpoint = selectEndpoint(failed, clientId, clientPwd);
+        return handleFileUploadAsync(endpoint.getDomain(), clientId, clientPwd, brandId, file, executor)
+            .handle((response, error) -> {
+                if (error == null) {
+                    return CompletableFuture.completedFuture(response);
+                }
+                Throwable cause = unwrap(error);
+                if (cause instanceof Exception && failover(endpoint, file, (Exception) cause, failed)) {
+                    return failoverAsync(clientId, clientPwd, brandId, file, executor, failed);
+                }
+                return FileUploadClient.<FileUploadResponse>failedFuture(cause);
+            })
+            .thenCompose(Function.identity());
+    }
+
+    /**
+     * 토큰 조회/인증 후 업로드하는 비동기 처리 메서드
+     */
+    private CompletableFuture<FileUploadResponse> uploadAsync(String domain, String clientId, String clientPwd,
+                                                              String brandId, File file, Executor executor) {
+        // 2. 저장된 토큰이 없는 경우: 인증 필요 (동시 요청 중 한 요청만 인증)
+        CompletableFuture<String> tokenFuture = tokenManager.acquireTokenAsync(domain, clientId, clientPwd,
+            () -> authenticate(domain, clientId, clientPwd), executor);
+
+        // 3. 토큰으로 업로드 시도, 4. 토큰 유효성 검사 실패의 경우 한 번만 재시도
+        return tokenFuture.thenCompose(token ->
+            callWithRetryAsync(domain, false, () -> hedgedUpload(domain, clientId, token, file, brandId),
+                    uploadAdmission(clientId, file), executor, 1)
+                .handle((response, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    Throwable cause = unwrap(error);
+                    if (cause instanceof Exception && isTokenInvalid((Exception) cause)) {
+                        return retryUploadAsync(domain, clientId, clientPwd, brandId, file, token, executor);
+                    }
+                    // 5. 다른 오류인 경우 실패 처리
+                    return FileUploadClient.<FileUploadResponse>failedFuture(cause);
+                })
+                .thenCompose(Function.identity()));
+    }
+
+    /**
+     * 업로드 결과 캐시 반환
+     * @return 업로드 결과 캐시 (setUploadCacheSize로 활성화하지 않은 경우 null)
+     */
+    public UploadCache getUploadCache() {
+        return uploadCache;
+    }
+
+    /**
+     * 업로드 동시 실행 제한 반환
+     * @return 동시 실행 제한 (setAdaptiveConcurrencyLimit로 설정하지 않은 경우 null)
+     */
+    public AdaptiveConcurrencyLimit getAdaptiveConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    /**
+     * 엔드포인트 그룹 반환
+     * @return 엔드포인트 그룹 (setEndpointGroup으로 설정하지 않은 경우 null)
+     */
+    public EndpointGroup getEndpointGroup() {
+        return endpointGroup;
+    }
+
+    /**
+     * 이미지 전처리 단계 반환
+     * @return 이미지 전처리 단계 (setImagePreprocessor로 설정하지 않은 경우 null)
+     */
+    public ImagePreprocessor getImagePreprocessor() {
+        return imagePreprocessor;
+    }
+
+    /**
+     * 도메인별 서킷 브레이커 반환
+     * @param domain API 도메인 URL
+     * @return 서킷 브레이커 (사용하지 않거나 해당 도메인으로 요청한 적이 없으면 null)
+     */
+    public CircuitBreaker getCircuitBreaker(String domain) {
+        return circuitBreakers.get(domain);
+    }
+
+    /**
+     * 매개변수 유효성 검사 메서드
+     */
+    private void validateArguments(String domain, String clientId, String clientPwd, File file) {
+        validateCredentials(domain, clientId, clientPwd);
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null.");
+        }
+    }
+
+    /**
+     * 도메인 및 인증 정보 유효성 검사 메서드
+     */
+    private void validateCredentials(String domain, String clientId, String clientPwd) {
         if (domain == null || domain.trim().isEmpty()) {
             throw new IllegalArgumentException("domain cannot be null or empty.");
         }
+        validateClient(clientId, clientPwd);
+    }
+
+    /**
+     * 인증 정보 유효성 검사 메서드
+     */
+    private void validateClient(String clientId, String clientPwd) {
         if (clientId == null || clientId.trim().isEmpty()) {
             throw new IllegalArgumentException("clientId cannot be null or empty.");
         }
-        if (clientPwd == null || clientPwd.trim().isEmpty()) {
-            throw new IllegalArgumentException("clientPwd cannot be null or empty.");
+        if (clientPwd == null || clientPwd.trim().isEmpty()) {
+            throw new IllegalArgumentException("clientPwd cannot be null or empty.");
+        }
+    }
+
+    /**
+     * 일괄 업로드 파일 목록 유효성 검사 메서드
+     * @return 중복을 제거한 파일 목록 (순서 유지)
+     */
+    private Set<File> validateFiles(List<File> files, int maxConcurrency) {
+        if (files == null) {
+            throw new IllegalArgumentException("files cannot be null.");
+        }
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive.");
+        }
+        Set<File> uniqueFiles = new LinkedHashSet<>(files);
+        if (uniqueFiles.contains(null)) {
+            throw new IllegalArgumentException("File cannot be null.");
+        }
+        return uniqueFiles;
+    }
+
+    /**
+     * 묶음 업로드 파일 목록 유효성 검사 메서드
+     * @return 중복을 제거한 파일 목록 (순서 유지)
+     */
+    private List<File> validateGroup(List<File> files) {
+        if (files == null || files.isEmpty()) {
+            throw new IllegalArgumentException("files cannot be null or empty.");
+        }
+        Set<File> uniqueFiles = new LinkedHashSet<>(files);
+        if (uniqueFiles.contains(null)) {
+            throw new IllegalArgumentException("File cannot be null.");
+        }
+        return new ArrayList<>(uniqueFiles);
+    }
+
+    /**
+     * 이미지 전처리 단계가 있으면 파일을 처리하고 업로드할 파일을 반환하는 메서드 (없으면 그대로 반환)
+     */
+    private File preprocess(File file) throws InterruptedException {
+        if (imagePreprocessor == null || file == null) {
+            return file;
+        }
+        ImagePreprocessor.Result result = imagePreprocessor.process(file);
+        uploadListener.onImagePreprocess(result);
+        return result.getFile();
+    }
+
+    /**
+     * 여러 파일을 이미지 전처리 단계의 작업 스레드 풀에서 병렬로 처리하고 업로드할 파일 목록을 반환하는 메서드 (순서 유지)
+     */
+    private List<File> preprocessAll(List<File> files) throws InterruptedException {
+        if (imagePreprocessor == null) {
+            return files;
+        }
+        List<CompletableFuture<ImagePreprocessor.Result>> futures = new ArrayList<>(files.size());
+        for (File file : files) {
+            futures.add(imagePreprocessor.processAsync(file));
+        }
+        List<File> processed = new ArrayList<>(files.size());
+        for (CompletableFuture<ImagePreprocessor.Result> future : futures) {
+            try {
+                ImagePreprocessor.Result result = future.get();
+                uploadListener.onImagePreprocess(result);
+                processed.add(result.getFile());
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return processed;
+    }
+
+    /**
+     * 묶음 업로드 응답의 imgUrlLst를 요청에 담은 파일 순서대로 대응시키는 메서드
+     * 파일이 하나이고 imgUrlLst가 없으면 imgUrl을 사용합니다.
+     */
+    private Map<File, String> mapImgUrls(List<File> files, FileUploadResponse response) {
+        FileUploadResponse.FileData data = response.getData();
+        List<String> imgUrls = data != null ? data.getImgUrlLst() : null;
+        if ((imgUrls == null || imgUrls.isEmpty()) && files.size() == 1 && data != null && data.getImgUrl() != null) {
+            imgUrls = Collections.singletonList(data.getImgUrl());
+        }
+        int received = imgUrls != null ? imgUrls.size() : 0;
+        if (received != files.size()) {
+            throw new RuntimeException("Received invalid upload response: " + received + " imgUrlLst entries for "
+                + files.size() + " files.");
+        }
+        Map<File, String> mapped = new LinkedHashMap<>();
+        for (int i = 0; i < files.size(); i++) {
+            mapped.put(files.get(i), imgUrls.get(i));
+        }
+        return mapped;
+    }
+
+    /**
+     * 묶음 업로드의 이벤트용 이름 (첫 번째 파일 이름과 나머지 파일 수)
+     */
+    private static String groupName(List<File> files) {
+        String name = files.get(0).getName();
+        return files.size() > 1 ? name + " (+" + (files.size() - 1) + ")" : name;
+    }
+
+    /**
+     * 도메인을 받지 않는 업로드 함수 호출 시 엔드포인트 그룹 설정 여부 확인
+     */
+    private void requireEndpointGroup() {
+        if (endpointGroup == null) {
+            throw new IllegalStateException("endpointGroup is not set. Use Builder.setEndpointGroup or pass a domain.");
+        }
+    }
+
+    /**
+     * 업로드할 엔드포인트 선택 (상태 확인 시각이 된 비정상 엔드포인트가 있으면 이 인증 정보로 상태 확인 시작)
+     * @param failed 이미 실패한 엔드포인트 (모든 엔드포인트가 포함되면 호출하지 않음)
+     */
+    private EndpointGroup.Endpoint selectEndpoint(Set<EndpointGroup.Endpoint> failed, String clientId,
+                                                  String clientPwd) {
+        for (EndpointGroup.Endpoint endpoint : endpointGroup.getEndpoints()) {
+            if (endpoint.tryStartProbe()) {
+                probeEndpoint(endpoint, clientId, clientPwd);
+            }
+        }
+        return endpointGroup.select(failed);
+    }
+
+    /**
+     * 비정상 엔드포인트 상태 확인 (인증 요청을 보내 서버가 응답하면 정상으로 전환)
+     * 업로드 요청과 달리 서킷 브레이커와 재시도 정책을 적용하지 않으며, 발급받은 토큰은 사용하지 않습니다.
+     */
+    private void probeEndpoint(EndpointGroup.Endpoint endpoint, String clientId, String clientPwd) {
+        String domain = endpoint.getDomain();
+        Runnable probe = () -> {
+            boolean reachable;
+            try {
+                sendAuthRequest(domain, clientId, clientPwd);
+                reachable = true;
+            } catch (Exception e) {
+                reachable = !RetryPolicy.isServerFailure(e);
+            }
+            if (endpoint.onProbe(reachable)) {
+                uploadListener.onEndpointHealthChange(domain, true);
+            }
+        };
+        try {
+            probeExecutor().execute(probe);
+        } catch (RejectedExecutionException e) {
+            endpoint.onProbe(false); // close() 이후에는 상태 확인하지 않음
+        }
+    }
+
+    /**
+     * 엔드포인트에서 실패한 업로드를 다른 엔드포인트로 전환할지 결정하고, 전환하면 리스너에 통보하는 메서드
+     * 업로드는 요청이 서버에 전달되지 않은 오류(연결 실패, 429, 503)와 서킷 브레이커 열림만 전환하며,
+     * 서버가 처리했을 수 있는 오류(읽기 타임아웃, 500/502/504)는 재시도 정책이 중복 업로드를 허용하는 경우에만 전환합니다.
+     * 인증은 멱등 요청이므로 서버 상태 이상(연결 실패, 타임아웃, 5xx/429)이면 전환합니다.
+     * @param failed 실패한 엔드포인트 목록 (endpoint를 추가함)
+     * @return 다른 엔드포인트로 다시 보내야 하면 true
+     */
+    private boolean failover(EndpointGroup.Endpoint endpoint, File file, Exception error,
+                             Set<EndpointGroup.Endpoint> failed) {
+        failed.add(endpoint);
+        if (failed.size() >= endpointGroup.getEndpoints().size()) {
+            return false;
+        }
+
+        Exception cause = error;
+        boolean switchable;
+        String message = error.getMessage();
+        if (message != null && message.startsWith(AUTH_FAILED_PREFIX) && error.getCause() instanceof Exception) {
+            cause = (Exception) error.getCause();
+            switchable = cause instanceof CircuitBreakerOpenException
+                || RetryPolicy.classify(cause) != RetryPolicy.NOT_RETRYABLE;
+        } else if (error instanceof CircuitBreakerOpenException) {
+            switchable = true;
+        } else {
+            int classification = RetryPolicy.classify(error);
+            switchable = classification == RetryPolicy.NOT_PROCESSED
+                || (classification == RetryPolicy.MAYBE_PROCESSED && retryPolicy.isRetryNonIdempotent());
+        }
+        if (switchable) {
+            uploadListener.onFailover(endpoint.getDomain(), file, resultCodeOf(cause));
+        }
+        return switchable;
+    }
+
+    /**
+     * 엔드포인트 그룹에 속한 도메인이면 요청 결과를 기록하고, 정상 여부가 바뀌면 리스너에 통보하는 메서드
+     * 서버가 응답한 API 오류와 4xx는 정상 응답으로 기록하며, 헤지 정책으로 취소된 요청은 기록하지 않습니다.
+     * @param endpoint 엔드포인트 (그룹에 속하지 않은 도메인이면 null)
+     * @param elapsedNanos 요청 소요 시간 (ns)
+     * @param upload 업로드 요청 여부 (업로드 응답 시간만 엔드포인트 선택 비용에 반영)
+     * @param error 실패 원인 (성공이면 null)
+     */
+    private void recordEndpoint(EndpointGroup.Endpoint endpoint, long elapsedNanos, boolean upload, Exception error) {
+        if (endpoint == null) {
+            return;
+        }
+        endpoint.end();
+        if (error instanceof RequestAbortedException) {
+            return;
+        }
+        if (error != null && RetryPolicy.isServerFailure(error)) {
+            if (endpoint.onFailure(elapsedNanos)) {
+                uploadListener.onEndpointHealthChange(endpoint.getDomain(), false);
+            }
+        } else if (endpoint.onSuccess(upload ? elapsedNanos : -1)) {
+            uploadListener.onEndpointHealthChange(endpoint.getDomain(), true);
+        }
+    }
+
+    /**
+     * 요청을 보낼 도메인의 엔드포인트 조회 후 요청 시작 기록 (그룹에 속하지 않은 도메인이면 null)
+     */
+    private EndpointGroup.Endpoint beginEndpoint(String domain) {
+        EndpointGroup.Endpoint endpoint = endpointGroup != null ? endpointGroup.getEndpoint(domain) : null;
+        if (endpoint != null) {
+            endpoint.begin();
         }
-        if (file == null) {
-            throw new IllegalArgumentException("File cannot be null.");
+        return endpoint;
+    }
+
+    /**
+     * 최초 인증 요청 메서드 (토큰 저장은 TokenManager가 담당)
+     * 엔드포인트 전환 여부를 판단할 수 있도록 인증 실패 원인을 cause로 유지합니다.
+     */
+    private String authenticate(String domain, String clientId, String clientPwd) {
+        try {
+            return issueToken(domain, clientId, clientPwd);
+        } catch (Exception authError) {
+            throw new RuntimeException(AUTH_FAILED_PREFIX + parseError(authError).get("message"), authError);
         }
+    }
 
-        String token = getToken(clientId, clientPwd);
+    /**
+     * 인증 요청 후 응답에서 토큰을 꺼내는 메서드
+     */
+    private String issueToken(String domain, String clientId, String clientPwd) throws Exception {
+        AuthResponse authResponse = callWithRetry(domain, true, () -> requestAuth(domain, clientId, clientPwd));
+        if (authResponse.getData() == null || authResponse.getData().getToken() == null) {
+            throw new RuntimeException("Received invalid auth response.");
+        }
+        return authResponse.getData().getToken();
+    }
 
-        // 2. 토큰이 없는 경우: 인증 필요
-        if (token == null) {
-            try {
-                AuthResponse authResponse = requestAuth(domain, clientId, clientPwd);
-                token = authResponse.getData().getToken();
-                storeToken(clientId, clientPwd, token);
-            } catch (Exception authError) {
-                throw new RuntimeException("Authentication failed: " + parseError(authError).get("message"));
+    /**
+     * 토큰으로 업로드하고, 토큰 유효성 검사 실패 시 한 번 재인증 후 재시도하는 메서드
+     */
+    private FileUploadResponse uploadWithRetry(String domain, String clientId, String clientPwd, String brandId,
+                                               File file, String token) throws Exception {
+        try {
+            return callWithRetry(domain, false, uploadAdmission(clientId, file),
+                () -> hedgedUpload(domain, clientId, token, file, brandId));
+        } catch (Exception e) {
+            // 4. 토큰 유효성 검사 실패의 경우 한 번만 재시도
+            if (isTokenInvalid(e)) {
+                return retryUpload(domain, clientId, clientPwd, brandId, file, token);
             }
+
+            // 5. 다른 오류인 경우 실패 처리
+            throw e;
         }
+    }
 
-        // 3. 토큰으로 업로드 시도
+    /**
+     * 토큰 유효성 검사 실패 후 재인증하여 업로드를 재시도하는 메서드
+     * @param staleToken 유효성 검사에 실패한 토큰
+     */
+    private FileUploadResponse retryUpload(String domain, String clientId, String clientPwd, String brandId,
+                                           File file, String staleToken) {
+        uploadListener.onRetry(domain, file, TOKEN_INVALID_CODE);
+        TraceEvent event = TraceEvent.beginRetry(domain + UPLOAD_PATH, file.getName(), TOKEN_INVALID_CODE);
         try {
-            return uploadFile(domain, token, file, brandId);
-        } catch (Exception e) {
-            Map<String, Object> errorObj = parseError(e);
+            // 재인증 (다른 요청이 이미 재발급받은 경우 그 토큰을 사용)
+            String token = tokenManager.refreshToken(domain, clientId, clientPwd, staleToken,
+                () -> issueToken(domain, clientId, clientPwd));
 
-            // 3. 토큰 유효성 검사 실패의 경우 한 번만 재시도
-            if (TOKEN_INVALID_CODE.equals(errorObj.get("code"))) {
-                try {
-                    // 재인증
-                    AuthResponse authResponse = requestAuth(domain, clientId, clientPwd);
-                    if (authResponse.getData() == null || authResponse.getData().getToken() == null) {
-                        throw new RuntimeException("Retry authentication failed: Received invalid auth response.");
-                    }
-                    token = authResponse.getData().getToken();
-                    storeToken(clientId, clientPwd, token);
+            // 새 토큰으로 업로드 재시도
+            FileUploadResponse response = callWithRetry(domain, false, uploadAdmission(clientId, file),
+                () -> hedgedUpload(domain, clientId, token, file, brandId));
+            commitEvent(event, response.getCode(), null);
+            return response;
+        } catch (Exception retryError) {
+            commitEvent(event, resultCodeOf(retryError), retryError);
+            throw new RuntimeException("Retry failed: " + parseError(retryError).get("message"));
+        }
+    }
 
-                    // 새 토큰으로 업로드 재시도
-                    return uploadFile(domain, token, file, brandId);
-                } catch (Exception retryError) {
-                    throw new RuntimeException("Retry failed: " + parseError(retryError).get("message"));
+    /**
+     * retryUpload의 비동기 버전
+     */
+    private CompletableFuture<FileUploadResponse> retryUploadAsync(String domain, String clientId, String clientPwd,
+                                                                   String brandId, File file, String staleToken,
+                                                                   Executor executor) {
+        uploadListener.onRetry(domain, file, TOKEN_INVALID_CODE);
+        TraceEvent event = TraceEvent.beginRetry(domain + UPLOAD_PATH, file.getName(), TOKEN_INVALID_CODE);
+        return tokenManager.refreshTokenAsync(domain, clientId, clientPwd, staleToken,
+                () -> issueToken(domain, clientId, clientPwd), executor)
+            .thenCompose(token -> callWithRetryAsync(domain, false,
+                () -> hedgedUpload(domain, clientId, token, file, brandId), uploadAdmission(clientId, file), executor, 1))
+            .handle((response, retryError) -> {
+                if (retryError != null) {
+                    Throwable cause = unwrap(retryError);
+                    Exception error = cause instanceof Exception ? (Exception) cause : new RuntimeException(cause);
+                    commitEvent(event, resultCodeOf(error), error);
+                    throw new CompletionException(
+                        new RuntimeException("Retry failed: " + parseError(error).get("message")));
                 }
-            }
+                commitEvent(event, response.getCode(), null);
+                return response;
+            });
+    }
 
-            // 5. 다른 오류인 경우 실패 처리
+    /**
+     * 업로드 결과 캐시 키 생성 메서드 (결과는 업로드한 clientId에서만 재사용)
+     * 캐시를 사용하지 않거나 파일을 읽을 수 없으면 null을 반환하며, 이 경우 오류는 업로드 단계에서 처리됩니다.
+     */
+    private String createCacheKey(String domain, String clientId, String brandId, File file) {
+        if (uploadCache == null) {
+            return null;
+        }
+        try {
+            return uploadCache.createKey(domain, clientId, brandId, file);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 캐시된 업로드 결과 조회 메서드
+     */
+    private FileUploadResponse findCachedUpload(String cacheKey) {
+        return cacheKey != null ? uploadCache.get(cacheKey) : null;
+    }
+
+    /**
+     * 업로드 결과를 캐시에 저장하고 그대로 반환하는 메서드
+     */
+    private FileUploadResponse cacheUpload(String cacheKey, FileUploadResponse response) {
+        if (cacheKey != null) {
+            uploadCache.put(cacheKey, response);
+        }
+        return response;
+    }
+
+    /**
+     * 토큰 유효성 검사 실패(29011) 응답인지 확인하는 메서드
+     */
+    private boolean isTokenInvalid(Exception error) {
+        return TOKEN_INVALID_CODE.equals(parseError(error).get("code"));
+    }
+
+    /**
+     * 인증 요청을 수행하고 결과를 리스너에 통보하는 메서드
+     */
+    private AuthResponse requestAuth(String domain, String clientId, String clientPwd) throws Exception {
+        TraceEvent event = TraceEvent.beginAuth(domain + AUTH_PATH, clientId);
+        EndpointGroup.Endpoint endpoint = beginEndpoint(domain);
+        long startedAt = System.nanoTime();
+        try {
+            AuthResponse authResponse = sendAuthRequest(domain, clientId, clientPwd);
+            long elapsedNanos = System.nanoTime() - startedAt;
+            recordEndpoint(endpoint, elapsedNanos, false, null);
+            uploadListener.onAuth(domain, clientId, elapsedNanos, authResponse.getCode(), null);
+            commitEvent(event, authResponse.getCode(), null);
+            return authResponse;
+        } catch (Exception e) {
+            long elapsedNanos = System.nanoTime() - startedAt;
+            recordEndpoint(endpoint, elapsedNanos, false, e);
+            String resultCode = resultCodeOf(e);
+            uploadListener.onAuth(domain, clientId, elapsedNanos, resultCode, e);
+            commitEvent(event, resultCode, e);
             throw e;
         }
     }
 
     /**
-     * 인증 요청을 수행하는 메서드
+     * 인증 요청을 전송하는 메서드
      * 기존 Apache HttpClient 대신 커스텀 HttpClient 사용
      */
-    private AuthResponse requestAuth(String domain, String clientId, String clientPwd) throws Exception {
-        String url = domain + "/api/v1/auth";
+    private AuthResponse sendAuthRequest(String domain, String clientId, String clientPwd) throws Exception {
+        String url = domain + AUTH_PATH;
 
-        // 타임아웃 설정
-        CustomHttpClient httpClient = CustomHttpClient.custom()
-            .setConnectTimeout(5000)  // 연결 타임아웃 (5초)
-            .setReadTimeout(8000)     // 읽기 타임아웃 (8초)
-            .build();
+        // POST 요청 생성
+        HttpRequest.HttpPost httpPost = new HttpRequest.HttpPost(url);
+        httpPost.setHeader("Content-Type", "application/json");
 
-        try {
-            // POST 요청 생성
-            HttpRequest.HttpPost httpPost = new HttpRequest.HttpPost(url);
-            httpPost.setHeader("Content-Type", "application/json");
-
-            // 요청 바디 생성
-            Map<String, String> requestBody = new HashMap<>();
-            requestBody.put("clientId", clientId);
-            requestBody.put("clientPwd", clientPwd);
-
-            // JSON 변환 및 엔티티 설정
-            String requestBodyJson = objectMapper.writeValueAsString(requestBody);
-            StringEntity entity = new StringEntity(requestBodyJson, "application/json");
-            httpPost.setEntity(entity);
-
-            // 요청 실행 및 응답 처리
-            try (HttpResponse response = httpClient.execute(httpPost)) {
-                int statusCode = response.getCode();
-                HttpEntity responseEntity = response.getEntity();
-                String responseBody = EntityUtils.toString(responseEntity, StandardCharsets.UTF_8);
-
-                if (statusCode != 200) {
-                    throw new RuntimeException("HTTP error code: " + statusCode);
-                }
+        // 요청 바디 생성
+        Map<String, String> requestBody = new HashMap<>();
+        requestBody.put("clientId", clientId);
+        requestBody.put("clientPwd", clientPwd);
 
-                // 응답 본문을 객체로 변환
-                AuthResponse authResponse = objectMapper.readValue(responseBody, AuthResponse.class);
-                if (!REQUEST_SUCCESS_CODE.equals(authResponse.getCode())) {
-                    throw new RuntimeException(responseBody);
-                }
-                return authResponse;
+        // JSON 변환 및 엔티티 설정
+        String requestBodyJson = objectMapper.writeValueAsString(requestBody);
+        StringEntity entity = new StringEntity(requestBodyJson, "application/json");
+        httpPost.setEntity(entity);
+
+        // 요청 실행 및 응답 처리
+        try (HttpResponse response = authHttpClient.execute(httpPost)) {
+            int statusCode = response.getCode();
+            if (statusCode != 200) {
+                throw new HttpStatusException(HTTP_ERROR_PREFIX + statusCode, statusCode,
+                    RetryPolicy.parseRetryAfter(response.getHeader("Retry-After")));
             }
-        } finally {
-            httpClient.close();
+
+            // 응답 본문 바이트를 문자열로 변환하지 않고 바로 객체로 변환
+            byte[] responseBody = response.readContent();
+            AuthResponse authResponse = readJson(domain, responseBody, AuthResponse.class);
+            if (!REQUEST_SUCCESS_CODE.equals(authResponse.getCode())) {
+                throw new RuntimeException(new String(responseBody, StandardCharsets.UTF_8));
+            }
+            return authResponse;
+        }
+    }
+
+    /**
+     * 업로드 요청 한 번 (헤지 정책이 있으면 응답이 늦을 때 다른 연결로 한 번 더 보내고 먼저 성공한 결과 사용)
+     */
+    private FileUploadResponse hedgedUpload(String domain, String clientId, String token, File file,
+                                            String brandId) throws Exception {
+        if (hedger == null) {
+            return uploadFile(domain, token, file, brandId, null);
         }
+        return hedger.call(domain, file, uploadAdmission(clientId, file),
+            onRequest -> uploadFile(domain, token, file, brandId, onRequest));
     }
 
     /**
-     * 파일 업로드를 수행하는 메서드
+     * 파일 업로드를 수행하고 결과를 리스너에 통보하는 메서드
      * @param domain API 도메인
      * @param token 인증 토큰
      * @param file 업로드할 파일
      * @param brandId 브랜드 ID
+     * @param onRequest 요청 전송 전에 HttpRequest를 전달받을 콜백 (헤지 요청 취소용, 없으면 null)
      * @return FileUploadResponse 업로드 결과 DTO
      * @throws Exception 업로드 중 발생한 예외
      */
-    private FileUploadResponse uploadFile(String domain, String token, File file, String brandId) throws Exception {
-        String url = domain + "/api/v1/upload";
-
-        // 타임아웃 설정
-        CustomHttpClient httpClient = CustomHttpClient.custom()
-            .setConnectTimeout(7000)  // 연결 타임아웃 (7초)
-            .setReadTimeout(15000)    // 읽기 타임아웃 (15초)
-            .build();
+    private FileUploadResponse uploadFile(String domain, String token, File file, String brandId,
+                                          Consumer<HttpRequest> onRequest) throws Exception {
+        TraceEvent event = TraceEvent.beginUpload(domain + UPLOAD_PATH, file.getName(), file.length());
+        EndpointGroup.Endpoint endpoint = beginEndpoint(domain);
+        long startedAt = System.nanoTime();
+        try {
+            FileUploadResponse uploadResponse = sendUploadRequest(domain, token, Collections.singletonList(file),
+                brandId, onRequest);
+            long elapsedNanos = System.nanoTime() - startedAt;
+            recordEndpoint(endpoint, elapsedNanos, true, null);
+            uploadListener.onUpload(domain, file, elapsedNanos, uploadResponse.getCode(), null);
+            commitEvent(event, uploadResponse.getCode(), null);
+            return uploadResponse;
+        } catch (Exception e) {
+            long elapsedNanos = System.nanoTime() - startedAt;
+            recordEndpoint(endpoint, elapsedNanos, true, e);
+            String resultCode = resultCodeOf(e);
+            uploadListener.onUpload(domain, file, elapsedNanos, resultCode, e);
+            commitEvent(event, resultCode, e);
+            throw e;
+        }
+    }
 
+    /**
+     * 여러 파일을 담은 업로드 요청을 수행하고 결과를 리스너에 통보하는 메서드
+     */
+    private FileUploadResponse uploadGroup(String domain, String token, List<File> files, long totalBytes,
+                                           String brandId) throws Exception {
+        TraceEvent event = TraceEvent.beginUpload(domain + UPLOAD_PATH, groupName(files), totalBytes);
+        EndpointGroup.Endpoint endpoint = beginEndpoint(domain);
+        long startedAt = System.nanoTime();
         try {
-            // POST 요청 생성
-            HttpRequest.HttpPost httpPost = new HttpRequest.HttpPost(url);
-            httpPost.setHeader("Authorization", "Bearer " + token);
+            FileUploadResponse uploadResponse = sendUploadRequest(domain, token, files, brandId, null);
+            long elapsedNanos = System.nanoTime() - startedAt;
+            recordEndpoint(endpoint, elapsedNanos, true, null);
+            uploadListener.onGroupUpload(domain, files, elapsedNanos, uploadResponse.getCode(), null);
+            commitEvent(event, uploadResponse.getCode(), null);
+            return uploadResponse;
+        } catch (Exception e) {
+            long elapsedNanos = System.nanoTime() - startedAt;
+            recordEndpoint(endpoint, elapsedNanos, true, e);
+            String resultCode = resultCodeOf(e);
+            uploadListener.onGroupUpload(domain, files, elapsedNanos, resultCode, e);
+            commitEvent(event, resultCode, e);
+            throw e;
+        }
+    }
 
-            // 명시적으로 Content-Type 헤더를 설정하지 않음 (MultipartEntity에서 제공하는 값 사용)
+    /**
+     * 파일 업로드 요청을 전송하는 메서드
+     * 파일마다 filePart 파트를 하나씩 목록 순서대로 추가합니다.
+     */
+    private FileUploadResponse sendUploadRequest(String domain, String token, List<File> files, String brandId,
+                                                 Consumer<HttpRequest> onRequest) throws Exception {
+        String url = domain + UPLOAD_PATH;
+
+        // POST 요청 생성
+        HttpRequest.HttpPost httpPost = new HttpRequest.HttpPost(url);
+        httpPost.setHeader("Authorization", "Bearer " + token);
+        if (expectContinueThreshold > 0) {
+            long totalBytes = 0;
+            for (File file : files) {
+                totalBytes += file.length();
+            }
+            if (totalBytes >= expectContinueThreshold) {
+                httpPost.setHeader("Expect", "100-continue"); // 토큰이 거부되면 파일을 보내기 전에 응답을 받음
+            }
+        }
 
-            // JSON 요청 데이터 생성
-            Map<String, String> reqFileJson = new HashMap<>();
-            reqFileJson.put("brandId", brandId != null ? brandId : "");
-            String reqFileContent = objectMapper.writeValueAsString(reqFileJson);
+        // 명시적으로 Content-Type 헤더를 설정하지 않음 (MultipartEntity에서 제공하는 값 사용)
 
-            // 멀티파트 요청 구성
-            MultipartEntityBuilder builder = MultipartEntityBuilder.create();
-            builder.addTextBody("reqFile", reqFileContent);
+        // JSON 요청 데이터 생성
+        Map<String, String> reqFileJson = new HashMap<>();
+        reqFileJson.put("brandId", brandId != null ? brandId : "");
+        String reqFileContent = objectMapper.writeValueAsString(reqFileJson);
 
-            // 파일 내용 추가
+        // 멀티파트 요청 구성
+        MultipartEntityBuilder builder = MultipartEntityBuilder.create();
+        builder.addTextBody("reqFile", reqFileContent);
+
+        // 파일 내용 추가
+        for (File file : files) {
             String mimeType = Files.probeContentType(file.toPath());
             if (mimeType == null) {
                 mimeType = "application/octet-stream"; // fallback MIME type
             }
             ContentType contentType = ContentType.create(mimeType);
             builder.addPart("filePart", new FileBody(file, contentType, file.getName()));
+        }
 
-            HttpEntity multipartEntity = builder.build();
-            httpPost.setEntity(multipartEntity);
+        HttpEntity multipartEntity = builder.build();
+        httpPost.setEntity(multipartEntity);
 
-            // Content-Type 헤더를 MultipartEntity에서 제공하는 값으로 설정
-            httpPost.setHeader("Content-Type", multipartEntity.getContentType());
+        // Content-Type 헤더를 MultipartEntity에서 제공하는 값으로 설정
+        httpPost.setHeader("Content-Type", multipartEntity.getContentType());
 
-            // 디버깅용 로그 (필요시 활성화)
-            // System.out.println("Content-Type: " + multipartEntity.getContentType());
+        // 디버깅용 로그 (필요시 활성화)
+        // System.out.println("Content-Type: " + multipartEntity.getContentType());
 
-            // 요청 실행 및 응답 처리
-            try (HttpResponse response = httpClient.execute(httpPost)) {
-                int statusCode = response.getCode();
-                HttpEntity responseEntity = response.getEntity();
-                String responseBody = EntityUtils.toString(responseEntity, StandardCharsets.UTF_8);
+        // 헤지 요청의 경우 다른 요청이 먼저 성공하면 취소할 수 있도록 전달
+        if (onRequest != null) {
+            onRequest.accept(httpPost);
+        }
 
-                // 디버깅용 응답 내용 출력 (필요시 활성화)
-                // System.out.println("Response Code: " + statusCode);
-                // System.out.println("Response Body: " + responseBody);
+        // 요청 실행 및 응답 처리
+        try (HttpResponse response = uploadHttpClient.execute(httpPost)) {
+            int statusCode = response.getCode();
+            byte[] responseBody = response.readContent();
 
-                if (statusCode != 200) {
-                    throw new RuntimeException("HTTP error code: " + statusCode + ", Response: " + responseBody);
-                }
+            // 디버깅용 응답 내용 출력 (필요시 활성화)
+            // System.out.println("Response Code: " + statusCode);
+            // System.out.println("Response Body: " + new String(responseBody, StandardCharsets.UTF_8));
 
-                FileUploadResponse uploadResponse = objectMapper.readValue(responseBody, FileUploadResponse.class);
-                if (!REQUEST_SUCCESS_CODE.equals(uploadResponse.getCode())) {
-                    throw new RuntimeException(responseBody);
-                }
-                return uploadResponse;
+            if (statusCode != 200) {
+                throw new HttpStatusException(HTTP_ERROR_PREFIX + statusCode + ", Response: "
+                    + new String(responseBody, StandardCharsets.UTF_8), statusCode,
+                    RetryPolicy.parseRetryAfter(response.getHeader("Retry-After")));
             }
-        } finally {
-            httpClient.close();
-        }
-    }
-
-    /**
-     * 클라이언트 ID와 비밀번호로부터 토큰 저장소 키를 생성하는 메서드
-     */
-    private String generateKey(String clientId, String clientPwd) {
-        String combined = clientId + ":" + clientPwd;
-        return Base64.getEncoder().encodeToString(combined.getBytes(StandardCharsets.UTF_8))
-                .replace("=", "_");
-    }
 
-    /**
-     * 토큰을 저장하는 메서드
-     */
-    private void storeToken(String clientId, String clientPwd, String token) {
-        String key = generateKey(clientId, clientPwd);
-        tokenStorage.put(TOKEN_KEY_PREFIX + key, token);
+            // 응답 본문 바이트를 문자열로 변환하지 않고 바로 객체로 변환
+            FileUploadResponse uploadResponse = readJson(domain, responseBody, FileUploadResponse.class);
+            if (!REQUEST_SUCCESS_CODE.equals(uploadResponse.getCode())) {
+                throw new RuntimeException(new String(responseBody, StandardCharsets.UTF_8));
+            }
+            return uploadResponse;
+        }
     }
 
     /**
-     * 저장된 토큰을 가져오는 메서드
+     * 응답 본문을 객체로 변환하는 메서드 (리스너가 있으면 역직렬화 시간 통보)
      */
-    private String getToken(String clientId, String clientPwd) {
-        String key = generateKey(clientId, clientPwd);
-        return tokenStorage.get(TOKEN_KEY_PREFIX + key);
+    private <T> T readJson(String domain, byte[] responseBody, Class<T> type) throws IOException {
+        if (uploadListener == UploadListener.NOOP) {
+            return objectMapper.readValue(responseBody, type);
+        }
+        long startedAt = System.nanoTime();
+        T value = objectMapper.readValue(responseBody, type);
+        uploadListener.onJsonParse(domain, type, responseBody.length, System.nanoTime() - startedAt);
+        return value;
     }
 
     /**
@@ -286,4 +1451,383 @@ public class FileUploadClient {
         return errorMap;
     }
 
+    /**
+     * 리스너에 전달할 결과 코드 추출 메서드
+     * API 오류 응답은 응답 코드, HTTP 오류는 "HTTP 상태코드", 그 외에는 예외 클래스 이름을 반환합니다.
+     */
+    private String resultCodeOf(Exception error) {
+        Object code = parseError(error).get("code");
+        if (code != null) {
+            return String.valueOf(code);
+        }
+        String message = error.getMessage();
+        if (message != null && message.startsWith(HTTP_ERROR_PREFIX)) {
+            int end = message.indexOf(',');
+            return "HTTP " + message.substring(HTTP_ERROR_PREFIX.length(), end > 0 ? end : message.length()).trim();
+        }
+        return error.getClass().getSimpleName();
+    }
+
+    /**
+     * 재시도 정책과 서킷 브레이커를 적용하여 요청을 실행하는 메서드
+     * 일시적 오류이면 정책에 따라 대기 후 재시도하며, 재시도할 수 없으면 마지막 예외를 그대로 던집니다.
+     * @param idempotent 멱등 요청 여부 (인증 true, 업로드 false)
+     */
+    private <T> T callWithRetry(String domain, boolean idempotent, Callable<T> request) throws Exception {
+        return callWithRetry(domain, idempotent, null, request);
+    }
+
+    /**
+     * 시도마다 처리율/동시 실행 제한 허용을 받은 후 요청하는 callWithRetry
+     * 서킷 브레이커 허용은 제한 대기가 끝난 후 요청 직전에 받으므로, HALF_OPEN 상태의 시험 요청이 대기열에서 허용을 점유하지 않습니다.
+     * @param admission 시도마다 요청 전에 받고 요청 후 반환할 허용 (없으면 null)
+     */
+    private <T> T callWithRetry(String domain, boolean idempotent, UploadAdmission admission,
+                                Callable<T> request) throws Exception {
+        for (int attempt = 1; ; attempt++) {
+            long delay;
+            if (admission != null) {
+                admission.await();
+            }
+            try {
+                return callGuarded(domain, request);
+            } catch (Exception e) {
+                delay = retryDelay(domain, e, attempt, idempotent);
+                if (delay < 0) {
+                    throw e;
+                }
+            } finally {
+                if (admission != null) {
+                    admission.release();
+                }
+            }
+            Thread.sleep(delay);
+        }
+    }
+
+    /**
+     * callWithRetry의 비동기 버전 (재시도 대기 중 스레드를 점유하지 않음)
+     * @param admission 시도마다 요청 전에 받고 요청 후 반환할 허용 (처리율/동시 실행 제한, 없으면 null)
+     * @param attempt 시도 번호 (1부터 시작)
+     */
+    private <T> CompletableFuture<T> callWithRetryAsync(String domain, boolean idempotent, Callable<T> request,
+                                                        UploadAdmission admission,
+                                                        Executor executor, int attempt) {
+        CompletableFuture<T> attemptFuture = admission == null
+            ? callAsync(() -> callGuarded(domain, request), executor)
+            : admission.acquire().thenCompose(ignored -> callAsync(() -> callGuarded(domain, request), executor)
+                .whenComplete((result, error) -> admission.release()));
+        return attemptFuture
+            .handle((result, error) -> {
+                if (error == null) {
+                    return CompletableFuture.completedFuture(result);
+                }
+                Throwable cause = unwrap(error);
+                long delay = cause instanceof Exception ? retryDelay(domain, (Exception) cause, attempt, idempotent) : -1;
+                if (delay < 0) {
+                    return FileUploadClient.<T>failedFuture(cause);
+                }
+
+                // 대기 후 executor에서 재시도 (예약 스레드는 작업 제출만 수행)
+                CompletableFuture<T> retry = new CompletableFuture<>();
+                try {
+                    retryScheduler().schedule(() -> {
+                        callWithRetryAsync(domain, idempotent, request, admission, executor, attempt + 1)
+                            .whenComplete((retryResult, retryError) -> {
+                                if (retryError != null) {
+                                    retry.completeExceptionally(unwrap(retryError));
+                                } else {
+                                    retry.complete(retryResult);
+                                }
+                            });
+                    }, delay, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    retry.completeExceptionally(cause); // close() 이후에는 재시도하지 않음
+                }
+                return retry;
+            })
+            .thenCompose(Function.identity());
+    }
+
+    /**
+     * 파일 하나 업로드의 처리율/동시 실행 제한 허용 (둘 다 없으면 null)
+     */
+    private UploadAdmission uploadAdmission(String clientId, File file) {
+        return uploadAdmission(clientId, file.length());
+    }
+
+    /**
+     * 업로드 요청 하나의 처리율/동시 실행 제한 허용 (처리율 제한은 전체 바이트로 적용, 둘 다 없으면 null)
+     */
+    private UploadAdmission uploadAdmission(String clientId, long bytes) {
+        return rateLimiter != null || concurrencyLimit != null ? new UploadAdmission(clientId, bytes) : null;
+    }
+
+    /**
+     * 업로드 시도 하나에 대한 허용 (처리율 제한 대기 후 동시 실행 허용, 시도가 끝나면 동시 실행 허용 반환)
+     * 동기 업로드는 await, 비동기 업로드는 acquire로 허용될 때까지 기다리고, 헤지 요청은 tryAcquire로 바로 허용될 때만 보냅니다.
+     */
+    private final class UploadAdmission implements UploadHedger.Admission {
+        private final String clientId;
+        private final long bytes;
+
+        UploadAdmission(String clientId, long bytes) {
+            this.clientId = clientId;
+            this.bytes = bytes;
+        }
+
+        /**
+         * 처리율 제한과 동시 실행 제한이 허용될 때까지 블로킹 대기
+         */
+        void await() throws InterruptedException {
+            if (rateLimiter != null) {
+                rateLimiter.acquire(clientId, bytes);
+            }
+            if (concurrencyLimit != null) {
+                concurrencyLimit.acquire();
+            }
+        }
+
+        CompletableFuture<Void> acquire() {
+            CompletableFuture<Void> rate = rateLimiter != null
+                ? rateLimiter.acquireAsync(clientId, bytes) : CompletableFuture.completedFuture(null);
+            return concurrencyLimit != null ? rate.thenCompose(ignored -> concurrencyLimit.acquireAsync()) : rate;
+        }
+
+        @Override
+        public boolean tryAcquire() {
+            if (concurrencyLimit != null && !concurrencyLimit.tryAcquire()) {
+                return false;
+            }
+            if (rateLimiter != null && !rateLimiter.tryAcquire(clientId, bytes)) {
+                release(); // 동시 실행 허용만 받은 경우 반환
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public void release() {
+            if (concurrencyLimit != null) {
+                concurrencyLimit.release();
+            }
+        }
+    }
+
+    /**
+     * 서킷 브레이커를 확인한 후 요청을 한 번 실행하고, 결과를 서킷 브레이커와 재시도 예산에 기록하는 메서드
+     * 처리율/동시 실행 제한 대기가 끝난 후, 요청 직전에 호출합니다.
+     */
+    private <T> T callGuarded(String domain, Callable<T> request) throws Exception {
+        CircuitBreaker breaker = circuitBreakerOf(domain);
+        if (breaker != null && !breaker.tryAcquire()) {
+            throw new CircuitBreakerOpenException(domain, breaker.getRemainingOpenMillis());
+        }
+        RetryBudget budget = retryBudgetOf(domain);
+        try {
+            T result = request.call();
+            if (breaker != null) {
+                breaker.onSuccess();
+            }
+            if (budget != null) {
+                budget.onSuccess();
+            }
+            return result;
+        } catch (Exception e) {
+            // 서버가 응답한 API 오류나 4xx는 서버 상태 이상으로 보지 않음
+            boolean serverFailure = RetryPolicy.isServerFailure(e);
+            if (breaker != null) {
+                if (serverFailure) {
+                    breaker.onFailure();
+                } else {
+                    breaker.onSuccess();
+                }
+            }
+            if (budget != null && serverFailure) {
+                budget.onFailure();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 실패한 요청의 재시도 대기 시간을 구하고 재시도하는 경우 리스너에 통보하는 메서드
+     * @return 대기 시간 (ms, 재시도하지 않으면 -1)
+     */
+    private long retryDelay(String domain, Exception error, int attempt, boolean idempotent) {
+        long delay = retryPolicy.retryDelay(error, attempt, idempotent);
+        if (delay < 0 || closed) {
+            return -1;
+        }
+        RetryBudget budget = retryBudgetOf(domain);
+        if (budget != null && !budget.canRetry()) {
+            return -1;
+        }
+        uploadListener.onBackoff(domain, attempt + 1, delay, resultCodeOf(error));
+        return delay;
+    }
+
+    /**
+     * 도메인별 서킷 브레이커 조회 (사용하지 않으면 null)
+     */
+    private CircuitBreaker circuitBreakerOf(String domain) {
+        if (circuitBreakerFailureThreshold <= 0) {
+            return null;
+        }
+        CircuitBreaker breaker = circuitBreakers.get(domain);
+        if (breaker == null) {
+            breaker = circuitBreakers.computeIfAbsent(domain, key ->
+                new CircuitBreaker(key, circuitBreakerFailureThreshold, circuitBreakerOpenTimeout, uploadListener));
+        }
+        return breaker;
+    }
+
+    /**
+     * 도메인별 재시도 예산 조회 (재시도하지 않거나 예산 제한이 없으면 null)
+     */
+    private RetryBudget retryBudgetOf(String domain) {
+        if (retryBudgets == null) {
+            return null;
+        }
+        RetryBudget budget = retryBudgets.get(domain);
+        if (budget == null) {
+            budget = retryBudgets.computeIfAbsent(domain, key -> retryPolicy.newBudget());
+        }
+        return budget;
+    }
+
+    /**
+     * 비동기 재시도 대기용 스레드 (최초 재시도 시점에 한 번만 생성)
+     */
+    private ScheduledExecutorService retryScheduler() {
+        ScheduledExecutorService scheduler = retryScheduler;
+        if (scheduler != null) {
+            return scheduler;
+        }
+        synchronized (this) {
+            if (retryScheduler == null) {
+                retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "nirs-retry-scheduler");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                if (closed) {
+                    retryScheduler.shutdown();
+                }
+            }
+            return retryScheduler;
+        }
+    }
+
+    /**
+     * 엔드포인트 상태 확인용 스레드 (최초 상태 확인 시점에 한 번만 생성)
+     */
+    private ExecutorService probeExecutor() {
+        ExecutorService executor = probeExecutor;
+        if (executor != null) {
+            return executor;
+        }
+        synchronized (this) {
+            if (probeExecutor == null) {
+                probeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "nirs-endpoint-probe");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                if (closed) {
+                    probeExecutor.shutdown();
+                }
+            }
+            return probeExecutor;
+        }
+    }
+
+    /**
+     * JFR 이벤트에 결과를 기록하고 커밋하는 메서드 (기록 중이 아니면 event가 null)
+     * HTTP 상태 코드는 결과 코드로부터 구합니다. API 응답 코드가 있으면 200, HTTP 오류는 해당 상태 코드,
+     * 응답을 받지 못한 경우 -1입니다.
+     */
+    private void commitEvent(TraceEvent event, String resultCode, Exception error) {
+        if (event == null) {
+            return;
+        }
+        int statusCode = 200;
+        if (resultCode != null && resultCode.startsWith("HTTP ")) {
+            try {
+                statusCode = Integer.parseInt(resultCode.substring("HTTP ".length()));
+            } catch (NumberFormatException e) {
+                statusCode = -1;
+            }
+        } else if (error != null && parseError(error).get("code") == null) {
+            statusCode = -1;
+        }
+        event.commit(statusCode, resultCode, error);
+    }
+
+    /**
+     * 작업을 executor에서 실행하고 결과를 CompletableFuture로 반환하는 메서드
+     * 작업에서 발생한 예외는 CompletionException으로 감싸지 않고 그대로 전달합니다.
+     */
+    private static <T> CompletableFuture<T> callAsync(Callable<T> task, Executor executor) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(task.call());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private static <T> CompletableFuture<T> failedFuture(Throwable error) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(error);
+        return future;
+    }
+
+    /**
+     * CompletionException으로 감싸진 원인 예외를 꺼내는 메서드
+     */
+    private static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException)
+                && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    /**
+     * 클라이언트 종료 메서드
+     * 백그라운드 토큰 재발급과 새 재시도 예약을 중지하고 커넥션 풀의 모든 연결을 정리합니다.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (this) {
+            if (retryScheduler != null) {
+                // 대기 중인 재시도는 예정대로 실행되어 종료된 전송 계층 오류로 완료됨
+                retryScheduler.shutdown();
+            }
+            if (probeExecutor != null) {
+                probeExecutor.shutdownNow();
+            }
+        }
+        if (hedger != null) {
+            hedger.close();
+        }
+        tokenManager.close();
+        transport.close();
+        if (connectionPool != null) {
+            connectionPool.close();
+        }
+        if (indexStore != null) {
+            indexStore.close();
+        }
+    }
+
 }
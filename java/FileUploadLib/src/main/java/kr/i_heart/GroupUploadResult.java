@@ -0,0 +1,46 @@
+package kr.i_heart;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 여러 파일을 한 번의 요청으로 업로드한 결과를 담는 클래스
+ * 서버 응답과 함께 응답의 imgUrlLst를 요청에 담은 파일 순서대로 입력 파일에 대응시킨 결과를 제공합니다.
+ */
+public class GroupUploadResult {
+
+    // 업로드 응답 (fileId, fileExpDt는 묶음 전체에 대한 값)
+    private final FileUploadResponse response;
+
+    // 파일별 이미지 URL (입력 순서 유지)
+    private final Map<File, String> imgUrls;
+
+    public GroupUploadResult(FileUploadResponse response, Map<File, String> imgUrls) {
+        this.response = response;
+        this.imgUrls = Collections.unmodifiableMap(imgUrls);
+    }
+
+    public FileUploadResponse getResponse() {
+        return response;
+    }
+
+    public Map<File, String> getImgUrls() {
+        return imgUrls;
+    }
+
+    /**
+     * 파일의 이미지 URL (묶음에 없는 파일이면 null)
+     */
+    public String getImgUrl(File file) {
+        return imgUrls.get(file);
+    }
+
+    @Override
+    public String toString() {
+        return "GroupUploadResult{" +
+            "response=" + response +
+            ", imgUrls=" + imgUrls +
+            '}';
+    }
+}
@@ -0,0 +1,132 @@
+package kr.i_heart;
+
+/**
+ * 업로드 헤지 요청 정책
+ * 업로드 요청이 최근 업로드 응답 시간의 백분위(percentile)만큼 지나도 응답을 받지 못하면 다른 연결로 같은 요청을 한 번 더 보내고,
+ * 먼저 성공한 응답을 사용하며 나머지 요청은 연결을 닫아 취소합니다.
+ * 읽기 타임아웃(15초)까지 멈춰 있는 연결 하나 때문에 늘어나는 꼬리 지연 시간(p99)을 줄이기 위한 것입니다.
+ *
+ * 헤지 요청은 예산 안에서만 보냅니다. 업로드 요청마다 maxHedgeRatio만큼 예산이 쌓이고(최대 maxHedgeBurst) 헤지 요청마다 1씩 쓰므로,
+ * 장애로 모든 요청이 느려져도 헤지 요청은 전체 요청의 maxHedgeRatio 비율을 넘지 않아 부하가 두 배가 되지 않습니다.
+ *
+ * 주의:
+ * - 업로드는 멱등 요청이 아니므로, 취소한 요청이 서버에서 이미 처리된 경우 같은 파일이 한 번 더 저장될 수 있습니다.
+ *   (응답은 먼저 성공한 요청의 것만 사용하며, 나머지 파일은 서버의 보관 기간이 지나면 삭제됩니다)
+ * - HTTP/2 전송 계층은 한 연결에서 요청을 다중화하므로 헤지 요청도 같은 연결로 보냅니다. (연결이 멈춘 경우에는 효과가 없음)
+ * - 최근 응답 시간이 충분히 쌓이기 전(50개 미만)에는 maxDelay 후에 헤지 요청을 보냅니다.
+ *
+ * 사용 예:
+ * FileUploadClient client = FileUploadClient.custom()
+ *     .setHedgePolicy(HedgePolicy.custom().setPercentile(0.95).setMaxHedgeRatio(0.05).build())
+ *     .build();
+ */
+public final class HedgePolicy {
+    private final double percentile;
+    private final long minDelay;
+    private final long maxDelay;
+    private final double maxHedgeRatio;
+    private final int maxHedgeBurst;
+
+    private HedgePolicy(Builder builder) {
+        this.percentile = builder.percentile;
+        this.minDelay = builder.minDelay;
+        this.maxDelay = builder.maxDelay;
+        this.maxHedgeRatio = builder.maxHedgeRatio;
+        this.maxHedgeBurst = builder.maxHedgeBurst;
+    }
+
+    /**
+     * 헤지 정책 설정을 위한 빌더 클래스
+     */
+    public static class Builder {
+        private double percentile = 0.95;
+        private long minDelay = 100;
+        private long maxDelay = 5000;
+        private double maxHedgeRatio = 0.1;
+        private int maxHedgeBurst = 10;
+
+        /**
+         * 헤지 요청을 보내기 전 대기 시간으로 사용할 최근 업로드 응답 시간의 백분위 (0.5 ~ 1.0 미만, 기본 0.95)
+         */
+        public Builder setPercentile(double percentile) {
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * 헤지 요청 전 최소 대기 시간 (ms, 기본 100)
+         */
+        public Builder setMinDelay(long minDelay) {
+            this.minDelay = minDelay;
+            return this;
+        }
+
+        /**
+         * 헤지 요청 전 최대 대기 시간 (ms, 기본 5000)
+         * 최근 응답 시간이 충분히 쌓이기 전에는 이 값을 사용합니다.
+         */
+        public Builder setMaxDelay(long maxDelay) {
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        /**
+         * 업로드 요청 대비 헤지 요청의 최대 비율 (0 초과 0.5 이하, 기본 0.1)
+         */
+        public Builder setMaxHedgeRatio(double maxHedgeRatio) {
+            this.maxHedgeRatio = maxHedgeRatio;
+            return this;
+        }
+
+        /**
+         * 예산이 가득 찬 상태에서 연속으로 보낼 수 있는 헤지 요청 수 (기본 10)
+         */
+        public Builder setMaxHedgeBurst(int maxHedgeBurst) {
+            this.maxHedgeBurst = maxHedgeBurst;
+            return this;
+        }
+
+        public HedgePolicy build() {
+            if (percentile < 0.5 || percentile >= 1.0) {
+                throw new IllegalArgumentException("percentile must be in [0.5, 1.0).");
+            }
+            if (minDelay <= 0 || maxDelay < minDelay) {
+                throw new IllegalArgumentException("delays must satisfy 0 < minDelay <= maxDelay.");
+            }
+            if (maxHedgeRatio <= 0 || maxHedgeRatio > 0.5) {
+                throw new IllegalArgumentException("maxHedgeRatio must be in (0, 0.5].");
+            }
+            if (maxHedgeBurst <= 0) {
+                throw new IllegalArgumentException("maxHedgeBurst must be positive.");
+            }
+            return new HedgePolicy(this);
+        }
+    }
+
+    /**
+     * 빌더 생성 메서드
+     */
+    public static Builder custom() {
+        return new Builder();
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public long getMinDelay() {
+        return minDelay;
+    }
+
+    public long getMaxDelay() {
+        return maxDelay;
+    }
+
+    public double getMaxHedgeRatio() {
+        return maxHedgeRatio;
+    }
+
+    public int getMaxHedgeBurst() {
+        return maxHedgeBurst;
+    }
+}
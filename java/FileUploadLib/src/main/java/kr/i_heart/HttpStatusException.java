@@ -0,0 +1,31 @@
+package kr.i_heart;
+
+/**
+ * 인증/업로드 요청의 HTTP 오류 응답 (200이 아닌 상태 코드)
+ * 메시지 형식("HTTP error code: 429, ...")은 기존과 같으며, 재시도 정책이 상태 코드와 Retry-After를 참조합니다.
+ */
+final class HttpStatusException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    private final int statusCode;
+    private final long retryAfterMillis;
+
+    /**
+     * 생성자
+     * @param message 오류 메시지
+     * @param statusCode HTTP 상태 코드
+     * @param retryAfterMillis Retry-After 헤더의 대기 시간 (ms, 없으면 -1)
+     */
+    HttpStatusException(String message, int statusCode, long retryAfterMillis) {
+        super(message);
+        this.statusCode = statusCode;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    int getStatusCode() {
+        return statusCode;
+    }
+
+    long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
@@ -0,0 +1,908 @@
+package kr.i_heart;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+/**
+ * 업로드 전 이미지 축소/재압축 단계
+ * RCS가 실제로 표시하는 크기보다 큰 카메라 원본 JPEG/PNG를 ImageIO로 최대 가로/세로 크기 이내로 줄이고,
+ * JPEG는 지정한 품질로 다시 압축하여 전송 바이트와 업로드 시간을 줄입니다.
+ * 결과가 최대 파일 크기를 넘으면 JPEG는 최소 품질(0.5)까지 품질을 낮추고, 그래도 크거나 PNG이면 크기를 더 줄입니다.
+ *
+ * 이미지 디코딩은 메모리와 CPU를 많이 사용하므로 고정 크기 작업 스레드 풀(기본: CPU 수)에서만 실행하여
+ * 동시에 처리하는 이미지 수를 제한합니다. 원본 전체 해상도로 디코딩하지 않고, 목표 크기를 덮는 가장 큰 배율로
+ * 건너뛰며 읽으므로(ImageReadParam.setSourceSubsampling) 작업 스레드마다 필요한 메모리가 최대 크기 설정에 비례합니다.
+ * 헤더의 가로×세로가 최대 픽셀 수를 넘는 이미지는 디코딩하지 않습니다. 처리 결과는 원본 내용 해시(SHA-256)와 설정별로 캐시하여 같은 이미지를 다시 처리하지 않으며,
+ * 결과 파일은 작업 디렉토리의 해시별 하위 디렉토리에 원본 파일 이름으로 저장하므로 프로세스를 다시 시작해도 재사용합니다.
+ * 메모리 캐시 항목 수를 넘은 항목은 메모리에서만 제거하며, 결과 파일은 마지막으로 사용한 지 최대 보관 시간(기본 24시간)이
+ * 지난 경우에만 작업 스레드가 주기적으로 삭제합니다. 결과 파일을 반환할 때마다 수정 시각을 갱신하므로 업로드 중인 파일은 삭제되지 않습니다.
+ * 기본 작업 디렉토리(java.io.tmpdir/nirs-image-cache-사용자 이름)는 같은 사용자의 프로세스끼리만 공유합니다. 결과 파일은 임시 파일에 쓴 후 이동하고
+ * 수정 시각 기준으로만 삭제하므로, 다른 프로세스가 기록 중이거나 업로드 중인 파일을 읽거나 지우지 않습니다.
+ * 다른 사용자가 결과 파일을 바꿔 넣지 못하도록 작업 디렉토리와 해시별 디렉토리는 소유자만 접근할 수 있게 만들고, 현재 사용자 소유가 아니거나
+ * 다른 사용자가 쓸 수 있으면 사용하지 않습니다(원본 업로드). 결과 파일 옆에 내용 해시(.파일 이름.sha256)를 함께 기록하여
+ * 디스크에서 찾은 결과는 소유자와 해시가 일치하는 경우에만 사용합니다.
+ *
+ * 헤더의 크기가 이미 제한 이내인 이미지, JPEG/PNG가 아닌 파일, 읽을 수 없는 이미지는 디코딩하지 않고 원본을 그대로 사용합니다.
+ * JPEG의 EXIF 방향 정보는 다시 압축하면 사라지므로 픽셀을 회전하여 반영합니다. (그 외 메타데이터는 유지하지 않음)
+ *
+ * FileUploadClient.Builder.setImagePreprocessor로 설정하며, 클라이언트가 종료하지 않으므로 사용이 끝나면 close()를 호출해야 합니다.
+ */
+public final class ImagePreprocessor implements AutoCloseable {
+    private static final float MIN_QUALITY = 0.5f;   // 최대 파일 크기를 맞출 때 낮출 수 있는 최소 JPEG 품질
+    private static final float QUALITY_STEP = 0.1f;
+    private static final int MAX_ENCODE_ATTEMPTS = 8;
+    private static final int EXIF_ORIENTATION_TAG = 0x0112;
+    private static final long SWEEP_INTERVAL = 600000;  // 오래된 결과 파일 삭제 주기 (ms)
+    private static final String DIGEST_SUFFIX = ".sha256"; // 결과 파일 내용 해시 파일 ("." + 파일 이름 + 접미사)
+    private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rwx------");
+
+    private final int maxWidth;
+    private final int maxHeight;
+    private final long maxBytes;
+    private final long maxPixels;
+    private final float quality;
+    private final int cacheSize;
+    private final long maxAge;
+    private final File workDirectory;
+    private final String settingsKey;                // 설정이 바뀌면 이전 결과를 사용하지 않도록 캐시 키에 포함
+    private final ExecutorService executor;
+    private final Map<String, File> cache;           // 원본 내용 해시 + 설정 → 결과 파일 (LRU)
+    private final AtomicLong lastSweepAt = new AtomicLong(); // 마지막으로 오래된 결과 파일을 삭제한 시각 (ms)
+    private volatile UserPrincipal currentUser;       // 작업 디렉토리 소유자 확인용 (처음 사용할 때 조회)
+
+    private final LongAdder processedCount = new LongAdder();
+    private final LongAdder unchangedCount = new LongAdder();
+    private final LongAdder cacheHitCount = new LongAdder();
+    private final LongAdder originalBytes = new LongAdder();
+    private final LongAdder processedBytes = new LongAdder();
+
+    private ImagePreprocessor(Builder builder) {
+        this.maxWidth = builder.maxWidth;
+        this.maxHeight = builder.maxHeight;
+        this.maxBytes = builder.maxBytes;
+        this.maxPixels = builder.maxPixels;
+        this.quality = builder.quality;
+        this.cacheSize = builder.cacheSize;
+        this.maxAge = builder.maxAge;
+        this.workDirectory = builder.workDirectory != null ? builder.workDirectory
+            : new File(System.getProperty("java.io.tmpdir"), "nirs-image-cache-" + System.getProperty("user.name"));
+        this.settingsKey = maxWidth + "x" + maxHeight + "-q" + Math.round(quality * 100) + "-b" + maxBytes;
+        this.executor = Executors.newFixedThreadPool(builder.threads, runnable -> {
+            Thread thread = new Thread(runnable, "nirs-image-preprocess");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.cache = new LinkedHashMap<String, File>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, File> eldest) {
+                return size() > ImagePreprocessor.this.cacheSize; // 결과 파일은 업로드 중일 수 있으므로 삭제하지 않음
+            }
+        };
+    }
+
+    /**
+     * 이미지 전처리 설정을 위한 빌더 클래스
+     */
+    public static class Builder {
+        private int maxWidth = 1440;
+        private int maxHeight = 1440;
+        private long maxBytes = 0;
+        private long maxPixels = 100_000_000L;
+        private float quality = 0.85f;
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private int cacheSize = 1000;
+        private long maxAge = TimeUnit.HOURS.toMillis(24);
+        private File workDirectory;
+
+        /**
+         * 최대 가로 크기 (px, 기본 1440, 0이면 제한 없음)
+         */
+        public Builder setMaxWidth(int maxWidth) {
+            this.maxWidth = maxWidth;
+            return this;
+        }
+
+        /**
+         * 최대 세로 크기 (px, 기본 1440, 0이면 제한 없음)
+         */
+        public Builder setMaxHeight(int maxHeight) {
+            this.maxHeight = maxHeight;
+            return this;
+        }
+
+        /**
+         * 최대 파일 크기 (bytes, 기본 0, 제한 없음)
+         */
+        public Builder setMaxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+            return this;
+        }
+
+        /**
+         * 디코딩할 최대 원본 픽셀 수 (가로×세로, 기본 1억, 0이면 제한 없음)
+         * 넘으면 디코딩하지 않고 원본을 그대로 사용합니다. (비정상적으로 큰 이미지로 인한 메모리 부족 방지)
+         */
+        public Builder setMaxPixels(long maxPixels) {
+            this.maxPixels = maxPixels;
+            return this;
+        }
+
+        /**
+         * JPEG 압축 품질 (0.5 ~ 1.0, 기본 0.85)
+         */
+        public Builder setQuality(float quality) {
+            this.quality = quality;
+            return this;
+        }
+
+        /**
+         * 작업 스레드 수 (기본 CPU 수, 동시에 디코딩하는 이미지 수)
+         */
+        public Builder setThreads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * 메모리 캐시 항목 수 (기본 1000, 넘은 항목의 결과 파일은 작업 디렉토리에서 다시 찾음)
+         */
+        public Builder setCacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+            return this;
+        }
+
+        /**
+         * 결과 파일 최대 보관 시간 (ms, 기본 24시간, 0이면 삭제하지 않음)
+         * 마지막으로 사용한 지 이 시간이 지난 결과 파일을 삭제하므로 업로드 한 건에 걸리는 시간보다 길어야 합니다.
+         */
+        public Builder setMaxAge(long maxAge) {
+            this.maxAge = maxAge;
+            return this;
+        }
+
+        /**
+         * 결과 파일을 저장할 작업 디렉토리 (기본 java.io.tmpdir/nirs-image-cache-사용자 이름, 같은 사용자의 프로세스끼리 공유)
+         * 현재 사용자 소유이고 다른 사용자가 쓸 수 없는 디렉토리여야 하며, 없으면 소유자만 접근할 수 있게 만듭니다.
+         */
+        public Builder setWorkDirectory(File workDirectory) {
+            this.workDirectory = workDirectory;
+            return this;
+        }
+
+        public ImagePreprocessor build() {
+            if (maxWidth < 0 || maxHeight < 0 || maxBytes < 0 || maxPixels < 0 || maxAge < 0) {
+                throw new IllegalArgumentException(
+                    "maxWidth, maxHeight, maxBytes, maxPixels and maxAge must not be negative.");
+            }
+            if (quality < MIN_QUALITY || quality > 1.0f) {
+                throw new IllegalArgumentException("quality must be in [0.5, 1.0].");
+            }
+            if (threads <= 0 || cacheSize <= 0) {
+                throw new IllegalArgumentException("threads and cacheSize must be positive.");
+            }
+            return new ImagePreprocessor(this);
+        }
+    }
+
+    /**
+     * 빌더 생성 메서드
+     */
+    public static Builder custom() {
+        return new Builder();
+    }
+
+    /**
+     * 전처리 결과와 단계별 소요 시간
+     */
+    public static final class Result {
+        private final File source;
+        private final File file;
+        private final long originalBytes;
+        private final long processedBytes;
+        private final boolean cacheHit;
+        private final long queueNanos;
+        private final long hashNanos;
+        private final long decodeNanos;
+        private final long resizeNanos;
+        private final long encodeNanos;
+        private final long totalNanos;
+
+        Result(File source, File file, boolean cacheHit, long queueNanos, long hashNanos, long decodeNanos,
+               long resizeNanos, long encodeNanos, long totalNanos) {
+            this.source = source;
+            this.file = file;
+            this.originalBytes = source.length();
+            this.processedBytes = file.length();
+            this.cacheHit = cacheHit;
+            this.queueNanos = queueNanos;
+            this.hashNanos = hashNanos;
+            this.decodeNanos = decodeNanos;
+            this.resizeNanos = resizeNanos;
+            this.encodeNanos = encodeNanos;
+            this.totalNanos = totalNanos;
+        }
+
+        /**
+         * 원본 파일
+         */
+        public File getSource() {
+            return source;
+        }
+
+        /**
+         * 업로드할 파일 (원본을 그대로 사용하면 source와 같음)
+         */
+        public File getFile() {
+            return file;
+        }
+
+        /**
+         * 원본을 줄이거나 다시 압축한 파일을 사용하는지 여부
+         */
+        public boolean isModified() {
+            return file != source;
+        }
+
+        /**
+         * 캐시된 결과를 사용했는지 여부
+         */
+        public boolean isCacheHit() {
+            return cacheHit;
+        }
+
+        public long getOriginalBytes() {
+            return originalBytes;
+        }
+
+        public long getProcessedBytes() {
+            return processedBytes;
+        }
+
+        /**
+         * 작업 스레드를 기다린 시간 (ns)
+         */
+        public long getQueueNanos() {
+            return queueNanos;
+        }
+
+        /**
+         * 원본 내용 해시 계산 시간 (ns, 원본을 그대로 사용하면 0)
+         */
+        public long getHashNanos() {
+            return hashNanos;
+        }
+
+        /**
+         * 이미지 디코딩 시간 (ns, 디코딩하지 않았으면 0)
+         */
+        public long getDecodeNanos() {
+            return decodeNanos;
+        }
+
+        /**
+         * 크기 조절과 방향 회전 시간 (ns, 최대 파일 크기를 맞추기 위해 다시 줄인 시간 포함)
+         */
+        public long getResizeNanos() {
+            return resizeNanos;
+        }
+
+        /**
+         * 인코딩과 결과 파일 기록 시간 (ns, 품질을 낮춰 다시 압축한 시간 포함)
+         */
+        public long getEncodeNanos() {
+            return encodeNanos;
+        }
+
+        /**
+         * 작업 스레드에서 처리한 전체 시간 (ns, 대기 시간 제외)
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "Result{" +
+                "source=" + source +
+                ", file=" + file +
+                ", originalBytes=" + originalBytes +
+                ", processedBytes=" + processedBytes +
+                ", cacheHit=" + cacheHit +
+                ", totalMillis=" + totalNanos / 1000000 +
+                '}';
+        }
+    }
+
+    /**
+     * 이미지 전처리 (작업 스레드에서 실행하고 완료될 때까지 대기)
+     * 이미지를 처리할 수 없으면 원본을 그대로 사용하는 결과를 반환합니다.
+     * @throws InterruptedException 대기 중 인터럽트된 경우
+     */
+    public Result process(File file) throws InterruptedException {
+        try {
+            return processAsync(file).get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * 이미지 전처리 (작업 스레드에서 실행)
+     * 이미지를 처리할 수 없으면 원본을 그대로 사용하는 결과로 완료됩니다.
+     */
+    public CompletableFuture<Result> processAsync(File file) {
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null.");
+        }
+        long submittedAt = System.nanoTime();
+        return CompletableFuture.supplyAsync(() -> preprocess(file, submittedAt), executor);
+    }
+
+    private Result preprocess(File source, long submittedAt) {
+        long startedAt = System.nanoTime();
+        long queueNanos = startedAt - submittedAt;
+        sweepIfDue();
+        try (ImageInputStream in = ImageIO.createImageInputStream(source)) {
+            ImageReader reader = in != null ? readerOf(in) : null;
+            if (reader == null) {
+                return unchanged(source, queueNanos, startedAt);
+            }
+            try {
+                reader.setInput(in, true, true);
+                String format = reader.getFormatName().toLowerCase(Locale.ROOT);
+                int orientation = "jpeg".equals(format) ? exifOrientation(source) : 1;
+                boolean transposed = orientation >= 5;
+                int orientedWidth = transposed ? reader.getHeight(0) : reader.getWidth(0);
+                int orientedHeight = transposed ? reader.getWidth(0) : reader.getHeight(0);
+                boolean oversized = (maxWidth > 0 && orientedWidth > maxWidth)
+                    || (maxHeight > 0 && orientedHeight > maxHeight);
+                if (!oversized && (maxBytes <= 0 || source.length() <= maxBytes)) {
+                    return unchanged(source, queueNanos, startedAt); // 헤더만 읽고 디코딩하지 않음
+                }
+                if (maxPixels > 0 && (long) orientedWidth * orientedHeight > maxPixels) {
+                    return unchanged(source, queueNanos, startedAt);
+                }
+
+                // 캐시 조회 (메모리, 작업 디렉토리)
+                long hashStartedAt = System.nanoTime();
+                String key = FileDigests.sha256(source) + "-" + settingsKey;
+                long hashNanos = System.nanoTime() - hashStartedAt;
+                File cached = findCached(key, source.getName());
+                if (cached != null) {
+                    cacheHitCount.increment();
+                    return record(new Result(source, cached, true, queueNanos, hashNanos, 0, 0, 0,
+                        System.nanoTime() - startedAt));
+                }
+
+                // 방향을 반영한 크기 기준으로 최대 크기 이내로 축소
+                double scale = 1.0;
+                if (maxWidth > 0) {
+                    scale = Math.min(scale, (double) maxWidth / orientedWidth);
+                }
+                if (maxHeight > 0) {
+                    scale = Math.min(scale, (double) maxHeight / orientedHeight);
+                }
+                int targetWidth = Math.max(1, (int) Math.round(orientedWidth * scale));
+                int targetHeight = Math.max(1, (int) Math.round(orientedHeight * scale));
+
+                // 목표 크기 이상이 되는 가장 큰 배율로 건너뛰며 디코딩 (전체 해상도 래스터를 만들지 않음)
+                int subsampling = Math.max(1, Math.min(orientedWidth / targetWidth, orientedHeight / targetHeight));
+                ImageReadParam readParam = reader.getDefaultReadParam();
+                readParam.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                long decodeStartedAt = System.nanoTime();
+                BufferedImage image;
+                try {
+                    image = reader.read(0, readParam);
+                } catch (OutOfMemoryError e) {
+                    return unchanged(source, queueNanos, startedAt); // 디코딩 버퍼를 할당할 수 없으면 원본 업로드
+                }
+                long decodeNanos = System.nanoTime() - decodeStartedAt;
+                int type = "png".equals(format) && image.getColorModel().hasAlpha()
+                    ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+                long resizeStartedAt = System.nanoTime();
+                BufferedImage output = render(image, orientation, targetWidth, targetHeight, type);
+                long resizeNanos = System.nanoTime() - resizeStartedAt;
+                long encodeStartedAt = System.nanoTime();
+                float currentQuality = quality;
+                byte[] encoded = encode(output, format, currentQuality);
+                long encodeNanos = System.nanoTime() - encodeStartedAt;
+
+                // 최대 파일 크기를 넘으면 JPEG 품질을 낮추고, 그래도 크면 크기를 더 줄임
+                for (int attempt = 1; maxBytes > 0 && encoded.length > maxBytes && attempt < MAX_ENCODE_ATTEMPTS;
+                     attempt++) {
+                    if ("jpeg".equals(format) && currentQuality - QUALITY_STEP >= MIN_QUALITY - 0.001f) {
+                        currentQuality -= QUALITY_STEP;
+                    } else {
+                        double ratio = Math.sqrt((double) maxBytes / encoded.length) * 0.9;
+                        targetWidth = Math.max(1, (int) (targetWidth * ratio));
+                        targetHeight = Math.max(1, (int) (targetHeight * ratio));
+                        resizeStartedAt = System.nanoTime();
+                        output = render(image, orientation, targetWidth, targetHeight, type);
+                        resizeNanos += System.nanoTime() - resizeStartedAt;
+                    }
+                    encodeStartedAt = System.nanoTime();
+                    encoded = encode(output, format, currentQuality);
+                    encodeNanos += System.nanoTime() - encodeStartedAt;
+                }
+
+                // 크기 제한 이내 원본보다 커졌으면 원본 사용
+                if (!oversized && encoded.length >= source.length()) {
+                    return unchanged(source, queueNanos, startedAt);
+                }
+                encodeStartedAt = System.nanoTime();
+                File processed = store(key, source.getName(), encoded);
+                encodeNanos += System.nanoTime() - encodeStartedAt;
+                processedCount.increment();
+                return record(new Result(source, processed, false, queueNanos, hashNanos, decodeNanos,
+                    resizeNanos, encodeNanos, System.nanoTime() - startedAt));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            // 읽을 수 없는 파일이나 지원하지 않는 이미지 (CMYK JPEG 등)는 원본 업로드 (파일 오류는 업로드 단계에서 처리)
+            return unchanged(source, queueNanos, startedAt);
+        }
+    }
+
+    private Result unchanged(File source, long queueNanos, long startedAt) {
+        unchangedCount.increment();
+        return new Result(source, source, false, queueNanos, 0, 0, 0, 0, System.nanoTime() - startedAt);
+    }
+
+    private Result record(Result result) {
+        originalBytes.add(result.getOriginalBytes());
+        processedBytes.add(result.getProcessedBytes());
+        return result;
+    }
+
+    /**
+     * JPEG/PNG 이미지 리더 (그 외 형식이면 null)
+     */
+    private static ImageReader readerOf(ImageInputStream in) {
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+        while (readers.hasNext()) {
+            ImageReader reader = readers.next();
+            try {
+                String format = reader.getFormatName().toLowerCase(Locale.ROOT);
+                if ("jpeg".equals(format) || "png".equals(format)) {
+                    return reader;
+                }
+            } catch (IOException e) {
+                // 다음 리더 확인
+            }
+            reader.dispose();
+        }
+        return null;
+    }
+
+    /**
+     * 목표 크기로 축소하고 EXIF 방향을 반영한 이미지 생성
+     * @param width 방향 반영 후 가로 크기
+     * @param height 방향 반영 후 세로 크기
+     */
+    private static BufferedImage render(BufferedImage image, int orientation, int width, int height, int type) {
+        boolean transposed = orientation >= 5;
+        BufferedImage scaled = resize(image, transposed ? height : width, transposed ? width : height, type);
+        if (orientation <= 1 || orientation > 8) {
+            return scaled;
+        }
+        int w = scaled.getWidth();
+        int h = scaled.getHeight();
+        AffineTransform transform;
+        switch (orientation) {
+            case 2: transform = new AffineTransform(-1, 0, 0, 1, w, 0); break;   // 좌우 반전
+            case 3: transform = new AffineTransform(-1, 0, 0, -1, w, h); break;  // 180도
+            case 4: transform = new AffineTransform(1, 0, 0, -1, 0, h); break;   // 상하 반전
+            case 5: transform = new AffineTransform(0, 1, 1, 0, 0, 0); break;    // 대각선 반전
+            case 6: transform = new AffineTransform(0, 1, -1, 0, h, 0); break;   // 시계 방향 90도
+            case 7: transform = new AffineTransform(0, -1, -1, 0, h, w); break;  // 반대 대각선 반전
+            default: transform = new AffineTransform(0, -1, 1, 0, 0, w); break;  // 반시계 방향 90도
+        }
+        BufferedImage oriented = new BufferedImage(width, height, type);
+        Graphics2D graphics = oriented.createGraphics();
+        try {
+            graphics.drawImage(scaled, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return oriented;
+    }
+
+    /**
+     * 축소 (한 번에 절반 이하로 줄이면 화질이 떨어지므로 절반씩 단계적으로 bilinear 보간)
+     */
+    private static BufferedImage resize(BufferedImage image, int width, int height, int type) {
+        BufferedImage current = image;
+        int w = image.getWidth();
+        int h = image.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(height, h / 2);
+            if (w < width || w == current.getWidth() && h == current.getHeight()) {
+                w = width;
+                h = height;
+            }
+            BufferedImage next = new BufferedImage(w, h, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (w != width || h != height);
+        return current;
+    }
+
+    /**
+     * 메모리에서 인코딩 (JPEG는 압축 품질 적용)
+     */
+    private static byte[] encode(BufferedImage image, String format, float quality) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext()) {
+            throw new IOException("No ImageIO writer for " + format);
+        }
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(8192, image.getWidth() * image.getHeight() / 4));
+        try (MemoryCacheImageOutputStream out = new MemoryCacheImageOutputStream(bytes)) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpeg".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(quality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * JPEG APP1(EXIF)의 방향 값 (1 ~ 8, 없거나 해석할 수 없으면 1)
+     * ImageIO 메타데이터는 JFIF/EXIF 마커 순서가 표준과 다르면 읽지 못하므로 이미지 데이터(SOS) 전의 마커를 직접 확인합니다.
+     */
+    private static int exifOrientation(File file) {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            if (in.read() != 0xFF || in.read() != 0xD8) {
+                return 1;
+            }
+            while (true) {
+                int marker = in.read();
+                while (marker == 0xFF) {
+                    marker = in.read(); // 채움 바이트
+                }
+                if (marker < 0 || marker == 0xDA || marker == 0xD9) {
+                    return 1; // 이미지 데이터 시작 전까지 EXIF 없음
+                }
+                int length = (in.read() << 8 | in.read()) - 2;
+                if (length < 0) {
+                    return 1;
+                }
+                if (marker == 0xE1) {
+                    byte[] segment = new byte[length];
+                    if (readFully(in, segment) && parseOrientation(segment) > 0) {
+                        return parseOrientation(segment);
+                    }
+                } else if (in.skip(length) != length) {
+                    return 1;
+                }
+                if (in.read() != 0xFF) {
+                    return 1;
+                }
+            }
+        } catch (IOException e) {
+            return 1;
+        }
+    }
+
+    private static boolean readFully(InputStream in, byte[] buffer) throws IOException {
+        int offset = 0;
+        while (offset < buffer.length) {
+            int read = in.read(buffer, offset, buffer.length - offset);
+            if (read < 0) {
+                return false;
+            }
+            offset += read;
+        }
+        return true;
+    }
+
+    /**
+     * EXIF(TIFF) IFD0에서 방향 태그 값 추출
+     * @return 방향 값 (없으면 0)
+     */
+    private static int parseOrientation(byte[] exif) {
+        if (exif.length < 14 || exif[0] != 'E' || exif[1] != 'x' || exif[2] != 'i' || exif[3] != 'f') {
+            return 0;
+        }
+        int tiff = 6;
+        boolean littleEndian = exif[tiff] == 'I';
+        int ifd = tiff + readInt(exif, tiff + 4, littleEndian);
+        if (ifd < tiff || ifd + 2 > exif.length) {
+            return 0;
+        }
+        int entries = readShort(exif, ifd, littleEndian);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > exif.length) {
+                return 0;
+            }
+            if (readShort(exif, entry, littleEndian) == EXIF_ORIENTATION_TAG) {
+                int value = readShort(exif, entry + 8, littleEndian);
+                return value >= 1 && value <= 8 ? value : 0;
+            }
+        }
+        return 0;
+    }
+
+    private static int readShort(byte[] data, int offset, boolean littleEndian) {
+        int b0 = data[offset] & 0xFF;
+        int b1 = data[offset + 1] & 0xFF;
+        return littleEndian ? b0 | b1 << 8 : b0 << 8 | b1;
+    }
+
+    private static int readInt(byte[] data, int offset, boolean littleEndian) {
+        int high = readShort(data, littleEndian ? offset + 2 : offset, littleEndian);
+        int low = readShort(data, littleEndian ? offset : offset + 2, littleEndian);
+        return high << 16 | low;
+    }
+
+    /**
+     * 캐시된 결과 파일 조회 (메모리에 없으면 작업 디렉토리에서 찾아 소유자와 내용 해시를 확인한 후 적재)
+     * @throws IOException 작업 디렉토리를 안전하게 사용할 수 없는 경우
+     */
+    private File findCached(String key, String fileName) throws IOException {
+        File cached;
+        synchronized (cache) {
+            cached = cache.get(key);
+        }
+        if (cached == null || !cached.isFile()) {
+            checkDirectory(workDirectory.toPath());
+            File directory = new File(workDirectory, key);
+            cached = new File(directory, fileName);
+            File digest = new File(directory, "." + fileName + DIGEST_SUFFIX);
+            if (!cached.isFile() || cached.length() == 0 || !digest.isFile()) {
+                return null;
+            }
+            checkDirectory(directory.toPath());
+            checkOwner(cached.toPath());
+            checkOwner(digest.toPath());
+            String expected = new String(Files.readAllBytes(digest.toPath()), StandardCharsets.US_ASCII).trim();
+            if (!expected.equals(FileDigests.sha256(cached))) {
+                return null; // 기록 중 중단되었거나 바뀐 파일 (다시 처리하여 덮어씀)
+            }
+            digest.setLastModified(System.currentTimeMillis());
+            synchronized (cache) {
+                cache.put(key, cached);
+            }
+        }
+        cached.setLastModified(System.currentTimeMillis()); // 업로드하는 동안 오래된 파일로 삭제되지 않도록 사용 시각 기록
+        return cached;
+    }
+
+    /**
+     * 결과 파일과 내용 해시 기록 (임시 파일에 쓴 후 이동하여 다른 프로세스가 기록 중인 파일을 읽지 않도록 함)
+     */
+    private File store(String key, String fileName, byte[] encoded) throws IOException {
+        checkDirectory(workDirectory.toPath());
+        File directory = new File(workDirectory, key);
+        try {
+            Files.createDirectory(directory.toPath(), ownerOnly(directory.toPath()));
+        } catch (FileAlreadyExistsException e) {
+            // 다른 스레드나 프로세스가 만든 경우 아래에서 소유자 확인
+        }
+        checkDirectory(directory.toPath());
+        File target = new File(directory, fileName);
+        write(directory, encoded, target);
+        write(directory, FileDigests.sha256(encoded).getBytes(StandardCharsets.US_ASCII),
+            new File(directory, "." + fileName + DIGEST_SUFFIX));
+        synchronized (cache) {
+            cache.put(key, target);
+        }
+        return target;
+    }
+
+    private static void write(File directory, byte[] data, File target) throws IOException {
+        File temp = File.createTempFile(".part", null, directory);
+        try {
+            Files.write(temp.toPath(), data);
+            try {
+                Files.move(temp.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+
+    /**
+     * 디렉토리가 없으면 소유자만 접근할 수 있게 만들고, 현재 사용자 소유이며 다른 사용자가 쓸 수 없는지 확인
+     * (심볼릭 링크는 따라가지 않으므로 다른 사용자가 만든 링크도 거부)
+     */
+    private void checkDirectory(Path directory) throws IOException {
+        if (!Files.exists(directory, LinkOption.NOFOLLOW_LINKS)) {
+            try {
+                Files.createDirectories(directory, ownerOnly(directory));
+            } catch (FileAlreadyExistsException e) {
+                // 동시에 만든 경우 아래에서 확인
+            }
+        }
+        if (!Files.isDirectory(directory, LinkOption.NOFOLLOW_LINKS)) {
+            throw new IOException("Work directory is not a directory: " + directory);
+        }
+        checkOwner(directory);
+        if (supportsPosix(directory)) {
+            Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(directory, LinkOption.NOFOLLOW_LINKS);
+            if (permissions.contains(PosixFilePermission.GROUP_WRITE)
+                || permissions.contains(PosixFilePermission.OTHERS_WRITE)) {
+                throw new IOException("Work directory is writable by other users: " + directory);
+            }
+        }
+    }
+
+    private void checkOwner(Path path) throws IOException {
+        UserPrincipal user = currentUser;
+        if (user == null) {
+            user = path.getFileSystem().getUserPrincipalLookupService()
+                .lookupPrincipalByName(System.getProperty("user.name"));
+            currentUser = user;
+        }
+        UserPrincipal owner;
+        try {
+            owner = Files.getOwner(path, LinkOption.NOFOLLOW_LINKS);
+        } catch (UnsupportedOperationException e) {
+            return; // 소유자 정보가 없는 파일 시스템
+        }
+        if (!user.equals(owner)) {
+            throw new IOException("Not owned by " + user.getName() + ": " + path);
+        }
+    }
+
+    private static FileAttribute<?>[] ownerOnly(Path path) {
+        return supportsPosix(path)
+            ? new FileAttribute<?>[] {PosixFilePermissions.asFileAttribute(OWNER_ONLY)} : new FileAttribute<?>[0];
+    }
+
+    private static boolean supportsPosix(Path path) {
+        return path.getFileSystem().supportedFileAttributeViews().contains("posix");
+    }
+
+    /**
+     * 마지막 삭제 후 SWEEP_INTERVAL이 지났으면 오래된 결과 파일 삭제 (작업 스레드 하나만 실행)
+     */
+    private void sweepIfDue() {
+        long now = System.currentTimeMillis();
+        long last = lastSweepAt.get();
+        if (maxAge > 0 && now - last >= SWEEP_INTERVAL && lastSweepAt.compareAndSet(last, now)) {
+            sweep(now - maxAge);
+        }
+    }
+
+    /**
+     * 수정 시각이 기준보다 오래된 결과 파일, 내용 해시 파일과 남은 임시 파일(.part)을 삭제하고, 비어 있는 해시별 디렉토리 제거
+     * 작업 디렉토리를 다른 용도와 함께 쓰는 경우를 위해 캐시 키 형식(해시 64자 + "-" + 설정)의 디렉토리만 정리합니다.
+     */
+    private void sweep(long expiredBefore) {
+        try {
+            checkDirectory(workDirectory.toPath());
+        } catch (IOException e) {
+            return; // 안전하게 사용할 수 없는 디렉토리는 정리하지 않음
+        }
+        File[] directories = workDirectory.listFiles(File::isDirectory);
+        if (directories == null) {
+            return;
+        }
+        for (File directory : directories) {
+            String name = directory.getName();
+            if (name.length() <= 65 || name.charAt(64) != '-') {
+                continue;
+            }
+            File[] files = directory.listFiles();
+            if (files == null) {
+                continue;
+            }
+            for (File file : files) {
+                if (file.lastModified() < expiredBefore) {
+                    file.delete();
+                }
+            }
+            directory.delete(); // 비어 있는 경우에만 삭제됨
+        }
+    }
+
+    /**
+     * 줄이거나 다시 압축한 이미지 수 (캐시 적중 제외)
+     */
+    public long getProcessedCount() {
+        return processedCount.sum();
+    }
+
+    /**
+     * 원본을 그대로 사용한 파일 수
+     */
+    public long getUnchangedCount() {
+        return unchangedCount.sum();
+    }
+
+    /**
+     * 캐시된 결과를 사용한 수
+     */
+    public long getCacheHitCount() {
+        return cacheHitCount.sum();
+    }
+
+    /**
+     * 줄이거나 다시 압축한 이미지(캐시 적중 포함)의 원본 바이트 합계
+     */
+    public long getOriginalBytes() {
+        return originalBytes.sum();
+    }
+
+    /**
+     * 줄이거나 다시 압축한 이미지(캐시 적중 포함)의 결과 바이트 합계
+     */
+    public long getProcessedBytes() {
+        return processedBytes.sum();
+    }
+
+    /**
+     * 작업 스레드 종료 (대기 중인 작업은 실행하지 않음)
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return "ImagePreprocessor{processed=" + getProcessedCount() + ", unchanged=" + getUnchangedCount()
+            + ", cacheHits=" + getCacheHitCount() + ", originalBytes=" + getOriginalBytes()
+            + ", processedBytes=" + getProcessedBytes() + "}";
+    }
+}
@@ -0,0 +1,132 @@
+package kr.i_heart;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 여러 스레드가 잠금 없이 동시에 기록할 수 있는 로그-선형 구간 지연 시간 분포 (HdrHistogram 방식)
+ * 값은 ns 단위로 기록하며, 64ns 미만은 1ns 단위, 그 이상은 2의 거듭제곱 구간마다 32개 하위 구간으로 나누어
+ * 모든 범위에서 상대 오차가 약 3% 이내입니다. 기록은 구간 카운터 증가 한 번이므로 요청 경로에서 사용할 수 있습니다.
+ *
+ * 조회(백분위, 평균)는 기록과 동시에 수행할 수 있으며, 조회 중 기록된 값은 일부만 반영될 수 있습니다.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * 값 기록
+     * @param nanos 소요 시간 (ns, 음수는 0으로 기록)
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * 기록된 값의 수
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * 최댓값 (ns)
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * 평균 (ns, 기록이 없으면 0)
+     */
+    public double getMean() {
+        long total = count.sum();
+        return total > 0 ? sum.sum() / (double) total : 0;
+    }
+
+    /**
+     * 백분위 값 (ns, 해당 구간의 상한값이며 최댓값을 넘지 않음)
+     * @param percentile 백분위 (0.0 ~ 1.0, 예: 0.99)
+     * @return 백분위 값 (기록이 없으면 0)
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 1) {
+            throw new IllegalArgumentException("percentile must be between 0.0 and 1.0.");
+        }
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * 백분위 값을 지정한 단위로 변환하여 반환 (소수점 포함)
+     * @param percentile 백분위 (0.0 ~ 1.0)
+     * @param unit 반환 단위 (예: TimeUnit.MILLISECONDS)
+     */
+    public double getValueAtPercentile(double percentile, TimeUnit unit) {
+        return getValueAtPercentile(percentile) / (double) unit.toNanos(1);
+    }
+
+    /**
+     * 모든 기록 초기화 (기록과 동시에 호출하면 일부 값이 남을 수 있음)
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    private static int indexOf(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    private static long upperBoundOf(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LatencyHistogram{count=%d, p50=%.3fms, p99=%.3fms, max=%.3fms}", getCount(),
+            getValueAtPercentile(0.50, TimeUnit.MILLISECONDS), getValueAtPercentile(0.99, TimeUnit.MILLISECONDS),
+            getMax() / 1e6);
+    }
+}
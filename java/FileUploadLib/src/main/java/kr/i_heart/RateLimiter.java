@@ -0,0 +1,417 @@
+package kr.i_heart;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 클라이언트 ID별 요청 수/전송 바이트 처리율 제한기 (GCRA, Generic Cell Rate Algorithm)
+ * MGOV 업로드 API의 클라이언트별 할당량을 넘지 않도록 요청을 고르게 분산합니다.
+ * 키마다 다음 요청이 허용되는 이론상 도착 시각(TAT) 하나만 AtomicLong으로 관리하므로 잠금 없이 동작하며,
+ * 허용량(burst)만큼은 대기 없이 연속으로 보낼 수 있습니다.
+ *
+ * 대기 방식:
+ * - acquire: 허용될 때까지 블로킹
+ * - tryAcquire: 바로 허용되지 않으면(또는 지정한 시간 안에 허용되지 않으면) false 반환
+ * - acquireAsync: 허용 시각에 완료되는 CompletableFuture 반환 (대기 중 스레드를 점유하지 않음)
+ * 대기는 먼저 예약한 순서대로 허용 시각이 정해지므로(예약 방식) 경쟁 중인 요청 간에 공정합니다.
+ *
+ * 허용량보다 큰 파일은 허용량이 가득 찬 상태에서만 보내고 초과분은 이후 요청의 대기로 갚습니다.
+ * 여러 FileUploadClient가 같은 인스턴스를 공유하면 할당량도 함께 적용됩니다.
+ *
+ * 클라이언트 ID별 상태는 처음 요청할 때 만들고, 1분마다 요청 중 한 스레드가 오래 쓰이지 않은 상태를 정리합니다.
+ * TAT가 허용 오차(burst) 이상 지난 상태는 허용량이 가득 찬 새 상태와 같으므로 제거해도 동작이 달라지지 않으며,
+ * 제거하는 순간 예약하려던 요청은 새 상태를 만들어 다시 예약합니다. (많은 클라이언트 ID를 처리하는 프로세스에서도 최근 사용한 ID만 유지)
+ *
+ * 사용 예:
+ * RateLimiter limiter = RateLimiter.custom()
+ *     .setRequestsPerSecond(20)
+ *     .setBytesPerSecond(10 * 1024 * 1024)
+ *     .build();
+ * FileUploadClient client = FileUploadClient.custom().setRateLimiter(limiter).build();
+ */
+public final class RateLimiter {
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1); // 쓰이지 않는 클라이언트 ID 상태 정리 주기
+
+    private final double requestsPerSecond;
+    private final double requestBurst;
+    private final double bytesPerSecond;
+    private final double byteBurst;
+
+    private final Map<String, Limits> limits = new ConcurrentHashMap<>();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong nextSweepAt = new AtomicLong(System.nanoTime() + SWEEP_INTERVAL_NANOS);
+    private volatile ScheduledExecutorService scheduler;
+
+    private RateLimiter(Builder builder) {
+        this.requestsPerSecond = builder.requestsPerSecond;
+        this.requestBurst = builder.requestBurst > 0 ? builder.requestBurst : Math.max(1, builder.requestsPerSecond);
+        this.bytesPerSecond = builder.bytesPerSecond;
+        this.byteBurst = builder.byteBurst > 0 ? builder.byteBurst : builder.bytesPerSecond;
+    }
+
+    /**
+     * 처리율 제한기 설정을 위한 빌더 클래스
+     */
+    public static class Builder {
+        private double requestsPerSecond = 0;
+        private double requestBurst = 0;
+        private double bytesPerSecond = 0;
+        private double byteBurst = 0;
+
+        /**
+         * 클라이언트 ID별 초당 요청 수 (기본 0, 제한 없음)
+         */
+        public Builder setRequestsPerSecond(double requestsPerSecond) {
+            this.requestsPerSecond = requestsPerSecond;
+            return this;
+        }
+
+        /**
+         * 대기 없이 연속으로 보낼 수 있는 요청 수 (기본 0, 초당 요청 수와 같은 값 사용)
+         */
+        public Builder setRequestBurst(double requestBurst) {
+            this.requestBurst = requestBurst;
+            return this;
+        }
+
+        /**
+         * 클라이언트 ID별 초당 전송 바이트 (기본 0, 제한 없음)
+         */
+        public Builder setBytesPerSecond(double bytesPerSecond) {
+            this.bytesPerSecond = bytesPerSecond;
+            return this;
+        }
+
+        /**
+         * 대기 없이 연속으로 보낼 수 있는 바이트 (기본 0, 초당 전송 바이트와 같은 값 사용)
+         */
+        public Builder setByteBurst(double byteBurst) {
+            this.byteBurst = byteBurst;
+            return this;
+        }
+
+        public RateLimiter build() {
+            if (requestsPerSecond < 0 || bytesPerSecond < 0 || requestBurst < 0 || byteBurst < 0) {
+                throw new IllegalArgumentException("rates and bursts cannot be negative.");
+            }
+            if (requestsPerSecond == 0 && bytesPerSecond == 0) {
+                throw new IllegalArgumentException("requestsPerSecond or bytesPerSecond must be set.");
+            }
+            return new RateLimiter(this);
+        }
+    }
+
+    /**
+     * 빌더 생성 메서드
+     */
+    public static Builder custom() {
+        return new Builder();
+    }
+
+    /**
+     * 요청 하나와 지정한 바이트가 허용될 때까지 대기
+     * @param clientId 클라이언트 ID
+     * @param bytes 전송할 바이트
+     * @throws InterruptedException 대기 중 인터럽트된 경우 (예약한 할당량은 반환하지 않음)
+     */
+    public void acquire(String clientId, long bytes) throws InterruptedException {
+        sleep(reserve(clientId, bytes, Long.MAX_VALUE));
+    }
+
+    /**
+     * 요청 하나와 지정한 바이트가 바로 허용되면 사용
+     * @param clientId 클라이언트 ID
+     * @param bytes 전송할 바이트
+     * @return 허용되었으면 true (false이면 할당량을 사용하지 않음)
+     */
+    public boolean tryAcquire(String clientId, long bytes) {
+        return reserve(clientId, bytes, 0) >= 0;
+    }
+
+    /**
+     * 요청 하나와 지정한 바이트가 제한 시간 안에 허용되면 그 시각까지 대기 후 사용
+     * @param clientId 클라이언트 ID
+     * @param bytes 전송할 바이트
+     * @param timeout 최대 대기 시간
+     * @param unit 대기 시간 단위
+     * @return 허용되었으면 true (제한 시간 안에 허용되지 않으면 대기하지 않고 바로 false)
+     * @throws InterruptedException 대기 중 인터럽트된 경우
+     */
+    public boolean tryAcquire(String clientId, long bytes, long timeout, TimeUnit unit) throws InterruptedException {
+        long wait = reserve(clientId, bytes, unit.toNanos(timeout));
+        if (wait < 0) {
+            return false;
+        }
+        sleep(wait);
+        return true;
+    }
+
+    /**
+     * 요청 하나와 지정한 바이트가 허용되는 시각에 완료되는 CompletableFuture 반환
+     * 대기가 필요 없으면 이미 완료된 CompletableFuture를 반환하며, 대기 후에는 제한기의 예약 스레드에서 완료됩니다.
+     * @param clientId 클라이언트 ID
+     * @param bytes 전송할 바이트
+     */
+    public CompletableFuture<Void> acquireAsync(String clientId, long bytes) {
+        long wait = reserve(clientId, bytes, Long.MAX_VALUE);
+        if (wait == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            scheduler().schedule(() -> future.complete(null), wait, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * 대기가 필요했던 요청 수
+     */
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    /**
+     * 요청들이 대기한(또는 대기하도록 예약된) 시간 합계 (ns)
+     */
+    public long getTotalWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    /**
+     * 할당량을 예약하고 허용 시각까지의 대기 시간을 반환하는 메서드
+     * @param maxWaitNanos 허용할 최대 대기 시간 (넘으면 예약하지 않음)
+     * @return 대기 시간 (ns, 최대 대기 시간을 넘으면 -1)
+     */
+    private long reserve(String clientId, long bytes, long maxWaitNanos) {
+        if (clientId == null) {
+            throw new IllegalArgumentException("clientId cannot be null.");
+        }
+        long now = System.nanoTime();
+        sweepIfDue(now);
+
+        Limits limit;
+        Reservation request = null;
+        while (true) {
+            limit = limits.get(clientId);
+            if (limit == null) {
+                limit = limits.computeIfAbsent(clientId, key -> new Limits());
+            }
+            if (limit.requests == null) {
+                break;
+            }
+            request = limit.requests.reserve(now, 1, maxWaitNanos);
+            if (request != Reservation.RETIRED) {
+                break;
+            }
+            // 정리 중인 상태이면 맵에서 제거된 후 새 상태로 다시 예약
+        }
+        long requestWait = 0;
+        if (limit.requests != null) {
+            if (request == null) {
+                return -1;
+            }
+            requestWait = request.wait;
+        }
+        long byteWait = 0;
+        if (limit.bytes != null && bytes > 0) {
+            Reservation byteReservation = limit.bytes.reserve(now, bytes, maxWaitNanos);
+            if (byteReservation == Reservation.RETIRED) {
+                if (request != null) {
+                    limit.requests.cancel(request);
+                }
+                return reserve(clientId, bytes, maxWaitNanos); // 바이트 제한만 있는 상태가 정리 중인 경우
+            }
+            if (byteReservation == null) {
+                if (request != null) {
+                    limit.requests.cancel(request); // 두 제한을 함께 만족해야 하므로 먼저 예약한 요청 수 반환
+                }
+                return -1;
+            }
+            byteWait = byteReservation.wait;
+        }
+
+        long wait = Math.max(requestWait, byteWait);
+        if (wait > 0) {
+            throttled.increment();
+            waitNanos.add(wait);
+        }
+        return wait;
+    }
+
+    /**
+     * 정리 주기가 지났으면 한 스레드만 TAT가 허용 오차 이상 지난 클라이언트 ID 상태를 제거
+     * 상태의 모든 제한을 먼저 정리 중(RETIRED)으로 바꾼 뒤 제거하므로, 제거되는 상태에 예약이 남지 않습니다.
+     */
+    private void sweepIfDue(long now) {
+        long due = nextSweepAt.get();
+        if (now - due < 0 || !nextSweepAt.compareAndSet(due, now + SWEEP_INTERVAL_NANOS)) {
+            return;
+        }
+        for (Map.Entry<String, Limits> entry : limits.entrySet()) {
+            Limits limit = entry.getValue();
+            if (limit.retire(now)) {
+                limits.remove(entry.getKey(), limit);
+            }
+        }
+    }
+
+    private static void sleep(long nanos) throws InterruptedException {
+        long deadline = System.nanoTime() + nanos;
+        for (long remaining = nanos; remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * 비동기 대기 완료용 스레드 (최초 비동기 대기 시점에 한 번만 생성)
+     */
+    private ScheduledExecutorService scheduler() {
+        ScheduledExecutorService current = scheduler;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (scheduler == null) {
+                scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "nirs-rate-limiter");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            return scheduler;
+        }
+    }
+
+    /**
+     * 클라이언트 ID별 제한 (설정하지 않은 제한은 null)
+     */
+    private final class Limits {
+        final Cell requests = requestsPerSecond > 0 ? new Cell(requestsPerSecond, requestBurst) : null;
+        final Cell bytes = bytesPerSecond > 0 ? new Cell(bytesPerSecond, byteBurst) : null;
+
+        /**
+         * 모든 제한이 쓰이지 않는 상태이면 정리 중으로 표시
+         * @return 정리 중으로 표시했으면 true (어느 한 제한이라도 사용 중이면 원래대로 두고 false)
+         */
+        boolean retire(long now) {
+            long requestTat = requests != null ? requests.retire(now) : Cell.NOT_RETIRED;
+            if (requests != null && requestTat == Cell.NOT_RETIRED) {
+                return false;
+            }
+            if (bytes != null && bytes.retire(now) == Cell.NOT_RETIRED) {
+                if (requests != null) {
+                    requests.restore(requestTat);
+                }
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 취소할 수 있는 예약 (예약 전후의 TAT와 허용 시각까지의 대기 시간)
+     */
+    private static final class Reservation {
+        static final Reservation RETIRED = new Reservation(0, 0, 0, 0); // 정리 중인 제한 (맵에서 다시 조회해야 함)
+
+        final long previous;   // 예약 전 TAT (max(now, TAT)로 올리기 전 값)
+        final long reserved;   // 예약 후 TAT
+        final long increment;
+        final long wait;
+
+        Reservation(long previous, long reserved, long increment, long wait) {
+            this.previous = previous;
+            this.reserved = reserved;
+            this.increment = increment;
+            this.wait = wait;
+        }
+    }
+
+    /**
+     * 하나의 처리율 제한 (GCRA)
+     * 단위 하나의 간격 T = 1/rate, 허용 오차 tau = burst * T이며,
+     * 비용 n인 요청은 max(TAT, now) + n*T - tau 시각에 허용되고 TAT를 max(TAT, now) + n*T로 옮깁니다.
+     */
+    private static final class Cell {
+        static final long RETIRED_TAT = Long.MIN_VALUE;      // 정리 중 표시
+        static final long NOT_RETIRED = Long.MIN_VALUE + 1;  // retire 실패 표시
+
+        private final double nanosPerUnit;
+        private final long tolerance;
+        private final AtomicLong theoreticalArrival;
+
+        Cell(double ratePerSecond, double burst) {
+            this.nanosPerUnit = NANOS_PER_SECOND / ratePerSecond;
+            this.tolerance = (long) (burst * nanosPerUnit);
+            this.theoreticalArrival = new AtomicLong(System.nanoTime());
+        }
+
+        /**
+         * @return 예약 (최대 대기 시간을 넘으면 예약하지 않고 null)
+         */
+        Reservation reserve(long now, long units, long maxWaitNanos) {
+            long increment = (long) Math.min(Long.MAX_VALUE / 4, units * nanosPerUnit);
+            long required = Math.min(increment, tolerance); // 허용량보다 큰 비용은 허용량이 가득 찬 상태에서 허용
+            while (true) {
+                long tat = theoreticalArrival.get();
+                if (tat == RETIRED_TAT) {
+                    return Reservation.RETIRED;
+                }
+                long start = tat - now > 0 ? tat : now;
+                long wait = Math.max(0, start + required - tolerance - now);
+                if (wait > maxWaitNanos) {
+                    return null;
+                }
+                if (theoreticalArrival.compareAndSet(tat, start + increment)) {
+                    return new Reservation(tat, start + increment, increment, wait);
+                }
+            }
+        }
+
+        /**
+         * 예약 취소
+         * 예약 이후 TAT가 바뀌지 않았으면 예약 전 TAT로 되돌려 유휴 상태에서 사용한 허용량까지 복원하고,
+         * 다른 요청이 그 뒤에 예약했으면 현재 TAT에서 이 예약의 비용만 뺍니다.
+         */
+        /**
+         * TAT가 허용 오차 이상 지났으면(새 상태와 같으면) 정리 중으로 표시
+         * @return 표시 전 TAT (사용 중이면 NOT_RETIRED)
+         */
+        long retire(long now) {
+            long tat = theoreticalArrival.get();
+            if (tat == RETIRED_TAT || now - tat <= tolerance || !theoreticalArrival.compareAndSet(tat, RETIRED_TAT)) {
+                return NOT_RETIRED;
+            }
+            return tat;
+        }
+
+        /**
+         * 정리 중 표시를 되돌림 (같은 상태의 다른 제한이 사용 중이어서 정리하지 않는 경우)
+         */
+        void restore(long tat) {
+            theoreticalArrival.compareAndSet(RETIRED_TAT, tat);
+        }
+
+        void cancel(Reservation reservation) {
+            if (!theoreticalArrival.compareAndSet(reservation.reserved, reservation.previous)) {
+                theoreticalArrival.addAndGet(-reservation.increment);
+            }
+        }
+    }
+}
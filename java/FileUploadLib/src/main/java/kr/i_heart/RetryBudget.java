@@ -0,0 +1,47 @@
+package kr.i_heart;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 도메인별 재시도 예산 (gRPC retry throttling 방식)
+ * 서버 상태 이상으로 실패할 때마다 1씩 줄고 성공할 때마다 tokenRatio만큼 늘어나며(최대 maxTokens),
+ * 최대값의 절반 이하이면 재시도하지 않습니다. 잠금 없이 천분의 일 단위 정수로 기록합니다.
+ */
+final class RetryBudget {
+    private static final long SCALE = 1000;
+
+    private final long maxTokens;
+    private final long threshold;
+    private final long tokenRatio;
+    private final AtomicLong tokens;
+
+    RetryBudget(int maxTokens, double tokenRatio) {
+        this.maxTokens = maxTokens * SCALE;
+        this.threshold = this.maxTokens / 2;
+        this.tokenRatio = Math.max(1, Math.round(tokenRatio * SCALE));
+        this.tokens = new AtomicLong(this.maxTokens);
+    }
+
+    /**
+     * 요청 성공 기록
+     */
+    void onSuccess() {
+        if (tokens.get() < maxTokens) {
+            tokens.updateAndGet(current -> Math.min(maxTokens, current + tokenRatio));
+        }
+    }
+
+    /**
+     * 서버 상태 이상으로 인한 실패 기록
+     */
+    void onFailure() {
+        tokens.updateAndGet(current -> Math.max(0, current - SCALE));
+    }
+
+    /**
+     * 재시도 가능 여부
+     */
+    boolean canRetry() {
+        return tokens.get() > threshold;
+    }
+}
@@ -0,0 +1,317 @@
+package kr.i_heart;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+import kr.i_heart.http.ConnectTimeoutException;
+
+/**
+ * 일시적 오류(연결 실패, 타임아웃, HTTP 5xx/429)에 대한 인증/업로드 요청 재시도 정책
+ * 재시도 간격은 지수적으로 늘어나며(최대 maxBackoff), 여러 클라이언트가 같은 시각에 몰려 재시도하지 않도록 임의 지연(jitter)을 적용합니다.
+ * 429/503 응답의 Retry-After는 계산한 간격보다 길면 그 값을 따릅니다.
+ *
+ * 재시도 규칙:
+ * - 요청이 서버에 전달되지 않은 오류(연결 거부/타임아웃, 429, 503)는 항상 재시도합니다.
+ * - 서버가 처리했을 수 있는 오류(읽기 타임아웃, 연결 끊김, 500/502/504)는 멱등 요청(인증)만 재시도하며,
+ *   업로드는 중복 업로드를 허용하는 경우(setRetryNonIdempotent)에만 재시도합니다.
+ * - API 오류 응답(토큰 유효성 검사 실패 등), 형식이 잘못된 응답 본문과 그 밖의 4xx는 재시도하지 않습니다.
+ *
+ * 재시도 예산은 도메인별로 관리되며(gRPC retry throttling 방식), 실패할 때마다 1씩 줄고 성공할 때마다 tokenRatio만큼 늘어나
+ * 최대값의 절반 이하가 되면 재시도하지 않습니다. 장애 중 재시도가 부하를 키우는 것을 막기 위한 것입니다.
+ *
+ * 사용 예:
+ * FileUploadClient client = FileUploadClient.custom()
+ *     .setRetryPolicy(RetryPolicy.custom().setMaxAttempts(4).setInitialBackoff(200).build())
+ *     .build();
+ */
+public final class RetryPolicy {
+
+    /**
+     * 재시도하지 않는 정책 (기본값)
+     */
+    public static final RetryPolicy NONE = custom().setMaxAttempts(1).build();
+
+    /**
+     * 오류 분류: 재시도 불가
+     */
+    static final int NOT_RETRYABLE = 0;
+
+    /**
+     * 오류 분류: 요청이 서버에 전달되지 않았거나 처리되지 않음 (항상 재시도 가능)
+     */
+    static final int NOT_PROCESSED = 1;
+
+    /**
+     * 오류 분류: 서버가 처리했을 수 있음 (멱등 요청만 재시도)
+     */
+    static final int MAYBE_PROCESSED = 2;
+
+    private final int maxAttempts;
+    private final long initialBackoff;
+    private final long maxBackoff;
+    private final double multiplier;
+    private final double jitter;
+    private final long maxRetryAfter;
+    private final boolean retryNonIdempotent;
+    private final int budgetMaxTokens;
+    private final double budgetTokenRatio;
+
+    private RetryPolicy(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.initialBackoff = builder.initialBackoff;
+        this.maxBackoff = builder.maxBackoff;
+        this.multiplier = builder.multiplier;
+        this.jitter = builder.jitter;
+        this.maxRetryAfter = builder.maxRetryAfter;
+        this.retryNonIdempotent = builder.retryNonIdempotent;
+        this.budgetMaxTokens = builder.budgetMaxTokens;
+        this.budgetTokenRatio = builder.budgetTokenRatio;
+    }
+
+    /**
+     * 재시도 정책 설정을 위한 빌더 클래스
+     */
+    public static class Builder {
+        private int maxAttempts = 3;
+        private long initialBackoff = 200;
+        private long maxBackoff = 5000;
+        private double multiplier = 2.0;
+        private double jitter = 1.0;
+        private long maxRetryAfter = 30000;
+        private boolean retryNonIdempotent = false;
+        private int budgetMaxTokens = 10;
+        private double budgetTokenRatio = 0.1;
+
+        /**
+         * 첫 요청을 포함한 최대 시도 횟수 (기본 3, 1이면 재시도하지 않음)
+         */
+        public Builder setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * 첫 재시도 전 대기 시간 (ms, 기본 200)
+         */
+        public Builder setInitialBackoff(long initialBackoff) {
+            this.initialBackoff = initialBackoff;
+            return this;
+        }
+
+        /**
+         * 재시도 대기 시간 상한 (ms, 기본 5초)
+         */
+        public Builder setMaxBackoff(long maxBackoff) {
+            this.maxBackoff = maxBackoff;
+            return this;
+        }
+
+        /**
+         * 재시도마다 대기 시간에 곱하는 값 (기본 2.0)
+         */
+        public Builder setMultiplier(double multiplier) {
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        /**
+         * 대기 시간에서 임의로 줄이는 비율 (0.0 ~ 1.0, 기본 1.0)
+         * 1.0이면 0부터 계산한 대기 시간 사이의 임의 값(full jitter), 0.0이면 계산한 대기 시간 그대로 기다립니다.
+         */
+        public Builder setJitter(double jitter) {
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * 따를 수 있는 Retry-After 최대값 (ms, 기본 30초)
+         * 서버가 이보다 긴 대기를 요구하면 재시도하지 않고 실패를 반환합니다.
+         */
+        public Builder setMaxRetryAfter(long maxRetryAfter) {
+            this.maxRetryAfter = maxRetryAfter;
+            return this;
+        }
+
+        /**
+         * 서버가 처리했을 수 있는 오류(읽기 타임아웃, 500/502/504)에도 업로드를 재시도할지 여부 (기본 false)
+         * 재시도한 업로드가 모두 처리되면 같은 파일이 서로 다른 fileId로 중복 등록될 수 있습니다.
+         */
+        public Builder setRetryNonIdempotent(boolean retryNonIdempotent) {
+            this.retryNonIdempotent = retryNonIdempotent;
+            return this;
+        }
+
+        /**
+         * 도메인별 재시도 예산 (기본 10, 0.1)
+         * @param maxTokens 예산 최대값 (0이면 예산 제한 없음)
+         * @param tokenRatio 요청이 성공할 때마다 늘어나는 예산 (실패할 때마다 1씩 줄어듦)
+         */
+        public Builder setRetryBudget(int maxTokens, double tokenRatio) {
+            this.budgetMaxTokens = maxTokens;
+            this.budgetTokenRatio = tokenRatio;
+            return this;
+        }
+
+        public RetryPolicy build() {
+            if (maxAttempts <= 0) {
+                throw new IllegalArgumentException("maxAttempts must be positive.");
+            }
+            if (initialBackoff < 0 || maxBackoff < initialBackoff) {
+                throw new IllegalArgumentException("backoff must satisfy 0 <= initialBackoff <= maxBackoff.");
+            }
+            if (multiplier < 1.0) {
+                throw new IllegalArgumentException("multiplier must be at least 1.0.");
+            }
+            if (jitter < 0 || jitter > 1) {
+                throw new IllegalArgumentException("jitter must be between 0.0 and 1.0.");
+            }
+            if (budgetMaxTokens < 0 || budgetTokenRatio <= 0) {
+                throw new IllegalArgumentException("retry budget must have non-negative maxTokens and positive tokenRatio.");
+            }
+            return new RetryPolicy(this);
+        }
+    }
+
+    /**
+     * 빌더 생성 메서드
+     */
+    public static Builder custom() {
+        return new Builder();
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public long getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public long getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public boolean isRetryNonIdempotent() {
+        return retryNonIdempotent;
+    }
+
+    /**
+     * 도메인별 재시도 예산 생성 (예산 제한이 없으면 null)
+     */
+    RetryBudget newBudget() {
+        return budgetMaxTokens > 0 ? new RetryBudget(budgetMaxTokens, budgetTokenRatio) : null;
+    }
+
+    /**
+     * 실패한 시도 후 재시도 전 대기 시간 계산
+     * @param error 실패 원인
+     * @param attempt 실패한 시도 번호 (1부터 시작)
+     * @param idempotent 요청이 멱등인지 여부
+     * @return 대기 시간 (ms, 재시도하지 않으면 -1)
+     */
+    long retryDelay(Exception error, int attempt, boolean idempotent) {
+        if (attempt >= maxAttempts) {
+            return -1;
+        }
+        int classification = classify(error);
+        if (classification == NOT_RETRYABLE
+            || (classification == MAYBE_PROCESSED && !idempotent && !retryNonIdempotent)) {
+            return -1;
+        }
+
+        double backoff = Math.min(maxBackoff, initialBackoff * Math.pow(multiplier, attempt - 1));
+        long delay = (long) (backoff * (1 - jitter * ThreadLocalRandom.current().nextDouble()));
+
+        long retryAfter = error instanceof HttpStatusException ? ((HttpStatusException) error).getRetryAfterMillis() : -1;
+        if (retryAfter > maxRetryAfter) {
+            return -1;
+        }
+        return Math.max(delay, retryAfter);
+    }
+
+    /**
+     * 오류가 서버 상태 이상(연결 실패, 타임아웃, 5xx)을 나타내는지 여부 (서킷 브레이커 실패로 집계)
+     * 429는 서버가 응답할 수 있는 상태이므로 제외합니다.
+     */
+    static boolean isServerFailure(Exception error) {
+        error = unwrap(error);
+        if (error instanceof HttpStatusException) {
+            return ((HttpStatusException) error).getStatusCode() >= 500;
+        }
+        return classify(error) != NOT_RETRYABLE;
+    }
+
+    /**
+     * 오류 분류 (NOT_RETRYABLE, NOT_PROCESSED, MAYBE_PROCESSED)
+     */
+    static int classify(Exception error) {
+        error = unwrap(error);
+        if (error instanceof HttpStatusException) {
+            switch (((HttpStatusException) error).getStatusCode()) {
+                case 429:
+                case 503:
+                    return NOT_PROCESSED;
+                case 500:
+                case 502:
+                case 504:
+                    return MAYBE_PROCESSED;
+                default:
+                    return NOT_RETRYABLE;
+            }
+        }
+        if (error instanceof ConnectException || error instanceof NoRouteToHostException
+            || error instanceof ConnectTimeoutException
+            || "java.net.http.HttpConnectTimeoutException".equals(error.getClass().getName())) {
+            return NOT_PROCESSED;
+        }
+        if (error instanceof JsonProcessingException) {
+            return NOT_RETRYABLE; // 응답을 받았으나 본문 형식이 잘못된 경우 (전송 오류가 아님)
+        }
+        if (error instanceof IOException) {
+            return MAYBE_PROCESSED; // 읽기 타임아웃, 연결 끊김 등 요청 전송 이후 오류
+        }
+        return NOT_RETRYABLE;
+    }
+
+    /**
+     * UncheckedIOException으로 감싼 입출력 예외는 원래 예외로 분류
+     */
+    private static Exception unwrap(Exception error) {
+        return error instanceof UncheckedIOException ? ((UncheckedIOException) error).getCause() : error;
+    }
+
+    /**
+     * Retry-After 헤더 값을 대기 시간으로 변환 (초 단위 정수 또는 HTTP 날짜)
+     * @return 대기 시간 (ms, 없거나 형식이 잘못된 경우 -1)
+     */
+    static long parseRetryAfter(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return -1;
+        }
+        String trimmed = value.trim();
+        try {
+            return Math.max(0, Long.parseLong(trimmed)) * 1000;
+        } catch (NumberFormatException e) {
+            // HTTP 날짜 형식
+        }
+        try {
+            ZonedDateTime at = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, at.toInstant().toEpochMilli() - System.currentTimeMillis());
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RetryPolicy{maxAttempts=" + maxAttempts + ", initialBackoff=" + initialBackoff
+            + ", maxBackoff=" + maxBackoff + ", multiplier=" + multiplier + ", jitter=" + jitter
+            + ", retryNonIdempotent=" + retryNonIdempotent + ", budget=" + budgetMaxTokens + "/" + budgetTokenRatio + "}";
+    }
+}
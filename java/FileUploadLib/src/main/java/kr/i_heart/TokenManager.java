@@ -0,0 +1,424 @@
+package kr.i_heart;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인증 토큰 저장소
+ * 도메인과 인증 정보별로 토큰을 보관하고, 토큰 발급/재발급을 single-flight로 처리합니다.
+ * 도메인마다 인증 서버가 다르므로(주 센터, 재해 복구 센터 등) 같은 인증 정보라도 도메인별로 따로 발급받습니다.
+ * 같은 인증 정보로 동시에 여러 요청이 토큰을 필요로 하면 한 요청만 인증하고 나머지는 그 결과를 기다립니다.
+ * 토큰 만료 시각(JWT exp 또는 설정된 TTL)을 알 수 있으면 만료 전에 백그라운드에서 미리 재발급합니다.
+ * 영속 저장소가 설정되면 발급한 토큰을 암호화하여 기록하고, 인증 전에 다른 프로세스가 발급한 토큰을 먼저 확인합니다.
+ */
+final class TokenManager implements AutoCloseable {
+    private static final String TOKEN_KEY_PREFIX = "token_";
+    private static final long EXPIRY_SKEW = 5000;          // 만료 직전 토큰은 사용하지 않음 (5초)
+    private static final long REFRESH_RETRY_DELAY = 10000; // 백그라운드 재발급 실패 시 재시도 간격 (10초)
+    private static final int REFRESH_WORKERS = 4;          // 백그라운드 재발급 인증을 동시에 실행할 최대 스레드 수
+
+    private final Map<String, TokenEntry> tokenStorage = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<String>> pendingAuth = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper;
+    private final long tokenTtl;
+    private final long refreshMargin;
+    private final boolean proactiveRefresh;
+    private final UploadIndexStore indexStore;   // 토큰 영속 저장소 (사용하지 않으면 null)
+    private final UploadListener listener;
+
+    private volatile ScheduledExecutorService refresher;   // 재발급 시각 예약 전용 (인증은 refreshWorkers에서 실행)
+    private volatile ExecutorService refreshWorkers;
+    private volatile boolean closed;
+
+    /**
+     * 토큰 발급 요청 함수
+     */
+    interface Authenticator {
+        String authenticate() throws Exception;
+    }
+
+    /**
+     * 생성자
+     * @param objectMapper JWT payload 파싱용 ObjectMapper
+     * @param tokenTtl JWT exp 클레임이 없는 토큰의 유효 시간 (ms, 0 이하: 알 수 없음)
+     * @param refreshMargin 만료 시각 기준 미리 재발급을 시작할 시간 (ms)
+     * @param proactiveRefresh 백그라운드 재발급 사용 여부
+     * @param indexStore 토큰 영속 저장소 (null이면 메모리에만 보관)
+     * @param listener 토큰 조회 결과(저장소 적중 여부, 소요 시간)를 통보받을 리스너
+     */
+    TokenManager(ObjectMapper objectMapper, long tokenTtl, long refreshMargin, boolean proactiveRefresh,
+                 UploadIndexStore indexStore, UploadListener listener) {
+        this.objectMapper = objectMapper;
+        this.tokenTtl = tokenTtl;
+        this.refreshMargin = refreshMargin;
+        this.proactiveRefresh = proactiveRefresh;
+        this.indexStore = indexStore;
+        this.listener = listener;
+    }
+
+    /**
+     * 저장된 토큰과 만료 정보
+     */
+    private static final class TokenEntry {
+        private final String token;
+        private final long issuedAt;
+        private final long expiresAt;      // 만료 시각 (ms, 알 수 없으면 Long.MAX_VALUE)
+        private final Authenticator authenticator;
+        private volatile long lastAccessAt;
+
+        TokenEntry(String token, long issuedAt, long expiresAt, Authenticator authenticator) {
+            this.token = token;
+            this.issuedAt = issuedAt;
+            this.expiresAt = expiresAt;
+            this.authenticator = authenticator;
+            this.lastAccessAt = issuedAt;
+        }
+
+        boolean isExpired(long now) {
+            return expiresAt != Long.MAX_VALUE && now >= expiresAt - Math.min(EXPIRY_SKEW, (expiresAt - issuedAt) / 2);
+        }
+    }
+
+    /**
+     * 도메인과 클라이언트 ID, 비밀번호로부터 토큰 저장소 키를 생성하는 메서드
+     */
+    String generateKey(String domain, String clientId, String clientPwd) {
+        String combined = domain + " " + clientId + ":" + clientPwd;
+        return TOKEN_KEY_PREFIX + Base64.getEncoder().encodeToString(combined.getBytes(StandardCharsets.UTF_8))
+                .replace("=", "_");
+    }
+
+    /**
+     * 저장된 토큰을 가져오는 메서드
+     * @return 만료되지 않은 토큰 (없으면 null)
+     */
+    String getToken(String domain, String clientId, String clientPwd) {
+        TokenEntry entry = tokenStorage.get(generateKey(domain, clientId, clientPwd));
+        return entry != null && !entry.isExpired(System.currentTimeMillis()) ? entry.token : null;
+    }
+
+    /**
+     * 저장된 토큰을 반환하고, 없거나 만료되었으면 인증하여 발급받는 메서드
+     * @param domain API 도메인 URL
+     * @param clientId 클라이언트 ID
+     * @param clientPwd 클라이언트 비밀번호
+     * @param authenticator 토큰 발급 요청
+     * @return 토큰
+     * @throws Exception 인증 실패 시 authenticator가 던진 예외
+     */
+    String acquireToken(String domain, String clientId, String clientPwd,
+                        Authenticator authenticator) throws Exception {
+        return await(acquireTokenAsync(domain, clientId, clientPwd, authenticator, Runnable::run));
+    }
+
+    /**
+     * acquireToken의 비동기 버전
+     * @param executor 인증 요청을 실행할 Executor
+     */
+    CompletableFuture<String> acquireTokenAsync(String domain, String clientId, String clientPwd,
+                                                Authenticator authenticator, Executor executor) {
+        boolean timed = listener != UploadListener.NOOP;
+        long startedAt = timed ? System.nanoTime() : 0;
+        String key = generateKey(domain, clientId, clientPwd);
+        TokenEntry entry = tokenStorage.get(key);
+        long now = System.currentTimeMillis();
+        if (entry == null || entry.isExpired(now)) {
+            CompletableFuture<String> issued = singleFlight(key, entry != null ? entry.token : null,
+                authenticator, executor);
+            if (timed) {
+                issued.whenComplete((token, error) ->
+                    listener.onTokenLookup(clientId, false, System.nanoTime() - startedAt));
+            }
+            return issued;
+        }
+
+        entry.lastAccessAt = now;
+        if (timed) {
+            listener.onTokenLookup(clientId, true, System.nanoTime() - startedAt);
+        }
+        return CompletableFuture.completedFuture(entry.token);
+    }
+
+    /**
+     * 유효성 검사에 실패한 토큰을 재발급받는 메서드
+     * 다른 요청이 이미 새 토큰으로 교체했다면 인증 없이 그 토큰을 반환합니다.
+     * @param domain API 도메인 URL
+     * @param clientId 클라이언트 ID
+     * @param clientPwd 클라이언트 비밀번호
+     * @param staleToken 유효성 검사에 실패한 토큰
+     * @param authenticator 토큰 발급 요청
+     * @return 새 토큰
+     * @throws Exception 인증 실패 시 authenticator가 던진 예외
+     */
+    String refreshToken(String domain, String clientId, String clientPwd, String staleToken,
+                        Authenticator authenticator) throws Exception {
+        return await(refreshTokenAsync(domain, clientId, clientPwd, staleToken, authenticator, Runnable::run));
+    }
+
+    /**
+     * refreshToken의 비동기 버전
+     * @param executor 인증 요청을 실행할 Executor
+     */
+    CompletableFuture<String> refreshTokenAsync(String domain, String clientId, String clientPwd, String staleToken,
+                                                Authenticator authenticator, Executor executor) {
+        String key = generateKey(domain, clientId, clientPwd);
+        TokenEntry current = tokenStorage.get(key);
+        if (current != null && !current.token.equals(staleToken) && !current.isExpired(System.currentTimeMillis())) {
+            return CompletableFuture.completedFuture(current.token);
+        }
+        return singleFlight(key, staleToken, authenticator, executor);
+    }
+
+    /**
+     * 키별로 진행 중인 인증이 있으면 그 결과를 공유하고, 없으면 인증을 시작하는 메서드
+     */
+    private CompletableFuture<String> singleFlight(String key, String staleToken,
+                                                   Authenticator authenticator, Executor executor) {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        CompletableFuture<String> existing = pendingAuth.putIfAbsent(key, pending);
+        if (existing != null) {
+            return existing;
+        }
+
+        Runnable task = () -> {
+            try {
+                // 대기하는 사이 다른 요청이 교체한 토큰이 있으면 재사용
+                TokenEntry current = tokenStorage.get(key);
+                if (current != null && !current.token.equals(staleToken)
+                        && !current.isExpired(System.currentTimeMillis())) {
+                    pending.complete(current.token);
+                    return;
+                }
+
+                // 다른 프로세스가 이미 발급/재발급한 토큰이 있으면 인증 없이 재사용
+                TokenEntry issuedEntry = loadPersisted(key, staleToken, authenticator);
+                boolean persisted = issuedEntry != null;
+                if (!persisted) {
+                    String issued = authenticator.authenticate();
+                    long issuedAt = System.currentTimeMillis();
+                    issuedEntry = new TokenEntry(issued, issuedAt, resolveExpiry(issued, issuedAt), authenticator);
+                }
+                long now = System.currentTimeMillis();
+                TokenEntry candidate = issuedEntry;
+
+                // 유효성 검사에 실패한 토큰이 여전히 현재 토큰인 경우에만 교체 (더 새로운 토큰을 덮어쓰지 않음)
+                TokenEntry stored = tokenStorage.compute(key, (k, value) ->
+                    value == null || value.token.equals(staleToken) || value.isExpired(now) ? candidate : value);
+                if (stored == candidate) {
+                    if (!persisted && indexStore != null) {
+                        indexStore.saveToken(key, candidate.token, candidate.issuedAt, candidate.expiresAt);
+                    }
+                    scheduleRefresh(key, candidate);
+                }
+                pending.complete(stored.token);
+            } catch (Throwable t) {
+                pending.completeExceptionally(t);
+            } finally {
+                pendingAuth.remove(key, pending);
+            }
+        };
+
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            pendingAuth.remove(key, pending);
+            pending.completeExceptionally(e);
+        }
+        return pending;
+    }
+
+    /**
+     * 영속 저장소에서 만료되지 않은 토큰 조회
+     * @param staleToken 유효성 검사에 실패했거나 교체 대상인 토큰 (같은 토큰이면 사용하지 않음)
+     * @return 저장된 토큰 (없으면 null)
+     */
+    private TokenEntry loadPersisted(String key, String staleToken, Authenticator authenticator) {
+        if (indexStore == null) {
+            return null;
+        }
+        UploadIndexStore.StoredToken stored = indexStore.findToken(key);
+        if (stored == null || stored.token.equals(staleToken)) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        TokenEntry entry = new TokenEntry(stored.token, stored.issuedAt, stored.expiresAt, authenticator);
+        if (entry.isExpired(now)) {
+            return null;
+        }
+        entry.lastAccessAt = now;
+        return entry;
+    }
+
+    /**
+     * 토큰 만료 시각 계산
+     * JWT 형식이면 exp 클레임을 사용하고, 아니면 설정된 TTL을 사용합니다.
+     * @return 만료 시각 (ms, 알 수 없으면 Long.MAX_VALUE)
+     */
+    long resolveExpiry(String token, long issuedAt) {
+        long jwtExpiry = decodeJwtExpiry(token);
+        if (jwtExpiry > 0) {
+            return jwtExpiry;
+        }
+        return tokenTtl > 0 ? issuedAt + tokenTtl : Long.MAX_VALUE;
+    }
+
+    /**
+     * JWT payload의 exp 클레임(초 단위 epoch) 디코딩
+     * @return 만료 시각 (ms, JWT가 아니거나 exp가 없으면 -1)
+     */
+    private long decodeJwtExpiry(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length != 3) {
+            return -1;
+        }
+        try {
+            byte[] payload = Base64.getUrlDecoder().decode(parts[1]);
+            JsonNode exp = objectMapper.readTree(payload).get("exp");
+            return exp != null && exp.canConvertToLong() ? exp.asLong() * 1000L : -1;
+        } catch (Exception e) {
+            return -1; // JWT가 아닌 불투명 토큰
+        }
+    }
+
+    /**
+     * 만료 전 백그라운드 재발급 예약
+     */
+    private void scheduleRefresh(String key, TokenEntry entry) {
+        if (!proactiveRefresh || closed || entry.expiresAt == Long.MAX_VALUE) {
+            return;
+        }
+        long lifetime = entry.expiresAt - entry.issuedAt;
+        long refreshAt = entry.expiresAt - Math.min(refreshMargin, lifetime / 2);
+        schedule(() -> refreshInBackground(key, entry), refreshAt - System.currentTimeMillis());
+    }
+
+    /**
+     * 백그라운드 재발급 실행
+     * 한 토큰 수명 동안 사용되지 않은 인증 정보는 재발급하지 않고 만료되도록 둡니다.
+     * 인증은 재시도 대기를 포함해 오래 걸릴 수 있으므로 예약 스레드가 아닌 refreshWorkers에서 실행하여,
+     * 응답이 느린 인증 서버가 다른 인증 정보의 재발급을 늦추지 않게 합니다.
+     */
+    private void refreshInBackground(String key, TokenEntry entry) {
+        if (closed || tokenStorage.get(key) != entry) {
+            return; // 이미 다른 토큰으로 교체됨
+        }
+        long now = System.currentTimeMillis();
+        if (now - entry.lastAccessAt > entry.expiresAt - entry.issuedAt) {
+            return;
+        }
+
+        singleFlight(key, entry.token, entry.authenticator, refreshWorkers()).whenComplete((token, error) -> {
+            // 실패 시 기존 토큰이 만료되기 전까지 재시도
+            long remaining = entry.expiresAt - System.currentTimeMillis();
+            if (error != null && remaining > 0 && tokenStorage.get(key) == entry) {
+                schedule(() -> refreshInBackground(key, entry), Math.min(REFRESH_RETRY_DELAY, remaining / 2));
+            }
+        });
+    }
+
+    private void schedule(Runnable task, long delayMillis) {
+        try {
+            refresher().schedule(task, Math.max(0, delayMillis), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // close() 이후에는 예약하지 않음
+        }
+    }
+
+    /**
+     * 백그라운드 재발급 스레드 (최초 예약 시점에 한 번만 생성)
+     */
+    private ScheduledExecutorService refresher() {
+        ScheduledExecutorService scheduler = refresher;
+        if (scheduler != null) {
+            return scheduler;
+        }
+        synchronized (this) {
+            if (refresher == null) {
+                refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "nirs-token-refresher");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                if (closed) {
+                    refresher.shutdownNow();
+                }
+            }
+            return refresher;
+        }
+    }
+
+    /**
+     * 백그라운드 재발급 인증을 실행하는 스레드 풀 (최초 재발급 시점에 한 번만 생성, 유휴 스레드는 종료)
+     */
+    private ExecutorService refreshWorkers() {
+        ExecutorService workers = refreshWorkers;
+        if (workers != null) {
+            return workers;
+        }
+        synchronized (this) {
+            if (refreshWorkers == null) {
+                ThreadPoolExecutor pool = new ThreadPoolExecutor(REFRESH_WORKERS, REFRESH_WORKERS,
+                    60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "nirs-token-refresh-worker");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                pool.allowCoreThreadTimeOut(true);
+                refreshWorkers = pool;
+                if (closed) {
+                    refreshWorkers.shutdownNow();
+                }
+            }
+            return refreshWorkers;
+        }
+    }
+
+    /**
+     * 인증 결과를 기다리고, 실패 시 원인 예외를 그대로 던지는 메서드
+     */
+    private static String await(CompletableFuture<String> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException | CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw (Error) cause;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    /**
+     * 백그라운드 재발급 중지
+     */
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (this) {
+            if (refresher != null) {
+                refresher.shutdownNow();
+            }
+            if (refreshWorkers != null) {
+                refreshWorkers.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package kr.i_heart;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 업로드 결과 캐시
+ * 파일 내용 해시(SHA-256), clientId, brandId, 도메인이 같은 업로드 요청은 서버가 발급한 fileId가
+ * 만료(fileExpDt)되기 전까지 네트워크 요청 없이 이전 업로드 결과를 반환합니다.
+ * 서버가 발급한 fileId는 업로드한 클라이언트 계정에서만 사용할 수 있으므로, 같은 파일이라도 clientId가 다르면 서로의 결과를 사용하지 않습니다.
+ * 최대 항목 수를 넘으면 가장 오래 사용되지 않은 항목부터 제거합니다. (LRU)
+ * 영속 저장소가 설정되면 업로드 결과를 함께 기록하고, 메모리에 없는 항목은 저장소에서 찾습니다.
+ */
+public class UploadCache {
+    private static final ZoneId SERVER_ZONE = ZoneId.of("Asia/Seoul"); // fileExpDt 기준 시간대
+    private static final long EXPIRY_MARGIN = 60000;                    // 만료 1분 전부터는 재업로드
+    static final String KEY_PREFIX = "v2:";                             // clientId를 포함하는 키 형식 (이전 형식의 키와 구분)
+    private static final long RACY_WINDOW = 3000;                       // 수정된 지 3초가 지나지 않은 파일은 해시를 기억하지 않음
+    private static final boolean UNIX_ATTRIBUTES =
+        FileSystems.getDefault().supportedFileAttributeViews().contains("unix"); // inode 변경 시각(ctime) 조회 가능 여부
+
+    private final int maxEntries;
+    private final Map<String, CachedFile> entries;
+    private final Map<String, String> digests;   // 파일 경로/크기/수정시각/inode/변경시각 → 내용 해시
+    private final UploadIndexStore indexStore;   // 영속 저장소 (사용하지 않으면 null)
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * 생성자
+     * @param maxEntries 최대 캐시 항목 수
+     * @param indexStore 영속 저장소 (null이면 메모리에만 보관)
+     */
+    UploadCache(int maxEntries, UploadIndexStore indexStore) {
+        this.maxEntries = maxEntries;
+        this.indexStore = indexStore;
+        this.entries = new LinkedHashMap<String, CachedFile>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedFile> eldest) {
+                if (size() > UploadCache.this.maxEntries) {
+                    evictionCount.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.digests = new LinkedHashMap<String, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > UploadCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 캐시 항목 (업로드 결과와 만료 시각)
+     */
+    private static final class CachedFile {
+        private final FileUploadResponse response;
+        private final long expiresAt;
+
+        CachedFile(FileUploadResponse response, long expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * 캐시 키 생성 (clientId + 파일 내용 해시 + brandId + 도메인)
+     * clientId는 구분자를 포함할 수 있으므로 길이를 앞에 붙여 다른 clientId의 키와 겹치지 않게 합니다.
+     * 경로/크기/수정시각/inode가 같은 파일은 이전에 계산한 해시를 재사용합니다. (수정된 지 3초가 지나지 않은 파일은 매번 계산)
+     * @throws IOException 파일을 읽을 수 없는 경우
+     */
+    String createKey(String domain, String clientId, String brandId, File file) throws IOException {
+        return KEY_PREFIX + clientId.length() + ":" + clientId + "|" + digest(file)
+            + "|" + (brandId != null ? brandId : "") + "|" + domain;
+    }
+
+    /**
+     * 만료되지 않은 캐시 결과 조회
+     * @return 캐시된 업로드 결과의 복사본 (없거나 만료된 경우 null)
+     */
+    FileUploadResponse get(String key) {
+        CachedFile cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+            if (cached != null && System.currentTimeMillis() >= cached.expiresAt - EXPIRY_MARGIN) {
+                entries.remove(key);
+                cached = null;
+            }
+        }
+        if (cached == null && indexStore != null) {
+            cached = loadPersisted(key);
+        }
+        if (cached == null) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        return copyOf(cached.response);
+    }
+
+    /**
+     * 업로드 결과 저장 (fileExpDt를 해석할 수 없는 결과는 저장하지 않음)
+     */
+    void put(String key, FileUploadResponse response) {
+        if (response == null || response.getData() == null) {
+            return;
+        }
+        long expiresAt = parseExpiry(response.getData().getFileExpDt());
+        if (expiresAt - EXPIRY_MARGIN <= System.currentTimeMillis()) {
+            return;
+        }
+        CachedFile cached = new CachedFile(copyOf(response), expiresAt);
+        synchronized (entries) {
+            entries.put(key, cached);
+        }
+        if (indexStore != null) {
+            indexStore.saveUpload(key, cached.response, expiresAt);
+        }
+    }
+
+    /**
+     * 영속 저장소에서 업로드 결과를 찾아 메모리 캐시에 적재
+     */
+    private CachedFile loadPersisted(String key) {
+        FileUploadResponse stored = indexStore.findUpload(key);
+        if (stored == null || stored.getData() == null) {
+            return null;
+        }
+        long expiresAt = parseExpiry(stored.getData().getFileExpDt());
+        if (expiresAt - EXPIRY_MARGIN <= System.currentTimeMillis()) {
+            return null;
+        }
+        CachedFile cached = new CachedFile(stored, expiresAt);
+        synchronized (entries) {
+            entries.put(key, cached);
+        }
+        return cached;
+    }
+
+    /**
+     * 캐시 적중 횟수
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * 캐시 미적중 횟수
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 최대 항목 수 초과로 제거된 횟수
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * 현재 캐시 항목 수
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * 모든 캐시 항목 제거
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        synchronized (digests) {
+            digests.clear();
+        }
+    }
+
+    /**
+     * 파일 내용 SHA-256 해시 (16진수 문자열)
+     * 경로, 크기, 수정 시각, 파일 키(inode), 변경 시각(ctime)이 같으면 이전에 계산한 해시를 사용합니다.
+     * 수정 시각 단위가 1초인 파일 시스템(ext3, HFS+, 일부 NFS)에서는 같은 초 안에 같은 크기로 다시 쓴 파일을 구분할 수 없으므로,
+     * 수정된 지 RACY_WINDOW가 지나지 않은 파일은 해시를 기억하지 않고 매번 다시 계산합니다. (git의 racy-clean 규칙과 같은 방식)
+     */
+    private String digest(File file) throws IOException {
+        Path path = file.toPath();
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        long changedAt = attributes.lastModifiedTime().toMillis();
+        StringBuilder key = new StringBuilder(file.getAbsolutePath().length() + 64)
+            .append(file.getAbsolutePath())
+            .append('|').append(attributes.size())
+            .append('|').append(attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS))
+            .append('|').append(attributes.fileKey());
+        if (UNIX_ATTRIBUTES) {
+            FileTime ctime = (FileTime) Files.getAttribute(path, "unix:ctime");
+            key.append('|').append(ctime.to(TimeUnit.NANOSECONDS));
+            changedAt = Math.max(changedAt, ctime.toMillis());
+        }
+        String fingerprint = key.toString();
+        synchronized (digests) {
+            String cached = digests.get(fingerprint);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        String result = FileDigests.sha256(file);
+        if (System.currentTimeMillis() - changedAt >= RACY_WINDOW) {
+            synchronized (digests) {
+                digests.put(fingerprint, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * fileExpDt 해석 (예: 20250531235959, 2025-05-31 23:59:59, ISO-8601)
+     * @return 만료 시각 (ms, 해석할 수 없으면 0)
+     */
+    static long parseExpiry(String fileExpDt) {
+        if (fileExpDt == null || fileExpDt.trim().isEmpty()) {
+            return 0;
+        }
+        String value = fileExpDt.trim();
+        try {
+            return OffsetDateTime.parse(value).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            // 시간대 정보가 없는 형식
+        }
+
+        String digits = value.replaceAll("[^0-9]", "");
+        try {
+            if (digits.length() >= 14) {
+                return LocalDateTime.parse(digits.substring(0, 14), DateTimeFormatter.ofPattern("yyyyMMddHHmmss"))
+                    .atZone(SERVER_ZONE).toInstant().toEpochMilli();
+            }
+            if (digits.length() == 12) {
+                return LocalDateTime.parse(digits, DateTimeFormatter.ofPattern("yyyyMMddHHmm"))
+                    .atZone(SERVER_ZONE).toInstant().toEpochMilli();
+            }
+            if (digits.length() == 8) {
+                // 날짜만 있는 경우 해당 일자 시작 시각을 만료로 간주 (보수적으로 해석)
+                return LocalDate.parse(digits, DateTimeFormatter.BASIC_ISO_DATE)
+                    .atStartOfDay(SERVER_ZONE).toInstant().toEpochMilli();
+            }
+        } catch (DateTimeParseException e) {
+            return 0;
+        }
+        return 0;
+    }
+
+    /**
+     * 캐시된 응답이 호출자에 의해 변경되지 않도록 복사
+     */
+    private static FileUploadResponse copyOf(FileUploadResponse source) {
+        FileUploadResponse.FileData sourceData = source.getData();
+        FileUploadResponse.FileData data = new FileUploadResponse.FileData();
+        data.setCh(sourceData.getCh());
+        data.setImgUrl(sourceData.getImgUrl());
+        data.setImgUrlLst(sourceData.getImgUrlLst() != null ? new ArrayList<>(sourceData.getImgUrlLst()) : null);
+        data.setFileId(sourceData.getFileId());
+        data.setFileExpDt(sourceData.getFileExpDt());
+
+        FileUploadResponse copy = new FileUploadResponse();
+        copy.setCode(source.getCode());
+        copy.setMessage(source.getMessage());
+        copy.setData(data);
+        return copy;
+    }
+}
@@ -0,0 +1,377 @@
+package kr.i_heart;
+
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import kr.i_heart.http.HttpRequest;
+
+/**
+ * HedgePolicy에 따라 업로드 요청을 헤지하는 실행기
+ * 첫 요청은 호출한 스레드에서 보내고, 대기 시간이 지나도 끝나지 않으면 헤지 요청을 전용 스레드에서 보냅니다.
+ * 먼저 성공한 요청의 결과를 반환하고 다른 요청은 HttpRequest.abort()로 연결을 닫아 취소합니다.
+ * 두 요청이 모두 실패하면 첫 요청의 예외를 던지므로, 재시도 정책과 서킷 브레이커는 헤지 여부와 관계없이 요청 한 번으로 봅니다.
+ * 헤지 요청도 처리율 제한과 동시 실행 제한을 따르며, 대기 없이 바로 허용되지 않으면 헤지하지 않습니다.
+ *
+ * 대기 시간은 최근 30초 구간(직전 구간이 비어 있으면 현재 구간)의 성공한 업로드 응답 시간 분포에서 구하며, 1초마다 다시 계산합니다.
+ */
+final class UploadHedger implements AutoCloseable {
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int MIN_SAMPLES = 50;
+    private static final long SCALE = 1000; // 예산은 천분의 일 단위 정수로 기록
+
+    private final HedgePolicy policy;
+    private final UploadListener listener;
+
+    // 헤지 예산 (요청마다 tokenRatio만큼 쌓이고 헤지마다 SCALE만큼 사용)
+    private final long maxTokens;
+    private final long tokenRatio;
+    private final AtomicLong tokens;
+
+    // 최근 응답 시간 (구간마다 교체)
+    private volatile LatencyHistogram current = new LatencyHistogram();
+    private volatile LatencyHistogram previous = new LatencyHistogram();
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private volatile long delayMillis;
+    private volatile long delayRefreshAt = System.nanoTime();
+
+    private volatile ScheduledThreadPoolExecutor timer;
+    private volatile ExecutorService hedgeExecutor;
+    private volatile boolean closed;
+
+    UploadHedger(HedgePolicy policy, UploadListener listener) {
+        this.policy = policy;
+        this.listener = listener;
+        this.maxTokens = policy.getMaxHedgeBurst() * SCALE;
+        this.tokenRatio = Math.max(1, Math.round(policy.getMaxHedgeRatio() * SCALE));
+        this.tokens = new AtomicLong(maxTokens);
+        this.delayMillis = policy.getMaxDelay();
+    }
+
+    /**
+     * 헤지할 요청 (요청을 보내기 전에 취소용으로 HttpRequest를 onRequest에 전달해야 함)
+     */
+    interface Request<T> {
+        T call(Consumer<HttpRequest> onRequest) throws Exception;
+    }
+
+    /**
+     * 헤지 요청을 보내기 전에 받고 요청이 끝나면 반환할 허용 (처리율/동시 실행 제한)
+     */
+    interface Admission {
+        /**
+         * 대기 없이 바로 허용되면 받음
+         * @return 허용을 받았으면 true (받지 못했으면 아무것도 사용하지 않음)
+         */
+        boolean tryAcquire();
+
+        /**
+         * 받은 허용 반환
+         */
+        void release();
+    }
+
+    /**
+     * 요청을 보내고, 대기 시간이 지나도 끝나지 않으면 예산 안에서 헤지 요청을 보내 먼저 성공한 결과를 반환
+     * @param domain API 도메인 URL (리스너 통보용)
+     * @param file 업로드 파일 (리스너 통보용)
+     * @param admission 헤지 요청에 적용할 허용 (제한이 없으면 null, 첫 요청은 호출한 쪽에서 이미 허용을 받은 상태)
+     */
+    <T> T call(String domain, File file, Admission admission, Request<T> request) throws Exception {
+        if (tokens.get() < maxTokens) {
+            tokens.updateAndGet(value -> Math.min(maxTokens, value + tokenRatio));
+        }
+        long delay = hedgeDelayMillis();
+        long startedAt = System.nanoTime();
+        Race<T> race = new Race<>(domain, file, admission, request, delay);
+
+        if (!closed) {
+            try {
+                race.timerTask = timer().schedule(race::startHedge, delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // close() 이후에는 헤지하지 않음
+            }
+        }
+        race.run(race.primary);
+
+        try {
+            T result = race.result.get();
+            record(System.nanoTime() - startedAt);
+            return result;
+        } catch (InterruptedException e) {
+            race.cancelAll();
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /**
+     * 첫 요청과 헤지 요청의 경쟁
+     */
+    private final class Race<T> {
+        final String domain;
+        final File file;
+        final Admission admission;
+        final Request<T> request;
+        final long delay;
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final Attempt primary = new Attempt();
+        final Attempt hedge = new Attempt();
+        volatile ScheduledFuture<?> timerTask;
+
+        // this로 보호
+        private int running = 1;
+        private boolean hedgeClosed;    // 더 이상 헤지 요청을 보내지 않음 (어느 한 요청이 끝났거나 헤지 요청을 보낸 경우)
+        private Exception primaryError;
+        private Exception hedgeError;
+
+        Race(String domain, File file, Admission admission, Request<T> request, long delay) {
+            this.domain = domain;
+            this.file = file;
+            this.admission = admission;
+            this.request = request;
+            this.delay = delay;
+        }
+
+        void run(Attempt attempt) {
+            T value;
+            try {
+                value = request.call(attempt::bind);
+            } catch (Exception e) {
+                onFailure(attempt, e);
+                return;
+            }
+            synchronized (this) {
+                running--;
+                hedgeClosed = true;
+            }
+            if (result.complete(value)) {
+                cancelTimer();
+                (attempt == primary ? hedge : primary).cancel();
+            }
+            // 진 요청도 취소 전에 성공한 경우 서버에 파일이 한 번 더 저장됨 (응답은 사용하지 않음)
+        }
+
+        private void onFailure(Attempt attempt, Exception error) {
+            Exception failure;
+            synchronized (this) {
+                running--;
+                hedgeClosed = true; // 첫 요청이 실패하면 헤지하지 않고 재시도 정책에 맡김
+                if (attempt == primary) {
+                    primaryError = error;
+                } else {
+                    hedgeError = error;
+                }
+                if (running > 0) {
+                    return; // 다른 요청의 결과를 기다림
+                }
+                failure = primaryError != null ? primaryError : hedgeError;
+            }
+            cancelTimer();
+            result.completeExceptionally(failure);
+        }
+
+        /**
+         * 대기 시간이 지나면 예약 스레드에서 호출
+         */
+        void startHedge() {
+            synchronized (this) {
+                if (hedgeClosed) {
+                    return;
+                }
+                // 제한에 걸리면 대기하지 않고 헤지를 건너뜀 (서버가 느릴 때 할당량/동시 실행 한도를 넘지 않도록)
+                if (admission != null && !admission.tryAcquire()) {
+                    return;
+                }
+                if (!tryAcquireToken()) {
+                    if (admission != null) {
+                        admission.release();
+                    }
+                    return;
+                }
+                hedgeClosed = true;
+                running++;
+            }
+            listener.onHedge(domain, file, delay);
+            try {
+                hedgeExecutor().execute(() -> {
+                    try {
+                        run(hedge);
+                    } finally {
+                        if (admission != null) {
+                            admission.release();
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                if (admission != null) {
+                    admission.release();
+                }
+                onFailure(hedge, e);
+            }
+        }
+
+        void cancelAll() {
+            synchronized (this) {
+                hedgeClosed = true;
+            }
+            cancelTimer();
+            primary.cancel();
+            hedge.cancel();
+        }
+
+        private void cancelTimer() {
+            ScheduledFuture<?> task = timerTask;
+            if (task != null) {
+                task.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * 요청 하나의 취소 핸들 (요청을 보내기 전에 취소되면 보내자마자 중단)
+     */
+    private static final class Attempt {
+        private volatile HttpRequest request;
+        private volatile boolean cancelled;
+
+        void bind(HttpRequest request) {
+            this.request = request;
+            if (cancelled) {
+                request.abort();
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            HttpRequest current = request;
+            if (current != null) {
+                current.abort();
+            }
+        }
+    }
+
+    private boolean tryAcquireToken() {
+        while (true) {
+            long value = tokens.get();
+            if (value < SCALE) {
+                return false;
+            }
+            if (tokens.compareAndSet(value, value - SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 성공한 업로드 응답 시간 기록 (구간이 지나면 직전 구간을 비우고 교체)
+     */
+    private void record(long nanos) {
+        long start = windowStart.get();
+        long now = System.nanoTime();
+        if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+            LatencyHistogram stale = previous;
+            stale.reset();
+            previous = current;
+            current = stale;
+        }
+        current.record(nanos);
+    }
+
+    /**
+     * 헤지 요청 전 대기 시간 (ms, 1초마다 다시 계산)
+     */
+    long hedgeDelayMillis() {
+        long now = System.nanoTime();
+        if (now - delayRefreshAt < 0) {
+            return delayMillis;
+        }
+        delayRefreshAt = now + DELAY_REFRESH_NANOS;
+        LatencyHistogram recent = previous.getCount() >= MIN_SAMPLES ? previous : current;
+        long delay = policy.getMaxDelay();
+        if (recent.getCount() >= MIN_SAMPLES) {
+            delay = Math.max(policy.getMinDelay(), Math.min(policy.getMaxDelay(),
+                TimeUnit.NANOSECONDS.toMillis(recent.getValueAtPercentile(policy.getPercentile()))));
+        }
+        delayMillis = delay;
+        return delay;
+    }
+
+    /**
+     * 헤지 대기용 예약 스레드 (최초 호출 시 생성, 취소된 예약은 바로 제거)
+     */
+    private ScheduledThreadPoolExecutor timer() {
+        ScheduledThreadPoolExecutor current = timer;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (timer == null) {
+                timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+                    Thread thread = new Thread(runnable, "nirs-hedge-timer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                timer.setRemoveOnCancelPolicy(true);
+                if (closed) {
+                    timer.shutdownNow();
+                }
+            }
+            return timer;
+        }
+    }
+
+    /**
+     * 헤지 요청 실행 스레드 (필요한 만큼 생성하고 유휴 시 정리)
+     */
+    private ExecutorService hedgeExecutor() {
+        ExecutorService current = hedgeExecutor;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (hedgeExecutor == null) {
+                AtomicInteger sequence = new AtomicInteger();
+                hedgeExecutor = Executors.newCachedThreadPool(runnable -> {
+                    Thread thread = new Thread(runnable, "nirs-hedge-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                if (closed) {
+                    hedgeExecutor.shutdown();
+                }
+            }
+            return hedgeExecutor;
+        }
+    }
+
+    /**
+     * 예약된 헤지를 취소하고 실행 스레드 종료 (실행 중인 헤지 요청은 끝까지 실행)
+     */
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (this) {
+            if (timer != null) {
+                timer.shutdownNow();
+            }
+            if (hedgeExecutor != null) {
+                hedgeExecutor.shutdown();
+            }
+        }
+    }
+}
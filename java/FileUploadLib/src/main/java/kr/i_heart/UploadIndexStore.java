@@ -0,0 +1,611 @@
+package kr.i_heart;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * 업로드 결과/인증 토큰 영속 저장소
+ * 디렉토리의 추가 전용(append-only) JSON Lines 파일에 업로드 결과(내용 해시 → fileId/imgUrl/fileExpDt)와
+ * 암호화된 토큰을 기록하여, 짧게 실행되는 프로세스가 재시작해도 이전 업로드 결과와 토큰을 재사용할 수 있게 합니다.
+ *
+ * 여러 프로세스가 같은 디렉토리를 공유할 수 있도록 모든 읽기/쓰기는 잠금 파일의 FileLock으로 보호하며,
+ * 만료되었거나 같은 키로 다시 기록된 항목이 많아지면 임시 파일에 살아있는 항목만 다시 기록한 뒤
+ * 원자적으로 교체(compaction)합니다.
+ * 업로드 결과의 키는 업로드한 clientId를 포함하므로(UploadCache.createKey), 여러 clientId의 프로세스가 디렉토리를 공유해도
+ * 다른 clientId의 결과를 사용하지 않으며, clientId가 없는 이전 형식의 기록은 읽지 않습니다.
+ * 토큰은 암호화 키가 설정된 경우에만 AES-GCM으로 암호화하여 저장하며, 평문으로는 저장하지 않습니다.
+ */
+final class UploadIndexStore implements AutoCloseable {
+    private static final String INDEX_FILE_NAME = "upload-index.jsonl";
+    private static final String LOCK_FILE_NAME = "upload-index.lock";
+
+    private static final String TYPE_HEADER = "header";
+    private static final String TYPE_UPLOAD = "upload";
+    private static final String TYPE_TOKEN = "token";
+
+    private static final int COMPACTION_MIN_RECORDS = 256;  // 이 수 이하의 기록은 정리하지 않음
+    private static final int READ_CHUNK_SIZE = 65536;       // 인덱스 파일을 읽는 단위 (64KB)
+    private static final long PRUNE_INTERVAL_MILLIS = 60000; // 메모리 색인에서 만료된 항목을 정리하는 주기 (1분)
+    private static final int GCM_IV_LENGTH = 12;
+    private static final int GCM_TAG_BITS = 128;
+
+    // 같은 JVM 안에서 FileLock은 중첩 획득할 수 없으므로 디렉토리별 프로세스 내부 잠금을 함께 사용
+    // (열린 저장소 수를 세어 마지막 저장소가 닫히면 제거)
+    private static final Map<Path, DirectoryLock> PROCESS_LOCKS = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private final Path indexFile;
+    private final FileChannel lockChannel;
+    private final ReentrantLock processLock;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final ObjectMapper objectMapper;
+    private final SecretKeySpec tokenKey;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    // 아래 필드는 processLock으로 보호 (메모리 색인에는 만료되지 않은 항목만 유지)
+    private final Map<String, StoredUpload> uploads = new HashMap<>();
+    private final Map<String, StoredToken> tokens = new HashMap<>();
+    private String generation;   // 현재 읽고 있는 인덱스 파일 세대 (compaction 시 변경)
+    private long readOffset;     // 마지막으로 읽은 완전한 줄의 끝 위치
+    private int recordCount;     // 현재 세대 파일의 전체 기록 수
+    private long nextPruneAt;    // 다음 만료 항목 정리 시각
+
+    private UploadIndexStore(Path directory, ObjectMapper objectMapper, byte[] tokenEncryptionKey) throws IOException {
+        this.indexFile = directory.resolve(INDEX_FILE_NAME);
+        this.objectMapper = objectMapper;
+        this.tokenKey = tokenEncryptionKey != null ? new SecretKeySpec(tokenEncryptionKey.clone(), "AES") : null;
+        this.directory = directory;
+        this.lockChannel = FileChannel.open(directory.resolve(LOCK_FILE_NAME),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.READ);
+        this.processLock = PROCESS_LOCKS.compute(directory, (path, current) -> {
+            DirectoryLock lock = current != null ? current : new DirectoryLock();
+            lock.references++;
+            return lock;
+        }).lock;
+    }
+
+    /**
+     * 저장소를 열고 기존 기록을 읽어들이는 메서드
+     * @param directory 저장 디렉토리 (없으면 생성)
+     * @param objectMapper 기록 직렬화용 ObjectMapper
+     * @param tokenEncryptionKey 토큰 암호화 키 (AES 16/24/32바이트, null이면 토큰을 저장하지 않음)
+     * @return 열린 저장소
+     * @throws IOException 디렉토리 생성 또는 파일 읽기 실패 시
+     */
+    static UploadIndexStore open(File directory, ObjectMapper objectMapper, byte[] tokenEncryptionKey) throws IOException {
+        if (tokenEncryptionKey != null && tokenEncryptionKey.length != 16
+                && tokenEncryptionKey.length != 24 && tokenEncryptionKey.length != 32) {
+            throw new IllegalArgumentException("tokenEncryptionKey must be 16, 24 or 32 bytes.");
+        }
+        Path path = Files.createDirectories(directory.toPath()).toRealPath();
+        UploadIndexStore store = new UploadIndexStore(path, objectMapper, tokenEncryptionKey);
+        try {
+            store.load();
+            return store;
+        } catch (IOException | RuntimeException e) {
+            store.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 디렉토리별 프로세스 내부 잠금과 그 디렉토리를 연 저장소 수 (references는 PROCESS_LOCKS.compute 안에서만 변경)
+     */
+    private static final class DirectoryLock {
+        final ReentrantLock lock = new ReentrantLock();
+        int references;
+    }
+
+    /**
+     * 저장된 업로드 결과
+     */
+    static final class StoredUpload {
+        final FileUploadResponse response;
+        final long expiresAt;
+
+        StoredUpload(FileUploadResponse response, long expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * 저장된 토큰
+     */
+    static final class StoredToken {
+        final String token;
+        final long issuedAt;
+        final long expiresAt;
+
+        StoredToken(String token, long issuedAt, long expiresAt) {
+            this.token = token;
+            this.issuedAt = issuedAt;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * 만료되지 않은 업로드 결과 조회
+     * 메모리에 없으면 다른 프로세스가 추가한 기록을 읽어들인 뒤 다시 확인합니다.
+     * @return 저장된 업로드 결과 (없거나 만료된 경우 null)
+     */
+    FileUploadResponse findUpload(String key) {
+        processLock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            pruneExpired(now);
+            StoredUpload stored = uploads.get(key);
+            if (stored == null && refresh()) {
+                stored = uploads.get(key);
+            }
+            if (stored != null && stored.expiresAt <= now) {
+                uploads.remove(key);
+                return null;
+            }
+            return stored != null ? stored.response : null;
+        } finally {
+            processLock.unlock();
+        }
+    }
+
+    /**
+     * 업로드 결과 기록
+     * 저장 실패는 업로드 결과에 영향을 주지 않도록 무시합니다.
+     */
+    void saveUpload(String key, FileUploadResponse response, long expiresAt) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("type", TYPE_UPLOAD);
+        record.put("key", key);
+        record.put("expiresAt", expiresAt);
+        record.put("response", response);
+
+        processLock.lock();
+        try {
+            pruneExpired(System.currentTimeMillis());
+            append(record);
+        } finally {
+            processLock.unlock();
+        }
+    }
+
+    /**
+     * 만료되지 않은 토큰 조회 (다른 프로세스가 발급한 토큰 포함)
+     * @param key 토큰 저장소 키
+     * @return 저장된 토큰 (없거나, 만료되었거나, 복호화할 수 없는 경우 null)
+     */
+    StoredToken findToken(String key) {
+        if (tokenKey == null) {
+            return null;
+        }
+        String tokenId = tokenId(key);
+        processLock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            pruneExpired(now);
+            refresh(); // 다른 프로세스가 재발급한 토큰을 우선 사용
+            StoredToken stored = tokens.get(tokenId);
+            return stored != null && stored.expiresAt > now ? stored : null;
+        } finally {
+            processLock.unlock();
+        }
+    }
+
+    /**
+     * 토큰을 암호화하여 기록 (암호화 키가 없으면 기록하지 않음)
+     */
+    void saveToken(String key, String token, long issuedAt, long expiresAt) {
+        if (tokenKey == null) {
+            return;
+        }
+        String tokenId = tokenId(key);
+        String encrypted;
+        try {
+            encrypted = encrypt(tokenId, token);
+        } catch (GeneralSecurityException e) {
+            return;
+        }
+
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("type", TYPE_TOKEN);
+        record.put("key", tokenId);
+        record.put("issuedAt", issuedAt);
+        record.put("expiresAt", expiresAt);
+        record.put("token", encrypted);
+
+        processLock.lock();
+        try {
+            append(record);
+        } finally {
+            processLock.unlock();
+        }
+    }
+
+    /**
+     * 만료되었거나 다시 기록된 항목을 제거하여 인덱스 파일을 다시 작성하는 메서드
+     * @throws IOException 파일 쓰기 실패 시
+     */
+    void compact() throws IOException {
+        processLock.lock();
+        try {
+            withFileLock(false, () -> {
+                readFrom(true);
+                rewrite();
+                return null;
+            });
+        } finally {
+            processLock.unlock();
+        }
+    }
+
+    /**
+     * 메모리 색인에서 만료된 항목 제거 (processLock을 획득한 상태에서 호출, PRUNE_INTERVAL_MILLIS마다 한 번)
+     * 파일에 남은 만료 기록은 살아있는 항목 수가 줄어든 만큼 compaction 대상이 되어 함께 정리됩니다.
+     */
+    private void pruneExpired(long now) {
+        if (now < nextPruneAt) {
+            return;
+        }
+        nextPruneAt = now + PRUNE_INTERVAL_MILLIS;
+        uploads.values().removeIf(stored -> stored.expiresAt <= now);
+        tokens.values().removeIf(stored -> stored.expiresAt <= now);
+    }
+
+    /**
+     * 시작 시 전체 기록을 읽고, 필요하면 compaction 수행
+     */
+    private void load() throws IOException {
+        processLock.lock();
+        try {
+            withFileLock(false, () -> {
+                readFrom(true);
+                if (generation == null || needsCompaction()) {
+                    rewrite();
+                }
+                return null;
+            });
+        } finally {
+            processLock.unlock();
+        }
+    }
+
+    /**
+     * 다른 프로세스가 추가한 기록 읽기 (파일이 교체되었으면 처음부터 다시 읽음)
+     * @return 새 기록을 읽었는지 여부
+     */
+    private boolean refresh() {
+        try {
+            return withFileLock(true, () -> readFrom(false));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 한 줄 기록을 파일 끝에 추가
+     */
+    private void append(Map<String, Object> record) {
+        try {
+            byte[] line = (objectMapper.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8);
+            withFileLock(false, () -> {
+                readFrom(false);
+                if (generation == null) {
+                    rewrite(); // 헤더가 없는 새 파일
+                }
+                try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    ByteBuffer buffer = ByteBuffer.wrap(line);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                }
+                readFrom(false); // 방금 기록한 줄과 다른 프로세스의 기록을 함께 반영
+                if (needsCompaction()) {
+                    rewrite();
+                }
+                return null;
+            });
+        } catch (IOException e) {
+            // 저장 실패 시 메모리 캐시만 사용
+        }
+    }
+
+    /**
+     * 파일 잠금 상태에서 실행할 작업
+     */
+    private interface LockedAction<T> {
+        T run() throws IOException;
+    }
+
+    /**
+     * 잠금 파일의 FileLock을 획득한 상태로 작업을 실행하는 메서드 (processLock을 획득한 상태에서 호출)
+     * @param shared 공유(읽기) 잠금 여부
+     */
+    private <T> T withFileLock(boolean shared, LockedAction<T> action) throws IOException {
+        FileLock lock = lockChannel.lock(0, Long.MAX_VALUE, shared);
+        try {
+            return action.run();
+        } finally {
+            lock.release();
+        }
+    }
+
+    /**
+     * 인덱스 파일을 읽어 메모리 색인에 반영 (잠금을 획득한 상태에서 호출)
+     * @param full 처음부터 다시 읽을지 여부
+     * @return 새 기록을 읽었는지 여부
+     */
+    private boolean readFrom(boolean full) throws IOException {
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            String fileGeneration = readGeneration(channel);
+            if (full || fileGeneration == null || !fileGeneration.equals(generation) || size < readOffset) {
+                uploads.clear();
+                tokens.clear();
+                generation = fileGeneration;
+                readOffset = 0;
+                recordCount = 0;
+            }
+            if (size == readOffset) {
+                return false;
+            }
+
+            // 고정 크기 단위로 읽고, 단위 경계에 걸친 줄은 carry에 이어 붙임 (읽지 않은 부분이 커도 메모리 사용량 일정)
+            ByteBuffer buffer = ByteBuffer.allocate(READ_CHUNK_SIZE);
+            ByteArrayOutputStream carry = new ByteArrayOutputStream();
+            long position = readOffset;
+            long consumed = readOffset; // 마지막으로 반영한 완전한 줄의 끝 위치
+            while (position < size) {
+                buffer.clear();
+                buffer.limit((int) Math.min(READ_CHUNK_SIZE, size - position));
+                int read = channel.read(buffer, position);
+                if (read <= 0) {
+                    break;
+                }
+                byte[] data = buffer.array();
+                int lineStart = 0;
+                for (int i = 0; i < read; i++) {
+                    if (data[i] == '\n') {
+                        if (carry.size() > 0) {
+                            carry.write(data, lineStart, i - lineStart);
+                            applyRecord(new String(carry.toByteArray(), StandardCharsets.UTF_8));
+                            carry.reset();
+                        } else {
+                            applyRecord(new String(data, lineStart, i - lineStart, StandardCharsets.UTF_8));
+                        }
+                        lineStart = i + 1;
+                        consumed = position + lineStart;
+                    }
+                }
+                carry.write(data, lineStart, read - lineStart);
+                position += read;
+            }
+            // 마지막 줄이 불완전하면(기록 도중 종료) 다음에 다시 읽음
+            boolean applied = consumed > readOffset;
+            readOffset = consumed;
+            return applied;
+        } catch (NoSuchFileException e) {
+            uploads.clear();
+            tokens.clear();
+            generation = null;
+            readOffset = 0;
+            recordCount = 0;
+            return false;
+        }
+    }
+
+    /**
+     * 파일 첫 줄(헤더)의 세대 값 조회
+     */
+    private String readGeneration(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        channel.read(buffer, 0);
+        String head = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+        int newline = head.indexOf('\n');
+        if (newline < 0) {
+            return null;
+        }
+        try {
+            JsonNode header = objectMapper.readTree(head.substring(0, newline));
+            return TYPE_HEADER.equals(header.path("type").asText()) ? header.path("generation").asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 한 줄 기록을 메모리 색인에 반영 (손상된 줄은 무시)
+     */
+    private void applyRecord(String line) {
+        if (line.isEmpty()) {
+            return;
+        }
+        try {
+            JsonNode record = objectMapper.readTree(line);
+            String type = record.path("type").asText();
+            String key = record.hasNonNull("key") ? record.get("key").asText() : null;
+            if (TYPE_UPLOAD.equals(type) && key != null && !key.startsWith(UploadCache.KEY_PREFIX)) {
+                // clientId 없이 기록된 이전 형식의 키는 다른 clientId의 결과일 수 있으므로 적재하지 않음 (compaction 시 제거)
+            } else if (TYPE_UPLOAD.equals(type) && key != null) {
+                long expiresAt = record.path("expiresAt").asLong();
+                if (expiresAt <= System.currentTimeMillis()) {
+                    uploads.remove(key); // 만료된 기록은 메모리 색인에 올리지 않음
+                } else {
+                    FileUploadResponse response = objectMapper.treeToValue(record.get("response"), FileUploadResponse.class);
+                    uploads.put(key, new StoredUpload(response, expiresAt));
+                }
+            } else if (TYPE_TOKEN.equals(type) && key != null && tokenKey != null) {
+                long expiresAt = record.path("expiresAt").asLong();
+                if (expiresAt <= System.currentTimeMillis()) {
+                    tokens.remove(key);
+                } else {
+                    String token = decrypt(key, record.path("token").asText());
+                    tokens.put(key, new StoredToken(token, record.path("issuedAt").asLong(), expiresAt));
+                }
+            }
+            if (!TYPE_HEADER.equals(type)) {
+                recordCount++;
+            }
+        } catch (IOException | GeneralSecurityException | IllegalArgumentException e) {
+            // 기록 도중 손상되었거나 다른 키로 암호화된 줄
+        }
+    }
+
+    /**
+     * 전체 기록 수가 살아있는 항목 수의 두 배를 넘으면 compaction 대상
+     */
+    private boolean needsCompaction() {
+        return recordCount > COMPACTION_MIN_RECORDS && recordCount > 2 * (uploads.size() + tokens.size());
+    }
+
+    /**
+     * 만료되지 않은 항목만 새 세대 파일에 기록한 뒤 원자적으로 교체 (쓰기 잠금을 획득한 상태에서 호출)
+     */
+    private void rewrite() throws IOException {
+        long now = System.currentTimeMillis();
+        uploads.values().removeIf(stored -> stored.expiresAt <= now);
+        tokens.values().removeIf(stored -> stored.expiresAt <= now);
+
+        String newGeneration = UUID.randomUUID().toString();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("type", TYPE_HEADER);
+        header.put("generation", newGeneration);
+        writeLine(out, header);
+
+        for (Map.Entry<String, StoredUpload> entry : uploads.entrySet()) {
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("type", TYPE_UPLOAD);
+            record.put("key", entry.getKey());
+            record.put("expiresAt", entry.getValue().expiresAt);
+            record.put("response", entry.getValue().response);
+            writeLine(out, record);
+        }
+        for (Map.Entry<String, StoredToken> entry : tokens.entrySet()) {
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("type", TYPE_TOKEN);
+            record.put("key", entry.getKey());
+            record.put("issuedAt", entry.getValue().issuedAt);
+            record.put("expiresAt", entry.getValue().expiresAt);
+            try {
+                record.put("token", encrypt(entry.getKey(), entry.getValue().token));
+            } catch (GeneralSecurityException e) {
+                continue;
+            }
+            writeLine(out, record);
+        }
+
+        Path tempFile = Files.createTempFile(indexFile.getParent(), INDEX_FILE_NAME, ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(tempFile, indexFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+
+        generation = newGeneration;
+        readOffset = out.size();
+        recordCount = uploads.size() + tokens.size();
+    }
+
+    private void writeLine(ByteArrayOutputStream out, Map<String, Object> record) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(record));
+        out.write('\n');
+    }
+
+    /**
+     * 토큰 저장소 키는 인증 정보를 복원할 수 있으므로 토큰 암호화 키로 만든 HMAC 값만 파일에 기록
+     * (키 없이 계산할 수 있는 해시는 도메인/clientId를 아는 사람이 clientPwd를 사전 대입으로 찾을 수 있음)
+     * 암호화 키가 설정된 경우에만 호출합니다.
+     */
+    private String tokenId(String key) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(tokenKey.getEncoded(), "HmacSHA256"));
+            byte[] digest = mac.doFinal(key.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * AES-GCM 암호화 (IV + 암호문을 Base64로 인코딩, 키 ID를 AAD로 사용하여 다른 항목으로 옮겨 쓸 수 없게 함)
+     */
+    private String encrypt(String tokenId, String token) throws GeneralSecurityException {
+        byte[] iv = new byte[GCM_IV_LENGTH];
+        secureRandom.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, tokenKey, new GCMParameterSpec(GCM_TAG_BITS, iv));
+        cipher.updateAAD(tokenId.getBytes(StandardCharsets.UTF_8));
+        byte[] encrypted = cipher.doFinal(token.getBytes(StandardCharsets.UTF_8));
+
+        byte[] result = new byte[iv.length + encrypted.length];
+        System.arraycopy(iv, 0, result, 0, iv.length);
+        System.arraycopy(encrypted, 0, result, iv.length, encrypted.length);
+        return Base64.getEncoder().encodeToString(result);
+    }
+
+    private String decrypt(String tokenId, String value) throws GeneralSecurityException {
+        byte[] data = Base64.getDecoder().decode(value);
+        if (data.length <= GCM_IV_LENGTH) {
+            throw new GeneralSecurityException("Invalid encrypted token.");
+        }
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, tokenKey, new GCMParameterSpec(GCM_TAG_BITS, data, 0, GCM_IV_LENGTH));
+        cipher.updateAAD(tokenId.getBytes(StandardCharsets.UTF_8));
+        byte[] decrypted = cipher.doFinal(data, GCM_IV_LENGTH, data.length - GCM_IV_LENGTH);
+        return new String(decrypted, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 잠금 파일 닫기 (디렉토리를 연 마지막 저장소이면 프로세스 내부 잠금도 제거)
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        PROCESS_LOCKS.computeIfPresent(directory, (path, lock) -> --lock.references > 0 ? lock : null);
+        try {
+            lockChannel.close();
+        } catch (IOException e) {
+            // 종료 중 오류는 무시
+        }
+    }
+}
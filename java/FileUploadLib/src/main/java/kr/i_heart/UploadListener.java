@@ -0,0 +1,145 @@
+package kr.i_heart;
+
+import java.io.File;
+import java.util.List;
+import kr.i_heart.http.HttpExchangeListener;
+import kr.i_heart.http.HttpExchangeMetrics;
+
+/**
+ * 인증/업로드 요청 결과와 단계별 소요 시간을 통보받는 리스너
+ * FileUploadClient.Builder.setUploadListener로 등록하며, 요청을 실행한 스레드에서 동기적으로 호출되므로
+ * 구현은 빠르게 반환해야 하고 예외를 던지지 않아야 합니다.
+ * 등록하지 않으면 단계별 시간 측정을 하지 않으며, 집계가 필요하면 UploadMetrics를 사용할 수 있습니다.
+ *
+ * HttpExchangeListener를 확장하므로 인증/업로드 요청마다 연결 수립, TLS 핸드셰이크, 요청 전송,
+ * 첫 바이트 대기, 응답 읽기 시간과 송수신 바이트도 onExchange로 전달받습니다.
+ */
+public interface UploadListener extends HttpExchangeListener {
+
+    /**
+     * 아무 동작도 하지 않는 리스너 (등록하지 않은 경우 사용)
+     */
+    UploadListener NOOP = new UploadListener() {
+    };
+
+    /**
+     * 토큰 조회 완료 시 호출
+     * @param clientId 클라이언트 ID
+     * @param cacheHit 저장된 토큰을 바로 사용했으면 true, 인증(또는 다른 요청의 인증 대기)이 필요했으면 false
+     * @param elapsedNanos 토큰을 얻기까지 걸린 시간 (ns)
+     */
+    default void onTokenLookup(String clientId, boolean cacheHit, long elapsedNanos) {
+    }
+
+    /**
+     * 인증 요청 완료 시 호출
+     * @param domain API 도메인 URL
+     * @param clientId 클라이언트 ID
+     * @param elapsedNanos 요청 소요 시간 (ns)
+     * @param resultCode API 응답 코드 (HTTP 오류는 "HTTP 429" 형식, 응답을 받지 못한 경우 예외 클래스 이름)
+     * @param error 실패한 경우 예외 (성공 시 null)
+     */
+    default void onAuth(String domain, String clientId, long elapsedNanos, String resultCode, Exception error) {
+    }
+
+    /**
+     * 업로드 요청 완료 시 호출 (토큰 재발급 후 재시도한 경우 요청마다 호출)
+     * @param domain API 도메인 URL
+     * @param file 업로드한 파일
+     * @param elapsedNanos 요청 소요 시간 (ns)
+     * @param resultCode API 응답 코드 (HTTP 오류는 "HTTP 429" 형식, 응답을 받지 못한 경우 예외 클래스 이름)
+     * @param error 실패한 경우 예외 (성공 시 null)
+     */
+    default void onUpload(String domain, File file, long elapsedNanos, String resultCode, Exception error) {
+    }
+
+    /**
+     * 여러 파일을 담은 업로드 요청 완료 시 호출 (handleFileGroupUpload, 토큰 재발급 후 재시도한 경우 요청마다 호출)
+     * @param domain API 도메인 URL
+     * @param files 요청에 담은 파일 (요청 순서)
+     * @param elapsedNanos 요청 소요 시간 (ns)
+     * @param resultCode API 응답 코드 (HTTP 오류는 "HTTP 429" 형식, 응답을 받지 못한 경우 예외 클래스 이름)
+     * @param error 실패한 경우 예외 (성공 시 null)
+     */
+    default void onGroupUpload(String domain, List<File> files, long elapsedNanos, String resultCode, Exception error) {
+    }
+
+    /**
+     * 토큰 유효성 검사 실패로 재인증 후 업로드를 재시도할 때 호출
+     * @param domain API 도메인 URL
+     * @param file 재시도할 파일 (여러 파일을 담은 요청이면 첫 번째 파일)
+     * @param resultCode 재시도 원인이 된 API 응답 코드
+     */
+    default void onRetry(String domain, File file, String resultCode) {
+    }
+
+    /**
+     * 일시적 오류(연결 실패, 타임아웃, HTTP 5xx/429)로 재시도 정책에 따라 대기 후 요청을 다시 보낼 때 호출
+     * @param domain API 도메인 URL
+     * @param attempt 다시 보낼 요청의 시도 번호 (2부터 시작)
+     * @param delayMillis 재시도 전 대기 시간 (ms)
+     * @param resultCode 재시도 원인 결과 코드 (HTTP 오류는 "HTTP 503" 형식, 응답을 받지 못한 경우 예외 클래스 이름)
+     */
+    default void onBackoff(String domain, int attempt, long delayMillis, String resultCode) {
+    }
+
+    /**
+     * 도메인별 서킷 브레이커 상태 변경 시 호출
+     * @param domain API 도메인 URL
+     * @param state 변경된 상태
+     */
+    default void onCircuitBreakerStateChange(String domain, CircuitBreaker.State state) {
+    }
+
+    /**
+     * 업로드 응답이 늦어 헤지 정책에 따라 같은 요청을 다른 연결로 한 번 더 보낼 때 호출
+     * 먼저 성공한 요청 외의 요청은 취소되어 onUpload에 RequestAbortedException 결과 코드로 통보됩니다.
+     * @param domain API 도메인 URL
+     * @param file 업로드 파일
+     * @param delayMillis 첫 요청 후 헤지 요청까지 대기한 시간 (ms)
+     */
+    default void onHedge(String domain, File file, long delayMillis) {
+    }
+
+    /**
+     * 엔드포인트 그룹의 도메인에서 실패한 업로드를 다른 도메인으로 다시 보낼 때 호출
+     * @param domain 실패한 API 도메인 URL
+     * @param file 업로드 파일
+     * @param resultCode 실패 원인의 결과 코드 (인증 실패는 인증 요청의 결과 코드)
+     */
+    default void onFailover(String domain, File file, String resultCode) {
+    }
+
+    /**
+     * 엔드포인트 그룹의 도메인이 연속 실패로 비정상이 되거나, 상태 확인 또는 요청 성공으로 다시 정상이 될 때 호출
+     * @param domain API 도메인 URL
+     * @param healthy 변경된 정상 여부
+     */
+    default void onEndpointHealthChange(String domain, boolean healthy) {
+    }
+
+    /**
+     * 응답 JSON 역직렬화 완료 시 호출
+     * @param domain API 도메인 URL
+     * @param responseType 역직렬화한 응답 타입 (AuthResponse, FileUploadResponse)
+     * @param bytes 응답 본문 크기
+     * @param elapsedNanos 역직렬화 소요 시간 (ns)
+     */
+    default void onJsonParse(String domain, Class<?> responseType, int bytes, long elapsedNanos) {
+    }
+
+    /**
+     * 업로드 전 이미지 전처리 완료 시 호출 (ImagePreprocessor 설정 시, 원본을 그대로 사용한 경우 포함)
+     * @param result 전처리 결과 (원본/결과 크기, 대기/해시/디코딩/크기 조절/인코딩 단계별 시간)
+     */
+    default void onImagePreprocess(ImagePreprocessor.Result result) {
+    }
+
+    /**
+     * 인증/업로드 HTTP 교환 완료 시 호출 (HttpExchangeListener)
+     * @param metrics 단계별 소요 시간, 송수신 바이트, 상태 코드
+     */
+    @Override
+    default void onExchange(HttpExchangeMetrics metrics) {
+    }
+}
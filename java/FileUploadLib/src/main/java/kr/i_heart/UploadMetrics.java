@@ -0,0 +1,360 @@
+package kr.i_heart;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import kr.i_heart.http.HttpExchangeMetrics;
+
+/**
+ * 단계별 지연 시간 분포와 송수신 바이트, 재시도 횟수, API 응답 코드별 건수를 집계하는 리스너
+ * 모든 집계는 잠금 없이 기록되므로 여러 스레드의 요청을 하나의 인스턴스로 집계할 수 있습니다.
+ *
+ * 사용 예:
+ * UploadMetrics metrics = new UploadMetrics();
+ * FileUploadClient client = FileUploadClient.custom().setUploadListener(metrics).build();
+ * ...
+ * metrics.getTimeToFirstByte().getValueAtPercentile(0.99, TimeUnit.MILLISECONDS);
+ */
+public class UploadMetrics implements UploadListener {
+    private final LatencyHistogram tokenCacheHit = new LatencyHistogram();
+    private final LatencyHistogram tokenCacheMiss = new LatencyHistogram();
+    private final LatencyHistogram auth = new LatencyHistogram();
+    private final LatencyHistogram upload = new LatencyHistogram();
+    private final LatencyHistogram groupUpload = new LatencyHistogram();
+    private final LatencyHistogram connectionLease = new LatencyHistogram();
+    private final LatencyHistogram connect = new LatencyHistogram();
+    private final LatencyHistogram tlsHandshake = new LatencyHistogram();
+    private final LatencyHistogram requestWrite = new LatencyHistogram();
+    private final LatencyHistogram timeToFirstByte = new LatencyHistogram();
+    private final LatencyHistogram responseRead = new LatencyHistogram();
+    private final LatencyHistogram jsonParse = new LatencyHistogram();
+    private final LatencyHistogram imagePreprocess = new LatencyHistogram();
+    private final LatencyHistogram imageDecode = new LatencyHistogram();
+    private final LatencyHistogram imageResize = new LatencyHistogram();
+    private final LatencyHistogram imageEncode = new LatencyHistogram();
+
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LongAdder tokenRetries = new LongAdder();     // 토큰 유효성 검사 실패로 인한 재시도
+    private final LongAdder backoffRetries = new LongAdder();   // 일시적 오류로 인한 재시도 (재시도 정책)
+    private final LongAdder circuitOpens = new LongAdder();     // 서킷 브레이커가 열린 횟수
+    private final LongAdder hedges = new LongAdder();           // 응답이 늦어 보낸 헤지 요청
+    private final LongAdder failovers = new LongAdder();        // 다른 도메인으로 전환한 업로드
+    private final LongAdder imageBytesSaved = new LongAdder();  // 이미지 전처리로 줄인 바이트
+    private final LongAdder connectionRetries = new LongAdder(); // 끊어진 keep-alive 연결로 인한 재전송
+    private final LongAdder reusedConnections = new LongAdder();
+    private final LongAdder newConnections = new LongAdder();
+
+    private final Map<String, LongAdder> authResultCodes = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> uploadResultCodes = new ConcurrentHashMap<>();
+
+    @Override
+    public void onTokenLookup(String clientId, boolean cacheHit, long elapsedNanos) {
+        (cacheHit ? tokenCacheHit : tokenCacheMiss).record(elapsedNanos);
+    }
+
+    @Override
+    public void onAuth(String domain, String clientId, long elapsedNanos, String resultCode, Exception error) {
+        auth.record(elapsedNanos);
+        increment(authResultCodes, resultCode);
+    }
+
+    @Override
+    public void onUpload(String domain, File file, long elapsedNanos, String resultCode, Exception error) {
+        upload.record(elapsedNanos);
+        increment(uploadResultCodes, resultCode);
+    }
+
+    @Override
+    public void onGroupUpload(String domain, List<File> files, long elapsedNanos, String resultCode, Exception error) {
+        groupUpload.record(elapsedNanos);
+        increment(uploadResultCodes, resultCode);
+    }
+
+    @Override
+    public void onRetry(String domain, File file, String resultCode) {
+        tokenRetries.increment();
+    }
+
+    @Override
+    public void onBackoff(String domain, int attempt, long delayMillis, String resultCode) {
+        backoffRetries.increment();
+    }
+
+    @Override
+    public void onCircuitBreakerStateChange(String domain, CircuitBreaker.State state) {
+        if (state == CircuitBreaker.State.OPEN) {
+            circuitOpens.increment();
+        }
+    }
+
+    @Override
+    public void onHedge(String domain, File file, long delayMillis) {
+        hedges.increment();
+    }
+
+    @Override
+    public void onFailover(String domain, File file, String resultCode) {
+        failovers.increment();
+    }
+
+    @Override
+    public void onJsonParse(String domain, Class<?> responseType, int bytes, long elapsedNanos) {
+        jsonParse.record(elapsedNanos);
+    }
+
+    @Override
+    public void onImagePreprocess(ImagePreprocessor.Result result) {
+        imagePreprocess.record(result.getQueueNanos() + result.getTotalNanos());
+        if (result.isModified() && !result.isCacheHit()) {
+            imageDecode.record(result.getDecodeNanos());
+            imageResize.record(result.getResizeNanos());
+            imageEncode.record(result.getEncodeNanos());
+        }
+        imageBytesSaved.add(result.getOriginalBytes() - result.getProcessedBytes());
+    }
+
+    @Override
+    public void onExchange(HttpExchangeMetrics metrics) {
+        recordIfMeasured(connectionLease, metrics.getLeaseNanos());
+        recordIfMeasured(connect, metrics.getConnectNanos());
+        recordIfMeasured(tlsHandshake, metrics.getTlsHandshakeNanos());
+        recordIfMeasured(requestWrite, metrics.getRequestWriteNanos());
+        recordIfMeasured(timeToFirstByte, metrics.getTimeToFirstByteNanos());
+        recordIfMeasured(responseRead, metrics.getResponseReadNanos());
+        bytesSent.add(metrics.getBytesSent());
+        bytesReceived.add(metrics.getBytesReceived());
+        if (metrics.getAttempts() > 1) {
+            connectionRetries.add(metrics.getAttempts() - 1);
+        }
+        if (metrics.getConnectNanos() >= 0) {
+            newConnections.increment();
+        } else if (metrics.isConnectionReused()) {
+            reusedConnections.increment();
+        }
+    }
+
+    private static void recordIfMeasured(LatencyHistogram histogram, long nanos) {
+        if (nanos >= 0) {
+            histogram.record(nanos);
+        }
+    }
+
+    private static void increment(Map<String, LongAdder> counts, String code) {
+        counts.computeIfAbsent(code != null ? code : "null", key -> new LongAdder()).increment();
+    }
+
+    private static Map<String, Long> snapshot(Map<String, LongAdder> counts) {
+        Map<String, Long> snapshot = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : counts.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().sum());
+        }
+        return snapshot;
+    }
+
+    /**
+     * 저장된 토큰을 바로 사용한 경우의 토큰 조회 시간
+     */
+    public LatencyHistogram getTokenCacheHit() {
+        return tokenCacheHit;
+    }
+
+    /**
+     * 인증(또는 다른 요청의 인증 대기)이 필요했던 경우의 토큰 조회 시간
+     */
+    public LatencyHistogram getTokenCacheMiss() {
+        return tokenCacheMiss;
+    }
+
+    /**
+     * 인증 요청 시간 (응답 역직렬화 포함)
+     */
+    public LatencyHistogram getAuth() {
+        return auth;
+    }
+
+    /**
+     * 업로드 요청 시간 (응답 역직렬화 포함, 재시도는 요청마다 기록)
+     */
+    public LatencyHistogram getUpload() {
+        return upload;
+    }
+
+    /**
+     * 여러 파일을 담은 업로드 요청 시간 (응답 역직렬화 포함, 재시도는 요청마다 기록)
+     */
+    public LatencyHistogram getGroupUpload() {
+        return groupUpload;
+    }
+
+    /**
+     * 연결을 얻기까지의 시간 (풀 대기, 연결 수립, TLS 포함, HTTP/1.1만 해당)
+     */
+    public LatencyHistogram getConnectionLease() {
+        return connectionLease;
+    }
+
+    /**
+     * 새 연결의 TCP 연결 수립 시간
+     */
+    public LatencyHistogram getConnect() {
+        return connect;
+    }
+
+    /**
+     * 새 연결의 TLS 핸드셰이크 시간
+     */
+    public LatencyHistogram getTlsHandshake() {
+        return tlsHandshake;
+    }
+
+    /**
+     * 요청 헤더와 본문 전송 시간
+     */
+    public LatencyHistogram getRequestWrite() {
+        return requestWrite;
+    }
+
+    /**
+     * 요청 전송 완료부터 응답 헤더 수신까지의 시간
+     */
+    public LatencyHistogram getTimeToFirstByte() {
+        return timeToFirstByte;
+    }
+
+    /**
+     * 응답 본문 읽기 시간
+     */
+    public LatencyHistogram getResponseRead() {
+        return responseRead;
+    }
+
+    /**
+     * 응답 JSON 역직렬화 시간
+     */
+    public LatencyHistogram getJsonParse() {
+        return jsonParse;
+    }
+
+    /**
+     * 이미지 전처리 시간 (작업 스레드 대기 포함, 원본을 그대로 사용한 경우 포함)
+     */
+    public LatencyHistogram getImagePreprocess() {
+        return imagePreprocess;
+    }
+
+    /**
+     * 이미지 디코딩 시간 (캐시 적중 제외, 실제로 줄이거나 다시 압축한 이미지만)
+     */
+    public LatencyHistogram getImageDecode() {
+        return imageDecode;
+    }
+
+    /**
+     * 이미지 크기 조절 시간 (캐시 적중 제외, 실제로 줄이거나 다시 압축한 이미지만)
+     */
+    public LatencyHistogram getImageResize() {
+        return imageResize;
+    }
+
+    /**
+     * 이미지 인코딩 시간 (캐시 적중 제외, 실제로 줄이거나 다시 압축한 이미지만)
+     */
+    public LatencyHistogram getImageEncode() {
+        return imageEncode;
+    }
+
+    /**
+     * 전송한 바이트 합계
+     */
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    /**
+     * 수신한 바이트 합계
+     */
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    /**
+     * 토큰 유효성 검사 실패로 재인증 후 업로드를 재시도한 횟수
+     */
+    public long getTokenRetryCount() {
+        return tokenRetries.sum();
+    }
+
+    /**
+     * 일시적 오류(연결 실패, 타임아웃, HTTP 5xx/429)로 재시도 정책에 따라 요청을 다시 보낸 횟수
+     */
+    public long getBackoffRetryCount() {
+        return backoffRetries.sum();
+    }
+
+    /**
+     * 서킷 브레이커가 열린 횟수 (모든 도메인 합계)
+     */
+    public long getCircuitOpenCount() {
+        return circuitOpens.sum();
+    }
+
+    /**
+     * 응답이 늦어 헤지 정책에 따라 보낸 헤지 요청 수
+     */
+    public long getHedgeCount() {
+        return hedges.sum();
+    }
+
+    /**
+     * 엔드포인트 그룹의 도메인에서 실패하여 다른 도메인으로 다시 보낸 횟수
+     */
+    public long getFailoverCount() {
+        return failovers.sum();
+    }
+
+    /**
+     * 이미지 전처리로 줄인 바이트 합계
+     */
+    public long getImageBytesSaved() {
+        return imageBytesSaved.sum();
+    }
+
+    /**
+     * 재사용한 연결이 끊어져 새 연결로 요청을 다시 보낸 횟수
+     */
+    public long getConnectionRetryCount() {
+        return connectionRetries.sum();
+    }
+
+    /**
+     * 새로 연결한 횟수
+     */
+    public long getNewConnectionCount() {
+        return newConnections.sum();
+    }
+
+    /**
+     * keep-alive 연결을 재사용한 횟수
+     */
+    public long getReusedConnectionCount() {
+        return reusedConnections.sum();
+    }
+
+    /**
+     * 인증 응답 코드별 건수 (성공 코드 포함, 코드 순 정렬)
+     */
+    public Map<String, Long> getAuthResultCodes() {
+        return snapshot(authResultCodes);
+    }
+
+    /**
+     * 업로드 응답 코드별 건수 (성공 코드 포함, 코드 순 정렬)
+     */
+    public Map<String, Long> getUploadResultCodes() {
+        return snapshot(uploadResultCodes);
+    }
+}
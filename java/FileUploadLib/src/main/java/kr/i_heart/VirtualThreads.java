@@ -0,0 +1,94 @@
+package kr.i_heart;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 가상 스레드(Java 21+) 실행기 생성 유틸리티
+ * 라이브러리는 Java 8 기준으로 빌드되므로 Thread.ofVirtual 등의 API는 리플렉션으로 호출하며,
+ * Java 21 미만에서는 isAvailable()이 false를 반환합니다.
+ *
+ * 업로드 요청은 대부분의 시간을 소켓 I/O 대기로 보내므로, 가상 스레드에서 실행하면
+ * 적은 수의 캐리어 스레드로 수천 건의 업로드를 동시에 처리할 수 있습니다.
+ * 전송 계층은 소켓 I/O를 synchronized 블록 안에서 수행하지 않아 캐리어 스레드를 점유하지 않습니다.
+ */
+public final class VirtualThreads {
+    private static final VirtualThreadApi API = VirtualThreadApi.load();
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * 가상 스레드 사용 가능 여부 (Java 21 이상)
+     */
+    public static boolean isAvailable() {
+        return API != null;
+    }
+
+    /**
+     * 작업마다 새 가상 스레드를 생성하는 실행기
+     * handleFileUploadAsync의 executor로 전달하거나, 블로킹 handleFileUpload 호출을 제출하는 데 사용합니다.
+     * @param namePrefix 스레드 이름 접두사 (뒤에 0부터 증가하는 번호가 붙음)
+     * @throws UnsupportedOperationException Java 21 미만인 경우
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        ThreadFactory factory = newThreadFactory(namePrefix);
+        try {
+            return (ExecutorService) API.newThreadPerTaskExecutor.invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create virtual thread executor: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 가상 스레드 팩토리
+     * @param namePrefix 스레드 이름 접두사 (뒤에 0부터 증가하는 번호가 붙음)
+     * @throws UnsupportedOperationException Java 21 미만인 경우
+     */
+    public static ThreadFactory newThreadFactory(String namePrefix) {
+        if (API == null) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or later.");
+        }
+        try {
+            Object builder = API.ofVirtual.invoke(null);
+            builder = API.name.invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) API.factory.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create virtual thread factory: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 가상 스레드 생성에 필요한 메서드 (Java 21 미만이면 load()가 null 반환)
+     */
+    private static final class VirtualThreadApi {
+        private final Method ofVirtual;
+        private final Method name;
+        private final Method factory;
+        private final Method newThreadPerTaskExecutor;
+
+        private VirtualThreadApi(Method ofVirtual, Method name, Method factory, Method newThreadPerTaskExecutor) {
+            this.ofVirtual = ofVirtual;
+            this.name = name;
+            this.factory = factory;
+            this.newThreadPerTaskExecutor = newThreadPerTaskExecutor;
+        }
+
+        static VirtualThreadApi load() {
+            try {
+                // 구현 클래스는 공개되지 않으므로 공개 인터페이스의 메서드를 사용
+                Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+                Method ofVirtual = Thread.class.getMethod("ofVirtual");
+                ofVirtual.invoke(null); // Java 19/20은 --enable-preview 없이 호출하면 실패
+                return new VirtualThreadApi(ofVirtual,
+                    Class.forName("java.lang.Thread$Builder$OfVirtual").getMethod("name", String.class, long.class),
+                    builderType.getMethod("factory"),
+                    Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class));
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return null;
+            }
+        }
+    }
+}
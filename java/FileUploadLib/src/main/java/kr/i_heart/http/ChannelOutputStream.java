@@ -0,0 +1,80 @@
+package kr.i_heart.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * 소켓 채널을 함께 노출하는 버퍼 출력 스트림
+ * 평문(HTTP) 연결에서는 FileBody가 버퍼를 비운 뒤 FileChannel.transferTo로
+ * 파일 내용을 소켓에 직접 전송할 수 있습니다. (TLS 연결은 채널이 없음)
+ *
+ * 연결은 임대한 스레드 하나만 사용하므로 동기화하지 않습니다.
+ * BufferedOutputStream을 상속하면 synchronized 메서드 안에서 소켓에 쓰게 되어
+ * 가상 스레드(Java 21+)가 전송 중 캐리어 스레드를 점유(pinning)하므로 버퍼를 직접 관리합니다.
+ */
+final class ChannelOutputStream extends OutputStream {
+    private final OutputStream out;
+    private final WritableByteChannel channel;
+    private final byte[] buffer;
+    private int count;
+
+    ChannelOutputStream(OutputStream out, WritableByteChannel channel, int size) {
+        this.out = out;
+        this.channel = channel;
+        this.buffer = new byte[size];
+    }
+
+    /**
+     * zero-copy 전송에 사용할 소켓 채널 반환
+     * @return 소켓 채널 (TLS 연결인 경우 null)
+     */
+    WritableByteChannel getChannel() {
+        return channel;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count >= buffer.length) {
+            flushBuffer();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] data, int offset, int length) throws IOException {
+        if (length >= buffer.length) {
+            // 버퍼보다 큰 데이터는 복사하지 않고 바로 전송
+            flushBuffer();
+            out.write(data, offset, length);
+            return;
+        }
+        if (length > buffer.length - count) {
+            flushBuffer();
+        }
+        System.arraycopy(data, offset, buffer, count, length);
+        count += length;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package kr.i_heart.http;
+
+import java.net.SocketTimeoutException;
+
+/**
+ * 연결 수립 타임아웃 (요청을 보내기 전에 실패했으므로 안전하게 재시도할 수 있음)
+ * 읽기 타임아웃과 구분하기 위한 SocketTimeoutException 하위 클래스입니다.
+ */
+public class ConnectTimeoutException extends SocketTimeoutException {
+    private static final long serialVersionUID = 1L;
+
+    public ConnectTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -1,23 +1,20 @@
 package kr.i_heart.http;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * 커스텀 HttpClient 클래스
  * Apache HttpClient의 의존성 없이 비슷한 인터페이스를 제공
+ * 실제 전송은 HttpTransport가 담당하며, 기본값은 HttpConnectionPool로 keep-alive 연결을 재사용하는 HTTP/1.1입니다.
+ * 요청에 "Expect: 100-continue" 헤더를 설정하면 서버가 본문 전송을 허용한 후에 본문을 보냅니다.
  */
 public class CustomHttpClient implements AutoCloseable {
     private int connectTimeout = 5000; // 기본 연결 타임아웃 5초
     private int readTimeout = 8000;    // 기본 읽기 타임아웃 8초
+    private long maxResponseSize = HttpResponse.DEFAULT_MAX_CONTENT_LENGTH;
+    private HttpTransport transport;
+    private boolean ownsTransport;
+    private HttpExchangeListener exchangeListener; // 등록하지 않으면 null (측정하지 않음)
 
     /**
      * 타임아웃 설정을 위한 빌더 클래스
@@ -25,21 +22,81 @@ public class CustomHttpClient implements AutoCloseable {
     public static class Builder {
         private int connectTimeout = 5000;
         private int readTimeout = 8000;
+        private long maxResponseSize = HttpResponse.DEFAULT_MAX_CONTENT_LENGTH;
+        private HttpConnectionPool connectionPool;
+        private HttpTransport transport;
+        private HttpExchangeListener exchangeListener;
 
         public Builder setConnectTimeout(int timeout) {
             this.connectTimeout = timeout;
             return this;
         }
 
+        /**
+         * 읽기 타임아웃 (ms, 기본 8초)
+         * HTTP/1.1 전송 계층은 소켓 읽기마다 적용하므로 응답 헤더와 본문을 읽는 동안 데이터가 이 시간 동안 오지 않으면 실패합니다.
+         * HTTP/2 전송 계층은 요청 본문 전송을 포함해 응답 헤더를 받을 때까지의 전체 제한 시간으로 적용하며,
+         * 본문이 있는 요청은 본문 크기를 최소 전송 속도(64KB/s)로 보내는 시간을 더합니다. 응답 본문을 읽을 때는 적용하지 않습니다.
+         */
         public Builder setReadTimeout(int timeout) {
             this.readTimeout = timeout;
             return this;
         }
 
+        /**
+         * 응답 본문 전체를 읽을 때 허용하는 최대 길이 (바이트, 기본 1MB)
+         * Content-Length가 이보다 크거나 읽은 본문이 이를 넘으면 IOException이 발생합니다.
+         * 응답 엔티티의 openStream()으로 읽는 경우에는 적용하지 않습니다.
+         */
+        public Builder setMaxResponseSize(long maxResponseSize) {
+            if (maxResponseSize <= 0) {
+                throw new IllegalArgumentException("maxResponseSize must be positive.");
+            }
+            this.maxResponseSize = maxResponseSize;
+            return this;
+        }
+
+        /**
+         * 공유 커넥션 풀 설정 (HTTP/1.1 전송 계층 사용)
+         * 설정하지 않으면 클라이언트 전용 풀을 생성하며 close() 시 함께 종료됩니다.
+         */
+        public Builder setConnectionPool(HttpConnectionPool connectionPool) {
+            this.connectionPool = connectionPool;
+            return this;
+        }
+
+        /**
+         * 공유 전송 계층 설정 (예: HttpTransport.http2)
+         * 설정하면 커넥션 풀 설정은 무시되며, 전송 계층은 close() 시 함께 종료되지 않습니다.
+         */
+        public Builder setTransport(HttpTransport transport) {
+            this.transport = transport;
+            return this;
+        }
+
+        /**
+         * 요청별 단계 소요 시간(연결, TLS, 전송, 첫 바이트, 본문 읽기)과 송수신 바이트를 통보받을 리스너
+         * 설정하지 않으면 측정하지 않습니다.
+         */
+        public Builder setExchangeListener(HttpExchangeListener exchangeListener) {
+            this.exchangeListener = exchangeListener;
+            return this;
+        }
+
         public CustomHttpClient build() {
             CustomHttpClient client = new CustomHttpClient();
             client.connectTimeout = this.connectTimeout;
             client.readTimeout = this.readTimeout;
+            client.maxResponseSize = this.maxResponseSize;
+            client.exchangeListener = this.exchangeListener;
+            if (this.transport != null) {
+                client.transport = this.transport;
+            } else if (this.connectionPool != null) {
+                client.transport = new Http11Transport(this.connectionPool, false);
+            } else {
+                client.transport = new Http11Transport(HttpConnectionPool.custom().build(), true);
+                client.ownsTransport = true;
+            }
             return client;
         }
     }
@@ -53,79 +110,29 @@ public class CustomHttpClient implements AutoCloseable {
 
     /**
      * HTTP 요청 실행 메서드
+     * 응답 본문은 연결에서 바로 읽으므로, 본문을 끝까지 읽거나 응답을 close()해야 연결이 반환됩니다.
      * @param request 실행할 HTTP 요청
      * @return HTTP 응답 객체
      * @throws IOException 요청 처리 중 발생할 수 있는 입출력 예외
      */
     public HttpResponse execute(HttpRequest request) throws IOException {
-        URL url = new URL(request.getUrl());
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-
-        // 타임아웃 설정
-        connection.setConnectTimeout(this.connectTimeout);
-        connection.setReadTimeout(this.readTimeout);
-
-        // 요청 메서드 설정
-        connection.setRequestMethod(request.getMethod());
-
-        // 헤더 설정
-        for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
-            connection.setRequestProperty(header.getKey(), header.getValue());
-        }
-
-        // 요청 바디가 있는 경우
-        if (request.getEntity() != null) {
-            connection.setDoOutput(true);
-            try (OutputStream os = connection.getOutputStream()) {
-                os.write(request.getEntity().getContent());
-            }
-        }
-
-        // 응답 상태 코드와 본문 읽기
-        int statusCode = connection.getResponseCode();
-        String responseBody;
-
-        try (InputStream in = statusCode >= 200 && statusCode < 300
-                ? connection.getInputStream() : connection.getErrorStream()) {
-            responseBody = readInputStream(in);
-        }
-
-        // 헤더 정보 수집
-        Map<String, String> responseHeaders = new HashMap<>();
-        for (String key : connection.getHeaderFields().keySet()) {
-            if (key != null) { // getHeaderFields()는 null 키를 포함할 수 있음
-                responseHeaders.put(key, connection.getHeaderField(key));
-            }
-        }
-
-        // 연결 종료
-        connection.disconnect();
-
-        // HTTP 응답 객체 생성 및 반환
-        return new HttpResponse(statusCode, responseBody, responseHeaders);
+        // JFR 요청 실행 이벤트를 기록 중이면 교환이 끝나는 시점(응답 본문 완료)에 커밋
+        TraceEvent event = TraceEvent.beginExchange(request);
+        HttpExchangeListener listener = event != null
+            ? event.committingListener(this.exchangeListener) : this.exchangeListener;
+        HttpResponse response = transport.execute(request, this.connectTimeout, this.readTimeout, listener);
+        response.setMaxContentLength(this.maxResponseSize);
+        return response;
     }
 
     /**
-     * InputStream에서 문자열을 읽는 유틸리티 메서드
+     * 클라이언트 종료 메서드
+     * 클라이언트 전용 전송 계층(전용 풀)인 경우에만 함께 종료합니다.
      */
-    private String readInputStream(InputStream inputStream) throws IOException {
-        if (inputStream == null) {
-            return "";
-        }
-
-        StringBuilder content = new StringBuilder();
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                content.append(line);
-            }
-        }
-        return content.toString();
-    }
-
     @Override
     public void close() {
-        // 리소스 정리가 필요한 경우 여기에 구현
+        if (ownsTransport) {
+            transport.close();
+        }
     }
 }
-
@@ -1,14 +1,22 @@
 package kr.i_heart.http;
 
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * 파일 본문을 나타내는 클래스
  */
 public class FileBody {
+    private static final int CHUNK_SIZE = 8192;
+
     private final File file;
     private final ContentType contentType;
     private final String filename;
@@ -27,6 +35,7 @@ public class FileBody {
 
     /**
      * 파일 내용을 바이트 배열로 반환
+     * 파일 전체를 힙에 적재하므로 전송 시에는 writeTo 사용을 권장합니다.
      * @return 파일 내용
      * @throws IOException 입출력 예외
      */
@@ -34,7 +43,7 @@ public class FileBody {
         try (FileInputStream fis = new FileInputStream(file);
              ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
 
-            byte[] buffer = new byte[8192];
+            byte[] buffer = new byte[CHUNK_SIZE];
             int bytesRead;
 
             while ((bytesRead = fis.read(buffer)) != -1) {
@@ -45,6 +54,113 @@ public class FileBody {
         }
     }
 
+    /**
+     * 파일 크기 반환
+     * @return 파일 바이트 길이
+     */
+    public long getContentLength() {
+        return file.length();
+    }
+
+    /**
+     * 파일 내용을 출력 스트림에 기록
+     * 평문 소켓으로 전송하는 경우 FileChannel.transferTo로 힙을 거치지 않고 전송하며(zero-copy),
+     * 그 외(TLS 연결, 일반 스트림)에는 고정 크기 청크 단위로 복사합니다.
+     * 어느 경우든 업로드당 사용하는 메모리는 파일 크기와 관계없이 일정합니다.
+     * @param outputStream 대상 출력 스트림
+     * @param length 기록할 바이트 길이 (Content-Length 계산 시점의 파일 크기)
+     * @throws IOException 입출력 예외 또는 전송 중 파일 크기가 줄어든 경우
+     */
+    public void writeTo(OutputStream outputStream, long length) throws IOException {
+        if (outputStream instanceof ChannelOutputStream) {
+            WritableByteChannel channel = ((ChannelOutputStream) outputStream).getChannel();
+            if (channel != null) {
+                // 앞서 버퍼에 기록된 파트 헤더를 먼저 내보낸 뒤 파일 내용을 소켓으로 직접 전송
+                outputStream.flush();
+                transferTo(channel, length);
+                return;
+            }
+        }
+
+        try (FileInputStream fis = new FileInputStream(file)) {
+            byte[] buffer = new byte[CHUNK_SIZE];
+            long remaining = length;
+            while (remaining > 0) {
+                int bytesRead = fis.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (bytesRead == -1) {
+                    throw new EOFException("File was truncated while uploading: " + file.getPath());
+                }
+                outputStream.write(buffer, 0, bytesRead);
+                remaining -= bytesRead;
+            }
+        }
+    }
+
+    /**
+     * FileChannel.transferTo를 사용한 zero-copy 전송 (Linux의 경우 sendfile)
+     * @param target 대상 채널
+     * @param length 전송할 바이트 길이
+     * @throws IOException 입출력 예외 또는 전송 중 파일 크기가 줄어든 경우
+     */
+    public void transferTo(WritableByteChannel target, long length) throws IOException {
+        try (FileInputStream fis = new FileInputStream(file);
+             FileChannel fileChannel = fis.getChannel()) {
+            long position = 0;
+            while (position < length) {
+                long transferred = fileChannel.transferTo(position, length - position, target);
+                if (transferred <= 0 && position >= fileChannel.size()) {
+                    throw new EOFException("File was truncated while uploading: " + file.getPath());
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    /**
+     * 파일 앞부분 length 바이트를 읽는 입력 스트림 반환
+     * writeTo와 마찬가지로 전송 중 파일 크기가 줄어들면 EOFException을 던집니다.
+     * @param length 읽을 바이트 길이 (Content-Length 계산 시점의 파일 크기)
+     * @return 파일 내용 스트림
+     * @throws IOException 파일을 열 수 없는 경우
+     */
+    public InputStream openStream(long length) throws IOException {
+        return new FilterInputStream(new FileInputStream(file)) {
+            private long remaining = length;
+
+            @Override
+            public int read() throws IOException {
+                byte[] single = new byte[1];
+                return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int count) throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int read = super.read(buffer, offset, (int) Math.min(count, remaining));
+                if (read == -1) {
+                    throw new EOFException("File was truncated while uploading: " + file.getPath());
+                }
+                remaining -= read;
+                return read;
+            }
+
+            @Override
+            public int available() throws IOException {
+                return (int) Math.min(super.available(), remaining);
+            }
+        };
+    }
+
+    /**
+     * 업로드할 파일 반환
+     * @return 파일 객체
+     */
+    public File getFile() {
+        return file;
+    }
+
     /**
      * 파일의 콘텐츠 타입 반환
      * @return 콘텐츠 타입
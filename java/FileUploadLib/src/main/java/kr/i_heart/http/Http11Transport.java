@@ -0,0 +1,460 @@
+package kr.i_heart.http;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP/1.1 전송 계층
+ * HttpConnectionPool에서 빌린 keep-alive 연결로 요청을 보내고 응답 본문을 소켓에서 바로 읽습니다.
+ *
+ * 본문이 있는 요청에 "Expect: 100-continue" 헤더가 있으면 헤더만 먼저 보내고 서버의 100 Continue를 받은 후 본문을 보냅니다.
+ * 서버가 본문을 받기 전에 최종 응답(인증 실패 등)을 보내면 본문을 보내지 않고 그 응답을 반환하며, 이 연결은 재사용하지 않습니다.
+ * 1초 안에 응답이 없으면 본문을 보내며, 같은 서버(scheme://host:port)에서 3번 연속 응답이 없으면
+ * 부하로 느려진 것이 아니라 100 Continue를 보내지 않는 서버로 보고 1분 동안 기다리지 않고 바로 본문을 보냅니다.
+ * 417 Expectation Failed 응답을 받으면 Expect 헤더 없이 다시 보냅니다.
+ *
+ * 재사용한 연결이 서버 측에서 끊어져 본문을 다 보내기 전에 실패하면 새 연결로 한 번 더 보냅니다.
+ * 본문을 다 보낸 후의 실패와 타임아웃은 서버가 요청을 처리했을 수 있으므로 다시 보내지 않습니다.
+ */
+final class Http11Transport implements HttpTransport {
+    static final String USER_AGENT = "Java/" + System.getProperty("java.version");
+    private static final int CONTINUE_TIMEOUT = 1000;                                       // 100 Continue 대기 시간 (ms)
+    private static final int CONTINUE_TIMEOUT_LIMIT = 3;                                    // 이 횟수만큼 연속으로 대기 시간이 지나면 기다리지 않음
+    private static final long CONTINUE_RETRY_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);  // 100 Continue를 보내지 않는 서버 재확인 간격
+
+    private final HttpConnectionPool connectionPool;
+    private final boolean ownsConnectionPool;
+    private final Map<String, Long> continueUnsupported = new ConcurrentHashMap<>(); // 라우트 키 -> 다시 기다려 볼 시각 (nanoTime)
+    private final Map<String, AtomicInteger> continueTimeouts = new ConcurrentHashMap<>(); // 라우트 키 -> 연속 대기 시간 초과 횟수
+
+    /**
+     * 생성자
+     * @param connectionPool 연결을 빌려올 커넥션 풀
+     * @param ownsConnectionPool close() 시 풀을 함께 종료할지 여부
+     */
+    Http11Transport(HttpConnectionPool connectionPool, boolean ownsConnectionPool) {
+        this.connectionPool = connectionPool;
+        this.ownsConnectionPool = ownsConnectionPool;
+    }
+
+    /**
+     * HTTP 요청 실행
+     * 응답 본문은 소켓에서 바로 읽으므로, 본문을 끝까지 읽거나 응답을 close()해야 연결이 풀에 반환됩니다.
+     * 리스너가 있으면 연결 임대, 연결 수립, TLS 핸드셰이크, 요청 전송, 응답 헤더 대기, 본문 읽기 시간을 측정합니다.
+     * 실행 중 request.abort()가 호출되면 연결을 닫고 RequestAbortedException을 던집니다.
+     * 100 Continue 대기 시간은 요청 전송 시간에 포함됩니다.
+     */
+    @Override
+    public HttpResponse execute(HttpRequest request, int connectTimeout, int readTimeout,
+                                HttpExchangeListener listener) throws IOException {
+        URL url = new URL(request.getUrl());
+        HttpEntity entity = request.getEntity();
+        HttpExchangeMetrics metrics = HttpExchangeMetrics.start(listener, request);
+        boolean expectContinue = entity != null && expectsContinue(request);
+
+        while (true) {
+            PooledConnection connection;
+            try {
+                if (request.isAborted()) {
+                    throw new RequestAbortedException("Request aborted.");
+                }
+                long leaseStartedAt = metrics != null ? System.nanoTime() : 0;
+                connection = connectionPool.lease(url, connectTimeout, readTimeout);
+                connection.bind(request);
+                request.setAbortHandler(() -> connection.abort(request));
+                if (metrics != null) {
+                    metrics.attempts++;
+                    metrics.leaseNanos = System.nanoTime() - leaseStartedAt;
+                    metrics.connectionReused = connection.isReused();
+                    metrics.connectNanos = connection.isReused() ? -1 : connection.getConnectNanos();
+                    metrics.tlsHandshakeNanos = connection.isReused() ? -1 : connection.getHandshakeNanos();
+                }
+            } catch (IOException | RuntimeException e) {
+                if (metrics != null) {
+                    metrics.finish(e);
+                }
+                throw e;
+            }
+
+            boolean bodySent = false;        // 본문 전송 완료 여부 (이후에는 서버가 처리했을 수 있음)
+            boolean responseStarted = false;
+            try {
+                if (request.isAborted()) {
+                    throw new RequestAbortedException("Request aborted."); // 중단 처리 등록 전에 중단된 경우
+                }
+
+                // 요청 전송 (100 Continue를 기다리는 경우 본문 전송 전에 최종 응답을 받을 수 있음)
+                long writeStartedAt = metrics != null ? System.nanoTime() : 0;
+                OutputStream out = connection.getOutputStream();
+                InputStream in = connection.getInputStream();
+                ResponseHead head = null;
+                long bytesSent;
+                if (expectContinue && waitsForContinue(connection.getRouteKey())) {
+                    bytesSent = writeHead(out, url, request, entity, true);
+                    out.flush();
+                    head = awaitContinue(connection, in, readTimeout);
+                    if (head == null) {
+                        entity.writeTo(out);
+                        bodySent = true;
+                        out.flush();
+                        bytesSent += entity.getContentLength();
+                    }
+                } else {
+                    bytesSent = writeHead(out, url, request, entity, false);
+                    if (entity != null) {
+                        entity.writeTo(out);
+                        bodySent = true;
+                        bytesSent += entity.getContentLength();
+                    }
+                    out.flush();
+                }
+                long writtenAt = metrics != null ? System.nanoTime() : 0;
+
+                if (head != null && head.statusCode == 417) {
+                    // Expect 헤더를 지원하지 않는 서버: 이 연결은 닫고 Expect 헤더 없이 다시 전송
+                    continueUnsupported.put(connection.getRouteKey(), System.nanoTime() + CONTINUE_RETRY_INTERVAL_NANOS);
+                    connectionPool.release(connection, false);
+                    expectContinue = false;
+                    continue;
+                }
+
+                // 응답 상태 코드와 헤더 읽기
+                if (head == null) {
+                    head = readResponseHead(in, false);
+                }
+                responseStarted = true;
+                if (metrics != null) {
+                    metrics.requestWriteNanos = writtenAt - writeStartedAt;
+                    metrics.timeToFirstByteNanos = System.nanoTime() - writtenAt;
+                    metrics.bytesSent = bytesSent;
+                    metrics.bytesReceived = head.headBytes;
+                    metrics.statusCode = head.statusCode;
+                }
+
+                boolean reusable = head.isReusable();
+                if (reusable && head.keepAliveMillis > 0) {
+                    connection.setKeepAlive(head.keepAliveMillis);
+                }
+
+                // 본문은 호출자가 읽는 시점에 소켓에서 바로 읽음 (다 읽으면 연결 반환)
+                boolean noBody = head.statusCode == 204 || head.statusCode == 304;
+                ResponseBodyStream body = new ResponseBodyStream(in, !noBody && head.chunked,
+                    noBody ? 0 : head.contentLength, connection, connectionPool, reusable, metrics);
+                return new HttpResponse(head.statusCode, head.headerFields, body);
+            } catch (IOException | RuntimeException e) {
+                connectionPool.release(connection, false);
+                Exception error = e;
+                if (request.isAborted()) {
+                    error = aborted(e); // 연결을 닫아 발생한 소켓 오류 대신 중단 예외로 알림
+                } else if (isStaleConnectionFailure(e, connection, bodySent, responseStarted)) {
+                    // 재사용한 연결이 서버 측에서 이미 끊어진 경우 새 연결로 한 번 더 시도
+                    continue;
+                }
+                if (metrics != null) {
+                    metrics.finish(error);
+                }
+                if (error instanceof IOException) {
+                    throw (IOException) error;
+                }
+                throw (RuntimeException) error;
+            }
+        }
+    }
+
+    /**
+     * 재사용한 연결이 서버 측에서 이미 끊어져 요청이 처리되지 않은 것이 확실한 실패인지 확인
+     * 본문을 끝까지 보낸 후의 실패는 서버가 요청을 처리했을 수 있으므로 재시도 정책(RetryPolicy)에 맡기고,
+     * 타임아웃은 서버가 처리 중일 수 있으므로 다시 보내지 않습니다.
+     * @param e 요청 중 발생한 예외
+     * @param connection 사용한 연결
+     * @param bodySent 본문 전송 완료 여부
+     * @param responseStarted 응답 헤더 수신 여부
+     * @return 새 연결로 한 번 더 보내도 되면 true
+     */
+    private static boolean isStaleConnectionFailure(Exception e, PooledConnection connection,
+                                                    boolean bodySent, boolean responseStarted) {
+        return e instanceof IOException && !(e instanceof SocketTimeoutException)
+            && connection.isReused() && !bodySent && !responseStarted;
+    }
+
+    /**
+     * 중단된 요청의 오류를 RequestAbortedException으로 변환
+     */
+    private static RequestAbortedException aborted(Exception cause) {
+        if (cause instanceof RequestAbortedException) {
+            return (RequestAbortedException) cause;
+        }
+        RequestAbortedException aborted = new RequestAbortedException("Request aborted.");
+        aborted.initCause(cause);
+        return aborted;
+    }
+
+    /**
+     * 요청에 "Expect: 100-continue" 헤더가 있는지 확인
+     */
+    private static boolean expectsContinue(HttpRequest request) {
+        for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+            if ("Expect".equalsIgnoreCase(header.getKey())) {
+                return "100-continue".equalsIgnoreCase(header.getValue().trim());
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 라우트의 서버가 100 Continue를 보내는지 여부 (최근에 보내지 않았으면 재확인 시각 전까지 false)
+     */
+    private boolean waitsForContinue(String routeKey) {
+        Long retryAt = continueUnsupported.get(routeKey);
+        if (retryAt == null) {
+            return true;
+        }
+        if (System.nanoTime() - retryAt < 0) {
+            return false;
+        }
+        continueUnsupported.remove(routeKey, retryAt);
+        return true;
+    }
+
+    /**
+     * 헤더를 보낸 후 100 Continue 대기
+     * 대기 시간 안에 응답이 시작되지 않은 것이 연속 CONTINUE_TIMEOUT_LIMIT번이면 서버가 100 Continue를 보내지 않는 것으로 기록합니다.
+     * @return 본문을 받기 전에 서버가 보낸 최종 응답 (100 Continue를 받았거나 대기 시간이 지나면 null)
+     */
+    private ResponseHead awaitContinue(PooledConnection connection, InputStream in, int readTimeout)
+            throws IOException {
+        connection.setReadTimeout(readTimeout > 0 ? Math.min(CONTINUE_TIMEOUT, readTimeout) : CONTINUE_TIMEOUT);
+        try {
+            in.mark(1);
+            if (in.read() == -1) {
+                throw new EOFException("Connection closed before response was received.");
+            }
+            in.reset();
+        } catch (SocketTimeoutException e) {
+            String routeKey = connection.getRouteKey();
+            if (continueTimeouts.computeIfAbsent(routeKey, key -> new AtomicInteger()).incrementAndGet()
+                    >= CONTINUE_TIMEOUT_LIMIT) {
+                continueTimeouts.remove(routeKey);
+                continueUnsupported.put(routeKey, System.nanoTime() + CONTINUE_RETRY_INTERVAL_NANOS);
+            }
+            return null;
+        } finally {
+            connection.setReadTimeout(readTimeout);
+        }
+        continueTimeouts.remove(connection.getRouteKey()); // 응답이 오면 연속 횟수 초기화
+
+        ResponseHead head = readResponseHead(in, true);
+        if (head.statusCode == 100) {
+            return null;
+        }
+        head.connectionClose = true; // 보내지 않은 본문이 남아 있으므로 연결을 재사용하지 않음
+        return head;
+    }
+
+    /**
+     * HTTP/1.1 요청 라인과 헤더 전송 (flush하지 않음)
+     * 본문은 호출자가 Content-Length만큼 엔티티에서 소켓으로 바로 스트리밍합니다. (fixed-length streaming)
+     * @param expectContinue "Expect: 100-continue" 헤더 전송 여부 (요청의 Expect 헤더 대신 사용)
+     * @return 전송한 바이트 (요청 라인과 헤더)
+     */
+    private long writeHead(OutputStream out, URL url, HttpRequest request, HttpEntity entity,
+                           boolean expectContinue) throws IOException {
+        String path = url.getFile();
+        if (path == null || path.isEmpty()) {
+            path = "/";
+        }
+
+        StringBuilder head = new StringBuilder(256);
+        head.append(request.getMethod()).append(' ').append(path).append(" HTTP/1.1\r\n");
+        head.append("Host: ").append(url.getHost());
+        if (url.getPort() != -1 && url.getPort() != url.getDefaultPort()) {
+            head.append(':').append(url.getPort());
+        }
+        head.append("\r\n");
+
+        boolean hasUserAgent = false;
+        boolean hasAccept = false;
+        for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+            String name = header.getKey();
+            if ("Host".equalsIgnoreCase(name) || "Content-Length".equalsIgnoreCase(name)
+                    || "Connection".equalsIgnoreCase(name) || "Transfer-Encoding".equalsIgnoreCase(name)
+                    || "Expect".equalsIgnoreCase(name)) {
+                continue; // 프레이밍 관련 헤더는 클라이언트가 관리
+            }
+            hasUserAgent |= "User-Agent".equalsIgnoreCase(name);
+            hasAccept |= "Accept".equalsIgnoreCase(name);
+            head.append(name).append(": ").append(header.getValue()).append("\r\n");
+        }
+        if (!hasUserAgent) {
+            head.append("User-Agent: ").append(USER_AGENT).append("\r\n");
+        }
+        if (!hasAccept) {
+            head.append("Accept: */*\r\n");
+        }
+        if (entity != null) {
+            head.append("Content-Length: ").append(entity.getContentLength()).append("\r\n");
+        }
+        if (expectContinue) {
+            head.append("Expect: 100-continue\r\n");
+        }
+        head.append("Connection: keep-alive\r\n\r\n");
+
+        byte[] headBytes = head.toString().getBytes(StandardCharsets.UTF_8);
+        out.write(headBytes);
+        return headBytes.length;
+    }
+
+    /**
+     * 응답 상태 라인과 헤더 파싱 (1xx 중간 응답은 건너뜀)
+     * @param returnContinue 100 Continue를 건너뛰지 않고 반환할지 여부
+     */
+    private ResponseHead readResponseHead(InputStream in, boolean returnContinue) throws IOException {
+        long headBytes = 0;
+        while (true) {
+            String statusLine = readLine(in);
+            if (statusLine == null) {
+                throw new EOFException("Connection closed before response was received.");
+            }
+            headBytes += statusLine.length() + 2;
+            if (statusLine.isEmpty()) {
+                continue;
+            }
+
+            // 예: HTTP/1.1 200 OK
+            String[] tokens = statusLine.split(" ", 3);
+            if (tokens.length < 2 || !tokens[0].startsWith("HTTP/")) {
+                throw new IOException("Invalid HTTP status line: " + statusLine);
+            }
+            ResponseHead head = new ResponseHead();
+            head.http10 = "HTTP/1.0".equals(tokens[0]);
+            try {
+                head.statusCode = Integer.parseInt(tokens[1]);
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid HTTP status line: " + statusLine);
+            }
+
+            String line;
+            while ((line = readLine(in)) != null && !line.isEmpty()) {
+                headBytes += line.length() + 2;
+                int colon = line.indexOf(':');
+                if (colon <= 0) {
+                    continue;
+                }
+                head.addHeader(line.substring(0, colon).trim(), line.substring(colon + 1).trim());
+            }
+            if (line == null) {
+                throw new EOFException("Connection closed while reading response headers.");
+            }
+
+            if (head.statusCode >= 100 && head.statusCode < 200 && !(returnContinue && head.statusCode == 100)) {
+                continue; // 100 Continue 등 중간 응답
+            }
+            head.headBytes = headBytes + 2; // 헤더 끝의 빈 줄
+            return head;
+        }
+    }
+
+    /**
+     * CRLF(또는 LF)로 끝나는 한 줄 읽기
+     * @return 읽은 줄 (스트림 종료 시 null)
+     */
+    static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder(64);
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                int length = line.length();
+                if (length > 0 && line.charAt(length - 1) == '\r') {
+                    line.setLength(length - 1);
+                }
+                return line.toString();
+            }
+            if (line.length() >= 65536) {
+                throw new IOException("HTTP header line too long.");
+            }
+            line.append((char) b);
+        }
+        return line.length() == 0 ? null : line.toString();
+    }
+
+    /**
+     * 응답 상태 라인과 헤더 정보
+     */
+    private static class ResponseHead {
+        private int statusCode;
+        private boolean http10;
+        private boolean chunked;
+        private long contentLength = -1;
+        private long keepAliveMillis = -1;
+        private long headBytes;          // 상태 라인과 헤더 크기 (줄바꿈은 CRLF 기준)
+        private boolean connectionClose;
+        private boolean connectionKeepAlive;
+        private final List<String> headerFields = new ArrayList<>(); // 이름, 값 순서 (Map은 필요할 때 생성)
+
+        /**
+         * 헤더 추가 (프레이밍 관련 헤더만 해석)
+         */
+        void addHeader(String name, String value) {
+            headerFields.add(name);
+            headerFields.add(value);
+            if ("Content-Length".equalsIgnoreCase(name)) {
+                try {
+                    contentLength = Long.parseLong(value);
+                } catch (NumberFormatException e) {
+                    contentLength = -1;
+                }
+            } else if ("Transfer-Encoding".equalsIgnoreCase(name)) {
+                chunked = value.toLowerCase(Locale.ROOT).contains("chunked");
+            } else if ("Connection".equalsIgnoreCase(name)) {
+                String lowerValue = value.toLowerCase(Locale.ROOT);
+                connectionClose = lowerValue.contains("close");
+                connectionKeepAlive = lowerValue.contains("keep-alive");
+            } else if ("Keep-Alive".equalsIgnoreCase(name)) {
+                // 예: Keep-Alive: timeout=5, max=100
+                for (String param : value.toLowerCase(Locale.ROOT).split(",")) {
+                    String trimmed = param.trim();
+                    if (trimmed.startsWith("timeout=")) {
+                        try {
+                            keepAliveMillis = Long.parseLong(trimmed.substring(8).trim()) * 1000L;
+                        } catch (NumberFormatException e) {
+                            // 무시
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * 본문을 끝까지 읽은 뒤 연결 재사용 가능 여부
+         * 길이 정보 없이 연결 종료까지 읽는 응답은 ResponseBodyStream에서 재사용하지 않습니다.
+         */
+        boolean isReusable() {
+            if (connectionClose) {
+                return false;
+            }
+            return !http10 || connectionKeepAlive;
+        }
+    }
+
+    /**
+     * 전송 계층 종료 (전용 풀인 경우에만 풀을 함께 종료)
+     */
+    @Override
+    public void close() {
+        if (ownsConnectionPool) {
+            connectionPool.close();
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package kr.i_heart.http;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스레드 안전한 keep-alive 커넥션 풀
+ * 호스트(scheme://host:port)별로 동시 사용 연결 수를 제한하고,
+ * 유휴 연결 정리 및 재사용 전 stale 연결 검사를 수행합니다.
+ */
+public class HttpConnectionPool implements AutoCloseable {
+    private int maxConnectionsPerHost = 20;      // 호스트별 최대 동시 연결 수
+    private long idleTimeout = 30000;            // 유휴 연결 유지 시간 30초
+    private long validateAfterInactivity = 2000; // 2초 이상 유휴 상태였던 연결은 재사용 전 검사
+    private long leaseTimeout = 0;               // 연결 대기 타임아웃 (0: 무제한)
+
+    private final Map<String, HostPool> hostPools = new ConcurrentHashMap<>();
+    private volatile ScheduledExecutorService evictor;
+    private volatile boolean closed;
+
+    /**
+     * 풀 설정을 위한 빌더 클래스
+     */
+    public static class Builder {
+        private int maxConnectionsPerHost = 20;
+        private long idleTimeout = 30000;
+        private long validateAfterInactivity = 2000;
+        private long leaseTimeout = 0;
+
+        public Builder setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+            this.maxConnectionsPerHost = maxConnectionsPerHost;
+            return this;
+        }
+
+        public Builder setIdleTimeout(long idleTimeout) {
+            this.idleTimeout = idleTimeout;
+            return this;
+        }
+
+        public Builder setValidateAfterInactivity(long validateAfterInactivity) {
+            this.validateAfterInactivity = validateAfterInactivity;
+            return this;
+        }
+
+        public Builder setLeaseTimeout(long leaseTimeout) {
+            this.leaseTimeout = leaseTimeout;
+            return this;
+        }
+
+        public HttpConnectionPool build() {
+            if (maxConnectionsPerHost <= 0) {
+                throw new IllegalArgumentException("maxConnectionsPerHost must be positive.");
+            }
+            HttpConnectionPool pool = new HttpConnectionPool();
+            pool.maxConnectionsPerHost = this.maxConnectionsPerHost;
+            pool.idleTimeout = this.idleTimeout;
+            pool.validateAfterInactivity = this.validateAfterInactivity;
+            pool.leaseTimeout = this.leaseTimeout;
+            return pool;
+        }
+    }
+
+    /**
+     * 빌더 생성 메서드
+     */
+    public static Builder custom() {
+        return new Builder();
+    }
+
+    /**
+     * 호스트별 연결 목록
+     */
+    private static class HostPool {
+        private final Deque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+        private final Semaphore leases;
+
+        HostPool(int maxConnections) {
+            this.leases = new Semaphore(maxConnections, true);
+        }
+    }
+
+    /**
+     * 연결 임대 메서드
+     * 유휴 연결이 있으면 가장 최근에 반납된 연결을 재사용하고, 없으면 새로 연결합니다.
+     * @param url 요청 URL
+     * @param connectTimeout 연결 타임아웃 (ms)
+     * @param readTimeout 읽기 타임아웃 (ms)
+     * @return 임대된 연결
+     * @throws IOException 연결 실패 또는 대기 시간 초과
+     */
+    PooledConnection lease(URL url, int connectTimeout, int readTimeout) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Connection pool is closed.");
+        }
+
+        String protocol = url.getProtocol().toLowerCase();
+        boolean secure = "https".equals(protocol);
+        if (!secure && !"http".equals(protocol)) {
+            throw new IOException("Unsupported protocol: " + protocol);
+        }
+        String host = url.getHost();
+        int port = url.getPort() != -1 ? url.getPort() : url.getDefaultPort();
+        String routeKey = protocol + "://" + host + ":" + port;
+
+        HostPool hostPool = hostPools.computeIfAbsent(routeKey, k -> new HostPool(maxConnectionsPerHost));
+        acquirePermit(hostPool, routeKey);
+
+        try {
+            // 1. 재사용 가능한 유휴 연결 탐색 (LIFO)
+            long now = System.currentTimeMillis();
+            PooledConnection connection;
+            while ((connection = hostPool.idle.pollFirst()) != null) {
+                if (connection.isExpired(now, idleTimeout)) {
+                    connection.close();
+                    continue;
+                }
+                if (now - connection.getLastUsedAt() >= validateAfterInactivity && connection.isStale()) {
+                    connection.close();
+                    continue;
+                }
+                connection.markReused();
+                connection.setReadTimeout(readTimeout);
+                return connection;
+            }
+
+            // 2. 유휴 연결이 없으면 새로 연결
+            return PooledConnection.open(routeKey, secure, host, port, connectTimeout, readTimeout);
+        } catch (IOException | RuntimeException e) {
+            hostPool.leases.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 연결 반납 메서드
+     * @param connection 반납할 연결
+     * @param reusable keep-alive 재사용 가능 여부
+     */
+    void release(PooledConnection connection, boolean reusable) {
+        HostPool hostPool = hostPools.get(connection.getRouteKey());
+        try {
+            if (!connection.unbind() || !reusable || closed || hostPool == null
+                    || hostPool.idle.size() >= maxConnectionsPerHost) {
+                connection.close();
+                return;
+            }
+            connection.touch();
+            hostPool.idle.offerFirst(connection);
+            startEvictor();
+
+            // close()와 경합한 경우 남은 연결 정리
+            if (closed && hostPool.idle.remove(connection)) {
+                connection.close();
+            }
+        } finally {
+            if (hostPool != null) {
+                hostPool.leases.release();
+            }
+        }
+    }
+
+    private void acquirePermit(HostPool hostPool, String routeKey) throws IOException {
+        try {
+            if (leaseTimeout <= 0) {
+                hostPool.leases.acquire();
+            } else if (!hostPool.leases.tryAcquire(leaseTimeout, TimeUnit.MILLISECONDS)) {
+                throw new IOException("Timeout waiting for connection from pool: " + routeKey);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for connection: " + routeKey, e);
+        }
+    }
+
+    /**
+     * 유휴 연결 정리 스레드 시작 (최초 반납 시점에 한 번만 생성)
+     */
+    private void startEvictor() {
+        if (evictor != null) {
+            return;
+        }
+        synchronized (this) {
+            if (evictor != null || closed) {
+                return;
+            }
+            ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "nirs-http-pool-evictor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long period = Math.max(1000, idleTimeout / 2);
+            scheduler.scheduleWithFixedDelay(this::closeExpiredConnections, period, period, TimeUnit.MILLISECONDS);
+            evictor = scheduler;
+        }
+    }
+
+    /**
+     * 유휴 제한시간이 지난 연결 정리
+     */
+    public void closeExpiredConnections() {
+        long now = System.currentTimeMillis();
+        for (HostPool hostPool : hostPools.values()) {
+            Iterator<PooledConnection> iterator = hostPool.idle.iterator();
+            while (iterator.hasNext()) {
+                PooledConnection connection = iterator.next();
+                if (connection.isExpired(now, idleTimeout) && hostPool.idle.remove(connection)) {
+                    connection.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * 모든 유휴 연결 정리
+     */
+    public void closeIdleConnections() {
+        for (HostPool hostPool : hostPools.values()) {
+            PooledConnection connection;
+            while ((connection = hostPool.idle.pollFirst()) != null) {
+                connection.close();
+            }
+        }
+    }
+
+    /**
+     * 현재 유휴 상태인 연결 수 반환
+     * @return 유휴 연결 수
+     */
+    public int getIdleConnectionCount() {
+        int count = 0;
+        for (HostPool hostPool : hostPools.values()) {
+            count += hostPool.idle.size();
+        }
+        return count;
+    }
+
+    /**
+     * 풀 종료 메서드
+     * 유휴 연결은 즉시 종료하며, 사용 중인 연결은 반납 시점에 종료됩니다.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (this) {
+            if (evictor != null) {
+                evictor.shutdownNow();
+            }
+        }
+        closeIdleConnections();
+    }
+}
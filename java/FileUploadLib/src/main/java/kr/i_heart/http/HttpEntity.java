@@ -1,11 +1,17 @@
 package kr.i_heart.http;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
 /**
  * HTTP 엔티티(요청/응답 본문)를 나타내는 클래스
  */
 public interface HttpEntity {
     /**
      * 엔티티 내용을 바이트 배열로 반환
+     * 스트리밍 엔티티의 경우 전체 내용을 메모리에 적재하므로 전송 시에는 writeTo 사용을 권장합니다.
      * @return 엔티티 내용
      */
     byte[] getContent();
@@ -15,4 +21,31 @@ public interface HttpEntity {
      * @return 컨텐츠 타입
      */
     String getContentType();
+
+    /**
+     * 엔티티의 전체 바이트 길이 반환 (Content-Length 헤더 값)
+     * @return 엔티티 길이
+     */
+    default long getContentLength() {
+        return getContent().length;
+    }
+
+    /**
+     * 엔티티 내용을 출력 스트림에 기록
+     * @param outputStream 대상 출력 스트림
+     * @throws IOException 입출력 예외
+     */
+    default void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(getContent());
+    }
+
+    /**
+     * 엔티티 내용을 읽는 입력 스트림 반환
+     * 응답 엔티티의 경우 소켓에서 바로 읽으며 한 번만 열 수 있습니다.
+     * @return 엔티티 내용 스트림
+     * @throws IOException 입출력 예외
+     */
+    default InputStream openStream() throws IOException {
+        return new ByteArrayInputStream(getContent());
+    }
 }
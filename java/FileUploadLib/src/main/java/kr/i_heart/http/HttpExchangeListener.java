@@ -0,0 +1,17 @@
+package kr.i_heart.http;
+
+/**
+ * HTTP 요청/응답 교환 단위로 단계별 소요 시간과 송수신 바이트를 통보받는 리스너
+ * CustomHttpClient.Builder.setExchangeListener로 등록하며, 등록하지 않으면 측정 자체를 하지 않습니다.
+ * 응답 본문을 끝까지 읽거나 응답을 close()한 시점(실패 시 실패 시점)에 한 번 호출되며,
+ * 요청을 실행한 스레드에서 동기적으로 호출되므로 구현은 빠르게 반환해야 하고 예외를 던지지 않아야 합니다.
+ */
+public interface HttpExchangeListener {
+
+    /**
+     * 교환 완료 시 호출
+     * @param metrics 단계별 소요 시간, 송수신 바이트, 상태 코드 (호출 이후 재사용되지 않음)
+     */
+    default void onExchange(HttpExchangeMetrics metrics) {
+    }
+}
@@ -0,0 +1,188 @@
+package kr.i_heart.http;
+
+/**
+ * HTTP 요청/응답 교환 한 건의 측정 결과
+ * 시간은 모두 ns 단위이며, 전송 계층이 측정할 수 없는 단계(예: HTTP/2의 연결 수립, 재사용한 연결의 TLS)는 -1입니다.
+ */
+public final class HttpExchangeMetrics {
+    private final HttpExchangeListener listener;
+    private final String method;
+    private final String url;
+    private final long startedAt;
+
+    String protocol = "HTTP/1.1";
+    int attempts;
+    boolean connectionReused;
+    long leaseNanos = -1;
+    long connectNanos = -1;
+    long tlsHandshakeNanos = -1;
+    long requestWriteNanos = -1;
+    long timeToFirstByteNanos = -1;
+    long responseReadNanos = -1;
+    long totalNanos = -1;
+    long bytesSent;
+    long bytesReceived;
+    int statusCode = -1;
+    Exception error;
+
+    HttpExchangeMetrics(HttpExchangeListener listener, HttpRequest request) {
+        this.listener = listener;
+        this.method = request.getMethod();
+        this.url = request.getUrl();
+        this.startedAt = System.nanoTime();
+    }
+
+    /**
+     * 측정 시작 (리스너가 없으면 null을 반환하여 측정하지 않음)
+     */
+    static HttpExchangeMetrics start(HttpExchangeListener listener, HttpRequest request) {
+        return listener != null ? new HttpExchangeMetrics(listener, request) : null;
+    }
+
+    /**
+     * 교환 종료 처리 (전체 소요 시간 확정 후 리스너에 통보)
+     * @param error 실패 원인 (성공 시 null)
+     */
+    void finish(Exception error) {
+        this.totalNanos = System.nanoTime() - startedAt;
+        this.error = error;
+        listener.onExchange(this);
+    }
+
+    long elapsedSinceStart() {
+        return System.nanoTime() - startedAt;
+    }
+
+    /**
+     * HTTP 메서드
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * 요청 URL
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * 응답 프로토콜 (HTTP/1.1, HTTP/2)
+     */
+    public String getProtocol() {
+        return protocol;
+    }
+
+    /**
+     * 요청 전송 시도 횟수 (재사용한 연결이 끊어져 새 연결로 다시 보낸 경우 2 이상)
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * 풀에서 재사용한 keep-alive 연결인지 여부 (HTTP/2는 항상 false)
+     */
+    public boolean isConnectionReused() {
+        return connectionReused;
+    }
+
+    /**
+     * 연결을 얻기까지의 시간 (풀 대기, 연결 수립, TLS 핸드셰이크 포함, 측정하지 않으면 -1)
+     */
+    public long getLeaseNanos() {
+        return leaseNanos;
+    }
+
+    /**
+     * TCP 연결 수립 시간 (새로 연결한 경우에만, 아니면 -1)
+     */
+    public long getConnectNanos() {
+        return connectNanos;
+    }
+
+    /**
+     * TLS 핸드셰이크 시간 (HTTPS로 새로 연결한 경우에만, 아니면 -1)
+     */
+    public long getTlsHandshakeNanos() {
+        return tlsHandshakeNanos;
+    }
+
+    /**
+     * 요청 헤더와 본문 전송 시간 (측정하지 않으면 -1)
+     */
+    public long getRequestWriteNanos() {
+        return requestWriteNanos;
+    }
+
+    /**
+     * 요청 전송 완료부터 응답 헤더 수신까지의 시간 (서버 처리 시간 포함, 실패 시 -1)
+     * HTTP/2는 요청 본문 전송과 겹치므로 요청 시작부터 측정합니다.
+     */
+    public long getTimeToFirstByteNanos() {
+        return timeToFirstByteNanos;
+    }
+
+    /**
+     * 응답 헤더 수신 이후 본문을 끝까지 읽거나 닫을 때까지의 시간 (실패 시 -1)
+     */
+    public long getResponseReadNanos() {
+        return responseReadNanos;
+    }
+
+    /**
+     * 요청 시작부터 교환 종료까지의 전체 시간
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * 전송한 바이트 (HTTP/1.1은 요청 라인과 헤더 포함, HTTP/2는 본문만)
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * 수신한 바이트 (HTTP/1.1은 상태 라인과 헤더 포함, HTTP/2는 본문만)
+     */
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * HTTP 상태 코드 (응답을 받지 못한 경우 -1)
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * 실패 원인 (성공 시 null)
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "HttpExchangeMetrics{" +
+            method + " " + url +
+            ", protocol=" + protocol +
+            ", status=" + statusCode +
+            ", attempts=" + attempts +
+            ", reused=" + connectionReused +
+            ", connect=" + connectNanos +
+            ", tls=" + tlsHandshakeNanos +
+            ", write=" + requestWriteNanos +
+            ", ttfb=" + timeToFirstByteNanos +
+            ", read=" + responseReadNanos +
+            ", total=" + totalNanos +
+            ", sent=" + bytesSent +
+            ", received=" + bytesReceived +
+            (error != null ? ", error=" + error : "") +
+            '}';
+    }
+}
@@ -11,6 +11,8 @@ public class HttpRequest {
     private final String method;
     private final Map<String, String> headers;
     private HttpEntity entity;
+    private volatile boolean aborted;
+    private volatile Runnable abortHandler; // 실행 중인 전송 계층의 중단 처리 (실행 전이면 null)
 
     /**
      * HTTP POST 요청 구현
@@ -73,4 +75,31 @@ public class HttpRequest {
     public HttpEntity getEntity() {
         return entity;
     }
+
+    /**
+     * 요청 중단 (다른 스레드에서 호출 가능)
+     * 실행 중이면 연결을 닫아 요청 전송이나 응답 대기를 RequestAbortedException으로 끝내고,
+     * 아직 실행 전이면 실행 시 바로 RequestAbortedException을 던집니다. 중단한 요청은 다시 실행할 수 없습니다.
+     */
+    public void abort() {
+        aborted = true;
+        Runnable handler = abortHandler;
+        if (handler != null) {
+            handler.run();
+        }
+    }
+
+    /**
+     * 중단 여부
+     */
+    public boolean isAborted() {
+        return aborted;
+    }
+
+    /**
+     * 실행 중 중단 처리 등록 (전송 계층에서 호출하며, 등록 후 isAborted를 다시 확인해야 함)
+     */
+    void setAbortHandler(Runnable abortHandler) {
+        this.abortHandler = abortHandler;
+    }
 }
@@ -1,14 +1,32 @@
 package kr.i_heart.http;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * HTTP 응답을 나타내는 클래스
+ * CustomHttpClient가 반환한 응답의 본문은 소켓에서 바로 읽으며,
+ * 본문을 끝까지 읽거나 close()를 호출해야 연결이 풀에 반환됩니다.
  */
 public class HttpResponse implements AutoCloseable {
+    private static final String DEFAULT_CONTENT_TYPE = "application/json";
+    static final long DEFAULT_MAX_CONTENT_LENGTH = 1024 * 1024; // 본문 전체를 읽을 때 허용하는 기본 최대 길이 (1MB)
+
     private final int statusCode;
-    private final String body;
-    private final Map<String, String> headers;
+    private final List<String> headerFields;   // 이름, 값 순서로 저장한 원본 헤더
+    private Map<String, String> headers;       // getHeaders() 최초 호출 시 생성
+    private final ResponseBody bodyStream;
+    private byte[] content;
+    private boolean streamOpened;
+    private long maxContentLength = DEFAULT_MAX_CONTENT_LENGTH;
 
     /**
      * 생성자
@@ -18,8 +36,22 @@ public class HttpResponse implements AutoCloseable {
      */
     public HttpResponse(int statusCode, String body, Map<String, String> headers) {
         this.statusCode = statusCode;
-        this.body = body;
+        this.headerFields = null;
         this.headers = headers;
+        this.bodyStream = null;
+        this.content = body != null ? body.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    }
+
+    /**
+     * 전송 계층에서 읽는 응답 생성자
+     * @param statusCode HTTP 상태 코드
+     * @param headerFields 이름, 값 순서로 나열한 응답 헤더
+     * @param bodyStream 응답 본문 스트림
+     */
+    HttpResponse(int statusCode, List<String> headerFields, ResponseBody bodyStream) {
+        this.statusCode = statusCode;
+        this.headerFields = headerFields;
+        this.bodyStream = bodyStream;
     }
 
     /**
@@ -35,7 +67,7 @@ public class HttpResponse implements AutoCloseable {
      * @return HTTP 응답 엔티티
      */
     public HttpEntity getEntity() {
-        return new StringEntity(body, "application/json");
+        return new ResponseEntity();
     }
 
     /**
@@ -43,11 +75,130 @@ public class HttpResponse implements AutoCloseable {
      * @return HTTP 응답 헤더 맵
      */
     public Map<String, String> getHeaders() {
+        if (headers == null) {
+            Map<String, String> map = new HashMap<>();
+            for (int i = 0; i < headerFields.size(); i += 2) {
+                map.put(headerFields.get(i), headerFields.get(i + 1));
+            }
+            headers = Collections.unmodifiableMap(map);
+        }
         return headers;
     }
 
+    /**
+     * 헤더 값 조회 (이름 대소문자 무시, 같은 이름이 여러 번 오면 마지막 값)
+     * @param name 헤더 이름
+     * @return 헤더 값 (없으면 null)
+     */
+    public String getHeader(String name) {
+        if (headerFields == null) {
+            if (headers == null) {
+                return null;
+            }
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                if (header.getKey().equalsIgnoreCase(name)) {
+                    return header.getValue();
+                }
+            }
+            return null;
+        }
+        for (int i = headerFields.size() - 2; i >= 0; i -= 2) {
+            if (headerFields.get(i).equalsIgnoreCase(name)) {
+                return headerFields.get(i + 1);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 본문 전체를 읽을 때 허용하는 최대 길이 설정 (스트림으로 읽는 경우에는 적용하지 않음)
+     */
+    void setMaxContentLength(long maxContentLength) {
+        this.maxContentLength = maxContentLength;
+    }
+
+    /**
+     * 응답 본문 전체를 바이트 배열로 읽음 (한 번 읽은 내용은 재사용)
+     * getEntity().getContent()와 달리 본문을 읽는 중 발생한 입출력 예외를 그대로 던집니다.
+     * @return 응답 본문
+     * @throws IOException 본문을 읽는 중 발생한 입출력 예외 (읽기 타임아웃, 연결 끊김, 최대 길이 초과 등)
+     */
+    public byte[] readContent() throws IOException {
+        if (content == null) {
+            if (streamOpened) {
+                throw new IllegalStateException("Response content has already been consumed as a stream.");
+            }
+            content = bodyStream.readAll(maxContentLength);
+        }
+        return content;
+    }
+
+    /**
+     * 응답 본문 스트림 (소켓에서 바로 읽으며, 한 번만 열 수 있음)
+     */
+    private InputStream openContent() throws IOException {
+        if (content != null) {
+            return new ByteArrayInputStream(content);
+        }
+        if (streamOpened) {
+            throw new IllegalStateException("Response content has already been consumed as a stream.");
+        }
+        streamOpened = true;
+        return bodyStream;
+    }
+
+    /**
+     * 응답 본문 엔티티
+     */
+    private class ResponseEntity implements HttpEntity {
+        @Override
+        public byte[] getContent() {
+            try {
+                return readContent();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public String getContentType() {
+            String contentType = getHeader("Content-Type");
+            return contentType != null ? contentType : DEFAULT_CONTENT_TYPE;
+        }
+
+        @Override
+        public long getContentLength() {
+            if (content != null) {
+                return content.length;
+            }
+            return streamOpened ? -1 : bodyStream.getRemainingLength();
+        }
+
+        @Override
+        public InputStream openStream() throws IOException {
+            return openContent();
+        }
+
+        @Override
+        public void writeTo(OutputStream outputStream) throws IOException {
+            try (InputStream in = openContent()) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    outputStream.write(buffer, 0, read);
+                }
+            }
+        }
+    }
+
+    /**
+     * 응답 종료 메서드
+     * 읽지 않은 본문이 남아 있으면 정리한 뒤 연결을 풀에 반환합니다.
+     */
     @Override
     public void close() {
-        // 리소스 정리가 필요한 경우 여기에 구현
+        if (bodyStream != null) {
+            bodyStream.close();
+        }
     }
 }
@@ -0,0 +1,84 @@
+package kr.i_heart.http;
+
+import java.io.IOException;
+
+/**
+ * HTTP 요청을 실제로 전송하는 전송 계층 인터페이스
+ * CustomHttpClient는 요청과 타임아웃 설정만 전달하고, 연결 관리와 프로토콜 처리는 구현체가 담당합니다.
+ * 여러 CustomHttpClient가 하나의 전송 계층을 공유할 수 있으며, 구현체는 스레드 안전해야 합니다.
+ */
+public interface HttpTransport extends AutoCloseable {
+
+    /**
+     * HTTP 요청 실행
+     * 응답 본문은 전송 계층에서 바로 읽으므로, 본문을 끝까지 읽거나 응답을 close()해야 연결이 정리됩니다.
+     * @param request 실행할 HTTP 요청
+     * @param connectTimeout 연결 타임아웃 (ms)
+     * @param readTimeout 읽기 타임아웃 (ms)
+     * @return HTTP 응답 객체
+     * @throws IOException 요청 처리 중 발생할 수 있는 입출력 예외
+     */
+    default HttpResponse execute(HttpRequest request, int connectTimeout, int readTimeout) throws IOException {
+        return execute(request, connectTimeout, readTimeout, null);
+    }
+
+    /**
+     * 단계별 측정 결과를 리스너에 통보하며 HTTP 요청 실행
+     * @param request 실행할 HTTP 요청
+     * @param connectTimeout 연결 타임아웃 (ms)
+     * @param readTimeout 읽기 타임아웃 (ms)
+     * @param listener 교환 완료 시 통보할 리스너 (null이면 측정하지 않음)
+     * @return HTTP 응답 객체
+     * @throws IOException 요청 처리 중 발생할 수 있는 입출력 예외
+     */
+    HttpResponse execute(HttpRequest request, int connectTimeout, int readTimeout,
+                         HttpExchangeListener listener) throws IOException;
+
+    /**
+     * 전송 계층 종료 (유지 중인 연결 정리)
+     */
+    @Override
+    void close();
+
+    /**
+     * keep-alive 커넥션 풀을 사용하는 HTTP/1.1 전송 계층 생성
+     * 풀은 공유할 수 있도록 close() 시 함께 종료하지 않습니다.
+     * @param connectionPool 연결을 빌려올 커넥션 풀
+     */
+    static HttpTransport http11(HttpConnectionPool connectionPool) {
+        if (connectionPool == null) {
+            throw new IllegalArgumentException("connectionPool cannot be null.");
+        }
+        return new Http11Transport(connectionPool, false);
+    }
+
+    /**
+     * HTTP/2 전송 계층 사용 가능 여부
+     * Java 11 이상에서 multi-release jar로 실행한 경우에만 사용할 수 있습니다.
+     */
+    static boolean isHttp2Available() {
+        try {
+            Class.forName("kr.i_heart.http.Http2Transport");
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * 하나의 연결에서 여러 요청을 다중화하는 HTTP/2 전송 계층 생성 (java.net.http.HttpClient 기반)
+     * 서버가 HTTP/2를 지원하지 않으면 같은 전송 계층에서 HTTP/1.1로 통신합니다.
+     * 연결 타임아웃은 요청마다 전달받은 값을 적용하며, 값이 다른 요청은 서로 다른 연결을 사용합니다.
+     * @throws UnsupportedOperationException Java 11 미만이거나 multi-release jar가 아닌 경우
+     */
+    static HttpTransport http2() {
+        try {
+            Class<?> type = Class.forName("kr.i_heart.http.Http2Transport");
+            return (HttpTransport) type.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new UnsupportedOperationException("HTTP/2 transport requires Java 11 or later.", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create HTTP/2 transport: " + e.getMessage(), e);
+        }
+    }
+}
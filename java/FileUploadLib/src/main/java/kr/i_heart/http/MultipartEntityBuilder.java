@@ -1,9 +1,16 @@
 package kr.i_heart.http;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,6 +18,8 @@ import java.util.UUID;
  * 멀티파트 폼 데이터 구성을 위한 빌더 클래스
  */
 public class MultipartEntityBuilder {
+    private static final byte[] CRLF = "\r\n".getBytes(StandardCharsets.UTF_8);
+
     private final String boundary;
     private final List<Part> parts = new ArrayList<>();
 
@@ -36,7 +45,7 @@ public class MultipartEntityBuilder {
      * @return 빌더 인스턴스
      */
     public MultipartEntityBuilder addTextBody(String name, String value) {
-        parts.add(new TextPart(name, value));
+        parts.add(new TextPart(boundary, name, value));
         return this;
     }
 
@@ -47,90 +56,158 @@ public class MultipartEntityBuilder {
      * @return 빌더 인스턴스
      */
     public MultipartEntityBuilder addPart(String name, FileBody fileBody) {
-        parts.add(new FilePart(name, fileBody));
+        parts.add(new FilePart(boundary, name, fileBody));
         return this;
     }
 
     /**
      * 멀티파트 엔티티 빌드
+     * 파일 내용은 읽지 않고 미리 인코딩된 경계/파트 헤더 길이와 파일 크기로 전체 길이를 계산합니다.
+     * 실제 파일 내용은 전송 시점에 writeTo를 통해 스트리밍됩니다.
      * @return 멀티파트 형식의 HttpEntity
-     * @throws IOException 입출력 예외
+     * @throws IOException 업로드할 파일이 없는 경우
      */
     public HttpEntity build() throws IOException {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-
-        // 각 파트를 outputStream에 작성
-        for (Part part : parts) {
-            // 경계 작성
-            outputStream.write(("--" + boundary + "\r\n").getBytes(StandardCharsets.UTF_8));
-
-            // 파트 헤더와 내용 작성
-            part.writeTo(outputStream);
+        List<Part> snapshot = new ArrayList<>(parts);
+        byte[] closingBoundary = ("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
 
-            // 개행 추가
-            outputStream.write("\r\n".getBytes(StandardCharsets.UTF_8));
+        long contentLength = closingBoundary.length;
+        for (Part part : snapshot) {
+            part.validate();
+            contentLength += part.getLength() + CRLF.length;
         }
 
-        // 최종 경계 작성
-        outputStream.write(("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
-
         // 멀티파트 형식의 HttpEntity 반환
-        return new MultipartHttpEntity(outputStream.toByteArray(), boundary);
+        return new MultipartHttpEntity(snapshot, boundary, closingBoundary, contentLength);
     }
 
     /**
      * 멀티파트 엔티티 클래스
      */
     private static class MultipartHttpEntity implements HttpEntity {
-        private final byte[] content;
+        private final List<Part> parts;
         private final String boundary;
+        private final byte[] closingBoundary;
+        private final long contentLength;
 
-        public MultipartHttpEntity(byte[] content, String boundary) {
-            this.content = content;
+        public MultipartHttpEntity(List<Part> parts, String boundary, byte[] closingBoundary, long contentLength) {
+            this.parts = parts;
             this.boundary = boundary;
+            this.closingBoundary = closingBoundary;
+            this.contentLength = contentLength;
         }
 
         @Override
         public byte[] getContent() {
-            return content;
+            if (contentLength > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Multipart entity is too large to buffer: " + contentLength);
+            }
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream((int) contentLength);
+            try {
+                writeTo(outputStream);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return outputStream.toByteArray();
         }
 
         @Override
         public String getContentType() {
             return "multipart/form-data; boundary=" + boundary;
         }
+
+        @Override
+        public long getContentLength() {
+            return contentLength;
+        }
+
+        @Override
+        public void writeTo(OutputStream outputStream) throws IOException {
+            // 각 파트를 경계, 헤더, 내용, 개행 순서로 작성
+            for (Part part : parts) {
+                part.writeTo(outputStream);
+                outputStream.write(CRLF);
+            }
+
+            // 최종 경계 작성
+            outputStream.write(closingBoundary);
+        }
+
+        /**
+         * writeTo와 같은 내용을 읽는 스트림 (파일 내용은 읽는 시점에 청크 단위로 읽음)
+         * OutputStream에 기록하는 대신 본문을 끌어가는 전송 계층(HTTP/2)에서 사용합니다.
+         */
+        @Override
+        public InputStream openStream() throws IOException {
+            List<InputStream> streams = new ArrayList<>(parts.size() * 2 + 1);
+            try {
+                for (Part part : parts) {
+                    streams.add(part.openStream());
+                    streams.add(new ByteArrayInputStream(CRLF));
+                }
+            } catch (IOException e) {
+                for (InputStream stream : streams) {
+                    stream.close();
+                }
+                throw e;
+            }
+            streams.add(new ByteArrayInputStream(closingBoundary));
+            return new SequenceInputStream(Collections.enumeration(streams));
+        }
     }
 
     /**
      * 멀티파트 요청의 한 파트를 나타내는 인터페이스
      */
     private interface Part {
-        void writeTo(ByteArrayOutputStream outputStream) throws IOException;
+        /**
+         * 전송 가능한 상태인지 검사
+         */
+        void validate() throws IOException;
+
+        /**
+         * 경계, 파트 헤더, 내용을 포함한 바이트 길이
+         */
+        long getLength();
+
+        void writeTo(OutputStream outputStream) throws IOException;
+
+        InputStream openStream() throws IOException;
     }
 
     /**
      * 텍스트 파트 구현
      */
     private static class TextPart implements Part {
-        private final String name;
-        private final String value;
+        private final byte[] encoded;
 
-        public TextPart(String name, String value) {
-            this.name = name;
-            this.value = value;
+        public TextPart(String boundary, String name, String value) {
+            // 경계, Content-Disposition 헤더, Content-Type 헤더, 텍스트 값
+            String part = "--" + boundary + "\r\n"
+                + String.format("Content-Disposition: form-data; name=\"%s\"\r\n", name)
+                + "Content-Type: text/plain; charset=UTF-8\r\n\r\n"
+                + value;
+            this.encoded = part.getBytes(StandardCharsets.UTF_8);
         }
 
         @Override
-        public void writeTo(ByteArrayOutputStream outputStream) throws IOException {
-            // Content-Disposition 헤더
-            String header = String.format("Content-Disposition: form-data; name=\"%s\"\r\n", name);
-            outputStream.write(header.getBytes(StandardCharsets.UTF_8));
+        public void validate() {
+            // 텍스트 파트는 항상 전송 가능
+        }
 
-            // Content-Type 헤더 추가
-            outputStream.write("Content-Type: text/plain; charset=UTF-8\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+        @Override
+        public long getLength() {
+            return encoded.length;
+        }
 
-            // 텍스트 값
-            outputStream.write(value.getBytes(StandardCharsets.UTF_8));
+        @Override
+        public void writeTo(OutputStream outputStream) throws IOException {
+            outputStream.write(encoded);
+        }
+
+        @Override
+        public InputStream openStream() {
+            return new ByteArrayInputStream(encoded);
         }
     }
 
@@ -138,28 +215,45 @@ public class MultipartEntityBuilder {
      * 파일 파트 구현
      */
     private static class FilePart implements Part {
-        private final String name;
         private final FileBody fileBody;
+        private final byte[] header;
+        private final long fileLength;
 
-        public FilePart(String name, FileBody fileBody) {
-            this.name = name;
+        public FilePart(String boundary, String name, FileBody fileBody) {
             this.fileBody = fileBody;
+
+            // 경계, Content-Disposition 헤더 (파일명 포함), Content-Type 헤더
+            String part = "--" + boundary + "\r\n"
+                + String.format("Content-Disposition: form-data; name=\"%s\"; filename=\"%s\"\r\n",
+                    name, fileBody.getFilename())
+                + "Content-Type: " + fileBody.getContentType().getMimeType() + "\r\n\r\n";
+            this.header = part.getBytes(StandardCharsets.UTF_8);
+            this.fileLength = fileBody.getContentLength();
+        }
+
+        @Override
+        public void validate() throws IOException {
+            if (!fileBody.getFile().isFile()) {
+                throw new FileNotFoundException(fileBody.getFile().getPath());
+            }
+        }
+
+        @Override
+        public long getLength() {
+            return header.length + fileLength;
+        }
+
+        @Override
+        public void writeTo(OutputStream outputStream) throws IOException {
+            outputStream.write(header);
+
+            // 파일 내용 (청크 단위 스트리밍)
+            fileBody.writeTo(outputStream, fileLength);
         }
 
         @Override
-        public void writeTo(ByteArrayOutputStream outputStream) throws IOException {
-            // Content-Disposition 헤더 (파일명 포함)
-            String header = String.format(
-                "Content-Disposition: form-data; name=\"%s\"; filename=\"%s\"\r\n",
-                name, fileBody.getFilename());
-            outputStream.write(header.getBytes(StandardCharsets.UTF_8));
-
-            // Content-Type 헤더
-            String contentTypeHeader = "Content-Type: " + fileBody.getContentType().getMimeType() + "\r\n\r\n";
-            outputStream.write(contentTypeHeader.getBytes(StandardCharsets.UTF_8));
-
-            // 파일 내용
-            outputStream.write(fileBody.getContent());
+        public InputStream openStream() throws IOException {
+            return new SequenceInputStream(new ByteArrayInputStream(header), fileBody.openStream(fileLength));
         }
     }
 }
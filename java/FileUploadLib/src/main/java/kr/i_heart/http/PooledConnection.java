@@ -0,0 +1,242 @@
+package kr.i_heart.http;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.channels.SocketChannel;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+
+/**
+ * 커넥션 풀에서 관리되는 keep-alive 소켓 연결
+ * HTTPS의 경우 TLS 핸드셰이크가 끝난 상태로 풀에 보관되어 재사용됩니다.
+ */
+final class PooledConnection {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String routeKey;
+    private final Socket socket;
+    private final InputStream inputStream;
+    private final ChannelOutputStream outputStream;
+
+    private long lastUsedAt;       // 마지막으로 풀에 반납된 시각 (ms)
+    private long expiresAt;        // 서버 Keep-Alive 헤더 기반 만료 시각 (ms)
+    private boolean reused;        // 풀에서 재사용된 연결인지 여부
+    private long connectNanos = -1;      // TCP 연결 수립 시간 (ns)
+    private long handshakeNanos = -1;    // TLS 핸드셰이크 시간 (ns, 평문 연결은 -1)
+    private HttpRequest exchange;        // 연결을 사용 중인 요청 (중단 처리용, this로 보호)
+    private boolean aborted;             // 요청 중단으로 닫힌 연결
+
+    private PooledConnection(String routeKey, Socket socket, SocketChannel channel) throws IOException {
+        this.routeKey = routeKey;
+        this.socket = socket;
+        this.inputStream = new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE);
+        this.outputStream = new ChannelOutputStream(socket.getOutputStream(), channel, BUFFER_SIZE);
+        this.lastUsedAt = System.currentTimeMillis();
+        this.expiresAt = Long.MAX_VALUE;
+    }
+
+    /**
+     * 새 연결을 생성하는 메서드
+     * 평문 연결은 SocketChannel 기반 소켓으로 생성하여 파일 본문을 zero-copy로 전송할 수 있게 합니다.
+     * @param routeKey 라우트 키 (scheme://host:port)
+     * @param secure HTTPS 여부
+     * @param host 호스트명
+     * @param port 포트
+     * @param connectTimeout 연결 타임아웃 (ms)
+     * @param readTimeout 읽기 타임아웃 (ms, TLS 핸드셰이크에도 적용)
+     * @return 연결된 PooledConnection
+     * @throws IOException 연결 또는 핸드셰이크 실패 시
+     */
+    static PooledConnection open(String routeKey, boolean secure, String host, int port,
+                                 int connectTimeout, int readTimeout) throws IOException {
+        SocketChannel channel = secure ? null : SocketChannel.open();
+        Socket socket = channel != null ? channel.socket() : new Socket();
+        try {
+            socket.setTcpNoDelay(true);
+            socket.setKeepAlive(true);
+            long connectStartedAt = System.nanoTime();
+            try {
+                socket.connect(new InetSocketAddress(host, port), connectTimeout);
+            } catch (SocketTimeoutException e) {
+                // 읽기 타임아웃과 구분 (요청 전송 전 실패이므로 재시도 정책이 안전하게 재시도할 수 있음)
+                ConnectTimeoutException timeout = new ConnectTimeoutException(
+                    "Connect timed out: " + host + ":" + port);
+                timeout.initCause(e);
+                throw timeout;
+            }
+            long connectedAt = System.nanoTime();
+            socket.setSoTimeout(readTimeout);
+
+            if (secure) {
+                SSLSocketFactory factory = (SSLSocketFactory) SSLSocketFactory.getDefault();
+                SSLSocket sslSocket = (SSLSocket) factory.createSocket(socket, host, port, true);
+
+                // 호스트명 검증 활성화 (HttpsURLConnection과 동일한 수준)
+                SSLParameters parameters = sslSocket.getSSLParameters();
+                parameters.setEndpointIdentificationAlgorithm("HTTPS");
+                sslSocket.setSSLParameters(parameters);
+                sslSocket.startHandshake();
+                PooledConnection connection = new PooledConnection(routeKey, sslSocket, null);
+                connection.connectNanos = connectedAt - connectStartedAt;
+                connection.handshakeNanos = System.nanoTime() - connectedAt;
+                return connection;
+            }
+            PooledConnection connection = new PooledConnection(routeKey, socket, channel);
+            connection.connectNanos = connectedAt - connectStartedAt;
+            return connection;
+        } catch (IOException e) {
+            closeQuietly(socket);
+            throw e;
+        }
+    }
+
+    String getRouteKey() {
+        return routeKey;
+    }
+
+    InputStream getInputStream() {
+        return inputStream;
+    }
+
+    OutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    void setReadTimeout(int readTimeout) throws IOException {
+        socket.setSoTimeout(readTimeout);
+    }
+
+    /**
+     * TCP 연결 수립 시간 (ns)
+     */
+    long getConnectNanos() {
+        return connectNanos;
+    }
+
+    /**
+     * TLS 핸드셰이크 시간 (ns, 평문 연결은 -1)
+     */
+    long getHandshakeNanos() {
+        return handshakeNanos;
+    }
+
+    boolean isReused() {
+        return reused;
+    }
+
+    void markReused() {
+        this.reused = true;
+    }
+
+    long getLastUsedAt() {
+        return lastUsedAt;
+    }
+
+    void touch() {
+        this.lastUsedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * 서버가 알려준 keep-alive 유지 시간을 반영
+     * @param keepAliveMillis 유지 시간 (ms)
+     */
+    void setKeepAlive(long keepAliveMillis) {
+        this.expiresAt = System.currentTimeMillis() + keepAliveMillis;
+    }
+
+    /**
+     * 유휴 제한시간 또는 서버 keep-alive 만료 여부 확인
+     * @param now 현재 시각 (ms)
+     * @param idleTimeout 풀의 유휴 제한시간 (ms)
+     * @return 만료 여부
+     */
+    boolean isExpired(long now, long idleTimeout) {
+        return now >= expiresAt || now - lastUsedAt >= idleTimeout;
+    }
+
+    /**
+     * 서버 측에서 이미 끊어진 연결인지 확인
+     * 1ms 타임아웃으로 읽기를 시도하여 EOF 또는 예기치 않은 데이터가 있으면 stale로 판단합니다.
+     * @return stale 여부
+     */
+    boolean isStale() {
+        if (socket.isClosed() || !socket.isConnected() || socket.isInputShutdown() || socket.isOutputShutdown()) {
+            return true;
+        }
+
+        int previousTimeout = -1;
+        try {
+            if (inputStream.available() > 0) {
+                return true; // 요청 전에 남아있는 데이터가 있으면 프로토콜이 어긋난 상태
+            }
+            previousTimeout = socket.getSoTimeout();
+            socket.setSoTimeout(1);
+            inputStream.read();
+            return true; // EOF(-1) 또는 예기치 않은 데이터 모두 재사용 불가
+        } catch (SocketTimeoutException e) {
+            return false; // 읽을 데이터가 없으면 정상 연결
+        } catch (IOException e) {
+            return true;
+        } finally {
+            if (previousTimeout >= 0) {
+                try {
+                    socket.setSoTimeout(previousTimeout);
+                } catch (IOException e) {
+                    // 이미 끊어진 소켓
+                }
+            }
+        }
+    }
+
+    /**
+     * 연결을 사용할 요청 지정 (임대 직후 호출)
+     */
+    synchronized void bind(HttpRequest request) {
+        this.exchange = request;
+    }
+
+    /**
+     * 요청 중단 시 연결을 닫음
+     * 이미 풀에 반환되었거나 다른 요청이 사용 중인 연결은 닫지 않습니다.
+     * 소켓 종료(TLS의 close_notify 전송)는 잠금 밖에서 하며, 그 사이 반환되더라도 aborted 표시로 재사용되지 않습니다.
+     */
+    void abort(HttpRequest request) {
+        synchronized (this) {
+            if (exchange != request) {
+                return;
+            }
+            aborted = true;
+        }
+        close();
+    }
+
+    /**
+     * 요청과의 연결 해제 (풀에 반환할 때 호출)
+     * @return 요청 중단으로 닫힌 연결이 아니면 true
+     */
+    synchronized boolean unbind() {
+        exchange = null;
+        return !aborted;
+    }
+
+    /**
+     * 연결 종료
+     */
+    void close() {
+        closeQuietly(socket);
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // 종료 중 오류는 무시
+        }
+    }
+}
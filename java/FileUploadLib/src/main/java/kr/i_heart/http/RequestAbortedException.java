@@ -0,0 +1,15 @@
+package kr.i_heart.http;
+
+import java.io.InterruptedIOException;
+
+/**
+ * HttpRequest.abort()로 중단된 요청의 예외
+ * 다른 요청이 먼저 성공하여 취소한 경우처럼 호출자가 의도한 중단이므로, 서버 상태 이상으로 보지 않습니다.
+ */
+public class RequestAbortedException extends InterruptedIOException {
+    private static final long serialVersionUID = 1L;
+
+    public RequestAbortedException(String message) {
+        super(message);
+    }
+}
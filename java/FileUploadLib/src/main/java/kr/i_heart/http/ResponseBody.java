@@ -0,0 +1,83 @@
+package kr.i_heart.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 전송 계층이 HttpResponse에 넘겨주는 응답 본문 스트림
+ * close()하면 전송 계층의 연결(또는 스트림)을 정리합니다.
+ * 교환 리스너가 있으면 본문을 끝까지 읽거나 닫는 시점에 측정 결과를 통보합니다.
+ */
+abstract class ResponseBody extends InputStream {
+    private HttpExchangeMetrics metrics;   // 리스너가 없으면 null
+    private long headerReceivedAt;
+
+    /**
+     * 교환 측정 시작 (응답 헤더를 받은 직후 호출)
+     * @param metrics 헤더 수신까지 측정한 결과 (리스너가 없으면 null)
+     */
+    final void trackExchange(HttpExchangeMetrics metrics) {
+        if (metrics != null) {
+            this.metrics = metrics;
+            this.headerReceivedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * 읽은 본문 바이트 기록
+     */
+    final void countReceived(long bytes) {
+        if (metrics != null && bytes > 0) {
+            metrics.bytesReceived += bytes;
+        }
+    }
+
+    /**
+     * 본문 읽기 종료 시 측정 결과 통보 (한 번만)
+     * @param error 본문을 읽는 중 발생한 오류 (정상 종료 시 null)
+     */
+    final void completeExchange(Exception error) {
+        HttpExchangeMetrics completed = metrics;
+        if (completed == null) {
+            return;
+        }
+        metrics = null;
+        completed.responseReadNanos = System.nanoTime() - headerReceivedAt;
+        completed.finish(error);
+    }
+
+    /**
+     * 남은 본문 길이 (알 수 없으면 -1)
+     */
+    abstract long getRemainingLength();
+
+    /**
+     * 남은 본문 전체를 읽어 반환
+     * Content-Length만 보고 배열을 미리 할당하지 않고, 읽은 만큼 버퍼를 늘립니다.
+     * @param maxLength 허용하는 최대 본문 길이 (바이트)
+     * @throws IOException Content-Length 또는 읽은 본문이 maxLength를 넘는 경우
+     */
+    byte[] readAll(long maxLength) throws IOException {
+        long length = getRemainingLength();
+        if (length > maxLength) {
+            throw new IOException("Response body too large: Content-Length " + length + " exceeds " + maxLength + " bytes.");
+        }
+
+        ByteArrayOutputStream content = new ByteArrayOutputStream(length >= 0 ? (int) Math.min(length, 8192) : 8192);
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int read;
+        while ((read = read(buffer, 0, buffer.length)) != -1) {
+            total += read;
+            if (total > maxLength) {
+                throw new IOException("Response body too large: exceeds " + maxLength + " bytes.");
+            }
+            content.write(buffer, 0, read);
+        }
+        return content.toByteArray();
+    }
+
+    @Override
+    public abstract void close();
+}
@@ -0,0 +1,201 @@
+package kr.i_heart.http;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 응답 본문을 소켓에서 바로 읽는 입력 스트림
+ * Content-Length / chunked / 연결 종료 방식의 프레이밍을 해석하며,
+ * 본문을 끝까지 읽거나 close()하면 연결을 풀에 반환합니다.
+ */
+final class ResponseBodyStream extends ResponseBody {
+    private static final int DRAIN_LIMIT = 65536; // close() 시 연결 재사용을 위해 읽고 버릴 최대 바이트
+
+    private final InputStream in;
+    private final boolean chunked;
+    private final boolean untilClose;
+    private final PooledConnection connection;
+    private final HttpConnectionPool connectionPool;
+    private final boolean reusable;
+
+    private long remaining;    // 현재 chunk 또는 Content-Length 기준 남은 바이트
+    private boolean eof;
+    private boolean released;
+
+    /**
+     * 생성자
+     * @param in 연결의 입력 스트림 (응답 헤더까지 읽은 상태)
+     * @param chunked chunked 전송 여부
+     * @param contentLength 본문 길이 (-1: 연결 종료까지 읽음, chunked인 경우 무시)
+     * @param connection 응답을 읽는 연결
+     * @param connectionPool 연결을 반환할 풀
+     * @param reusable 본문을 끝까지 읽은 뒤 연결 재사용 가능 여부
+     * @param metrics 교환 측정 결과 (리스너가 없으면 null)
+     */
+    ResponseBodyStream(InputStream in, boolean chunked, long contentLength, PooledConnection connection,
+                       HttpConnectionPool connectionPool, boolean reusable, HttpExchangeMetrics metrics) {
+        this.in = in;
+        this.chunked = chunked;
+        this.untilClose = !chunked && contentLength < 0;
+        this.remaining = chunked ? 0 : contentLength;
+        this.connection = connection;
+        this.connectionPool = connectionPool;
+        this.reusable = reusable && !untilClose;
+        trackExchange(metrics);
+
+        if (!chunked && contentLength == 0) {
+            complete();
+        }
+    }
+
+    /**
+     * Content-Length를 알고 있으면 남은 본문 길이, 아니면 -1
+     */
+    @Override
+    long getRemainingLength() {
+        return chunked || untilClose ? -1 : remaining;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        int read = read(single, 0, 1);
+        return read == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (eof) {
+            return -1;
+        }
+        if (length == 0) {
+            return 0;
+        }
+        try {
+            if (chunked && remaining == 0 && !nextChunk()) {
+                complete();
+                return -1;
+            }
+
+            int read = in.read(buffer, offset, untilClose ? length : (int) Math.min(length, remaining));
+            if (read == -1) {
+                if (untilClose) {
+                    complete();
+                    return -1;
+                }
+                throw new EOFException("Unexpected end of response body.");
+            }
+
+            countReceived(read);
+            if (!untilClose) {
+                remaining -= read;
+                if (remaining == 0) {
+                    if (chunked) {
+                        Http11Transport.readLine(in); // chunk 끝의 CRLF
+                    } else {
+                        complete();
+                    }
+                }
+            }
+            return read;
+        } catch (IOException e) {
+            completeExchange(e);
+            abort();
+            throw e;
+        }
+    }
+
+    @Override
+    public int available() throws IOException {
+        if (eof) {
+            return 0;
+        }
+        int available = in.available();
+        return untilClose ? available : (int) Math.min(available, remaining);
+    }
+
+    /**
+     * 다음 chunk 크기 읽기
+     * @return 마지막 chunk(크기 0)이면 false
+     */
+    private boolean nextChunk() throws IOException {
+        String sizeLine = Http11Transport.readLine(in);
+        if (sizeLine == null) {
+            throw new EOFException("Unexpected end of chunked response.");
+        }
+        int extension = sizeLine.indexOf(';');
+        String sizeText = (extension >= 0 ? sizeLine.substring(0, extension) : sizeLine).trim();
+        try {
+            remaining = Long.parseLong(sizeText, 16);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid chunk size: " + sizeLine);
+        }
+        if (remaining < 0) {
+            throw new IOException("Invalid chunk size: " + sizeLine);
+        }
+        if (remaining == 0) {
+            // trailer 헤더 건너뛰기
+            String trailer;
+            while ((trailer = Http11Transport.readLine(in)) != null && !trailer.isEmpty()) {
+                // 무시
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 읽지 않은 본문이 작으면 읽고 버려 연결을 재사용하고, 크면 연결을 닫음
+     */
+    @Override
+    public void close() {
+        if (released) {
+            return;
+        }
+        if (untilClose) {
+            abort();
+            return;
+        }
+        try {
+            byte[] buffer = new byte[8192];
+            long drained = 0;
+            while (!eof && drained < DRAIN_LIMIT) {
+                int read = read(buffer, 0, buffer.length);
+                if (read == -1) {
+                    break;
+                }
+                drained += read;
+            }
+        } catch (IOException e) {
+            // read()에서 이미 연결을 닫음
+        }
+        if (!released) {
+            abort();
+        }
+    }
+
+    /**
+     * 본문을 끝까지 읽은 경우 연결 반환
+     */
+    private void complete() {
+        eof = true;
+        release(reusable);
+    }
+
+    /**
+     * 본문을 다 읽지 못한 경우 연결을 닫고 반환
+     */
+    private void abort() {
+        eof = true;
+        release(false);
+    }
+
+    private void release(boolean reuse) {
+        if (!released) {
+            released = true;
+            connectionPool.release(connection, reuse);
+            completeExchange(null);
+        }
+    }
+}
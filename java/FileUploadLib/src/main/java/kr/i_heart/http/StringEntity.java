@@ -1,5 +1,7 @@
 package kr.i_heart.http;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import kr.i_heart.http.HttpEntity;
 
@@ -29,4 +31,14 @@ public class StringEntity implements HttpEntity {
     public String getContentType() {
         return contentType;
     }
+
+    @Override
+    public long getContentLength() {
+        return content.length;
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(content);
+    }
 }
@@ -0,0 +1,128 @@
+package kr.i_heart.http;
+
+/**
+ * JFR(Java Flight Recorder) 사용자 이벤트
+ * Java 11 이상에서 multi-release jar로 실행한 경우 jdk.jfr 기반 구현(JfrTraceEvents)을 로드하며,
+ * Java 8 등 그 외 런타임이거나 해당 이벤트를 기록 중인 레코딩이 없으면 begin 메서드가 null을 반환합니다.
+ * 호출부는 null 여부만 확인하면 되므로 레코딩이 없을 때 비용이 거의 없습니다.
+ *
+ * 이벤트는 begin 시점부터 commit 시점까지의 구간으로 기록되어, JMC 등에서 GC 일시 정지나 소켓 대기와 같은 시간축으로 볼 수 있습니다.
+ */
+public abstract class TraceEvent {
+    private static final Factory FACTORY = loadFactory();
+
+    /**
+     * 이벤트 생성기 (jdk.jfr 구현이 제공, 이벤트가 비활성화된 경우 null 반환)
+     */
+    interface Factory {
+        TraceEvent beginAuth(String path, String clientId);
+
+        TraceEvent beginUpload(String path, String fileName, long fileSize);
+
+        TraceEvent beginRetry(String path, String fileName, String reason);
+
+        TraceEvent beginExchange(String method, String path);
+    }
+
+    private static Factory loadFactory() {
+        try {
+            return (Factory) Class.forName("kr.i_heart.http.JfrTraceEvents").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            return null; // Java 11 미만이거나 jdk.jfr 모듈이 없는 런타임
+        }
+    }
+
+    /**
+     * JFR 이벤트 기록 가능 여부 (Java 11 이상에서 multi-release jar로 실행하고 jdk.jfr 모듈이 있는 경우)
+     */
+    public static boolean isAvailable() {
+        return FACTORY != null;
+    }
+
+    /**
+     * 인증 요청 이벤트 시작
+     * @param url 요청 URL
+     * @param clientId 클라이언트 ID
+     * @return 이벤트 (기록하지 않으면 null)
+     */
+    public static TraceEvent beginAuth(String url, String clientId) {
+        return FACTORY != null ? FACTORY.beginAuth(pathOf(url), clientId) : null;
+    }
+
+    /**
+     * 업로드 요청 이벤트 시작
+     * @param url 요청 URL
+     * @param fileName 파일 이름
+     * @param fileSize 파일 크기 (바이트)
+     * @return 이벤트 (기록하지 않으면 null)
+     */
+    public static TraceEvent beginUpload(String url, String fileName, long fileSize) {
+        return FACTORY != null ? FACTORY.beginUpload(pathOf(url), fileName, fileSize) : null;
+    }
+
+    /**
+     * 재인증 후 업로드 재시도 이벤트 시작 (재인증과 재업로드 전체 구간)
+     * @param url 업로드 요청 URL
+     * @param fileName 파일 이름
+     * @param reason 재시도 원인 API 응답 코드
+     * @return 이벤트 (기록하지 않으면 null)
+     */
+    public static TraceEvent beginRetry(String url, String fileName, String reason) {
+        return FACTORY != null ? FACTORY.beginRetry(pathOf(url), fileName, reason) : null;
+    }
+
+    /**
+     * HTTP 요청 실행 이벤트 시작 (CustomHttpClient에서 사용)
+     */
+    static TraceEvent beginExchange(HttpRequest request) {
+        return FACTORY != null ? FACTORY.beginExchange(request.getMethod(), pathOf(request.getUrl())) : null;
+    }
+
+    /**
+     * 요청 결과를 기록하고 이벤트를 커밋
+     * @param statusCode HTTP 상태 코드 (응답을 받지 못한 경우 -1)
+     * @param resultCode API 응답 코드 (HTTP 오류는 "HTTP 429" 형식, 응답을 받지 못한 경우 예외 클래스 이름)
+     * @param error 실패한 경우 예외 (성공 시 null)
+     */
+    public abstract void commit(int statusCode, String resultCode, Exception error);
+
+    /**
+     * HTTP 교환 측정 결과를 기록하고 이벤트를 커밋 (요청 실행 이벤트)
+     */
+    void commit(HttpExchangeMetrics metrics) {
+        Exception error = metrics.getError();
+        commit(metrics.getStatusCode(), error != null ? error.getClass().getSimpleName() : null, error);
+    }
+
+    /**
+     * 교환이 끝나는 시점(응답 본문을 다 읽거나 닫은 시점)에 이벤트를 커밋하는 리스너
+     * @param delegate 함께 통보할 리스너 (없으면 null)
+     */
+    final HttpExchangeListener committingListener(HttpExchangeListener delegate) {
+        return new HttpExchangeListener() {
+            @Override
+            public void onExchange(HttpExchangeMetrics metrics) {
+                commit(metrics);
+                if (delegate != null) {
+                    delegate.onExchange(metrics);
+                }
+            }
+        };
+    }
+
+    /**
+     * URL에서 경로만 추출 (쿼리 문자열 제외)
+     */
+    static String pathOf(String url) {
+        if (url == null) {
+            return null;
+        }
+        int scheme = url.indexOf("://");
+        int start = url.indexOf('/', scheme >= 0 ? scheme + 3 : 0);
+        if (start < 0) {
+            return "/";
+        }
+        int query = url.indexOf('?', start);
+        return query >= 0 ? url.substring(start, query) : url.substring(start);
+    }
+}
@@ -0,0 +1,311 @@
+package kr.i_heart.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * HTTP/2 전송 계층 (Java 11 이상, multi-release jar의 META-INF/versions/11에 포함)
+ * java.net.http.HttpClient 하나가 호스트별 연결 하나에서 여러 요청을 스트림으로 다중화하므로,
+ * 지연 시간이 큰 구간에서 요청마다 연결을 맺거나 풀의 연결 수만큼만 동시에 보내는 제약이 없습니다.
+ * HTTPS는 ALPN으로, HTTP는 h2c 업그레이드로 협상하며 서버가 지원하지 않으면 HTTP/1.1을 사용합니다.
+ * HttpClient의 연결 타임아웃은 클라이언트 단위로만 설정할 수 있으므로 요청의 연결 타임아웃 값마다 HttpClient를 하나씩 사용합니다.
+ * (인증 5초, 업로드 7초처럼 타임아웃이 다른 요청은 서로 다른 연결을 사용)
+ *
+ * 읽기 타임아웃은 응답 헤더를 받을 때까지의 제한 시간(HttpRequest.timeout)으로 적용합니다.
+ * 이 제한 시간에는 요청 본문 전송 시간도 포함되므로, 본문이 있는 요청은 본문 크기를 최소 전송 속도(64KB/s)로 보내는 시간을 더해
+ * 큰 파일 업로드가 전송 도중 타임아웃되지 않게 합니다. (길이를 알 수 없는 본문은 제한 시간을 두지 않음)
+ * 응답 헤더를 받은 후 본문을 읽을 때는 읽기 타임아웃을 적용하지 않습니다.
+ *
+ * 요청에 "Expect: 100-continue" 헤더가 있으면 Java 21 이상에서 HttpClient의 expectContinue를 사용합니다.
+ * (Java 21 미만의 HttpClient는 100 Continue 없이 최종 응답을 받으면 응답 대기가 끝나지 않는 경우가 있어 사용하지 않습니다)
+ *
+ * HttpTransport.http2로 생성하며, Java 8 기준 소스에서 직접 참조하지 않습니다.
+ */
+final class Http2Transport implements HttpTransport {
+    // java.net.http가 직접 관리하여 설정할 수 없는 헤더
+    private static final Set<String> RESTRICTED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        RESTRICTED_HEADERS.add("Connection");
+        RESTRICTED_HEADERS.add("Content-Length");
+        RESTRICTED_HEADERS.add("Expect");
+        RESTRICTED_HEADERS.add("Host");
+        RESTRICTED_HEADERS.add("Transfer-Encoding");
+        RESTRICTED_HEADERS.add("Upgrade");
+    }
+
+    private static final long MIN_SEND_BYTES_PER_SECOND = 64 * 1024; // 요청 본문 전송 시간을 계산할 최소 전송 속도
+
+    private static final boolean EXPECT_CONTINUE_SUPPORTED = Runtime.version().feature() >= 21;
+    private static final Method SHUTDOWN = shutdownMethod(); // HttpClient.shutdown (Java 21 이상, 그 미만은 null)
+
+    private final ConcurrentMap<Integer, HttpClient> clients = new ConcurrentHashMap<>(); // 연결 타임아웃(ms) -> HttpClient
+    private volatile boolean closed;
+
+    /**
+     * 연결 타임아웃에 해당하는 HttpClient 반환 (처음 사용하는 값이면 생성)
+     * @param connectTimeout 연결 타임아웃 (ms, 0 이하이면 제한 없음)
+     */
+    private HttpClient client(int connectTimeout) {
+        if (closed) {
+            throw new IllegalStateException("HTTP/2 transport is closed.");
+        }
+        return clients.computeIfAbsent(Math.max(0, connectTimeout), timeout -> {
+            HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NEVER);
+            if (timeout > 0) {
+                builder.connectTimeout(Duration.ofMillis(timeout));
+            }
+            return builder.build();
+        });
+    }
+
+    /**
+     * HTTP 요청 실행
+     * 연결 타임아웃은 그 값으로 만든 HttpClient로 적용하며, 읽기 타임아웃은 응답 헤더를 받을 때까지의 제한 시간으로 적용합니다.
+     * (본문이 있는 요청은 본문 전송 시간을 더한 값, 클래스 설명 참고)
+     * 연결 관리는 HttpClient가 하므로 리스너에는 연결 수립/TLS/요청 전송 시간을 따로 전달하지 않습니다.
+     * 응답 헤더를 받기 전에 request.abort()가 호출되면 요청을 취소하고 RequestAbortedException을 던집니다.
+     * (Java 16 미만의 HttpClient는 취소해도 스트림을 바로 닫지 않고 대기만 끝냅니다)
+     */
+    @Override
+    public HttpResponse execute(HttpRequest request, int connectTimeout, int readTimeout,
+                                HttpExchangeListener listener) throws IOException {
+        java.net.http.HttpRequest.Builder builder;
+        try {
+            builder = java.net.http.HttpRequest.newBuilder(new URI(request.getUrl()));
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            throw new IOException("Invalid request URL: " + request.getUrl(), e);
+        }
+        HttpEntity entity = request.getEntity();
+        long timeout = responseTimeout(readTimeout, entity);
+        if (timeout > 0) {
+            builder.timeout(Duration.ofMillis(timeout));
+        }
+
+        boolean hasUserAgent = false;
+        for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+            if (RESTRICTED_HEADERS.contains(header.getKey())) {
+                if (EXPECT_CONTINUE_SUPPORTED && request.getEntity() != null && "Expect".equalsIgnoreCase(header.getKey())
+                        && "100-continue".equalsIgnoreCase(header.getValue().trim())) {
+                    builder.expectContinue(true);
+                }
+                continue; // 프레이밍 관련 헤더는 HttpClient가 관리
+            }
+            hasUserAgent |= "User-Agent".equalsIgnoreCase(header.getKey());
+            builder.header(header.getKey(), header.getValue());
+        }
+        if (!hasUserAgent) {
+            builder.header("User-Agent", Http11Transport.USER_AGENT);
+        }
+
+        builder.method(request.getMethod(), entity != null ? bodyPublisher(entity)
+            : java.net.http.HttpRequest.BodyPublishers.noBody());
+
+        HttpExchangeMetrics metrics = HttpExchangeMetrics.start(listener, request);
+        if (request.isAborted()) {
+            throw failed(metrics, new RequestAbortedException("Request aborted."));
+        }
+        CompletableFuture<java.net.http.HttpResponse<InputStream>> pending = client(connectTimeout).sendAsync(builder.build(),
+            java.net.http.HttpResponse.BodyHandlers.ofInputStream());
+        request.setAbortHandler(() -> pending.cancel(true));
+        if (request.isAborted()) {
+            pending.cancel(true); // 중단 처리 등록 전에 중단된 경우
+        }
+
+        java.net.http.HttpResponse<InputStream> response;
+        try {
+            response = pending.get();
+        } catch (InterruptedException e) {
+            pending.cancel(true);
+            Thread.currentThread().interrupt();
+            InterruptedIOException interrupted = new InterruptedIOException("HTTP/2 request was interrupted.");
+            interrupted.initCause(e);
+            throw failed(metrics, interrupted);
+        } catch (CancellationException e) {
+            throw failed(metrics, new RequestAbortedException("Request aborted."));
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (request.isAborted()) {
+                RequestAbortedException aborted = new RequestAbortedException("Request aborted.");
+                aborted.initCause(cause); // 취소 시점에 따라 "Request cancelled" IOException으로 끝나는 경우
+                throw failed(metrics, aborted);
+            }
+            if (cause instanceof UncheckedIOException) {
+                cause = cause.getCause(); // 요청 본문 스트림을 여는 중 발생한 오류
+            }
+            throw failed(metrics, cause instanceof IOException ? (IOException) cause
+                : new IOException(cause.getMessage(), cause));
+        }
+
+        List<String> headerFields = new ArrayList<>();
+        for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+            for (String value : header.getValue()) {
+                headerFields.add(header.getKey());
+                headerFields.add(value);
+            }
+        }
+        long contentLength = response.headers().firstValueAsLong("content-length").orElse(-1L);
+        if (metrics != null) {
+            metrics.protocol = response.version() == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1";
+            metrics.attempts = 1;
+            metrics.timeToFirstByteNanos = metrics.elapsedSinceStart();
+            metrics.bytesSent = entity != null ? Math.max(0, entity.getContentLength()) : 0;
+            metrics.statusCode = response.statusCode();
+        }
+        return new HttpResponse(response.statusCode(), headerFields,
+            new StreamBody(response.body(), contentLength, metrics));
+    }
+
+    /**
+     * 응답 헤더를 받을 때까지의 제한 시간 (ms, 0이면 제한 없음)
+     * 본문이 있으면 본문을 최소 전송 속도로 보내는 시간을 더합니다.
+     */
+    private static long responseTimeout(int readTimeout, HttpEntity entity) {
+        if (readTimeout <= 0 || entity == null) {
+            return Math.max(0, readTimeout);
+        }
+        long length = entity.getContentLength();
+        if (length < 0) {
+            return 0; // 전송 시간을 알 수 없음
+        }
+        return readTimeout + length * 1000 / MIN_SEND_BYTES_PER_SECOND;
+    }
+
+    /**
+     * 요청 실패를 리스너에 통보하고 예외를 그대로 반환
+     */
+    private static IOException failed(HttpExchangeMetrics metrics, IOException error) {
+        if (metrics != null) {
+            metrics.attempts = 1;
+            metrics.finish(error);
+        }
+        return error;
+    }
+
+    /**
+     * 요청 본문 발행자
+     * 엔티티의 openStream으로 본문을 끌어가므로 멀티파트 파일 내용도 메모리에 적재하지 않습니다.
+     */
+    private static java.net.http.HttpRequest.BodyPublisher bodyPublisher(HttpEntity entity) {
+        java.net.http.HttpRequest.BodyPublisher stream = java.net.http.HttpRequest.BodyPublishers.ofInputStream(() -> {
+            try {
+                return entity.openStream();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        // 길이를 알려 chunked 대신 고정 길이(content-length)로 전송
+        return java.net.http.HttpRequest.BodyPublishers.fromPublisher(stream, entity.getContentLength());
+    }
+
+    /**
+     * 전송 계층 종료
+     * Java 21 이상에서는 HttpClient.shutdown()으로 새 요청을 받지 않고, 진행 중인 요청이 끝나면 연결과 선택자 스레드를 정리합니다.
+     * Java 21 미만의 HttpClient는 종료 API가 없어 연결과 선택자 스레드가 HttpClient가 GC될 때까지 남아 있습니다.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (HttpClient client : clients.values()) {
+            if (SHUTDOWN != null) {
+                try {
+                    SHUTDOWN.invoke(client);
+                } catch (ReflectiveOperationException e) {
+                    // 종료 중 오류는 무시
+                }
+            }
+        }
+        clients.clear();
+    }
+
+    private static Method shutdownMethod() {
+        try {
+            return HttpClient.class.getMethod("shutdown");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * java.net.http 응답 본문 스트림
+     */
+    private static final class StreamBody extends ResponseBody {
+        private final InputStream in;
+        private long remaining;
+
+        StreamBody(InputStream in, long contentLength, HttpExchangeMetrics metrics) {
+            this.in = in;
+            this.remaining = contentLength;
+            trackExchange(metrics);
+        }
+
+        @Override
+        long getRemainingLength() {
+            return remaining;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int read = read(single, 0, 1);
+            return read == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read;
+            try {
+                read = in.read(buffer, offset, length);
+            } catch (IOException e) {
+                completeExchange(e);
+                throw e;
+            }
+            if (read == -1) {
+                completeExchange(null);
+                return -1;
+            }
+            countReceived(read);
+            if (remaining > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return in.available();
+        }
+
+        /**
+         * 읽지 않은 본문이 있으면 스트림을 취소 (연결은 다른 스트림이 계속 사용)
+         */
+        @Override
+        public void close() {
+            completeExchange(null);
+            try {
+                in.close();
+            } catch (IOException e) {
+                // 무시
+            }
+        }
+    }
+}
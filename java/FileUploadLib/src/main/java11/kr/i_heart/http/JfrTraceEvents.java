@@ -0,0 +1,228 @@
+package kr.i_heart.http;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * jdk.jfr 기반 TraceEvent 구현 (Java 11 이상, multi-release jar의 META-INF/versions/11에 포함)
+ * 이벤트 종류별로 레코딩 설정에서 활성화되었는지 먼저 확인하므로, 기록 중이 아니면 이벤트 객체를 만들지 않습니다.
+ * 임계값(threshold) 설정은 커밋 시 shouldCommit으로 적용됩니다.
+ *
+ * 이벤트 이름은 kr.i_heart.Auth, kr.i_heart.Upload, kr.i_heart.UploadRetry, kr.i_heart.HttpExchange이며
+ * 예: java -XX:StartFlightRecording:filename=upload.jfr ... 후 jfr print --events kr.i_heart.Upload upload.jfr
+ *
+ * TraceEvent가 Class.forName으로 로드하며, Java 8 기준 소스에서 직접 참조하지 않습니다.
+ */
+final class JfrTraceEvents implements TraceEvent.Factory {
+    private static final EventType AUTH = EventType.getEventType(AuthEvent.class);
+    private static final EventType UPLOAD = EventType.getEventType(UploadEvent.class);
+    private static final EventType RETRY = EventType.getEventType(RetryEvent.class);
+    private static final EventType EXCHANGE = EventType.getEventType(ExchangeEvent.class);
+
+    @Override
+    public TraceEvent beginAuth(String path, String clientId) {
+        if (!AUTH.isEnabled()) {
+            return null;
+        }
+        AuthEvent event = new AuthEvent();
+        event.path = path;
+        event.clientId = clientId;
+        return new Recorded(event);
+    }
+
+    @Override
+    public TraceEvent beginUpload(String path, String fileName, long fileSize) {
+        if (!UPLOAD.isEnabled()) {
+            return null;
+        }
+        UploadEvent event = new UploadEvent();
+        event.path = path;
+        event.fileName = fileName;
+        event.fileSize = fileSize;
+        return new Recorded(event);
+    }
+
+    @Override
+    public TraceEvent beginRetry(String path, String fileName, String reason) {
+        if (!RETRY.isEnabled()) {
+            return null;
+        }
+        RetryEvent event = new RetryEvent();
+        event.path = path;
+        event.fileName = fileName;
+        event.reason = reason;
+        return new Recorded(event);
+    }
+
+    @Override
+    public TraceEvent beginExchange(String method, String path) {
+        if (!EXCHANGE.isEnabled()) {
+            return null;
+        }
+        ExchangeEvent event = new ExchangeEvent();
+        event.method = method;
+        event.path = path;
+        return new RecordedExchange(event);
+    }
+
+    /**
+     * begin 시점에 시작하여 commit 시점에 끝나는 이벤트
+     */
+    private static class Recorded extends TraceEvent {
+        final RequestEvent event;
+
+        Recorded(RequestEvent event) {
+            this.event = event;
+            event.begin();
+        }
+
+        @Override
+        public void commit(int statusCode, String resultCode, Exception error) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.statusCode = statusCode;
+                event.resultCode = resultCode;
+                event.error = error != null ? error.getClass().getName() : null;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * HTTP 요청 실행 이벤트 (단계별 시간과 송수신 바이트 포함)
+     */
+    private static final class RecordedExchange extends Recorded {
+
+        RecordedExchange(ExchangeEvent event) {
+            super(event);
+        }
+
+        @Override
+        void commit(HttpExchangeMetrics metrics) {
+            ExchangeEvent exchange = (ExchangeEvent) event;
+            exchange.protocol = metrics.getProtocol();
+            exchange.attempts = metrics.getAttempts();
+            exchange.connectionReused = metrics.isConnectionReused();
+            exchange.bytesSent = metrics.getBytesSent();
+            exchange.bytesReceived = metrics.getBytesReceived();
+            exchange.connectionLease = timespan(metrics.getLeaseNanos());
+            exchange.connect = timespan(metrics.getConnectNanos());
+            exchange.tlsHandshake = timespan(metrics.getTlsHandshakeNanos());
+            exchange.requestWrite = timespan(metrics.getRequestWriteNanos());
+            exchange.timeToFirstByte = timespan(metrics.getTimeToFirstByteNanos());
+            exchange.responseRead = timespan(metrics.getResponseReadNanos());
+            super.commit(metrics);
+        }
+
+        // 측정하지 않은 단계(-1)는 JFR에서 값 없음으로 표시되도록 Long.MIN_VALUE로 기록
+        private static long timespan(long nanos) {
+            return nanos >= 0 ? nanos : Long.MIN_VALUE;
+        }
+    }
+
+    @Category({"MGOV", "File Upload"})
+    @StackTrace(false)
+    abstract static class RequestEvent extends Event {
+        @Label("Path")
+        String path;
+
+        @Label("Status Code")
+        @Description("HTTP 상태 코드 (응답을 받지 못한 경우 -1)")
+        int statusCode;
+
+        @Label("Result Code")
+        @Description("API 응답 코드 (HTTP 오류는 \"HTTP 429\" 형식, 응답을 받지 못한 경우 예외 클래스 이름)")
+        String resultCode;
+
+        @Label("Error")
+        String error;
+    }
+
+    @Name("kr.i_heart.Auth")
+    @Label("MGOV Auth")
+    @Description("인증 요청 (응답 역직렬화 포함)")
+    static final class AuthEvent extends RequestEvent {
+        @Label("Client ID")
+        String clientId;
+    }
+
+    @Name("kr.i_heart.Upload")
+    @Label("MGOV Upload")
+    @Description("파일 업로드 요청 (응답 역직렬화 포함)")
+    static final class UploadEvent extends RequestEvent {
+        @Label("File Name")
+        String fileName;
+
+        @Label("File Size")
+        @DataAmount
+        long fileSize;
+    }
+
+    @Name("kr.i_heart.UploadRetry")
+    @Label("MGOV Upload Retry")
+    @Description("토큰 유효성 검사 실패 후 재인증과 업로드 재시도")
+    static final class RetryEvent extends RequestEvent {
+        @Label("File Name")
+        String fileName;
+
+        @Label("Reason")
+        @Description("재시도 원인 API 응답 코드")
+        String reason;
+    }
+
+    @Name("kr.i_heart.HttpExchange")
+    @Label("MGOV HTTP Exchange")
+    @Description("HTTP 요청 실행 (응답 본문을 다 읽거나 닫을 때까지, 측정하지 않은 단계는 값 없음)")
+    static final class ExchangeEvent extends RequestEvent {
+        @Label("Method")
+        String method;
+
+        @Label("Protocol")
+        String protocol;
+
+        @Label("Attempts")
+        int attempts;
+
+        @Label("Connection Reused")
+        boolean connectionReused;
+
+        @Label("Bytes Sent")
+        @DataAmount
+        long bytesSent;
+
+        @Label("Bytes Received")
+        @DataAmount
+        long bytesReceived;
+
+        @Label("Connection Lease")
+        @Timespan(Timespan.NANOSECONDS)
+        long connectionLease;
+
+        @Label("Connect")
+        @Timespan(Timespan.NANOSECONDS)
+        long connect;
+
+        @Label("TLS Handshake")
+        @Timespan(Timespan.NANOSECONDS)
+        long tlsHandshake;
+
+        @Label("Request Write")
+        @Timespan(Timespan.NANOSECONDS)
+        long requestWrite;
+
+        @Label("Time To First Byte")
+        @Timespan(Timespan.NANOSECONDS)
+        long timeToFirstByte;
+
+        @Label("Response Read")
+        @Timespan(Timespan.NANOSECONDS)
+        long responseRead;
+    }
+}
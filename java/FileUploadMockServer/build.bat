@@ -0,0 +1,5 @@
+@echo off
+REM Windows batch file equivalent of build.sh
+
+REM mvn 과 pom.xml을 사용해 모의 서버 단독 실행 jar 빌드
+call mvn clean package
@@ -0,0 +1,4 @@
+#!/bin/sh
+
+# mvn 과 pom.xml을 사용해 모의 서버 단독 실행 jar 빌드
+mvn clean package
@@ -0,0 +1,6 @@
+@echo off
+REM Windows batch file equivalent of run.sh
+
+REM 모의 서버 실행 (옵션 목록은 잘못된 옵션을 주면 출력됨)
+REM 예: run.bat --port=8080 --upload-latency=lognormal:30-400 --error-rate=0.01 --token-max-uses=100
+java -jar target\nirs-file-upload-mock-server.jar %*
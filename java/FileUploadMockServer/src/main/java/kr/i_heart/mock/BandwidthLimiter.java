@@ -0,0 +1,74 @@
+package kr.i_heart.mock;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서버 전체가 공유하는 수신 대역폭 제한
+ * 읽은 바이트만큼 전송 시간을 예약하고, 예약 시각이 될 때까지 읽는 스레드를 대기시킵니다.
+ */
+final class BandwidthLimiter {
+    private final long bytesPerSecond;
+    private long nextFreeNanos;   // 다음 바이트를 받을 수 있는 시각
+
+    /**
+     * 생성자
+     * @param bytesPerSecond 초당 최대 수신 바이트
+     */
+    BandwidthLimiter(long bytesPerSecond) {
+        if (bytesPerSecond <= 0) {
+            throw new IllegalArgumentException("bytesPerSecond must be positive.");
+        }
+        this.bytesPerSecond = bytesPerSecond;
+        this.nextFreeNanos = System.nanoTime();
+    }
+
+    /**
+     * 지정한 바이트 수만큼의 전송 시간이 지날 때까지 대기
+     */
+    void acquire(int bytes) throws InterruptedIOException {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long start = Math.max(now, nextFreeNanos);
+            nextFreeNanos = start + bytes * TimeUnit.SECONDS.toNanos(1) / bytesPerSecond;
+            waitNanos = nextFreeNanos - now;
+        }
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while throttling.");
+            }
+        }
+    }
+
+    /**
+     * 대역폭 제한을 적용한 입력 스트림
+     */
+    InputStream wrap(InputStream in) {
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b != -1) {
+                    acquire(1);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int read = super.read(buffer, offset, length);
+                if (read > 0) {
+                    acquire(read);
+                }
+                return read;
+            }
+        };
+    }
+}
@@ -0,0 +1,256 @@
+package kr.i_heart.mock;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+
+/**
+ * "Expect: 100-continue" 업로드 요청의 토큰을 본문 수신 전에 검사하는 모의 서버 앞단
+ * JDK HttpServer는 핸들러를 호출하기 전에 100 Continue를 자동으로 보내므로, 앞단에서 요청 헤더를 먼저 읽고
+ * 토큰이 유효하지 않으면 본문을 받지 않고 최종 응답을 보낸 뒤 연결을 닫습니다. (실제 서버의 조기 거절 재현)
+ * 그 외 요청은 뒤의 HttpServer로 그대로 전달하고, 100 Continue를 포함한 응답도 그대로 돌려줍니다.
+ *
+ * 요청 본문은 Content-Length로 구분하며, chunked 요청이 오면 그 연결의 나머지 데이터를 검사 없이 전달합니다.
+ * 클라이언트는 응답을 받은 후에 다음 요청을 보내므로(파이프라이닝 없음) 거절 응답과 전달 중인 응답이 섞이지 않습니다.
+ */
+final class ExpectContinueFrontend implements AutoCloseable {
+    private static final int BUFFER_SIZE = 65536;
+    private static final int MAX_HEAD_SIZE = 65536;
+    private static final int REJECT_DRAIN_TIMEOUT = 1000; // 거절 후 클라이언트가 이미 보낸 데이터를 버리며 기다리는 시간 (ms)
+
+    private final ServerSocket serverSocket;
+    private final InetSocketAddress backend;
+    private final String uploadPath;
+    private final Predicate<String> tokenCheck;
+    private final byte[] rejection;
+    private final Runnable onReject;
+    private final ExecutorService relays;
+    private volatile boolean closed;
+
+    /**
+     * 생성자 (생성 즉시 연결을 받기 시작)
+     * @param address 바인드 주소
+     * @param port 포트 (0이면 빈 포트 자동 선택)
+     * @param backend 요청을 전달할 HttpServer 주소
+     * @param uploadPath 토큰을 먼저 검사할 업로드 경로
+     * @param tokenCheck Bearer 토큰 검사 (사용 횟수를 차감하지 않아야 함)
+     * @param rejection 토큰이 유효하지 않을 때 보낼 HTTP 응답 (상태 줄, 헤더, 본문 전체)
+     * @param onReject 조기 거절 시 호출 (통계 집계용)
+     * @throws IOException 포트 바인드 실패 시
+     */
+    ExpectContinueFrontend(InetAddress address, int port, InetSocketAddress backend, String uploadPath,
+                           Predicate<String> tokenCheck, byte[] rejection, Runnable onReject) throws IOException {
+        this.serverSocket = new ServerSocket(port, 1024, address);
+        this.backend = backend;
+        this.uploadPath = uploadPath;
+        this.tokenCheck = tokenCheck;
+        this.rejection = rejection;
+        this.onReject = onReject;
+        this.relays = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "mock-mgov-expect-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        relays.execute(this::acceptLoop);
+    }
+
+    /**
+     * 연결을 받는 주소
+     */
+    InetSocketAddress getAddress() {
+        return (InetSocketAddress) serverSocket.getLocalSocketAddress();
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket client = serverSocket.accept();
+                relays.execute(() -> relay(client));
+            } catch (IOException e) {
+                if (closed) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 클라이언트 연결 하나를 뒤의 HttpServer로 중계 (요청 방향은 이 스레드, 응답 방향은 별도 스레드)
+     */
+    private void relay(Socket client) {
+        try (Socket downstream = client; Socket upstream = new Socket()) {
+            downstream.setTcpNoDelay(true);
+            upstream.setTcpNoDelay(true);
+            upstream.connect(backend);
+            InputStream in = new BufferedInputStream(downstream.getInputStream(), BUFFER_SIZE);
+            OutputStream clientOut = downstream.getOutputStream();
+            OutputStream backendOut = upstream.getOutputStream();
+            InputStream backendIn = upstream.getInputStream();
+            relays.execute(() -> pump(backendIn, clientOut, downstream));
+
+            byte[] buffer = new byte[BUFFER_SIZE];
+            byte[] head;
+            while ((head = readHead(in)) != null) {
+                Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                String target = parseHead(head, headers);
+                if (target.startsWith(uploadPath) && "100-continue".equalsIgnoreCase(headers.get("Expect"))
+                        && !tokenCheck.test(bearerToken(headers.get("Authorization")))) {
+                    reject(downstream, in, clientOut, buffer);
+                    return;
+                }
+
+                backendOut.write(head);
+                if (headers.containsKey("Transfer-Encoding")) {
+                    // chunked 본문은 경계를 따로 해석하지 않고 연결의 나머지를 그대로 전달
+                    copy(in, backendOut, Long.MAX_VALUE, buffer);
+                    return;
+                }
+                long length = headers.containsKey("Content-Length")
+                    ? Long.parseLong(headers.get("Content-Length").trim()) : 0;
+                copy(in, backendOut, length, buffer);
+                backendOut.flush();
+            }
+        } catch (IOException | RuntimeException e) {
+            // 클라이언트 또는 HttpServer가 연결을 끊은 경우
+        }
+    }
+
+    /**
+     * 본문을 받지 않고 최종 응답을 보낸 뒤 연결 종료
+     * 대기 시간이 지나 클라이언트가 이미 본문을 보내기 시작했으면 RST로 응답이 유실되지 않도록 잠시 읽어서 버립니다.
+     */
+    private void reject(Socket downstream, InputStream in, OutputStream clientOut, byte[] buffer) throws IOException {
+        onReject.run();
+        clientOut.write(rejection);
+        clientOut.flush();
+        downstream.shutdownOutput();
+        downstream.setSoTimeout(REJECT_DRAIN_TIMEOUT);
+        try {
+            while (in.read(buffer) != -1) {
+                // 버림
+            }
+        } catch (SocketTimeoutException e) {
+            // 클라이언트가 연결을 닫지 않으면 그대로 종료
+        }
+    }
+
+    /**
+     * HttpServer의 응답을 클라이언트로 전달 (HttpServer가 연결을 닫으면 클라이언트 연결도 닫음)
+     */
+    private static void pump(InputStream backendIn, OutputStream clientOut, Socket downstream) {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try {
+            int read;
+            while ((read = backendIn.read(buffer)) != -1) {
+                clientOut.write(buffer, 0, read);
+                clientOut.flush();
+            }
+        } catch (IOException e) {
+            // 연결 종료
+        } finally {
+            try {
+                downstream.close();
+            } catch (IOException e) {
+                // 무시
+            }
+        }
+    }
+
+    /**
+     * 요청 줄과 헤더를 빈 줄까지 읽음
+     * @return 빈 줄을 포함한 요청 헤더 (연결이 요청 사이에서 닫혔으면 null)
+     */
+    private static byte[] readHead(InputStream in) throws IOException {
+        ByteArrayOutputStream head = new ByteArrayOutputStream(512);
+        int matched = 0; // 연속으로 읽은 \r\n\r\n 바이트 수
+        int b;
+        while ((b = in.read()) != -1) {
+            head.write(b);
+            if (b == (matched % 2 == 0 ? '\r' : '\n')) {
+                matched++;
+                if (matched == 4) {
+                    return head.toByteArray();
+                }
+            } else {
+                matched = b == '\r' ? 1 : 0;
+            }
+            if (head.size() > MAX_HEAD_SIZE) {
+                throw new IOException("Request head is too large.");
+            }
+        }
+        if (head.size() > 0) {
+            throw new IOException("Connection closed while reading request head.");
+        }
+        return null;
+    }
+
+    /**
+     * 요청 헤더 해석
+     * @param headers 헤더를 담을 맵 (이름 대소문자 무시)
+     * @return 요청 대상 경로
+     */
+    private static String parseHead(byte[] head, Map<String, String> headers) throws IOException {
+        String[] lines = new String(head, StandardCharsets.ISO_8859_1).split("\r\n");
+        String[] requestLine = lines[0].split(" ");
+        if (requestLine.length != 3) {
+            throw new IOException("Invalid request line: " + lines[0]);
+        }
+        for (int i = 1; i < lines.length; i++) {
+            int colon = lines[i].indexOf(':');
+            if (colon > 0) {
+                headers.put(lines[i].substring(0, colon).trim(), lines[i].substring(colon + 1).trim());
+            }
+        }
+        return requestLine[1];
+    }
+
+    private static String bearerToken(String authorization) {
+        if (authorization == null || !authorization.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            return null;
+        }
+        String token = authorization.substring(7).trim();
+        return token.isEmpty() ? null : token;
+    }
+
+    private static void copy(InputStream in, OutputStream out, long length, byte[] buffer) throws IOException {
+        long remaining = length;
+        while (remaining > 0) {
+            int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read == -1) {
+                if (length == Long.MAX_VALUE) {
+                    return;
+                }
+                throw new IOException("Connection closed while reading request body.");
+            }
+            out.write(buffer, 0, read);
+            remaining -= read;
+        }
+    }
+
+    /**
+     * 앞단 종료 (중계 중인 연결은 HttpServer 종료 시 함께 끊어짐)
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // 무시
+        }
+        relays.shutdownNow();
+    }
+}
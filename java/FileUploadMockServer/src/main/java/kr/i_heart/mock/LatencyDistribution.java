@@ -0,0 +1,86 @@
+package kr.i_heart.mock;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 응답 지연 시간 분포
+ * 요청마다 sampleMillis()로 지연 시간을 뽑아 응답 전에 대기합니다.
+ */
+public interface LatencyDistribution {
+
+    /**
+     * 지연 시간 샘플 (ms)
+     */
+    long sampleMillis();
+
+    /**
+     * 지연 없음
+     */
+    static LatencyDistribution none() {
+        return () -> 0;
+    }
+
+    /**
+     * 고정 지연
+     * @param millis 지연 시간 (ms)
+     */
+    static LatencyDistribution fixed(long millis) {
+        return () -> millis;
+    }
+
+    /**
+     * 균등 분포 지연
+     * @param minMillis 최소 지연 시간 (ms)
+     * @param maxMillis 최대 지연 시간 (ms)
+     */
+    static LatencyDistribution uniform(long minMillis, long maxMillis) {
+        if (minMillis < 0 || maxMillis < minMillis) {
+            throw new IllegalArgumentException("Invalid latency range: " + minMillis + "~" + maxMillis);
+        }
+        return () -> minMillis + (long) (ThreadLocalRandom.current().nextDouble() * (maxMillis - minMillis + 1));
+    }
+
+    /**
+     * 로그정규 분포 지연 (대부분 빠르고 일부 요청이 길게 지연되는 tail latency 재현용)
+     * @param medianMillis 중앙값 (ms)
+     * @param p99Millis 99 백분위 값 (ms, 중앙값 이상)
+     */
+    static LatencyDistribution logNormal(double medianMillis, double p99Millis) {
+        if (medianMillis <= 0 || p99Millis < medianMillis) {
+            throw new IllegalArgumentException("Invalid latency percentiles: p50=" + medianMillis + ", p99=" + p99Millis);
+        }
+        double mu = Math.log(medianMillis);
+        double sigma = (Math.log(p99Millis) - mu) / 2.326; // 표준정규분포 99 백분위 z값
+        return () -> Math.round(Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian()));
+    }
+
+    /**
+     * 문자열 설정으로부터 분포 생성
+     * 형식: none | fixed:50 | uniform:10-200 | lognormal:30-400 (중앙값-p99)
+     * @param spec 분포 설정 문자열
+     */
+    static LatencyDistribution parse(String spec) {
+        String value = spec.trim().toLowerCase();
+        if (value.isEmpty() || "none".equals(value)) {
+            return none();
+        }
+        int colon = value.indexOf(':');
+        String type = colon >= 0 ? value.substring(0, colon) : "fixed";
+        String args = colon >= 0 ? value.substring(colon + 1) : value;
+        String[] range = args.split("-");
+        try {
+            switch (type) {
+                case "fixed":
+                    return fixed(Long.parseLong(args));
+                case "uniform":
+                    return uniform(Long.parseLong(range[0]), Long.parseLong(range[1]));
+                case "lognormal":
+                    return logNormal(Double.parseDouble(range[0]), Double.parseDouble(range[1]));
+                default:
+                    throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid latency distribution: " + spec);
+        }
+    }
+}
@@ -0,0 +1,653 @@
+package kr.i_heart.mock;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 부하 테스트용 MGOV 인증/업로드 모의 서버
+ * /api/v1/auth, /api/v1/upload를 AuthResponse, FileUploadResponse와 같은 JSON 형식으로 구현하며,
+ * 업로드 요청의 multipart 본문을 실제로 파싱하여 reqFile/filePart를 검증합니다. (filePart가 여러 개이면 파트 순서대로 imgUrlLst 반환)
+ *
+ * 응답 지연 분포, HTTP 5xx/429 발생 비율, 토큰 사용 횟수 초과 시 29011 응답, 수신 대역폭 제한을 설정할 수 있어
+ * 실제 서버 없이 클라이언트의 처리량과 tail latency를 재현할 수 있습니다.
+ * 지연은 별도 스케줄러에서 처리하므로 지연 중인 요청이 작업 스레드를 점유하지 않습니다.
+ *
+ * 토큰 검증은 본문을 끝까지 읽은 후에 하므로 클라이언트의 전송 비용은 응답 종류와 관계없이 동일합니다.
+ * setEarlyTokenCheck(true)로 시작하면 "Expect: 100-continue" 업로드 요청은 본문을 받기 전에 토큰을 검사하여
+ * 유효하지 않으면 100 Continue 없이 29011로 응답하므로, 클라이언트가 파일 전송을 생략하는지 확인할 수 있습니다. (ExpectContinueFrontend)
+ */
+public class MockMgovServer implements AutoCloseable {
+    private static final String SUCCESS_CODE = "10000";
+    private static final String TOKEN_INVALID_CODE = "29011";
+    private static final ZoneId SERVER_ZONE = ZoneId.of("Asia/Seoul");
+    private static final DateTimeFormatter FILE_EXP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final int MAX_TEXT_PART_SIZE = 65536;
+
+    private final Builder config;
+    private final HttpServer server;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService delayer;
+    private final BandwidthLimiter bandwidthLimiter;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExpectContinueFrontend frontend; // 본문 수신 전 토큰 검사 앞단 (사용하지 않으면 null)
+
+    private final Map<String, AtomicInteger> tokenUses = new ConcurrentHashMap<>();
+    private final AtomicLong tokenSequence = new AtomicLong();
+    private final AtomicLong fileSequence = new AtomicLong();
+
+    private final LongAdder authCount = new LongAdder();
+    private final LongAdder uploadCount = new LongAdder();
+    private final LongAdder tokenInvalidCount = new LongAdder();
+    private final LongAdder earlyRejectCount = new LongAdder();
+    private final LongAdder serverErrorCount = new LongAdder();
+    private final LongAdder tooManyRequestsCount = new LongAdder();
+    private final LongAdder badRequestCount = new LongAdder();
+    private final LongAdder receivedFileBytes = new LongAdder();
+
+    private MockMgovServer(Builder builder) throws IOException {
+        this.config = builder;
+        this.bandwidthLimiter = builder.bandwidthBytesPerSecond > 0
+            ? new BandwidthLimiter(builder.bandwidthBytesPerSecond) : null;
+
+        // JDK HttpServer는 기본적으로 Nagle 알고리즘을 사용하여 응답마다 delayed ACK 대기가 생기므로 끔
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+
+        InetAddress address = builder.bindAddress != null ? InetAddress.getByName(builder.bindAddress)
+            : InetAddress.getLoopbackAddress();
+        // 앞단을 사용하면 HttpServer는 루프백의 빈 포트에서 앞단이 전달한 요청만 받음
+        this.server = builder.earlyTokenCheck
+            ? HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024)
+            : HttpServer.create(new InetSocketAddress(address, builder.port), 1024);
+        this.workers = Executors.newFixedThreadPool(builder.workerThreads, daemonThreads("mock-mgov-worker"));
+        this.delayer = Executors.newSingleThreadScheduledExecutor(daemonThreads("mock-mgov-delay"));
+        server.setExecutor(workers);
+        server.createContext("/api/v1/auth", this::handleAuth);
+        server.createContext("/api/v1/upload", this::handleUpload);
+        server.start();
+
+        if (builder.earlyTokenCheck) {
+            byte[] body = objectMapper.writeValueAsBytes(result(TOKEN_INVALID_CODE, "토큰 유효성 검사 실패", null));
+            ByteArrayOutputStream rejection = new ByteArrayOutputStream();
+            rejection.write(("HTTP/1.1 200 OK\r\nContent-Type: application/json;charset=UTF-8\r\nContent-Length: "
+                + body.length + "\r\nConnection: close\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1));
+            rejection.write(body);
+            try {
+                this.frontend = new ExpectContinueFrontend(address, builder.port, server.getAddress(), "/api/v1/upload",
+                    token -> isTokenValid(token, false), rejection.toByteArray(), () -> {
+                        tokenInvalidCount.increment();
+                        earlyRejectCount.increment();
+                    });
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        } else {
+            this.frontend = null;
+        }
+    }
+
+    /**
+     * 모의 서버 설정을 위한 빌더 클래스
+     */
+    public static class Builder {
+        private String bindAddress;
+        private int port = 0;
+        private int workerThreads = 32;
+        private LatencyDistribution authLatency = LatencyDistribution.none();
+        private LatencyDistribution uploadLatency = LatencyDistribution.none();
+        private double serverErrorRate = 0;
+        private double tooManyRequestsRate = 0;
+        private int retryAfterSeconds = 1;
+        private int tokenMaxUses = 0;
+        private long tokenTtl = 0;
+        private long bandwidthBytesPerSecond = 0;
+        private long fileTtl = TimeUnit.DAYS.toMillis(7);
+        private boolean earlyTokenCheck = false;
+
+        /**
+         * 바인드 주소 (기본 루프백)
+         */
+        public Builder setBindAddress(String bindAddress) {
+            this.bindAddress = bindAddress;
+            return this;
+        }
+
+        /**
+         * 포트 (기본 0, 빈 포트 자동 선택)
+         */
+        public Builder setPort(int port) {
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * 요청 처리 스레드 수 (기본 32)
+         */
+        public Builder setWorkerThreads(int workerThreads) {
+            this.workerThreads = workerThreads;
+            return this;
+        }
+
+        /**
+         * 인증 응답 지연 분포 (기본 지연 없음)
+         */
+        public Builder setAuthLatency(LatencyDistribution authLatency) {
+            this.authLatency = authLatency;
+            return this;
+        }
+
+        /**
+         * 업로드 응답 지연 분포 (기본 지연 없음, 본문 수신 이후부터 적용)
+         */
+        public Builder setUploadLatency(LatencyDistribution uploadLatency) {
+            this.uploadLatency = uploadLatency;
+            return this;
+        }
+
+        /**
+         * HTTP 5xx(500/502/503) 응답 비율 (0.0 ~ 1.0, 기본 0)
+         */
+        public Builder setServerErrorRate(double serverErrorRate) {
+            this.serverErrorRate = serverErrorRate;
+            return this;
+        }
+
+        /**
+         * HTTP 429 응답 비율 (0.0 ~ 1.0, 기본 0)
+         */
+        public Builder setTooManyRequestsRate(double tooManyRequestsRate) {
+            this.tooManyRequestsRate = tooManyRequestsRate;
+            return this;
+        }
+
+        /**
+         * 429 응답의 Retry-After 값 (초, 기본 1)
+         */
+        public Builder setRetryAfterSeconds(int retryAfterSeconds) {
+            this.retryAfterSeconds = retryAfterSeconds;
+            return this;
+        }
+
+        /**
+         * 토큰당 최대 업로드 횟수 (초과 시 29011 응답, 기본 0 제한 없음)
+         */
+        public Builder setTokenMaxUses(int tokenMaxUses) {
+            this.tokenMaxUses = tokenMaxUses;
+            return this;
+        }
+
+        /**
+         * 토큰 유효 시간 (ms, 기본 0 만료 없음)
+         * 설정하면 exp 클레임을 가진 JWT 형식 토큰을 발급하고, 만료된 토큰에는 29011로 응답합니다.
+         */
+        public Builder setTokenTtl(long tokenTtl) {
+            this.tokenTtl = tokenTtl;
+            return this;
+        }
+
+        /**
+         * 서버 전체 수신 대역폭 (bytes/s, 기본 0 제한 없음)
+         */
+        public Builder setBandwidth(long bandwidthBytesPerSecond) {
+            this.bandwidthBytesPerSecond = bandwidthBytesPerSecond;
+            return this;
+        }
+
+        /**
+         * 업로드 파일 유효 기간 (ms, fileExpDt 계산용, 기본 7일)
+         */
+        public Builder setFileTtl(long fileTtl) {
+            this.fileTtl = fileTtl;
+            return this;
+        }
+
+        /**
+         * "Expect: 100-continue" 업로드 요청의 토큰을 본문 수신 전에 검사할지 여부 (기본 false)
+         * JDK HttpServer는 100 Continue를 자동으로 보내므로, 설정하면 요청 헤더를 먼저 읽는 앞단을 거쳐 요청을 받으며
+         * 토큰이 유효하지 않은 요청에는 본문을 받지 않고 29011로 응답한 뒤 연결을 닫습니다.
+         */
+        public Builder setEarlyTokenCheck(boolean earlyTokenCheck) {
+            this.earlyTokenCheck = earlyTokenCheck;
+            return this;
+        }
+
+        /**
+         * 서버 시작
+         * @throws IOException 포트 바인드 실패 시
+         */
+        public MockMgovServer start() throws IOException {
+            if (serverErrorRate < 0 || tooManyRequestsRate < 0 || serverErrorRate + tooManyRequestsRate > 1) {
+                throw new IllegalArgumentException("Error rates must be between 0 and 1.");
+            }
+            return new MockMgovServer(this);
+        }
+    }
+
+    /**
+     * 빌더 생성 메서드
+     */
+    public static Builder custom() {
+        return new Builder();
+    }
+
+    /**
+     * 클라이언트에 전달할 도메인 URL (예: http://127.0.0.1:12345)
+     */
+    public String getDomain() {
+        InetSocketAddress address = frontend != null ? frontend.getAddress() : server.getAddress();
+        return "http://" + address.getAddress().getHostAddress() + ":" + address.getPort();
+    }
+
+    /**
+     * 현재까지의 요청 통계
+     */
+    public Statistics getStatistics() {
+        return new Statistics(authCount.sum(), uploadCount.sum(), tokenInvalidCount.sum(), earlyRejectCount.sum(),
+            serverErrorCount.sum(), tooManyRequestsCount.sum(), badRequestCount.sum(), receivedFileBytes.sum());
+    }
+
+    /**
+     * 인증 요청 처리
+     */
+    private void handleAuth(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+                sendLater(exchange, 405, null, 0);
+                return;
+            }
+            JsonNode request;
+            try (InputStream in = exchange.getRequestBody()) {
+                request = objectMapper.readTree(in);
+            }
+            if (injectFailure(exchange, config.authLatency)) {
+                return;
+            }
+            if (request == null || request.path("clientId").asText().isEmpty()
+                    || request.path("clientPwd").asText().isEmpty()) {
+                badRequestCount.increment();
+                sendLater(exchange, 400, result("400", "clientId/clientPwd is required.", null),
+                    config.authLatency.sampleMillis());
+                return;
+            }
+
+            authCount.increment();
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("token", issueToken(request.path("clientId").asText()));
+            sendLater(exchange, 200, result(SUCCESS_CODE, "성공", data), config.authLatency.sampleMillis());
+        } catch (IOException e) {
+            badRequestCount.increment();
+            sendLater(exchange, 400, result("400", "Invalid auth request: " + e.getMessage(), null), 0);
+        }
+    }
+
+    /**
+     * 업로드 요청 처리
+     */
+    private void handleUpload(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+                sendLater(exchange, 405, null, 0);
+                return;
+            }
+
+            // 본문은 항상 끝까지 읽어 클라이언트의 전송 비용이 응답 종류와 관계없이 동일하게 함
+            String boundary = MultipartParser.boundaryOf(exchange.getRequestHeaders().getFirst("Content-Type"));
+            if (boundary == null) {
+                drain(exchange.getRequestBody());
+                badRequestCount.increment();
+                sendLater(exchange, 400, result("400", "multipart/form-data with boundary is required.", null), 0);
+                return;
+            }
+            InputStream body = exchange.getRequestBody();
+            if (bandwidthLimiter != null) {
+                body = bandwidthLimiter.wrap(body);
+            }
+            List<MultipartParser.Part> parts;
+            try (InputStream in = body) {
+                parts = MultipartParser.parse(in, boundary, MAX_TEXT_PART_SIZE);
+            }
+
+            if (injectFailure(exchange, config.uploadLatency)) {
+                return;
+            }
+
+            // 토큰 검증
+            String token = bearerToken(exchange.getRequestHeaders().getFirst("Authorization"));
+            if (!isTokenValid(token, true)) {
+                tokenInvalidCount.increment();
+                sendLater(exchange, 200, result(TOKEN_INVALID_CODE, "토큰 유효성 검사 실패", null),
+                    config.uploadLatency.sampleMillis());
+                return;
+            }
+
+            // 파트 검증
+            MultipartParser.Part reqFile = findPart(parts, "reqFile");
+            List<MultipartParser.Part> fileParts = findParts(parts, "filePart");
+            String error = validateParts(reqFile, fileParts);
+            if (error != null) {
+                badRequestCount.increment();
+                sendLater(exchange, 400, result("400", error, null), config.uploadLatency.sampleMillis());
+                return;
+            }
+
+            // filePart가 여러 개이면 파트 순서대로 imgUrlLst 생성
+            uploadCount.increment();
+            String fileId = String.format("FID%s%08d", ZonedDateTime.now(SERVER_ZONE).format(FILE_EXP_FORMAT),
+                fileSequence.incrementAndGet());
+            List<String> imgUrls = new ArrayList<>(fileParts.size());
+            for (int i = 0; i < fileParts.size(); i++) {
+                MultipartParser.Part filePart = fileParts.get(i);
+                receivedFileBytes.add(filePart.getSize());
+                imgUrls.add(getDomain() + "/files/" + fileId + "/" + (i > 0 ? i + "/" : "") + filePart.getFilename());
+            }
+
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("imgUrl", imgUrls.get(0));
+            data.put("imgUrlLst", imgUrls);
+            data.put("fileId", fileId);
+            data.put("fileExpDt", ZonedDateTime.now(SERVER_ZONE).plusNanos(TimeUnit.MILLISECONDS.toNanos(config.fileTtl))
+                .format(FILE_EXP_FORMAT));
+            sendLater(exchange, 200, result(SUCCESS_CODE, "성공", data), config.uploadLatency.sampleMillis());
+        } catch (IOException e) {
+            badRequestCount.increment();
+            sendLater(exchange, 400, result("400", "Invalid multipart request: " + e.getMessage(), null), 0);
+        }
+    }
+
+    /**
+     * 설정된 비율로 5xx 또는 429 응답
+     * @return 오류 응답을 보냈는지 여부
+     */
+    private boolean injectFailure(HttpExchange exchange, LatencyDistribution latency) throws IOException {
+        double dice = ThreadLocalRandom.current().nextDouble();
+        if (dice < config.serverErrorRate) {
+            serverErrorCount.increment();
+            int[] statuses = {500, 502, 503};
+            sendLater(exchange, statuses[ThreadLocalRandom.current().nextInt(statuses.length)],
+                result("500", "Injected server error", null), latency.sampleMillis());
+            return true;
+        }
+        if (dice < config.serverErrorRate + config.tooManyRequestsRate) {
+            tooManyRequestsCount.increment();
+            exchange.getResponseHeaders().set("Retry-After", String.valueOf(config.retryAfterSeconds));
+            sendLater(exchange, 429, result("429", "Too many requests", null), 0);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 토큰 발급 (TTL이 설정되면 exp 클레임을 가진 JWT 형식)
+     */
+    private String issueToken(String clientId) throws IOException {
+        long sequence = tokenSequence.incrementAndGet();
+        if (config.tokenTtl <= 0) {
+            return "mock-token-" + sequence;
+        }
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("sub", clientId);
+        payload.put("jti", sequence);
+        payload.put("exp", (System.currentTimeMillis() + config.tokenTtl) / 1000);
+        return encoder.encodeToString("{\"alg\":\"none\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8))
+            + "." + encoder.encodeToString(objectMapper.writeValueAsBytes(payload))
+            + "." + encoder.encodeToString(("mock-" + sequence).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 발급한 토큰인지, 만료되지 않았는지, 사용 횟수를 넘지 않았는지 확인
+     * @param countUse 사용 횟수를 차감할지 여부 (본문 수신 전 검사는 차감하지 않음)
+     */
+    private boolean isTokenValid(String token, boolean countUse) {
+        if (token == null) {
+            return false;
+        }
+        if (config.tokenTtl > 0) {
+            String[] parts = token.split("\\.");
+            if (parts.length != 3) {
+                return false;
+            }
+            try {
+                long exp = objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1])).path("exp").asLong();
+                if (System.currentTimeMillis() / 1000 >= exp) {
+                    return false;
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                return false;
+            }
+        } else if (!token.startsWith("mock-token-")) {
+            return false;
+        }
+        if (config.tokenMaxUses > 0) {
+            if (!countUse) {
+                AtomicInteger uses = tokenUses.get(token);
+                return uses == null || uses.get() < config.tokenMaxUses;
+            }
+            return tokenUses.computeIfAbsent(token, key -> new AtomicInteger()).incrementAndGet() <= config.tokenMaxUses;
+        }
+        return true;
+    }
+
+    private static String bearerToken(String authorization) {
+        if (authorization == null || !authorization.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            return null;
+        }
+        String token = authorization.substring(7).trim();
+        return token.isEmpty() ? null : token;
+    }
+
+    private static MultipartParser.Part findPart(List<MultipartParser.Part> parts, String name) {
+        for (MultipartParser.Part part : parts) {
+            if (name.equals(part.getName())) {
+                return part;
+            }
+        }
+        return null;
+    }
+
+    private static List<MultipartParser.Part> findParts(List<MultipartParser.Part> parts, String name) {
+        List<MultipartParser.Part> found = new ArrayList<>();
+        for (MultipartParser.Part part : parts) {
+            if (name.equals(part.getName())) {
+                found.add(part);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * reqFile(JSON)과 filePart(파일, 하나 이상) 파트 검증
+     * @return 오류 메시지 (정상이면 null)
+     */
+    private String validateParts(MultipartParser.Part reqFile, List<MultipartParser.Part> fileParts) {
+        if (reqFile == null || reqFile.isFile()) {
+            return "reqFile part is required.";
+        }
+        try {
+            JsonNode json = objectMapper.readTree(reqFile.getText());
+            if (json == null || !json.isObject() || !json.has("brandId")) {
+                return "reqFile must be a JSON object with brandId.";
+            }
+        } catch (IOException e) {
+            return "reqFile must be a JSON object with brandId.";
+        }
+        if (fileParts.isEmpty()) {
+            return "filePart file is required.";
+        }
+        for (MultipartParser.Part filePart : fileParts) {
+            if (!filePart.isFile() || filePart.getFilename().isEmpty()) {
+                return "filePart file is required.";
+            }
+            if (filePart.getSize() == 0) {
+                return "filePart is empty.";
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, Object> result(String code, String message, Map<String, Object> data) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("code", code);
+        result.put("message", message);
+        if (data != null) {
+            result.put("data", data);
+        }
+        return result;
+    }
+
+    /**
+     * 지연 시간이 지난 뒤 응답 (지연 중에는 작업 스레드를 점유하지 않음)
+     */
+    private void sendLater(HttpExchange exchange, int status, Map<String, Object> body, long delayMillis)
+            throws IOException {
+        byte[] response = body != null ? objectMapper.writeValueAsBytes(body) : new byte[0];
+        if (delayMillis <= 0) {
+            send(exchange, status, response);
+            return;
+        }
+        delayer.schedule(() -> workers.execute(() -> {
+            try {
+                send(exchange, status, response);
+            } catch (IOException e) {
+                exchange.close(); // 클라이언트가 이미 연결을 끊은 경우
+            }
+        }), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] response) throws IOException {
+        if (response.length > 0) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+        }
+        exchange.sendResponseHeaders(status, response.length > 0 ? response.length : -1);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    private static void drain(InputStream in) throws IOException {
+        try (InputStream body = in) {
+            byte[] buffer = new byte[65536];
+            while (body.read(buffer) != -1) {
+                // 버림
+            }
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 서버 종료
+     */
+    @Override
+    public void close() {
+        if (frontend != null) {
+            frontend.close();
+        }
+        server.stop(0);
+        delayer.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * 요청 통계 스냅샷
+     */
+    public static final class Statistics {
+        private final long authCount;
+        private final long uploadCount;
+        private final long tokenInvalidCount;
+        private final long earlyRejectCount;
+        private final long serverErrorCount;
+        private final long tooManyRequestsCount;
+        private final long badRequestCount;
+        private final long receivedFileBytes;
+
+        Statistics(long authCount, long uploadCount, long tokenInvalidCount, long earlyRejectCount,
+                   long serverErrorCount, long tooManyRequestsCount, long badRequestCount, long receivedFileBytes) {
+            this.authCount = authCount;
+            this.uploadCount = uploadCount;
+            this.tokenInvalidCount = tokenInvalidCount;
+            this.earlyRejectCount = earlyRejectCount;
+            this.serverErrorCount = serverErrorCount;
+            this.tooManyRequestsCount = tooManyRequestsCount;
+            this.badRequestCount = badRequestCount;
+            this.receivedFileBytes = receivedFileBytes;
+        }
+
+        public long getAuthCount() {
+            return authCount;
+        }
+
+        public long getUploadCount() {
+            return uploadCount;
+        }
+
+        public long getTokenInvalidCount() {
+            return tokenInvalidCount;
+        }
+
+        /**
+         * 29011 응답 중 본문을 받기 전에 거절한 수 (setEarlyTokenCheck 사용 시)
+         */
+        public long getEarlyRejectCount() {
+            return earlyRejectCount;
+        }
+
+        public long getServerErrorCount() {
+            return serverErrorCount;
+        }
+
+        public long getTooManyRequestsCount() {
+            return tooManyRequestsCount;
+        }
+
+        public long getBadRequestCount() {
+            return badRequestCount;
+        }
+
+        public long getReceivedFileBytes() {
+            return receivedFileBytes;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics{auth=" + authCount + ", upload=" + uploadCount + ", tokenInvalid=" + tokenInvalidCount
+                + ", earlyReject=" + earlyRejectCount + ", serverError=" + serverErrorCount + ", tooManyRequests=" + tooManyRequestsCount
+                + ", badRequest=" + badRequestCount + ", receivedFileBytes=" + receivedFileBytes + "}";
+        }
+    }
+}
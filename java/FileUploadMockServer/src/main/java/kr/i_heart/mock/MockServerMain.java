@@ -0,0 +1,93 @@
+package kr.i_heart.mock;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * 모의 서버 단독 실행용 메인 클래스
+ * 옵션은 --이름=값 형식으로 전달합니다.
+ *
+ * 예: java -jar nirs-file-upload-mock-server.jar --port=8080 --upload-latency=lognormal:30-400 --error-rate=0.01
+ */
+public class MockServerMain {
+
+    public static void main(String[] args) throws Exception {
+        MockMgovServer.Builder builder = MockMgovServer.custom().setPort(8080);
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                printUsage();
+                throw new IllegalArgumentException("Invalid option: " + arg);
+            }
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            switch (name) {
+                case "bind":
+                    builder.setBindAddress(value);
+                    break;
+                case "port":
+                    builder.setPort(Integer.parseInt(value));
+                    break;
+                case "threads":
+                    builder.setWorkerThreads(Integer.parseInt(value));
+                    break;
+                case "auth-latency":
+                    builder.setAuthLatency(LatencyDistribution.parse(value));
+                    break;
+                case "upload-latency":
+                    builder.setUploadLatency(LatencyDistribution.parse(value));
+                    break;
+                case "error-rate":
+                    builder.setServerErrorRate(Double.parseDouble(value));
+                    break;
+                case "throttle-rate":
+                    builder.setTooManyRequestsRate(Double.parseDouble(value));
+                    break;
+                case "retry-after":
+                    builder.setRetryAfterSeconds(Integer.parseInt(value));
+                    break;
+                case "token-max-uses":
+                    builder.setTokenMaxUses(Integer.parseInt(value));
+                    break;
+                case "token-ttl":
+                    builder.setTokenTtl(Long.parseLong(value));
+                    break;
+                case "bandwidth":
+                    builder.setBandwidth(Long.parseLong(value));
+                    break;
+                case "early-token-check":
+                    builder.setEarlyTokenCheck(Boolean.parseBoolean(value));
+                    break;
+                default:
+                    printUsage();
+                    throw new IllegalArgumentException("Unknown option: " + name);
+            }
+        }
+
+        MockMgovServer server = builder.start();
+        System.out.println("Mock MGOV server started: " + server.getDomain());
+
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            System.out.println(server.getStatistics());
+            server.close();
+            stopped.countDown();
+        }));
+        stopped.await();
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: java -jar nirs-file-upload-mock-server.jar [options]");
+        System.out.println("  --bind=ADDRESS            바인드 주소 (기본 127.0.0.1)");
+        System.out.println("  --port=PORT               포트 (기본 8080, 0이면 자동 선택)");
+        System.out.println("  --threads=N               요청 처리 스레드 수 (기본 32)");
+        System.out.println("  --auth-latency=SPEC       인증 응답 지연 (none | fixed:50 | uniform:10-200 | lognormal:30-400)");
+        System.out.println("  --upload-latency=SPEC     업로드 응답 지연 (형식 동일)");
+        System.out.println("  --error-rate=RATE         HTTP 5xx 응답 비율 (0.0 ~ 1.0)");
+        System.out.println("  --throttle-rate=RATE      HTTP 429 응답 비율 (0.0 ~ 1.0)");
+        System.out.println("  --retry-after=SECONDS     429 응답의 Retry-After (기본 1)");
+        System.out.println("  --token-max-uses=N        토큰당 업로드 허용 횟수 (초과 시 29011)");
+        System.out.println("  --token-ttl=MILLIS        토큰 유효 시간 (JWT exp 포함, 만료 시 29011)");
+        System.out.println("  --bandwidth=BYTES         초당 수신 대역폭 제한");
+        System.out.println("  --early-token-check=true  Expect: 100-continue 업로드의 토큰을 본문 수신 전에 검사 (무효 시 본문 없이 29011)");
+    }
+}
@@ -0,0 +1,358 @@
+package kr.i_heart.mock;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * multipart/form-data 요청 본문 파서
+ * 본문을 메모리에 적재하지 않고 스트림에서 경계(boundary)를 찾아 파트를 나누며,
+ * 파일 파트는 크기만 세고 텍스트 파트만 내용을 보관합니다.
+ */
+final class MultipartParser {
+    private static final int BUFFER_SIZE = 65536;
+    private static final int MAX_HEADER_LINE = 8192;
+
+    private MultipartParser() {
+    }
+
+    /**
+     * 파싱된 파트
+     */
+    static final class Part {
+        private String name;
+        private String filename;
+        private String contentType;
+        private long size;
+        private byte[] content;   // 텍스트 파트 내용 (파일 파트는 null)
+
+        String getName() {
+            return name;
+        }
+
+        String getFilename() {
+            return filename;
+        }
+
+        String getContentType() {
+            return contentType;
+        }
+
+        long getSize() {
+            return size;
+        }
+
+        String getText() {
+            return content != null ? new String(content, StandardCharsets.UTF_8) : null;
+        }
+
+        boolean isFile() {
+            return filename != null;
+        }
+    }
+
+    /**
+     * Content-Type 헤더에서 boundary 값 추출
+     * @return boundary (없으면 null)
+     */
+    static String boundaryOf(String contentType) {
+        if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("multipart/form-data")) {
+            return null;
+        }
+        for (String param : contentType.split(";")) {
+            String trimmed = param.trim();
+            if (trimmed.toLowerCase(Locale.ROOT).startsWith("boundary=")) {
+                String boundary = trimmed.substring(9).trim();
+                if (boundary.length() >= 2 && boundary.startsWith("\"") && boundary.endsWith("\"")) {
+                    boundary = boundary.substring(1, boundary.length() - 1);
+                }
+                return boundary.isEmpty() ? null : boundary;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 본문 파싱
+     * @param in 요청 본문 스트림
+     * @param boundary 경계 문자열
+     * @param maxTextPartSize 텍스트 파트 최대 크기 (초과 시 예외)
+     * @return 파트 목록
+     * @throws IOException 형식 오류 또는 입출력 예외
+     */
+    static List<Part> parse(InputStream in, String boundary, int maxTextPartSize) throws IOException {
+        byte[] delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        Reader reader = new Reader(in);
+        List<Part> parts = new ArrayList<>();
+
+        // 첫 경계 앞에는 CRLF가 없으므로 가상의 CRLF를 앞에 둔 것으로 보고 preamble을 건너뜀
+        if (!reader.skipTo(delimiter, 2)) {
+            throw new IOException("Missing multipart boundary.");
+        }
+        while (true) {
+            int first = reader.next();
+            int second = reader.next();
+            if (first == '-' && second == '-') {
+                reader.drain(); // epilogue
+                return parts;
+            }
+            if (first != '\r' || second != '\n') {
+                throw new IOException("Malformed multipart boundary.");
+            }
+
+            Part part = readPartHeaders(reader);
+            PartSink sink = new PartSink(part.isFile() ? -1 : maxTextPartSize);
+            if (!reader.copyTo(delimiter, sink)) {
+                throw new EOFException("Unexpected end of multipart body.");
+            }
+            part.size = sink.size;
+            part.content = sink.content != null ? sink.content.toByteArray() : null;
+            parts.add(part);
+        }
+    }
+
+    private static Part readPartHeaders(Reader reader) throws IOException {
+        Part part = new Part();
+        String line;
+        while (!(line = reader.readLine()).isEmpty()) {
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+            String name = line.substring(0, colon).trim();
+            String value = line.substring(colon + 1).trim();
+            if ("Content-Disposition".equalsIgnoreCase(name)) {
+                part.name = dispositionParam(value, "name");
+                part.filename = dispositionParam(value, "filename");
+            } else if ("Content-Type".equalsIgnoreCase(name)) {
+                part.contentType = value;
+            }
+        }
+        if (part.name == null) {
+            throw new IOException("Multipart part without a name.");
+        }
+        return part;
+    }
+
+    /**
+     * Content-Disposition 파라미터 값 추출 (예: form-data; name="filePart"; filename="a.png")
+     */
+    private static String dispositionParam(String disposition, String param) {
+        for (String token : disposition.split(";")) {
+            String trimmed = token.trim();
+            int equals = trimmed.indexOf('=');
+            if (equals > 0 && trimmed.substring(0, equals).trim().equalsIgnoreCase(param)) {
+                String value = trimmed.substring(equals + 1).trim();
+                if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                    value = value.substring(1, value.length() - 1);
+                }
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 파트 본문 크기 집계 및 텍스트 파트 내용 보관
+     */
+    private static final class PartSink {
+        private final int maxContent;
+        private final ByteArrayOutputStream content;
+        private long size;
+
+        PartSink(int maxContent) {
+            this.maxContent = maxContent;
+            this.content = maxContent >= 0 ? new ByteArrayOutputStream() : null;
+        }
+
+        void write(byte[] buffer, int offset, int length) throws IOException {
+            size += length;
+            if (content != null) {
+                if (size > maxContent) {
+                    throw new IOException("Multipart text part is too large.");
+                }
+                content.write(buffer, offset, length);
+            }
+        }
+    }
+
+    /**
+     * sink로 전달할 바이트를 모아서 기록하는 버퍼
+     */
+    private static final class Output {
+        private final PartSink sink;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int length;
+
+        Output(PartSink sink) {
+            this.sink = sink;
+        }
+
+        void write(byte b) throws IOException {
+            if (length == buffer.length) {
+                flush();
+            }
+            buffer[length++] = b;
+        }
+
+        void write(byte[] bytes, int count) throws IOException {
+            for (int i = 0; i < count; i++) {
+                write(bytes[i]);
+            }
+        }
+
+        /**
+         * 경계와 무관한 구간을 버퍼를 거치지 않고 바로 전달
+         */
+        void writeRun(byte[] bytes, int offset, int count) throws IOException {
+            flush();
+            sink.write(bytes, offset, count);
+        }
+
+        void flush() throws IOException {
+            if (length > 0) {
+                sink.write(buffer, 0, length);
+                length = 0;
+            }
+        }
+    }
+
+    /**
+     * 버퍼 단위로 읽으며 경계를 찾는 리더 (KMP 매칭)
+     */
+    private static final class Reader {
+        private final InputStream in;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        private int limit;
+
+        Reader(InputStream in) {
+            this.in = in;
+        }
+
+        int next() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        private boolean fill() throws IOException {
+            int read = in.read(buffer, 0, buffer.length);
+            if (read <= 0) {
+                return false;
+            }
+            position = 0;
+            limit = read;
+            return true;
+        }
+
+        String readLine() throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+            int b;
+            while ((b = next()) != -1) {
+                if (b == '\n') {
+                    byte[] bytes = line.toByteArray();
+                    int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+                    return new String(bytes, 0, length, StandardCharsets.UTF_8);
+                }
+                if (line.size() >= MAX_HEADER_LINE) {
+                    throw new IOException("Multipart header line too long.");
+                }
+                line.write(b);
+            }
+            throw new EOFException("Unexpected end of multipart headers.");
+        }
+
+        /**
+         * 경계까지 건너뜀
+         * @param alreadyMatched 이미 일치한 것으로 볼 경계 앞부분 길이
+         */
+        boolean skipTo(byte[] delimiter, int alreadyMatched) throws IOException {
+            return scan(delimiter, alreadyMatched, null);
+        }
+
+        /**
+         * 경계 직전까지의 내용을 sink로 전달
+         */
+        boolean copyTo(byte[] delimiter, PartSink sink) throws IOException {
+            return scan(delimiter, 0, sink);
+        }
+
+        void drain() throws IOException {
+            while (fill()) {
+                position = limit;
+            }
+        }
+
+        /**
+         * KMP로 경계를 찾으면서, 경계가 아닌 것으로 확정된 바이트만 sink로 전달
+         * 경계 앞부분과 일치하는 중인 바이트는 보류했다가, 어긋나면 경계 앞부분에서 복원하여 전달합니다.
+         */
+        private boolean scan(byte[] delimiter, int matched, PartSink sink) throws IOException {
+            int[] failure = failureTable(delimiter);
+            Output out = sink != null ? new Output(sink) : null;
+            while (true) {
+                if (position == limit && !fill()) {
+                    if (out != null) {
+                        out.flush();
+                    }
+                    return false;
+                }
+                while (position < limit) {
+                    if (matched == 0) {
+                        // 경계 첫 바이트가 나올 때까지는 한 번에 전달
+                        int start = position;
+                        while (position < limit && buffer[position] != delimiter[0]) {
+                            position++;
+                        }
+                        if (out != null && position > start) {
+                            out.writeRun(buffer, start, position - start);
+                        }
+                        if (position == limit) {
+                            break;
+                        }
+                    }
+                    byte b = buffer[position++];
+                    while (matched > 0 && b != delimiter[matched]) {
+                        int fallback = failure[matched - 1];
+                        if (out != null) {
+                            out.write(delimiter, matched - fallback);
+                        }
+                        matched = fallback;
+                    }
+                    if (b == delimiter[matched]) {
+                        if (++matched == delimiter.length) {
+                            if (out != null) {
+                                out.flush();
+                            }
+                            return true;
+                        }
+                    } else if (out != null) {
+                        out.write(b);
+                    }
+                }
+            }
+        }
+
+        private static int[] failureTable(byte[] pattern) {
+            int[] failure = new int[pattern.length];
+            int k = 0;
+            for (int i = 1; i < pattern.length; i++) {
+                while (k > 0 && pattern[i] != pattern[k]) {
+                    k = failure[k - 1];
+                }
+                if (pattern[i] == pattern[k]) {
+                    k++;
+                }
+                failure[i] = k;
+            }
+            return failure;
+        }
+    }
+}